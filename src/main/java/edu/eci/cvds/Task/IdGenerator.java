@@ -0,0 +1,133 @@
+package edu.eci.cvds.Task;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * This class generates the ids of the users and the tasks. Each id is a number of 63 bits made of the milliseconds
+ * since 2026 (41 bits), the node of the instance that made it (10 bits) and a sequence (12 bits), written in
+ * 13 characters of Crockford's base 32, so the ids sort by the time they were made and they are unique among
+ * the instances that have a different node.
+ * The time and the sequence of the last id are kept in a single atomic number, so the ids are made without locks
+ * and they always grow: when the 4096 ids of a millisecond run out or the clock goes back, the next id waits for
+ * the clock to reach the following millisecond. The ids are never ahead of the clock and the last id starts at the
+ * time the generator is made, so an instance restarted with the same node does not repeat the ids made before.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class IdGenerator {
+    public static final int MAX_NODE = (1 << 10) - 1;
+    public static final int LENGTH = 13;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long EPOCH = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final char[] DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static volatile IdGenerator shared;
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * This method is the IdGenerator constructor, the ids are made with the time of the system clock.
+     * @param node The node of this instance, in the range [0,1023].
+     */
+    public IdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    /**
+     * This method is the IdGenerator constructor.
+     * @param node The node of this instance, in the range [0,1023].
+     * @param clock The clock of the ids, in milliseconds since 1970.
+     */
+    public IdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) throw new IllegalArgumentException("The node of the ids must be in the range [0," + MAX_NODE + "].");
+        this.node = node;
+        this.clock = clock;
+        this.last.set((clock.getAsLong() - EPOCH) << SEQUENCE_BITS);
+    }
+
+    /**
+     * This method returns the generator the users and the tasks take their ids from. If none was set at startup,
+     * one with the default node is made the first time it is needed, not when the class is loaded, since
+     * finding the name of the host may wait for the DNS.
+     * @return The shared generator.
+     */
+    public static IdGenerator shared() {
+        IdGenerator generator = shared;
+        if (generator == null) {
+            synchronized (IdGenerator.class) {
+                if (shared == null) shared = new IdGenerator(defaultNode());
+                generator = shared;
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * This method changes the generator the users and the tasks take their ids from, it is called once at startup
+     * with the node configured for this instance.
+     * @param generator The new shared generator.
+     */
+    public static void setShared(IdGenerator generator) {
+        shared = generator;
+    }
+
+    /**
+     * This method returns a node for the instances that don't configure one, taken from the host and the process,
+     * so two instances may get the same node and every instance of a cluster should configure its own.
+     * @return The node, in the range [0,1023].
+     */
+    public static int defaultNode() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "";
+        }
+        return (host + ProcessHandle.current().pid()).hashCode() & MAX_NODE;
+    }
+
+    /**
+     * This method returns the node of the ids of this generator.
+     * @return The node.
+     */
+    public int getNode() {
+        return (int) node;
+    }
+
+    /**
+     * This method returns a new id.
+     * @return The id, 13 characters that sort by the time it was made.
+     */
+    public String next() {
+        long id = nextLong();
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = DIGITS[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * This method returns a new id as a number.
+     * @return The id, it is greater than every id this generator returned before.
+     */
+    public long nextLong() {
+        long next;
+        while (true) {
+            long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            long previous = last.get();
+            next = Math.max(previous + 1, now);
+            if (next >>> SEQUENCE_BITS > now >>> SEQUENCE_BITS) Thread.onSpinWait();
+            else if (last.compareAndSet(previous, next)) break;
+        }
+        long time = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1 << SEQUENCE_BITS) - 1);
+        return time << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | sequence;
+    }
+}
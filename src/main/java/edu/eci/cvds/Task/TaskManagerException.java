@@ -23,6 +23,15 @@ public class TaskManagerException extends Exception{
     public static final String INVALID_PASSWORD = "The password must be at least 8 characters long and include at least one uppercase letter, one lowercase letter, one number, and one special character such as @, $, !, %, *, ?, &, or #.";
     public static final String INVALID_EMAIL = "Invalid email format.";
     public static final String ADMIN_SHOULD_NOT_DELETE = "An admin cannot be removed ";
+    public static final String ANALYSIS_INTERRUPTED = "The analysis of the users was interrupted.";
+    public static final String INVALID_CURSOR = "The cursor of the page is not valid.";
+    public static final String INVALID_PAGE_SIZE = "The size of the page must be in the range [1,500].";
+    public static final String INVALID_PAGE_SORT = "The pages can only be sorted by deadline or id.";
+    public static final String INVALID_NEXT_TASKS_COUNT = "The number of next tasks must be in the range [1,500].";
+    public static final String INVALID_BATCH_SIZE = "The number of changes of a batch must be in the range [1,500].";
+    public static final String INVALID_OPERATION = "The change of the task is not valid.";
+    public static final String CHANGE_INTERRUPTED = "The change of the user was interrupted.";
+    public static final String TASK_HISTORY_DISABLED = "The history of the tasks is not enabled.";
     /**
      * Constructor TaskManagerExceptions.
      * @param message The message of error.
@@ -0,0 +1,34 @@
+package edu.eci.cvds.Task.config;
+
+import edu.eci.cvds.Task.services.analytics.AggregationKernel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class chooses at startup the kernel the analytics over the columns of the tasks run on.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Configuration
+public class AggregationConfig {
+    private final Logger logger = LoggerFactory.getLogger(AggregationConfig.class);
+
+    /**
+     * This method creates the aggregation kernel with the given name, the vector kernel needs the JVM to be
+     * started with --add-modules jdk.incubator.vector, without it the scalar kernel is used.
+     * @param name The name of the kernel, scalar or vector.
+     * @return The aggregation kernel.
+     */
+    @Bean
+    public AggregationKernel aggregationKernel(@Value("${task.analytics.kernel:scalar}") String name) {
+        AggregationKernel kernel = AggregationKernel.named(name);
+        if (!kernel.name().equalsIgnoreCase(name)) {
+            logger.warn("The {} aggregation kernel needs the module {}, using the {} kernel", name, AggregationKernel.VECTOR_MODULE, kernel.name());
+        }
+        logger.info("The analytics run on the {} aggregation kernel", kernel.name());
+        return kernel;
+    }
+}
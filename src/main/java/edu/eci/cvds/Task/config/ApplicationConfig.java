@@ -1,5 +1,6 @@
 package edu.eci.cvds.Task.config;
-import edu.eci.cvds.Task.services.persistence.UserRepository;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
-    private final UserRepository userRepository;
+    private final UserPersistence userPersistence;
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
@@ -36,7 +37,13 @@ public class ApplicationConfig {
 
     @Bean
     public UserDetailsService userDetailService() {
-        return (email)->userRepository.findByEmail(email).orElseThrow(()->new UsernameNotFoundException("The user with email not found." + email));
+        return (email)-> {
+            try {
+                return userPersistence.findByEmail(email).orElseThrow(()->new UsernameNotFoundException("The user with email not found." + email));
+            } catch (TaskManagerException e) {
+                throw new UsernameNotFoundException(e.getMessage(), e);
+            }
+        };
     }
 
 }
\ No newline at end of file
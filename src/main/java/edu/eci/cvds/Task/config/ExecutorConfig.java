@@ -0,0 +1,71 @@
+package edu.eci.cvds.Task.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class creates the executors used to run work concurrently inside a request or in the background.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Configuration
+public class ExecutorConfig {
+    /**
+     * This method creates the executor where the admin analytics of each user run when there is no snapshot of the
+     * analytics, its number of threads is the maximum of users analysed at the same time, so a request over many
+     * users can't exhaust the database.
+     * @param parallelism The maximum of users analysed at the same time.
+     * @return The executor of the admin analytics.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService adminAnalyticsExecutor(@Value("${task.admin.analytics.parallelism:8}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, daemonThreads("admin-analytics-"));
+    }
+
+    /**
+     * This method creates the scheduler where the snapshot of the analytics of every user is built and refreshed.
+     * @return The scheduler of the analytics snapshot, it has a single thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "task.admin.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+    public ScheduledExecutorService adminSnapshotScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreads("admin-snapshot-"));
+    }
+
+    /**
+     * This method creates the scheduler where the users saved in write behind mode are written to the database.
+     * @return The scheduler of the writes of the users, it has a single thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService userWriteBehindScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreads("user-write-behind-"));
+    }
+
+    /**
+     * This method creates the executor where the mailboxes of the users apply their changes, a mailbox uses
+     * a single thread at a time, so its number of threads is the maximum of users changed at the same time.
+     * @param threads The number of threads shared by the mailboxes.
+     * @return The executor of the mailboxes of the users.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService userMailboxExecutor(@Value("${task.users.mailboxes.threads:8}") int threads) {
+        return Executors.newScheduledThreadPool(threads, daemonThreads("user-mailbox-"));
+    }
+
+    private ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
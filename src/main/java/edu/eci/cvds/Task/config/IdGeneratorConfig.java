@@ -0,0 +1,38 @@
+package edu.eci.cvds.Task.config;
+
+import edu.eci.cvds.Task.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class chooses at startup the node of the ids made by this instance.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Configuration
+public class IdGeneratorConfig {
+    private final Logger logger = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    /**
+     * This method creates the generator of the ids of the users and the tasks and makes it the shared one,
+     * every instance of a cluster must be given a different node so their ids don't repeat.
+     * @param node The node of this instance in the range [0,1023], empty to take one from the host and the process.
+     * @return The generator of the ids.
+     */
+    @Bean
+    public IdGenerator idGenerator(@Value("${task.ids.node:}") String node) {
+        IdGenerator generator;
+        if (node.isBlank()) {
+            generator = new IdGenerator(IdGenerator.defaultNode());
+            logger.warn("No node configured for the ids, using the node {} taken from the host and the process", generator.getNode());
+        } else {
+            generator = new IdGenerator(Integer.parseInt(node.trim()));
+            logger.info("The ids are made with the node {}", generator.getNode());
+        }
+        IdGenerator.setShared(generator);
+        return generator;
+    }
+}
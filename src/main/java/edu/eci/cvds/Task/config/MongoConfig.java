@@ -0,0 +1,24 @@
+package edu.eci.cvds.Task.config;
+
+import edu.eci.cvds.Task.metrics.MongoCommandMetrics;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class customizes the Mongo client used by the repositories.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Configuration
+public class MongoConfig {
+    /**
+     * This method registers the command listener that records the latency of every Mongo command.
+     * @param mongoCommandMetrics The listener that records the statistics.
+     * @return The customizer of the Mongo client settings.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandMetricsCustomizer(MongoCommandMetrics mongoCommandMetrics) {
+        return builder -> builder.addCommandListener(mongoCommandMetrics);
+    }
+}
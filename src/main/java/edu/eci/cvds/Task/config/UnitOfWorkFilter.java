@@ -0,0 +1,39 @@
+package edu.eci.cvds.Task.config;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.services.persistence.IdentityMapUserPersistence;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * This class opens a unit of work of the users for each request, before the security filters,
+ * so the user loaded to authenticate the token is the same one used by the services.
+ * The pending saves are flushed before the body is written, the close of the unit of work only flushes
+ * what is left when the request didn't write a body.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@RequiredArgsConstructor
+public class UnitOfWorkFilter extends OncePerRequestFilter {
+    private final IdentityMapUserPersistence userPersistence;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try (IdentityMapUserPersistence.UnitOfWork unitOfWork = userPersistence.begin()) {
+            filterChain.doFilter(request, response);
+        } catch (TaskManagerException e) {
+            throw new ServletException(e.getMessage(), e);
+        }
+    }
+}
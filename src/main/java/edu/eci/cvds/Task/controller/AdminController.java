@@ -5,6 +5,8 @@ import edu.eci.cvds.Task.RoleDTO;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.TokenDTO;
 import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.services.analytics.AdminSummaryDTO;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
 import edu.eci.cvds.Task.services.persistence.AdminService;
 import edu.eci.cvds.Task.services.user.ServiceUser;
 import org.springframework.http.HttpStatus;
@@ -21,8 +23,12 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/admin")
-@CrossOrigin(origins = "https://agreeable-field-0b472e70f.5.azurestaticapps.net/")
+@CrossOrigin(origins = "https://agreeable-field-0b472e70f.5.azurestaticapps.net/", exposedHeaders = AdminController.SKIPPED_USERS)
 public class AdminController {
+    /**
+     * The header with the ids of the users left out of the analytics of all the users because their analysis was not ready in time.
+     */
+    public static final String SKIPPED_USERS = "X-Skipped-Users";
     private final AdminService adminService;
     private final ServiceUser serviceUser;
 
@@ -44,8 +50,8 @@ public class AdminController {
      */
     @GetMapping("/eachUserHistogram")
     public ResponseEntity<Map<String, Map<Difficulty, Long>>> getEachUserHistogram() throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getEachUserHistogram());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.eachUser(AnalyticsSummary::getHistogram));
     }
 
     /**
@@ -55,8 +61,8 @@ public class AdminController {
      */
     @GetMapping("/eachUserFinishedTasks")
     public ResponseEntity<Map<String, Map<Integer, Long>>> getEachUserFinishedTask()throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getEachUserFinishedTask());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.eachUser(AnalyticsSummary::getFinishedTasks));
     }
 
     /**
@@ -66,8 +72,8 @@ public class AdminController {
      */
     @GetMapping("/eachUserConsolidatedPriority")
     public ResponseEntity<Map<String, Map<Integer, Double>>> getEachUserConsolidatedPriority()throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getEachUserConsolidatedPriority());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.eachUser(AnalyticsSummary::getConsolidatedPriority));
     }
 
     /**
@@ -77,8 +83,8 @@ public class AdminController {
      */
     @GetMapping("/eachUserTotalTimeSpentByDifficulty")
     public ResponseEntity<Map<String, Map<Difficulty, Double>>> getEachUserTotalTimeSpentByDifficulty()throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getEachUserTotalTimeSpentByDifficulty());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.eachUser(AnalyticsSummary::getTotalTimeSpentByDifficulty));
     }
 
 
@@ -92,8 +98,8 @@ public class AdminController {
      */
     @GetMapping("/usersHistogram")
     public ResponseEntity<Map<Difficulty, Long>> getUsersHistogram() throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getUsersHistogram());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.getTotal().getHistogram());
     }
 
     /**
@@ -103,8 +109,8 @@ public class AdminController {
      */
     @GetMapping("/usersFinishedTasks")
     public ResponseEntity<Map<Integer, Long>> getUsersFinishedTask() throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getUsersFinishedTasks());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.getTotal().getFinishedTasks());
     }
 
     /**
@@ -114,8 +120,8 @@ public class AdminController {
      */
     @GetMapping("/usersConsolidatedPriority")
     public ResponseEntity<Map<Integer, Double>> getUsersConsolidatedPriority() throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getUsersConsolidatedPriority());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.getTotal().getConsolidatedPriority());
     }
 
     /**
@@ -125,8 +131,19 @@ public class AdminController {
      */
     @GetMapping("/usersTimeSpentByDifficulty")
     public ResponseEntity<Map<Difficulty, Double>> getUsersTimeSpentByDifficulty() throws TaskManagerException{
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(adminService.getUsersTotalTimeSpentByDifficulty());
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary.getTotal().getTotalTimeSpentByDifficulty());
+    }
+
+    /**
+     * This method returns all the analytics of each user and of all the users added together in one response.
+     * @return The summary of each user by its id and the total of all of them.
+     * @throws TaskManagerException If there is any error with the DB.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<AdminSummaryDTO> getSummary() throws TaskManagerException{
+        AdminSummaryDTO summary = adminService.getSummary();
+        return withSkippedUsers(summary, summary);
     }
 
     // For a specific user
@@ -213,4 +230,13 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.OK)
                 .body(serviceUser.createAdmin(userDTO, creatorUserId));
     }
+
+    /**
+     * This method returns the given analytics of all the users with the users skipped in the header, if there are.
+     */
+    private <T> ResponseEntity<T> withSkippedUsers(AdminSummaryDTO summary, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (!summary.getSkippedUsers().isEmpty()) response.header(SKIPPED_USERS, String.join(",", summary.getSkippedUsers()));
+        return response.body(body);
+    }
 }
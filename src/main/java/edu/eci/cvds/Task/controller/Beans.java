@@ -1,11 +1,27 @@
 package edu.eci.cvds.Task.controller;
 
-import edu.eci.cvds.Task.services.persistence.FilePersistenceImpl;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.services.persistence.CachingUserPersistence;
+import edu.eci.cvds.Task.services.persistence.EventSourcedUserPersistence;
+import edu.eci.cvds.Task.services.persistence.IdentityMapUserPersistence;
+import edu.eci.cvds.Task.services.persistence.TaskEventStoreMongo;
+import edu.eci.cvds.Task.services.persistence.UserJournal;
 import edu.eci.cvds.Task.services.persistence.UserPersistence;
 import edu.eci.cvds.Task.services.persistence.UserPersistenceMongo;
-import edu.eci.cvds.Task.services.persistence.UserRepository;
+import edu.eci.cvds.Task.services.persistence.WriteBehindUserPersistence;
+import edu.eci.cvds.Task.services.user.UserMailboxes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
 
 @Configuration
 public class Beans {
@@ -13,8 +29,45 @@ public class Beans {
     public String fileName(){
         return "src/main/java/edu/eci/cvds/Task/services/persistence/Data.txt";
     }
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "task.persistence.write-behind.enabled", havingValue = "true")
+    public WriteBehindUserPersistence userWriteBehind(UserPersistenceMongo userPersistenceMongo,
+                                                      @Qualifier("userWriteBehindScheduler") ScheduledExecutorService scheduler,
+                                                      @Value("${task.persistence.write-behind.journal:journal/users.journal}") Path journal,
+                                                      @Value("${task.persistence.write-behind.interval:200ms}") Duration interval) throws TaskManagerException {
+        return new WriteBehindUserPersistence(userPersistenceMongo, new UserJournal(journal), scheduler, interval);
+    }
+    @Bean
+    @ConditionalOnProperty(name = "task.persistence.events.enabled", havingValue = "true")
+    public EventSourcedUserPersistence userEvents(UserPersistenceMongo userPersistenceMongo,
+                                                  ObjectProvider<WriteBehindUserPersistence> userWriteBehind,
+                                                  TaskEventStoreMongo taskEventStore,
+                                                  @Value("${task.persistence.events.snapshot-interval:100}") int snapshotInterval,
+                                                  @Value("${task.cache.users.maximum-size:10000}") long maximumSize) {
+        UserPersistence storedUsers = userWriteBehind.getIfAvailable();
+        return new EventSourcedUserPersistence(storedUsers == null ? userPersistenceMongo : storedUsers,
+                taskEventStore, snapshotInterval, maximumSize, Clock.systemDefaultZone());
+    }
     @Bean
-    public UserPersistence userPersistence(UserRepository userRepository){
-        return new UserPersistenceMongo(userRepository);
+    public CachingUserPersistence userCache(UserPersistenceMongo userPersistenceMongo,
+                                            ObjectProvider<WriteBehindUserPersistence> userWriteBehind,
+                                            ObjectProvider<EventSourcedUserPersistence> userEvents,
+                                            @Value("${task.cache.users.maximum-size:10000}") long maximumSize,
+                                            @Value("${task.cache.users.expire-after-write:10m}") Duration expireAfterWrite){
+        UserPersistence storedUsers = userEvents.getIfAvailable();
+        if (storedUsers == null) storedUsers = userWriteBehind.getIfAvailable();
+        return new CachingUserPersistence(storedUsers == null ? userPersistenceMongo : storedUsers, maximumSize, expireAfterWrite);
+    }
+    @Bean
+    @Primary
+    public IdentityMapUserPersistence userPersistence(CachingUserPersistence userCache){
+        return new IdentityMapUserPersistence(userCache);
+    }
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "task.users.mailboxes.enabled", havingValue = "true")
+    public UserMailboxes userMailboxes(UserPersistence userPersistence,
+                                       @Qualifier("userMailboxExecutor") ScheduledExecutorService executor,
+                                       @Value("${task.users.mailboxes.idle-time:30s}") Duration idleTime) {
+        return new UserMailboxes(userPersistence, executor, idleTime);
     }
 }
@@ -0,0 +1,94 @@
+package edu.eci.cvds.Task.controller;
+
+import edu.eci.cvds.Task.metrics.CacheStatsDTO;
+import edu.eci.cvds.Task.metrics.CommandStatsDTO;
+import edu.eci.cvds.Task.metrics.LockStatsDTO;
+import edu.eci.cvds.Task.metrics.MongoCommandMetrics;
+import edu.eci.cvds.Task.services.analytics.CachingTaskAnalyticsService;
+import edu.eci.cvds.Task.services.persistence.CachingUserPersistence;
+import edu.eci.cvds.Task.services.user.UserLocks;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * This class is the metrics controller, it exposes to the admin the statistics collected by the backend.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@RestController
+@RequestMapping("/api/admin/metrics")
+@CrossOrigin(origins = "https://agreeable-field-0b472e70f.5.azurestaticapps.net/")
+public class MetricsController {
+    private final MongoCommandMetrics mongoCommandMetrics;
+    private final CachingUserPersistence userCache;
+    private final CachingTaskAnalyticsService analyticsCache;
+    private final UserLocks userLocks;
+
+    /**
+     * The Metrics controller builder, the mongo command metrics and the caches are injected.
+     * @param mongoCommandMetrics The listener that records the statistics of the Mongo commands.
+     * @param userCache The cache of the users in front of the database.
+     * @param analyticsCache The cache of the analytics of each user.
+     * @param userLocks The locks taken by the changes of the users.
+     */
+    public MetricsController(MongoCommandMetrics mongoCommandMetrics, CachingUserPersistence userCache,
+                             CachingTaskAnalyticsService analyticsCache, UserLocks userLocks) {
+        this.mongoCommandMetrics = mongoCommandMetrics;
+        this.userCache = userCache;
+        this.analyticsCache = analyticsCache;
+        this.userLocks = userLocks;
+    }
+
+    /**
+     * This method returns the statistics of the Mongo commands grouped by persistence method and command type.
+     * @return The Map with the statistics, the key is the persistence method followed by the command name.
+     */
+    @GetMapping("/mongo")
+    public ResponseEntity<Map<String, CommandStatsDTO>> getMongoStats() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(mongoCommandMetrics.getStats());
+    }
+
+    /**
+     * This method discards the statistics of the Mongo commands recorded until now.
+     * @return OK if the statistics were discarded.
+     */
+    @DeleteMapping("/mongo")
+    public ResponseEntity<String> resetMongoStats() {
+        mongoCommandMetrics.reset();
+        return ResponseEntity.status(HttpStatus.OK).body("OK");
+    }
+
+    /**
+     * This method returns the hits, misses and evictions of the user cache.
+     * @return The statistics of the user cache.
+     */
+    @GetMapping("/userCache")
+    public ResponseEntity<CacheStatsDTO> getUserCacheStats() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(userCache.getStats());
+    }
+
+    /**
+     * This method returns the hits, misses and evictions of the analytics cache.
+     * @return The statistics of the analytics cache.
+     */
+    @GetMapping("/analyticsCache")
+    public ResponseEntity<CacheStatsDTO> getAnalyticsCacheStats() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(analyticsCache.getStats());
+    }
+
+    /**
+     * This method returns how many times the locks of the users were taken and how long the changes waited for them.
+     * @return The statistics of the locks of the users.
+     */
+    @GetMapping("/userLocks")
+    public ResponseEntity<LockStatsDTO> getUserLockStats() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(userLocks.getStats());
+    }
+}
@@ -3,8 +3,13 @@ package edu.eci.cvds.Task.controller;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.services.TaskAnalyticsService;
+import edu.eci.cvds.Task.models.TaskEvent;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
+import edu.eci.cvds.Task.services.analytics.TaskHistoryService;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -22,14 +27,17 @@ import java.util.Map;
 public class TaskAnalyticsController{
 
     private final TaskAnalyticsService taskAnalyticsService;
+    private final TaskHistoryService taskHistoryService;
 
     /**
      * Constructs a new TaskAnalyticsController with the provided TaskAnalyticsService.
      *
      * @param taskAnalyticsService The TaskAnalyticsService that will handle business logic related to task analytics.
+     * @param taskHistoryService The TaskHistoryService that returns the history of the tasks.
      */
-    public TaskAnalyticsController(TaskAnalyticsService taskAnalyticsService) {
+    public TaskAnalyticsController(TaskAnalyticsService taskAnalyticsService, TaskHistoryService taskHistoryService) {
         this.taskAnalyticsService = taskAnalyticsService;
+        this.taskHistoryService = taskHistoryService;
     }
 
     /**
@@ -87,6 +95,47 @@ public class TaskAnalyticsController{
         return taskAnalyticsService.getTotalTimeSpentByDifficulty(userId);
     }
 
+    /**
+     * Retrieves all the analytics of the user at once: the histogram, the finished tasks,
+     * the tasks by priority and the time spent by difficulty.
+     *
+     * @return The summary with the same maps the individual endpoints return.
+     * @throws TaskManagerException If there is an error while retrieving the data.
+     */
+    @GetMapping("/summary")
+    public AnalyticsSummary getSummary(@RequestParam String userId) throws TaskManagerException {
+        return taskAnalyticsService.getSummary(userId);
+    }
+
+    /**
+     * Retrieves all the analytics of the tasks of the user as they were at the given moment.
+     *
+     * @param userId The id of the user.
+     * @param at The moment of the analytics.
+     * @return The summary of the tasks the user had at the moment.
+     * @throws TaskManagerException If the history is not enabled or the user does not exist.
+     */
+    @GetMapping("/summaryAt")
+    public AnalyticsSummary getSummaryAt(@RequestParam String userId, @RequestParam LocalDateTime at) throws TaskManagerException {
+        return taskHistoryService.getSummaryAt(userId, at);
+    }
+
+    /**
+     * Retrieves the changes made to the tasks of the user in the given period, in the order they happened.
+     *
+     * @param userId The id of the user.
+     * @param from The start of the period, the first change if it is not given.
+     * @param to The end of the period, the last change if it is not given.
+     * @return The events of the tasks of the user in the period.
+     * @throws TaskManagerException If the history is not enabled.
+     */
+    @GetMapping("/history")
+    public List<TaskEvent> getHistory(@RequestParam String userId,
+                                      @RequestParam(required = false) LocalDateTime from,
+                                      @RequestParam(required = false) LocalDateTime to) throws TaskManagerException {
+        return taskHistoryService.getHistory(userId, from, to);
+    }
+
     /**
      * Deletes all tasks from the system.
      * This action cannot be undone.
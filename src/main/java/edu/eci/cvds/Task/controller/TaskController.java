@@ -1,6 +1,7 @@
 package edu.eci.cvds.Task.controller;
 import edu.eci.cvds.Task.*;
 import edu.eci.cvds.Task.models.*;
+import edu.eci.cvds.Task.services.query.TaskField;
 import edu.eci.cvds.Task.services.user.ServiceUser;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -249,6 +250,84 @@ public class TaskController {
                 .body(userService.getTaskByEstimatedTime(userId, estimatedTime));
     }
 
+    /**
+     * This method returns the tasks of the user that meet all the conditions of the given filter,
+     * the filters can be combined with and, or and not.
+     * @param userId The given user id.
+     * @param filter The conditions of the tasks.
+     * @return The list of tasks that meet the filter.
+     * @throws TaskManagerException If there is a problem with the user information or the database.
+     */
+    @PostMapping("/{userId}/tasks/query")
+    public ResponseEntity<List<Task>> queryTasks(@PathVariable String userId, @RequestBody TaskFilterDTO filter) throws TaskManagerException {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(userService.queryTasks(userId, filter));
+    }
+
+    /**
+     * This method returns a page of the tasks of the user, the tasks can be filtered by the same fields of the
+     * getTasksBy endpoints and they are sorted by the given field and then by id. The next page is asked for
+     * with the cursor returned with the previous one.
+     * @param userId The given user id.
+     * @param state The state of the tasks, all the states if it is not given.
+     * @param deadline The deadline the tasks must have before, any deadline if it is not given.
+     * @param priority The priority of the tasks, any priority if it is not given.
+     * @param difficulty The difficulty of the tasks, any difficulty if it is not given.
+     * @param estimatedTime The estimated time of the tasks, any estimated time if it is not given.
+     * @param sort The field to sort the tasks by, DEADLINE or ID.
+     * @param cursor The cursor of the previous page, the first page if it is not given.
+     * @param size The maximum number of tasks of the page.
+     * @return The tasks of the page and the cursor of the next one, null if it is the last page.
+     * @throws TaskManagerException If there is a problem with the user information, the page or the database.
+     */
+    @GetMapping("/{userId}/tasks")
+    public ResponseEntity<TaskPage> getTasksPage(@PathVariable String userId,
+                                                 @RequestParam(required = false) Boolean state,
+                                                 @RequestParam(required = false) LocalDateTime deadline,
+                                                 @RequestParam(required = false) Integer priority,
+                                                 @RequestParam(required = false) Difficulty difficulty,
+                                                 @RequestParam(required = false) Integer estimatedTime,
+                                                 @RequestParam(defaultValue = "DEADLINE") TaskField sort,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "50") int size) throws TaskManagerException {
+        TaskFilterDTO filter = TaskFilterDTO.builder()
+                .state(state)
+                .deadlineBefore(deadline)
+                .priority(priority)
+                .difficulty(difficulty)
+                .minEstimatedTime(estimatedTime)
+                .maxEstimatedTime(estimatedTime)
+                .build();
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(userService.getTasksPage(userId, filter, sort, cursor, size));
+    }
+
+    /**
+     * This method returns the first unfinished tasks of the user in the order they should be done,
+     * by deadline and then from the highest priority to the lowest.
+     * @param userId The given user id.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks of the user.
+     * @throws TaskManagerException If there is a problem with the user information, the count or the database.
+     */
+    @GetMapping("/{userId}/nextTasks")
+    public ResponseEntity<List<Task>> getNextTasks(@PathVariable String userId, @RequestParam(defaultValue = "10") int count) throws TaskManagerException {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.getNextTasks(userId, count));
+    }
+
+    /**
+     * This method makes many changes to the tasks of the user at once: adds, updates, deletes and changes of state,
+     * the user is saved once after all of them.
+     * @param userId The given user id.
+     * @param operations The changes to the tasks, in the order they are made.
+     * @return The result of each change, the ones that failed say why.
+     * @throws TaskManagerException If there is a problem with the user information, the number of changes or the database.
+     */
+    @PostMapping("/{userId}/tasks/batch")
+    public ResponseEntity<List<TaskOperationResult>> applyTaskOperations(@PathVariable String userId, @RequestBody List<TaskOperation> operations) throws TaskManagerException {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.applyTaskOperations(userId, operations));
+    }
+
     /**
      * This method returns the Role of a user by the given email.
      * @param email The email to search in the DB.
@@ -0,0 +1,41 @@
+package edu.eci.cvds.Task.controller;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.services.persistence.IdentityMapUserPersistence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * This class flushes the users modified in the request before the response body is written,
+ * so the client only receives the answer once the changes are stored.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class UnitOfWorkFlushAdvice implements ResponseBodyAdvice<Object> {
+    private final IdentityMapUserPersistence userPersistence;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        try {
+            userPersistence.flush();
+        } catch (TaskManagerException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return body;
+    }
+}
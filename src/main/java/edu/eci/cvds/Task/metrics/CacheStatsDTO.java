@@ -0,0 +1,19 @@
+package edu.eci.cvds.Task.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This class is the Data Transfer Object of the statistics of an in memory cache.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long size;
+}
@@ -0,0 +1,66 @@
+package edu.eci.cvds.Task.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class accumulates the statistics of one kind of Mongo command, it can be updated by several threads at once.
+ * Latencies are kept in a histogram with fixed buckets, in milliseconds.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+class CommandStats {
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000};
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+
+    CommandStats() {
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    void recordSuccess(long elapsedNanos, long returnedDocuments, long returnedBytes) {
+        record(elapsedNanos);
+        documents.add(returnedDocuments);
+        bytes.add(returnedBytes);
+    }
+
+    void recordFailure(long elapsedNanos) {
+        record(elapsedNanos);
+        failures.increment();
+    }
+
+    private void record(long elapsedNanos) {
+        count.increment();
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        buckets[bucketOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))].increment();
+    }
+
+    private int bucketOf(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis < BUCKET_BOUNDS_MILLIS[i]) return i;
+        }
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    CommandStatsDTO toDTO() {
+        long commands = count.sum();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            histogram.put("<" + BUCKET_BOUNDS_MILLIS[i] + "ms", buckets[i].sum());
+        }
+        histogram.put(">=" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] + "ms", buckets[BUCKET_BOUNDS_MILLIS.length].sum());
+        double totalMillis = totalNanos.sum() / 1_000_000.0;
+        return new CommandStatsDTO(commands, failures.sum(), totalMillis,
+                commands == 0 ? 0 : totalMillis / commands, maxNanos.get() / 1_000_000.0,
+                documents.sum(), bytes.sum(), histogram);
+    }
+}
@@ -0,0 +1,24 @@
+package edu.eci.cvds.Task.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * This class is the Data Transfer Object of the statistics recorded for one persistence method and Mongo command.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+public class CommandStatsDTO {
+    private long count;
+    private long failures;
+    private double totalMillis;
+    private double averageMillis;
+    private double maxMillis;
+    private long documentsReturned;
+    private long bytesReturned;
+    private Map<String, Long> latencyHistogram;
+}
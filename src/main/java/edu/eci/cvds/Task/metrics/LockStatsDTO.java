@@ -0,0 +1,23 @@
+package edu.eci.cvds.Task.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * This class is the Data Transfer Object of the time the changes of the users waited for the lock of their user.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+public class LockStatsDTO {
+    private int stripes;
+    private long acquisitions;
+    private long contended;
+    private double totalWaitMillis;
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+    private Map<String, Long> waitHistogram;
+}
@@ -0,0 +1,118 @@
+package edu.eci.cvds.Task.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class listens to every command sent by the Mongo client and records, for each persistence
+ * method and command type, how many commands were issued, their latencies, and the documents and bytes returned.
+ * The persistence method is taken from the operation opened on the calling thread with {@link #operation(String)},
+ * the sync driver notifies the listener on that same thread.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+public class MongoCommandMetrics implements CommandListener {
+    public static final String UNTAGGED = "untagged";
+    private static final ThreadLocal<String> CURRENT_OPERATION = new ThreadLocal<>();
+    private final ConcurrentHashMap<String, CommandStats> stats = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, String> pendingKeys = new ConcurrentHashMap<>();
+
+    /**
+     * This method tags every Mongo command issued by the current thread with the given persistence method,
+     * until the returned operation is closed.
+     * @param name The persistence method issuing the commands, for example "UserPersistenceMongo.findById".
+     * @return The operation, it restores the previous tag when closed.
+     */
+    public static Operation operation(String name) {
+        String previous = CURRENT_OPERATION.get();
+        CURRENT_OPERATION.set(name);
+        return () -> {
+            if (previous == null) CURRENT_OPERATION.remove();
+            else CURRENT_OPERATION.set(previous);
+        };
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String operation = CURRENT_OPERATION.get();
+        pendingKeys.put(event.getRequestId(), (operation == null ? UNTAGGED : operation) + " " + event.getCommandName());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        CommandStats commandStats = statsFor(event.getRequestId(), event.getCommandName());
+        BsonDocument response = event.getResponse();
+        commandStats.recordSuccess(event.getElapsedTime(TimeUnit.NANOSECONDS), countDocuments(response), sizeOf(response));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        statsFor(event.getRequestId(), event.getCommandName()).recordFailure(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * This method returns the recorded statistics, keyed by "persistence method command".
+     * @return The statistics of each persistence method and command type, sorted by key.
+     */
+    public Map<String, CommandStatsDTO> getStats() {
+        Map<String, CommandStatsDTO> res = new TreeMap<>();
+        for (Map.Entry<String, CommandStats> entry : stats.entrySet()) {
+            res.put(entry.getKey(), entry.getValue().toDTO());
+        }
+        return res;
+    }
+
+    /**
+     * This method discards all the recorded statistics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private CommandStats statsFor(int requestId, String commandName) {
+        String key = pendingKeys.remove(requestId);
+        if (key == null) key = UNTAGGED + " " + commandName;
+        return stats.computeIfAbsent(key, k -> new CommandStats());
+    }
+
+    private long countDocuments(BsonDocument response) {
+        if (response == null) return 0;
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonDocument cursorDocument = cursor.asDocument();
+            BsonValue batch = cursorDocument.containsKey("firstBatch") ? cursorDocument.get("firstBatch") : cursorDocument.get("nextBatch");
+            return batch instanceof BsonArray array ? array.size() : 0;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+    }
+
+    private long sizeOf(BsonDocument response) {
+        if (response == null) return 0;
+        RawBsonDocument raw = response instanceof RawBsonDocument document ? document : new RawBsonDocument(response, new BsonDocumentCodec());
+        return raw.getByteBuffer().remaining();
+    }
+
+    /**
+     * The scope of a tagged persistence operation.
+     */
+    @FunctionalInterface
+    public interface Operation extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
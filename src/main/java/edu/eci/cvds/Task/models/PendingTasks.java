@@ -0,0 +1,67 @@
+package edu.eci.cvds.Task.models;
+
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * This class keeps the unfinished tasks of a user in the order they should be done: by deadline,
+ * then from the highest priority to the lowest and then by id. It is updated with the other indexes of the tasks
+ * every time a task is added or removed, so the next tasks are the first ones of the set and they are read
+ * without sorting all the tasks.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class PendingTasks {
+    private static final TaskQuery ORDER = query(0);
+    private final TreeSet<Task> pending = new TreeSet<>(ORDER.comparator());
+
+    /**
+     * This method returns the query of the next tasks to do, so the persistences that don't keep the tasks
+     * in memory evaluate it where the tasks are stored.
+     * @param count The maximum number of tasks to return, zero for all of them.
+     * @return The query of the unfinished tasks in the order they should be done.
+     */
+    public static TaskQuery query(int count) {
+        return TaskQuery.builder()
+                .filter(TaskFilterDTO.builder().state(false).build())
+                .order(TaskQuery.Order.asc(TaskField.DEADLINE))
+                .order(TaskQuery.Order.desc(TaskField.PRIORITY))
+                .limit(count)
+                .build();
+    }
+
+    /**
+     * This method keeps the given task if it is not finished.
+     * @param task The task added.
+     */
+    public void add(Task task) {
+        if (!task.getState()) pending.add(task);
+    }
+
+    /**
+     * This method stops keeping the given task, it must have the same values it had when it was added.
+     * @param task The task removed.
+     */
+    public void remove(Task task) {
+        if (!task.getState()) pending.remove(task);
+    }
+
+    /**
+     * This method returns the first unfinished tasks in the order they should be done.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks to do.
+     */
+    public List<Task> first(int count) {
+        List<Task> first = new ArrayList<>(Math.min(count, pending.size()));
+        Iterator<Task> iterator = pending.iterator();
+        while (first.size() < count && iterator.hasNext()) {
+            first.add(iterator.next());
+        }
+        return first;
+    }
+}
@@ -1,31 +1,54 @@
 package edu.eci.cvds.Task.models;
 
+import com.github.benmanes.caffeine.cache.Interner;
 import edu.eci.cvds.Task.TaskManagerException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * This class represents a Task, and prevents an incorrect use of it
  * by trying to assign wrong values to its attributes.
+ * The fields are kept in a compact layout, since there may be millions of tasks in memory: the deadline is kept
+ * as primitive seconds and nanoseconds instead of a LocalDateTime, the state and the difficulty are packed in one
+ * byte, and the names and descriptions are deduplicated so the repeated ones are shared. The tasks are stored and
+ * written as JSON through their getters and setters, so the documents and the JSON have the same fields as before.
  * @Version 1.0
  * @Since 20-09-2024
  */
-@Setter
 @Getter
 @Document(collection = "Tasks")
-public class Task {
+@AccessType(AccessType.Type.PROPERTY)
+public class Task implements TaskView {
+    private static final Interner<String> TEXTS = Interner.newWeakInterner();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final int FINISHED = 1;
+    private static final int DIFFICULTY_SHIFT = 1;
+    private static final int NO_DEADLINE = -1;
     @Id
+    @Setter
     private String id;
     private String name;
     private String description;
-    private boolean state;
+    @Setter
     private int priority;
+    @Setter
     private int estimatedTime;
-    private Difficulty difficulty;
-    private LocalDateTime deadline;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private long deadlineSeconds;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private int deadlineNanos = NO_DEADLINE;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private byte flags;
 
 
     /**
@@ -49,20 +72,44 @@ public class Task {
         }
         if(!validatePriority(priority)) throw new TaskManagerException(TaskManagerException.PRIORITY_OUT_OF_RANGE);
         if(!validateEstimatedTime(estimatedTime)) throw new TaskManagerException(TaskManagerException.TIME_INCORRECT);
-        this.name = name;
+        this.name = TEXTS.intern(name);
         this.id = id;
-        this.description = description;
-        this.state = state;
+        this.description = TEXTS.intern(description);
         this.priority = priority;
         this.estimatedTime = estimatedTime;
-        this.difficulty = difficulty;
-        this.deadline = deadline;
+        setState(state);
+        setDifficulty(difficulty);
+        setDeadline(deadline);
     }
+    private Task() {
+    }
+
+    /**
+     * This method returns a Task with only the given id, the other fields are left empty to be filled with the fields
+     * of a projection, so it does not validate them like the constructor does.
+     * @param id The id of the task.
+     * @return The task with only the id.
+     */
+    public static Task projection(String id) {
+        Task task = new Task();
+        task.id = id;
+        return task;
+    }
+
+    /**
+     * This method returns a new Task with the same information as this one.
+     * @return The copy of the task.
+     * @throws TaskManagerException If the information of the task is not correct.
+     */
+    public Task copy() throws TaskManagerException {
+        return new Task(id, name, description, getState(), priority, estimatedTime, getDifficulty(), getDeadline());
+    }
+
     /**
      * Methods changes the state of the task.
      */
     public void changeState(){
-        state = (!state);
+        flags ^= FINISHED;
     }
 
     /**
@@ -92,7 +139,7 @@ public class Task {
      */
     public void changeName(String newName) throws TaskManagerException {
         if (!validateName(newName)) throw new TaskManagerException(TaskManagerException.NAME_NOT_NULL);
-        name = newName;
+        name = TEXTS.intern(newName);
     }
 
     /**
@@ -102,7 +149,7 @@ public class Task {
      */
     public void changeDescription(String newDescription) throws TaskManagerException {
         if (!validateDescription(newDescription)) throw new TaskManagerException(TaskManagerException.DESCRIPTION_NOT_NULL);
-        description = newDescription;
+        description = TEXTS.intern(newDescription);
     }
 
 
@@ -111,7 +158,71 @@ public class Task {
      * @return the state of the task
      */
     public boolean getState() {
-        return state;
+        return (flags & FINISHED) != 0;
+    }
+
+    /**
+     * This method sets the state of the task.
+     * @param state True if the task is finished, false otherwise.
+     */
+    public void setState(boolean state) {
+        flags = (byte) (state ? flags | FINISHED : flags & ~FINISHED);
+    }
+
+    /**
+     * This method sets the name of the task without validating it, the repeated names are shared.
+     * @param name The name of the task.
+     */
+    public void setName(String name) {
+        this.name = name == null ? null : TEXTS.intern(name);
+    }
+
+    /**
+     * This method sets the description of the task without validating it, the repeated descriptions are shared.
+     * @param description The description of the task.
+     */
+    public void setDescription(String description) {
+        this.description = description == null ? null : TEXTS.intern(description);
+    }
+
+    /**
+     * This method returns the difficulty of the task, it is kept in the bits after the state.
+     * @return The difficulty of the task, null if it has none.
+     */
+    public Difficulty getDifficulty() {
+        int difficulty = flags >> DIFFICULTY_SHIFT;
+        return difficulty == 0 ? null : DIFFICULTIES[difficulty - 1];
+    }
+
+    /**
+     * This method sets the difficulty of the task.
+     * @param difficulty The difficulty of the task, null for none.
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        int value = difficulty == null ? 0 : difficulty.ordinal() + 1;
+        flags = (byte) ((flags & FINISHED) | (value << DIFFICULTY_SHIFT));
+    }
+
+    /**
+     * This method returns the deadline of the task, built from the seconds and the nanoseconds it is kept in.
+     * @return The deadline of the task, null if it has none.
+     */
+    public LocalDateTime getDeadline() {
+        return deadlineNanos == NO_DEADLINE ? null : LocalDateTime.ofEpochSecond(deadlineSeconds, deadlineNanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * This method sets the deadline of the task.
+     * @param deadline The deadline of the task, null for none.
+     */
+    public void setDeadline(LocalDateTime deadline) {
+        if (deadline == null) {
+            deadlineSeconds = 0;
+            deadlineNanos = NO_DEADLINE;
+        } else {
+            deadlineSeconds = deadline.toEpochSecond(ZoneOffset.UTC);
+            deadlineNanos = deadline.getNano();
+        }
     }
 
     /**
@@ -121,7 +232,7 @@ public class Task {
      */
     public boolean equals(Task task) {
         return id.equals(task.getId())&&name.equals(task.getName())&&
-                description.equals(task.getDescription())&&state==task.getState()&&
+                description.equals(task.getDescription())&&getState()==task.getState()&&
                 priority==task.getPriority();
     }
 
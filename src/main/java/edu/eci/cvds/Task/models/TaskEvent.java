@@ -0,0 +1,127 @@
+package edu.eci.cvds.Task.models;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * This class is a change made to a task of a user, the events of a user are numbered in the order they happened,
+ * so the tasks of the user at any moment are the result of applying its events up to that moment.
+ * The added and updated events keep all the fields of the task, the state changes keep the new state.
+ * Applying an event twice leaves the tasks as applying it once.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+@Document(collection = "TaskEvents")
+@CompoundIndex(name = "user_sequence", def = "{'userId': 1, 'sequence': 1}", unique = true)
+public class TaskEvent {
+    /**
+     * This enum is the kind of change made to a task.
+     */
+    public enum Type { TASK_ADDED, TASK_UPDATED, STATE_TOGGLED, TASK_DELETED }
+
+    @Id
+    private String id;
+    private String userId;
+    private long sequence;
+    private LocalDateTime time;
+    private Type type;
+    private String taskId;
+    private TaskDTO task;
+    private Boolean state;
+
+    /**
+     * This method returns the event of a task added or updated, with all the fields of the task.
+     * @param userId The id of the user of the task.
+     * @param sequence The number of the event among the events of the user.
+     * @param time The moment of the change.
+     * @param type The type of the change, added or updated.
+     * @param task The task as it was left by the change.
+     * @return The event of the change.
+     */
+    public static TaskEvent of(String userId, long sequence, LocalDateTime time, Type type, Task task) {
+        TaskDTO fields = new TaskDTO(task.getId(), task.getName(), task.getDescription(), task.getState(),
+                task.getPriority(), task.getEstimatedTime(), task.getDifficulty(), task.getDeadline());
+        return new TaskEvent(userId + ":" + sequence, userId, sequence, time, type, task.getId(), fields, null);
+    }
+
+    /**
+     * This method returns the event of a change of the state of a task.
+     * @param userId The id of the user of the task.
+     * @param sequence The number of the event among the events of the user.
+     * @param time The moment of the change.
+     * @param taskId The id of the task.
+     * @param state The new state of the task.
+     * @return The event of the change.
+     */
+    public static TaskEvent toggled(String userId, long sequence, LocalDateTime time, String taskId, boolean state) {
+        return new TaskEvent(userId + ":" + sequence, userId, sequence, time, Type.STATE_TOGGLED, taskId, null, state);
+    }
+
+    /**
+     * This method returns the event of a task deleted.
+     * @param userId The id of the user of the task.
+     * @param sequence The number of the event among the events of the user.
+     * @param time The moment of the change.
+     * @param taskId The id of the task.
+     * @return The event of the change.
+     */
+    public static TaskEvent deleted(String userId, long sequence, LocalDateTime time, String taskId) {
+        return new TaskEvent(userId + ":" + sequence, userId, sequence, time, Type.TASK_DELETED, taskId, null, null);
+    }
+
+    /**
+     * This method returns the event that takes the given task from how it was to how it is,
+     * null if both are the same.
+     * @param userId The id of the user of the task.
+     * @param sequence The number of the event among the events of the user.
+     * @param time The moment of the change.
+     * @param before The task before the change, null if it did not exist.
+     * @param after The task after the change, null if it was deleted.
+     * @return The event of the change, null if there was no change.
+     */
+    public static TaskEvent between(String userId, long sequence, LocalDateTime time, Task before, Task after) {
+        if (after == null) return before == null ? null : deleted(userId, sequence, time, before.getId());
+        if (before == null) return of(userId, sequence, time, Type.TASK_ADDED, after);
+        boolean sameFields = before.getName().equals(after.getName())
+                && before.getDescription().equals(after.getDescription())
+                && before.getPriority() == after.getPriority()
+                && before.getEstimatedTime() == after.getEstimatedTime()
+                && before.getDifficulty() == after.getDifficulty()
+                && Objects.equals(before.getDeadline(), after.getDeadline());
+        if (!sameFields) return of(userId, sequence, time, Type.TASK_UPDATED, after);
+        if (before.getState() != after.getState()) return toggled(userId, sequence, time, after.getId(), after.getState());
+        return null;
+    }
+
+    /**
+     * This method applies the event to the tasks of the given user. The statistics of the user have to be
+     * computed again after applying the events.
+     * @param user The user of the task.
+     * @throws TaskManagerException If the fields of the task are not valid.
+     */
+    public void applyTo(User user) throws TaskManagerException {
+        TaskMap tasks = user.getTasks();
+        switch (type) {
+            case TASK_ADDED, TASK_UPDATED -> tasks.put(taskId, new Task(taskId, task.getName(), task.getDescription(),
+                    task.getState(), task.getPriority(), task.getEstimatedTime(), task.getDifficulty(), task.getDeadline()));
+            case STATE_TOGGLED -> {
+                Task current = tasks.get(taskId);
+                if (current != null && current.getState() != state) {
+                    Task changed = current.copy();
+                    changed.setState(state);
+                    tasks.put(taskId, changed);
+                }
+            }
+            case TASK_DELETED -> tasks.remove(taskId);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package edu.eci.cvds.Task.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This class is a Data Transfer Object with the conditions a task must meet to be returned by a query.
+ * Every condition given must be met, the ones left null are ignored, and the conditions can be combined
+ * with other filters: all the filters of and, at least one of the filters of or, and not the filter of not.
+ * The deadlines are exclusive bounds and a filter without conditions is met by every task.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterDTO {
+    private Boolean state;
+    private Integer priority;
+    private Integer minPriority;
+    private Integer maxPriority;
+    private Difficulty difficulty;
+    private Integer minEstimatedTime;
+    private Integer maxEstimatedTime;
+    private LocalDateTime deadlineBefore;
+    private LocalDateTime deadlineAfter;
+    private List<TaskFilterDTO> and;
+    private List<TaskFilterDTO> or;
+    private TaskFilterDTO not;
+}
@@ -0,0 +1,133 @@
+package edu.eci.cvds.Task.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * This class keeps the tasks of a user grouped by the value of each field the queries filter by: the state,
+ * the priority, the difficulty, the estimated time and the deadline, and the unfinished tasks in the order they
+ * should be done. It is updated every time a task is added or removed, so a query reads only the tasks of the
+ * group of one of its conditions instead of going over all the tasks of the user.
+ * The groups that become empty are removed, so the maps only have the values that some task has.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class TaskIndexes {
+    private final Set<Task> finished = new HashSet<>();
+    private final Set<Task> unfinished = new HashSet<>();
+    private final Map<Integer, Set<Task>> byPriority = new HashMap<>();
+    private final Map<Difficulty, Set<Task>> byDifficulty = new EnumMap<>(Difficulty.class);
+    private final Map<Integer, Set<Task>> byEstimatedTime = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Set<Task>> byDeadline = new TreeMap<>();
+    private final PendingTasks pending = new PendingTasks();
+    private long total;
+
+    /**
+     * This method returns the indexes of the given tasks.
+     * @param tasks The tasks of the user.
+     * @return The indexes of the tasks.
+     */
+    public static TaskIndexes of(Collection<Task> tasks) {
+        TaskIndexes indexes = new TaskIndexes();
+        for (Task task : tasks) {
+            indexes.add(task);
+        }
+        return indexes;
+    }
+
+    /**
+     * This method adds the given task to the group of each one of its values.
+     * @param task The task added.
+     */
+    public void add(Task task) {
+        total++;
+        (task.getState() ? finished : unfinished).add(task);
+        byPriority.computeIfAbsent(task.getPriority(), key -> new HashSet<>()).add(task);
+        if (task.getDifficulty() != null) byDifficulty.computeIfAbsent(task.getDifficulty(), key -> new HashSet<>()).add(task);
+        byEstimatedTime.computeIfAbsent(task.getEstimatedTime(), key -> new HashSet<>()).add(task);
+        if (task.getDeadline() != null) byDeadline.computeIfAbsent(task.getDeadline(), key -> new HashSet<>()).add(task);
+        pending.add(task);
+    }
+
+    /**
+     * This method removes the given task from its groups, it must have the same values it had when it was added.
+     * @param task The task removed.
+     */
+    public void remove(Task task) {
+        total--;
+        (task.getState() ? finished : unfinished).remove(task);
+        remove(byPriority, task.getPriority(), task);
+        if (task.getDifficulty() != null) remove(byDifficulty, task.getDifficulty(), task);
+        remove(byEstimatedTime, task.getEstimatedTime(), task);
+        if (task.getDeadline() != null) remove(byDeadline, task.getDeadline(), task);
+        pending.remove(task);
+    }
+
+    /**
+     * This method returns the tasks that may meet the given filter: the smallest group of the conditions of the
+     * filter over a single value, or the tasks with a deadline in its range if it has no such condition.
+     * The conditions of the filter must still be evaluated over the tasks returned.
+     * @param filter The conditions of the tasks.
+     * @return The candidate tasks, null if no condition of the filter has an index so every task is a candidate.
+     */
+    public Collection<Task> candidates(TaskFilterDTO filter) {
+        if (filter == null) return null;
+        Collection<Task> candidates = null;
+        if (filter.getState() != null) candidates = smallest(candidates, filter.getState() ? finished : unfinished);
+        if (filter.getPriority() != null) candidates = smallest(candidates, group(byPriority, filter.getPriority()));
+        if (filter.getDifficulty() != null) candidates = smallest(candidates, group(byDifficulty, filter.getDifficulty()));
+        if (filter.getMinEstimatedTime() != null && filter.getMinEstimatedTime().equals(filter.getMaxEstimatedTime())) {
+            candidates = smallest(candidates, group(byEstimatedTime, filter.getMinEstimatedTime()));
+        }
+        if (candidates != null || (filter.getDeadlineBefore() == null && filter.getDeadlineAfter() == null)) return candidates;
+        NavigableMap<LocalDateTime, Set<Task>> range = byDeadline;
+        if (filter.getDeadlineBefore() != null) range = range.headMap(filter.getDeadlineBefore(), false);
+        if (filter.getDeadlineAfter() != null) range = range.tailMap(filter.getDeadlineAfter(), false);
+        List<Task> inRange = new ArrayList<>();
+        for (Set<Task> tasks : range.values()) {
+            inRange.addAll(tasks);
+        }
+        return inRange;
+    }
+
+    /**
+     * This method returns the unfinished tasks in the order they should be done.
+     * @return The pending tasks.
+     */
+    public PendingTasks getPending() {
+        return pending;
+    }
+
+    /**
+     * This method returns the number of tasks added.
+     * @return The number of tasks.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    private static <K> Set<Task> group(Map<K, Set<Task>> index, K key) {
+        return index.getOrDefault(key, Collections.emptySet());
+    }
+
+    private static <K> void remove(Map<K, Set<Task>> index, K key, Task task) {
+        Set<Task> tasks = index.get(key);
+        if (tasks == null) return;
+        tasks.remove(task);
+        if (tasks.isEmpty()) index.remove(key);
+    }
+
+    private static Collection<Task> smallest(Collection<Task> current, Collection<Task> group) {
+        return current == null || group.size() < current.size() ? group : current;
+    }
+}
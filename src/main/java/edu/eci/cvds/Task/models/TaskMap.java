@@ -0,0 +1,453 @@
+package edu.eci.cvds.Task.models;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class is the map of the tasks of a user by their id, kept in a persistent hash array mapped trie:
+ * the nodes are never changed, each change copies only the nodes of the path to the task and then the new root
+ * is published, so the writers don't copy the whole map and the readers of other threads see every version whole
+ * without locks. The snapshots of the tasks share the nodes of the version they were taken from, so they are taken
+ * in constant time and they don't change when the map changes.
+ * The ids and the tasks are kept inline in one array per node, the pairs first and the child nodes at the end,
+ * so there is no object per task and the tasks of a node are read one after the other when the map is walked.
+ * A node that is left with a single task is merged into its parent, so the trie of a set of ids is always the same
+ * and the tasks are walked in the same order whatever the order they were added in.
+ * Like a HashMap it takes a null id, kept with the hash of 0, but not a null task.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class TaskMap extends AbstractMap<String, Task> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Version EMPTY = new Version(new Branch(0, 0, new Object[0]), 0);
+    private volatile Version version = EMPTY;
+
+    /**
+     * This method is the TaskMap constructor, it makes an empty map.
+     */
+    public TaskMap() {
+    }
+
+    /**
+     * This method returns a new map with the tasks of this one, it is taken in constant time: both maps share the
+     * nodes of the version they have now, and the changes made to one of them are not seen by the other.
+     * @return The copy of the map.
+     */
+    public TaskMap copy() {
+        TaskMap copy = new TaskMap();
+        copy.version = version;
+        return copy;
+    }
+
+    /**
+     * This method returns an immutable list of the tasks of the map as they are now, it is taken in constant time
+     * and it does not change when the map changes.
+     * @return The snapshot of the tasks.
+     */
+    public List<Task> snapshot() {
+        return new Snapshot(version);
+    }
+
+    @Override
+    public int size() {
+        return version.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key == null || key instanceof String) && find(version.root, hash(key), (String) key) != null;
+    }
+
+    @Override
+    public Task get(Object key) {
+        return key == null || key instanceof String ? find(version.root, hash(key), (String) key) : null;
+    }
+
+    @Override
+    public Task put(String key, Task value) {
+        Objects.requireNonNull(value);
+        Version current = version;
+        int hash = hash(key);
+        Task old = find(current.root, hash, key);
+        version = new Version((Branch) insert(current.root, key, value, hash, 0), old == null ? current.size + 1 : current.size);
+        return old;
+    }
+
+    @Override
+    public Task remove(Object key) {
+        if (key != null && !(key instanceof String)) return null;
+        String id = (String) key;
+        Version current = version;
+        int hash = hash(id);
+        Task old = find(current.root, hash, id);
+        if (old == null) return null;
+        version = new Version((Branch) delete(current.root, id, hash, 0), current.size - 1);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        version = EMPTY;
+    }
+
+    @Override
+    public Collection<Task> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Task> iterator() {
+                Walk walk = new Walk(version.root);
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return walk.hasNext();
+                    }
+
+                    @Override
+                    public Task next() {
+                        return walk.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        TaskMap.this.remove(walk.removeKey());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TaskMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Task>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Task>> iterator() {
+                Walk walk = new Walk(version.root);
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return walk.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Task> next() {
+                        Task task = walk.next();
+                        return new SimpleImmutableEntry<>(walk.key, task);
+                    }
+
+                    @Override
+                    public void remove() {
+                        TaskMap.this.remove(walk.removeKey());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TaskMap.this.size();
+            }
+        };
+    }
+
+    private static Task find(Node node, int hash, String key) {
+        int shift = 0;
+        while (node instanceof Branch branch) {
+            int bit = bit(hash, shift);
+            if ((branch.dataMap & bit) != 0) {
+                int index = branch.dataIndex(bit) << 1;
+                return Objects.equals(key, branch.content[index]) ? (Task) branch.content[index + 1] : null;
+            }
+            if ((branch.nodeMap & bit) == 0) return null;
+            node = branch.node(bit);
+            shift += BITS;
+        }
+        Object[] content = ((Collision) node).content;
+        for (int i = 0; i < content.length; i += 2) {
+            if (Objects.equals(key, content[i])) return (Task) content[i + 1];
+        }
+        return null;
+    }
+
+    private static Node insert(Node node, String key, Task value, int hash, int shift) {
+        if (node instanceof Collision collision) {
+            if (collision.hash != hash) return push(collision, key, value, hash, shift);
+            Object[] content = collision.content;
+            for (int i = 0; i < content.length; i += 2) {
+                if (Objects.equals(content[i], key)) {
+                    Object[] replaced = content.clone();
+                    replaced[i + 1] = value;
+                    return new Collision(hash, replaced);
+                }
+            }
+            Object[] added = Arrays.copyOf(content, content.length + 2);
+            added[content.length] = key;
+            added[content.length + 1] = value;
+            return new Collision(hash, added);
+        }
+        Branch branch = (Branch) node;
+        int bit = bit(hash, shift);
+        if ((branch.dataMap & bit) != 0) {
+            int index = branch.dataIndex(bit) << 1;
+            String other = (String) branch.content[index];
+            if (Objects.equals(other, key)) {
+                Object[] content = branch.content.clone();
+                content[index + 1] = value;
+                return new Branch(branch.dataMap, branch.nodeMap, content);
+            }
+            Task otherValue = (Task) branch.content[index + 1];
+            return branch.dataToNode(bit, merge(other, otherValue, hash(other), key, value, hash, shift + BITS));
+        }
+        if ((branch.nodeMap & bit) != 0) {
+            int index = branch.nodePosition(bit);
+            Object[] content = branch.content.clone();
+            content[index] = insert((Node) content[index], key, value, hash, shift + BITS);
+            return new Branch(branch.dataMap, branch.nodeMap, content);
+        }
+        return branch.withData(bit, key, value);
+    }
+
+    private static Node delete(Node node, String key, int hash, int shift) {
+        if (node instanceof Collision collision) {
+            Object[] content = collision.content;
+            Object[] left = new Object[content.length - 2];
+            int next = 0;
+            for (int i = 0; i < content.length; i += 2) {
+                if (Objects.equals(content[i], key)) continue;
+                left[next++] = content[i];
+                left[next++] = content[i + 1];
+            }
+            return left.length == 2 ? new Branch(bit(hash, shift), 0, left) : new Collision(hash, left);
+        }
+        Branch branch = (Branch) node;
+        int bit = bit(hash, shift);
+        if ((branch.dataMap & bit) != 0) return branch.withoutData(bit);
+        int index = branch.nodePosition(bit);
+        Node child = delete((Node) branch.content[index], key, hash, shift + BITS);
+        if (child instanceof Branch single && single.nodeMap == 0 && Integer.bitCount(single.dataMap) == 1) {
+            return branch.nodeToData(bit, (String) single.content[0], (Task) single.content[1]);
+        }
+        Object[] content = branch.content.clone();
+        content[index] = child;
+        return new Branch(branch.dataMap, branch.nodeMap, content);
+    }
+
+    private static Node merge(String firstKey, Task firstValue, int firstHash, String secondKey, Task secondValue, int secondHash, int shift) {
+        if (firstHash == secondHash) return new Collision(firstHash, new Object[]{firstKey, firstValue, secondKey, secondValue});
+        int firstBit = bit(firstHash, shift);
+        int secondBit = bit(secondHash, shift);
+        if (firstBit == secondBit) {
+            return new Branch(0, firstBit, new Object[]{merge(firstKey, firstValue, firstHash, secondKey, secondValue, secondHash, shift + BITS)});
+        }
+        Object[] content = Integer.compareUnsigned(firstBit, secondBit) < 0
+                ? new Object[]{firstKey, firstValue, secondKey, secondValue}
+                : new Object[]{secondKey, secondValue, firstKey, firstValue};
+        return new Branch(firstBit | secondBit, 0, content);
+    }
+
+    private static Node push(Collision collision, String key, Task value, int hash, int shift) {
+        int collisionBit = bit(collision.hash, shift);
+        int bit = bit(hash, shift);
+        if (collisionBit == bit) return new Branch(0, bit, new Object[]{push(collision, key, value, hash, shift + BITS)});
+        return new Branch(bit, collisionBit, new Object[]{key, value, collision});
+    }
+
+    private static int hash(Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private sealed interface Node permits Branch, Collision {
+    }
+
+    /**
+     * This class is a node of the trie, the ids and tasks of the bits of dataMap are kept in pairs at the start
+     * of the content and the nodes of the bits of nodeMap are kept at the end of it, the first one last.
+     */
+    private static final class Branch implements Node {
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content;
+
+        private Branch(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodePosition(int bit) {
+            return content.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        private Node node(int bit) {
+            return (Node) content[nodePosition(bit)];
+        }
+
+        private Branch withData(int bit, String key, Task value) {
+            int index = dataIndex(bit) << 1;
+            Object[] added = new Object[content.length + 2];
+            System.arraycopy(content, 0, added, 0, index);
+            added[index] = key;
+            added[index + 1] = value;
+            System.arraycopy(content, index, added, index + 2, content.length - index);
+            return new Branch(dataMap | bit, nodeMap, added);
+        }
+
+        private Branch withoutData(int bit) {
+            int index = dataIndex(bit) << 1;
+            Object[] removed = new Object[content.length - 2];
+            System.arraycopy(content, 0, removed, 0, index);
+            System.arraycopy(content, index + 2, removed, index, content.length - index - 2);
+            return new Branch(dataMap & ~bit, nodeMap, removed);
+        }
+
+        private Branch dataToNode(int bit, Node node) {
+            int index = dataIndex(bit) << 1;
+            Object[] changed = new Object[content.length - 1];
+            int position = changed.length - 1 - Integer.bitCount(nodeMap & (bit - 1));
+            System.arraycopy(content, 0, changed, 0, index);
+            System.arraycopy(content, index + 2, changed, index, position - index);
+            changed[position] = node;
+            System.arraycopy(content, position + 2, changed, position + 1, content.length - position - 2);
+            return new Branch(dataMap & ~bit, nodeMap | bit, changed);
+        }
+
+        private Branch nodeToData(int bit, String key, Task value) {
+            int index = dataIndex(bit) << 1;
+            int position = nodePosition(bit);
+            Object[] changed = new Object[content.length + 1];
+            System.arraycopy(content, 0, changed, 0, index);
+            changed[index] = key;
+            changed[index + 1] = value;
+            System.arraycopy(content, index, changed, index + 2, position - index);
+            System.arraycopy(content, position + 1, changed, position + 2, content.length - position - 1);
+            return new Branch(dataMap | bit, nodeMap & ~bit, changed);
+        }
+    }
+
+    /**
+     * This class is a node of the ids with the same hash, kept in pairs with their tasks.
+     */
+    private static final class Collision implements Node {
+        private final int hash;
+        private final Object[] content;
+
+        private Collision(int hash, Object[] content) {
+            this.hash = hash;
+            this.content = content;
+        }
+    }
+
+    private record Version(Branch root, int size) {
+    }
+
+    /**
+     * This class walks the tasks of a version of the trie in depth, reading the pairs of each node one after the other.
+     */
+    private static final class Walk implements Iterator<Task> {
+        private final Deque<Node> pending = new ArrayDeque<>();
+        private Object[] content;
+        private int next;
+        private int end;
+        private String key;
+        private boolean removable;
+
+        private Walk(Branch root) {
+            pending.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == end && !pending.isEmpty()) {
+                Node node = pending.pop();
+                if (node instanceof Branch branch) {
+                    content = branch.content;
+                    end = Integer.bitCount(branch.dataMap) << 1;
+                    for (int i = content.length - Integer.bitCount(branch.nodeMap); i < content.length; i++) {
+                        pending.push((Node) content[i]);
+                    }
+                } else {
+                    content = ((Collision) node).content;
+                    end = content.length;
+                }
+                next = 0;
+            }
+            return next < end;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            key = (String) content[next];
+            removable = true;
+            Task task = (Task) content[next + 1];
+            next += 2;
+            return task;
+        }
+
+        private String removeKey() {
+            if (!removable) throw new IllegalStateException();
+            removable = false;
+            return key;
+        }
+    }
+
+    /**
+     * This class is the list of the tasks of one version of the trie, it is read walking the trie and the tasks are
+     * put in an array only the first time they are read by position.
+     */
+    private static final class Snapshot extends AbstractList<Task> {
+        private final Version version;
+        private volatile Task[] tasks;
+
+        private Snapshot(Version version) {
+            this.version = version;
+        }
+
+        @Override
+        public Task get(int index) {
+            Task[] array = tasks;
+            if (array == null) {
+                array = new Task[version.size];
+                int next = 0;
+                for (Walk walk = new Walk(version.root); walk.hasNext(); ) {
+                    array[next++] = walk.next();
+                }
+                tasks = array;
+            }
+            return array[index];
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Walk(version.root);
+        }
+
+        @Override
+        public int size() {
+            return version.size;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.eci.cvds.Task.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * This class is a Data Transfer Object with one change of a batch of changes to the tasks of a user:
+ * the task to add, the task to update, or the id of the task to delete or to change its state.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskOperation {
+    private Type type;
+    private String id;
+    private TaskDTO task;
+
+    /**
+     * This enum lists the changes a batch can make to a task.
+     */
+    public enum Type {
+        ADD,
+        UPDATE,
+        DELETE,
+        TOGGLE
+    }
+}
@@ -0,0 +1,46 @@
+package edu.eci.cvds.Task.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This class is a Data Transfer Object with the result of one change of a batch: the position of the change
+ * in the batch, the id of the task changed and, if it failed, the reason. The task added is returned too,
+ * so the client learns the id it was given.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+public class TaskOperationResult {
+    private int index;
+    private TaskOperation.Type type;
+    private String id;
+    private boolean success;
+    private String error;
+    private Task task;
+
+    /**
+     * This method returns the result of a change that was made.
+     * @param index The position of the change in the batch.
+     * @param type The type of the change.
+     * @param id The id of the task changed.
+     * @param task The task added, null for the other changes.
+     * @return The result of the change.
+     */
+    public static TaskOperationResult success(int index, TaskOperation.Type type, String id, Task task) {
+        return new TaskOperationResult(index, type, id, true, null, task);
+    }
+
+    /**
+     * This method returns the result of a change that was not made.
+     * @param index The position of the change in the batch.
+     * @param type The type of the change.
+     * @param id The id of the task of the change.
+     * @param error The reason the change was not made.
+     * @return The result of the change.
+     */
+    public static TaskOperationResult failure(int index, TaskOperation.Type type, String id, String error) {
+        return new TaskOperationResult(index, type, id, false, error, null);
+    }
+}
@@ -0,0 +1,19 @@
+package edu.eci.cvds.Task.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * This class is a Data Transfer Object with a page of tasks and the cursor to ask for the next one,
+ * the cursor is null when there are no more tasks.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+public class TaskPage {
+    private List<Task> tasks;
+    private String nextCursor;
+}
@@ -0,0 +1,92 @@
+package edu.eci.cvds.Task.models;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * This class keeps the counters of the tasks of a user used by the analytics, they are updated every time
+ * a task is added or removed, so the analytics don't have to go over all the tasks of the user.
+ * The counters that reach zero are removed, so the maps only have the values that some task has.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+public class TaskStatistics {
+    private long total;
+    private HashMap<Difficulty, Long> countByDifficulty = new HashMap<>();
+    private HashMap<Integer, Long> countByPriority = new HashMap<>();
+    private HashMap<Integer, Long> finishedByEstimatedTime = new HashMap<>();
+    private HashMap<Difficulty, Double> finishedTimeByDifficulty = new HashMap<>();
+
+    /**
+     * This method returns new statistics of the given tasks.
+     * @param tasks The tasks to count.
+     * @return The statistics of the tasks.
+     */
+    public static TaskStatistics of(Collection<Task> tasks) {
+        TaskStatistics statistics = new TaskStatistics();
+        for (Task task : tasks) {
+            statistics.add(task);
+        }
+        return statistics;
+    }
+
+    /**
+     * This method counts the given task.
+     * @param task The task added.
+     */
+    public void add(Task task) {
+        update(task, 1);
+    }
+
+    /**
+     * This method stops counting the given task, it must have the same values it had when it was added.
+     * @param task The task removed.
+     */
+    public void remove(Task task) {
+        update(task, -1);
+    }
+
+    /**
+     * This method returns the number of tasks with the given difficulty.
+     * @param difficulty The difficulty of the tasks.
+     * @return The number of tasks.
+     */
+    public long countOf(Difficulty difficulty) {
+        return countByDifficulty.getOrDefault(difficulty, 0L);
+    }
+
+    /**
+     * This method returns a new TaskStatistics with the same counters.
+     * @return The copy of the statistics.
+     */
+    public TaskStatistics copy() {
+        TaskStatistics copy = new TaskStatistics();
+        copy.total = total;
+        copy.countByDifficulty = new HashMap<>(countByDifficulty);
+        copy.countByPriority = new HashMap<>(countByPriority);
+        copy.finishedByEstimatedTime = new HashMap<>(finishedByEstimatedTime);
+        copy.finishedTimeByDifficulty = new HashMap<>(finishedTimeByDifficulty);
+        return copy;
+    }
+
+    private void update(Task task, int sign) {
+        total += sign;
+        countByDifficulty.compute(task.getDifficulty(), (key, count) -> nonZero((count == null ? 0 : count) + sign));
+        countByPriority.compute(task.getPriority(), (key, count) -> nonZero((count == null ? 0 : count) + sign));
+        if (task.getState()) {
+            finishedByEstimatedTime.compute(task.getEstimatedTime(), (key, count) -> nonZero((count == null ? 0 : count) + sign));
+            finishedTimeByDifficulty.compute(task.getDifficulty(), (key, time) -> nonZero((time == null ? 0 : time) + sign * (double) task.getEstimatedTime()));
+        }
+    }
+
+    private static Long nonZero(long value) {
+        return value == 0 ? null : value;
+    }
+
+    private static Double nonZero(double value) {
+        return value == 0 ? null : value;
+    }
+}
@@ -0,0 +1,20 @@
+package edu.eci.cvds.Task.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * This interface is a read only view of the fields of a task, it lets the queries evaluate their conditions
+ * over a Task or over a stored row without building a Task for it.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public interface TaskView {
+    String getId();
+    String getName();
+    String getDescription();
+    boolean getState();
+    int getPriority();
+    int getEstimatedTime();
+    Difficulty getDifficulty();
+    LocalDateTime getDeadline();
+}
@@ -1,10 +1,14 @@
 package edu.eci.cvds.Task.models;
 
+import edu.eci.cvds.Task.IdGenerator;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.services.TaskService;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,13 +24,19 @@ import java.util.*;
 public class User implements TaskService, UserDetails {
     @Id
     private String usernameId;
-    private HashMap<String,Task> tasks;
+    private TaskMap tasks;
     private String name;
     private String password;
-    private int idTask=1;
     @Indexed(unique=true)
     private String email;
     private Role role = Role.USER;
+    @Getter(AccessLevel.NONE)
+    private TaskStatistics statistics;
+    private long version;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile TaskIndexes indexes;
 
 
     /**
@@ -41,8 +51,9 @@ public class User implements TaskService, UserDetails {
         this.usernameId = usernameId;
         this.name = name;
         this.password = password;
-        this.tasks = new HashMap<>();
+        this.tasks = new TaskMap();
         this.email = email;
+        this.statistics = new TaskStatistics();
     }
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -61,6 +72,7 @@ public class User implements TaskService, UserDetails {
     @Override
     public Task addTask(TaskDTO taskDTO) throws TaskManagerException {
         if(tasks.containsKey(taskDTO.getId())) throw new TaskManagerException(TaskManagerException.TASK_ALREADY_EXIST);
+        TaskIndexes taskIndexes = getIndexes();
         Task task = new Task(
                 generateId(),
                 taskDTO.getName(),
@@ -71,6 +83,8 @@ public class User implements TaskService, UserDetails {
                 taskDTO.getDifficulty(),
                 taskDTO.getDeadline());
         tasks.put(task.getId(), task);
+        getStatistics().add(task);
+        taskIndexes.add(task);
         return task;
     }
 
@@ -82,7 +96,8 @@ public class User implements TaskService, UserDetails {
     @Override
     public void deleteTask(String id) throws TaskManagerException {
         if(!tasks.containsKey(id)) throw new TaskManagerException(TaskManagerException.TASK_NOT_FOUND);
-        tasks.remove(id);
+        getIndexes().remove(tasks.get(id));
+        getStatistics().remove(tasks.remove(id));
     }
 
     /**
@@ -95,8 +110,9 @@ public class User implements TaskService, UserDetails {
     public void changeStateTask(String id) throws TaskManagerException {
         if(!tasks.containsKey(id)) throw new TaskManagerException(TaskManagerException.TASK_NOT_FOUND);
         Task task = tasks.get(id);
-        task.changeState();
-        tasks.put(id, task);
+        Task changed = task.copy();
+        changed.changeState();
+        replace(task, changed);
     }
 
     /**
@@ -109,26 +125,51 @@ public class User implements TaskService, UserDetails {
      */
     @Override
     public void updateTask(TaskDTO dto) throws TaskManagerException {
-        if(!tasks.containsKey(dto.getId())) throw new TaskManagerException(TaskManagerException.TASK_NOT_FOUND);
-        Task task = tasks.get(dto.getId());
-        task.changeName(dto.getName());
-        task.changeDescription(dto.getDescription());
-        task.setState(dto.getState());
-        task.changePriority(dto.getPriority());
-        task.changeEstimatedTime(dto.getEstimatedTime());
-        task.setDifficulty(dto.getDifficulty());
-        task.setDeadline(dto.getDeadline());
-        tasks.put(task.getId(), task);
+        updateTask(dto.getId(), dto);
+    }
+
+    /**
+     * This method updates the Task with the given id with the information of the given TaskDTO, the id of the DTO
+     * is ignored and the DTO is not modified.
+     * @param id The id of the Task to update.
+     * @param dto The given TaskDTO with the new information of the Task.
+     * @throws TaskManagerException If the Task does not exist or the information of the DTO is incorrect.
+     */
+    public void updateTask(String id, TaskDTO dto) throws TaskManagerException {
+        if(!tasks.containsKey(id)) throw new TaskManagerException(TaskManagerException.TASK_NOT_FOUND);
+        Task task = tasks.get(id);
+        Task updated = task.copy();
+        updated.changeName(dto.getName());
+        updated.changeDescription(dto.getDescription());
+        updated.setState(dto.getState());
+        updated.changePriority(dto.getPriority());
+        updated.changeEstimatedTime(dto.getEstimatedTime());
+        updated.setDifficulty(dto.getDifficulty());
+        updated.setDeadline(dto.getDeadline());
+        replace(task, updated);
     }
 
     /**
-     * This method returns all the tasks of the database.
+     * This method puts the changed copy of a task in place of the task, so the snapshots of the tasks
+     * taken before keep the task as it was.
+     */
+    private void replace(Task task, Task changed) {
+        getStatistics().remove(task);
+        getIndexes().remove(task);
+        statistics.add(changed);
+        indexes.add(changed);
+        tasks.put(changed.getId(), changed);
+    }
+
+    /**
+     * This method returns all the tasks of the database, as an immutable snapshot that is taken without copying
+     * the tasks and that does not change when the tasks of the user change.
      * @return A List of the task from the database.
      * @throws TaskManagerException Throws an exception if there is a problem with the database.
      */
     @Override
     public List<Task> getAllTasks() throws TaskManagerException {
-        return new ArrayList<>(tasks.values());
+        return tasks.snapshot();
     }
 
     /**
@@ -139,7 +180,7 @@ public class User implements TaskService, UserDetails {
      */
     @Override
     public List<Task> getTasksByState(boolean state) throws TaskManagerException {
-        return getAllTasks().stream().filter(task -> state==task.getState()).toList();
+        return findTasks(TaskQuery.where(TaskFilterDTO.builder().state(state).build()));
     }
 
     /**
@@ -150,7 +191,7 @@ public class User implements TaskService, UserDetails {
      */
     @Override
     public List<Task> getTasksByDeadline(LocalDateTime deadline) throws TaskManagerException {
-        return getAllTasks().stream().filter(task -> task.getDeadline().isBefore(deadline)).toList();
+        return findTasks(TaskQuery.where(TaskFilterDTO.builder().deadlineBefore(deadline).build()));
     }
 
     /**
@@ -161,7 +202,7 @@ public class User implements TaskService, UserDetails {
      */
     @Override
     public List<Task> getTaskByPriority(int priority) throws TaskManagerException {
-        return List.of();
+        return findTasks(TaskQuery.where(TaskFilterDTO.builder().priority(priority).build()));
     }
 
     /**
@@ -172,7 +213,7 @@ public class User implements TaskService, UserDetails {
      */
     @Override
     public List<Task> getTaskByDifficulty(Difficulty difficulty) throws TaskManagerException {
-        return getAllTasks().stream().filter(task -> task.getDifficulty().equals(difficulty)).toList();
+        return findTasks(TaskQuery.where(TaskFilterDTO.builder().difficulty(difficulty).build()));
     }
     /**
      * This method returns List of Tasks that have the given estimated time.
@@ -182,7 +223,63 @@ public class User implements TaskService, UserDetails {
      */
     @Override
     public List<Task> getTaskByEstimatedTime(int estimatedTime) throws TaskManagerException {
-        return getAllTasks().stream().filter(task -> task.getEstimatedTime() == estimatedTime).toList();
+        return findTasks(TaskQuery.where(TaskFilterDTO.builder().minEstimatedTime(estimatedTime).maxEstimatedTime(estimatedTime).build()));
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given query, the filter is evaluated
+     * only over the tasks of the index of its most selective condition, without copying them first.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The list of tasks that satisfies the query.
+     * @throws TaskManagerException Throws an exception if there is a problem with the database.
+     */
+    @Override
+    public List<Task> findTasks(TaskQuery query) throws TaskManagerException {
+        Collection<Task> candidates = getIndexes().candidates(query.getFilter());
+        return query.apply(candidates == null ? tasks.values() : candidates);
+    }
+
+    /**
+     * This method returns the first unfinished tasks of the user in the order they should be done,
+     * by deadline and then from the highest priority to the lowest, without sorting all the tasks.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks to do.
+     */
+    public List<Task> getNextTasks(int count) {
+        return getIndexes().getPending().first(count);
+    }
+
+    /**
+     * This method returns the counters of the tasks of the user used by the analytics.
+     * They are computed again from the tasks if they were not stored with the user.
+     * @return The statistics of the tasks of the user.
+     */
+    public TaskStatistics getStatistics() {
+        if (statistics == null || statistics.getTotal() != tasks.size()) rebuildStatistics();
+        return statistics;
+    }
+
+    /**
+     * This method computes again the counters of the tasks of the user and forgets the indexes of the tasks,
+     * it must be called when the tasks are changed without the methods of the user.
+     */
+    public void rebuildStatistics() {
+        statistics = TaskStatistics.of(tasks.values());
+        indexes = null;
+    }
+
+    /**
+     * This method returns the indexes of the tasks of the user, they are not stored with the user
+     * so they are built again from the tasks the first time they are needed.
+     * @return The indexes of the tasks of the user.
+     */
+    private TaskIndexes getIndexes() {
+        TaskIndexes current = indexes;
+        if (current == null || current.getTotal() != tasks.size()) {
+            current = TaskIndexes.of(tasks.values());
+            indexes = current;
+        }
+        return current;
     }
 
     /**
@@ -194,6 +291,22 @@ public class User implements TaskService, UserDetails {
         return new UserDTO(usernameId,getAllTasks(),name, email);
     }
 
+    /**
+     * This method returns a new User with the same information, so the changes made to the copy do not affect this user.
+     * The copy shares the map of the tasks and the tasks themselves with this user without copying them: the user
+     * never changes a task in place, it puts a changed copy in place of it, and the map copies only what changes.
+     * @return The copy of the user.
+     * @throws TaskManagerException If the information of the user is not correct.
+     */
+    public User copy() throws TaskManagerException {
+        User copy = new User(usernameId, name, password, email);
+        copy.tasks = tasks.copy();
+        copy.role = role;
+        copy.statistics = getStatistics().copy();
+        copy.version = version;
+        return copy;
+    }
+
     /**
      * This method changes the name of the user, if the given name is valid.
      * @param name The new name of the user.
@@ -227,7 +340,7 @@ public class User implements TaskService, UserDetails {
         return email != null && !email.isEmpty();
     }
     private String generateId(){
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 9) + this.idTask++;
+        return IdGenerator.shared().next();
     }
 
     private void validate(String usernameId, String name, String password, String email) throws TaskManagerException {
@@ -5,6 +5,7 @@ import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.User;
 import edu.eci.cvds.Task.services.TaskAnalysis;
 import edu.eci.cvds.Task.services.TaskAnalyticsService;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
@@ -41,6 +42,10 @@ public class AnalyticsService implements TaskAnalyticsService {
         return taskAnalysis.getTotalTimeSpentByDifficulty(userId);
     }
     @Override
+    public AnalyticsSummary getSummary(String userId) throws TaskManagerException {
+        return taskAnalysis.getSummary(userId);
+    }
+    @Override
     public void  deleteAll(String userId)throws TaskManagerException{
         taskAnalysis.deleteAllTasks(userId);
     }
@@ -2,17 +2,20 @@ package edu.eci.cvds.Task.services;
 
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
-import edu.eci.cvds.Task.models.Task;
 import edu.eci.cvds.Task.models.TaskDTO;
 import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
+import edu.eci.cvds.Task.services.analytics.TaskMutationListener;
 import edu.eci.cvds.Task.services.persistence.UserPersistence;
+import edu.eci.cvds.Task.services.user.ServiceUser;
+import edu.eci.cvds.Task.services.user.UserCommand;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.github.javafaker.Faker;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The TaskAnalysis class is responsible for providing analytical operations and generating random task data
@@ -26,6 +29,8 @@ import java.util.stream.Collectors;
 public class TaskAnalysis {
 
     protected final UserPersistence userRepository;
+    private List<TaskMutationListener> taskMutationListeners = List.of();
+    private ServiceUser serviceUser;
 
     /**
      * Constructor for the TaskAnalysis class. It injects the TaskPersistence component to interact with the data layer.
@@ -36,6 +41,27 @@ public class TaskAnalysis {
         this.userRepository = userRepository;
     }
 
+    /**
+     * Sets the listeners notified when the tasks of a user change.
+     *
+     * @param taskMutationListeners The listeners to notify.
+     */
+    @Autowired(required = false)
+    public void setTaskMutationListeners(List<TaskMutationListener> taskMutationListeners) {
+        this.taskMutationListeners = taskMutationListeners;
+    }
+
+    /**
+     * Sets the service the users are changed through, so the changes of the analysis take the lock or the mailbox
+     * of the user like the other changes. Without it the users are changed directly in the persistence.
+     *
+     * @param serviceUser The service of the users.
+     */
+    @Autowired(required = false)
+    public void setServiceUser(ServiceUser serviceUser) {
+        this.serviceUser = serviceUser;
+    }
+
     /**
      * Generates a specified number of random tasks if no tasks exist in the system.
      *
@@ -119,13 +145,31 @@ public class TaskAnalysis {
      * @throws TaskManagerException If there is an error while saving the tasks.
      */
     protected void generateAnalysis(String userId, int counter) throws TaskManagerException {
-        if(userRepository.findById(userId).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
-        User user = userRepository.findById(userId).get();
         List<TaskDTO> tasks = getRandomTasks(counter);
-        for (TaskDTO task : tasks) {
-            user.addTask(task);
+        UserCommand<Void> addTasks = user -> {
+            for (TaskDTO task : tasks) {
+                user.addTask(task);
+            }
+            return null;
+        };
+        if (serviceUser != null) {
+            serviceUser.changeTasks(userId, addTasks);
+            return;
         }
+        User user = findUser(userId);
+        addTasks.apply(user);
         userRepository.save(user);
+        tasksChanged(userId);
+    }
+
+    /**
+     * Computes all the analytics of the user at once from the counters of its tasks, loading the user only once.
+     *
+     * @return The summary with the histogram, the finished tasks, the priorities and the time spent of the user.
+     * @throws TaskManagerException If there is an error while retrieving data from the persistence layer.
+     */
+    public AnalyticsSummary getSummary(String userId) throws TaskManagerException {
+        return AnalyticsSummary.of(findUser(userId).getStatistics());
     }
 
     /**
@@ -135,11 +179,7 @@ public class TaskAnalysis {
      * @throws TaskManagerException If there is an error while retrieving data from the persistence layer.
      */
     public Map<Difficulty, Long> getHistogram(String userId) throws TaskManagerException {
-        if(userRepository.findById(userId).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
-        long difficultyALTA = userRepository.findById(userId).get().getTaskByDifficulty(Difficulty.ALTA).size();
-        long difficultyMEDIA = userRepository.findById(userId).get().getTaskByDifficulty(Difficulty.MEDIA).size();
-        long difficultyBAJA = userRepository.findById(userId).get().getTaskByDifficulty(Difficulty.BAJA).size();
-        return Map.of(Difficulty.ALTA, difficultyALTA, Difficulty.MEDIA, difficultyMEDIA, Difficulty.BAJA, difficultyBAJA);
+        return getSummary(userId).getHistogram();
     }
 
     /**
@@ -149,12 +189,7 @@ public class TaskAnalysis {
      * @throws TaskManagerException If there is an error while retrieving data from the persistence layer.
      */
     public Map<Integer, Long> getFinishedTasks(String userId) throws TaskManagerException {
-        if(userRepository.findById(userId).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
-        return userRepository.findById(userId).get().getTasksByState(true).stream()
-                .collect(Collectors.groupingBy(
-                        Task::getEstimatedTime,
-                        Collectors.counting()
-                ));
+        return getSummary(userId).getFinishedTasks();
     }
 
     /**
@@ -165,18 +200,7 @@ public class TaskAnalysis {
      * @throws TaskManagerException If there is an error while retrieving data from the persistence layer.
      */
     public Map<Integer, Double> getConsolidatedPriority(String userId) throws TaskManagerException {
-        if(userRepository.findById(userId).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
-        Map<Integer, Double> res = new HashMap<>();
-        List<Task> totalTasks = userRepository.findById(userId).get().getAllTasks();
-        Map<Integer, Long> tasksGrouped = totalTasks.stream()
-                .collect(Collectors.groupingBy(
-                        Task::getPriority,
-                        Collectors.counting()
-                ));
-        for (Map.Entry<Integer, Long> entry : tasksGrouped.entrySet()) {
-            res.put(entry.getKey(), (double) entry.getValue());
-        }
-        return res;
+        return getSummary(userId).getConsolidatedPriority();
     }
 
     /**
@@ -186,19 +210,39 @@ public class TaskAnalysis {
      * @throws TaskManagerException If there is an error while retrieving data from the persistence layer.
      */
     public Map<Difficulty, Double> getTotalTimeSpentByDifficulty(String userId) throws TaskManagerException {
-        if(userRepository.findById(userId).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
-        List<Task> allTasks = userRepository.findById(userId).get().getTasksByState(true);
-        return allTasks.stream().collect(Collectors.groupingBy(
-                Task::getDifficulty,
-                Collectors.summingDouble(Task::getEstimatedTime)
-        ));
+        return getSummary(userId).getTotalTimeSpentByDifficulty();
     }
 
     /**
      * Deletes all tasks from the system.
      */
     public void deleteAllTasks(String userId) throws TaskManagerException{
+        if (serviceUser != null) {
+            serviceUser.deleteUser(userId, user -> null);
+            return;
+        }
         if(userRepository.findById(userId).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
         userRepository.deleteById(userId);
+        tasksChanged(userId);
+    }
+
+    /**
+     * Returns the user with the given id.
+     *
+     * @param userId The id of the user.
+     * @return The user.
+     * @throws TaskManagerException If the user doesn't exist or there is an error with the persistence layer.
+     */
+    protected User findUser(String userId) throws TaskManagerException {
+        return userRepository.findById(userId).orElseThrow(() -> new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST));
+    }
+
+    /**
+     * Notifies the listeners that the tasks of the user changed, once the change is stored.
+     *
+     * @param userId The id of the user whose tasks changed.
+     */
+    protected void tasksChanged(String userId) {
+        userRepository.afterCommit(() -> taskMutationListeners.forEach(listener -> listener.tasksChanged(userId)));
     }
 }
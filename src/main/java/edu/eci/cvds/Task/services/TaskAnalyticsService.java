@@ -3,6 +3,7 @@ package edu.eci.cvds.Task.services;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
 
 import java.util.Map;
 
@@ -12,6 +13,7 @@ public interface TaskAnalyticsService {
     Map<Integer, Long> getFinishedTasks(String userId)throws TaskManagerException;
     Map<Integer, Double> getConsolidatedPriority(String userId)throws TaskManagerException;
     Map<Difficulty, Double> getTotalTimeSpentByDifficulty(String userId) throws TaskManagerException;
+    AnalyticsSummary getSummary(String userId) throws TaskManagerException;
     void deleteAll(String userId) throws TaskManagerException;
 }
 
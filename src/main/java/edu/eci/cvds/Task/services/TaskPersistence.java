@@ -4,6 +4,7 @@ import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
 import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +20,7 @@ public interface TaskPersistence {
     List<Task> findByPriority(int priority) throws TaskManagerException;
     List<Task> findByDifficulty(Difficulty difficulty) throws TaskManagerException;
     List<Task> findByEstimatedTime(int estimatedTime) throws TaskManagerException;
+    List<Task> find(TaskQuery query) throws TaskManagerException;
     Optional<Task> findById(String id) throws TaskManagerException;
     void deleteAll()throws TaskManagerException;
 }
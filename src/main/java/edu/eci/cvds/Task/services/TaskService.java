@@ -4,6 +4,7 @@ import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
 import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -22,5 +23,6 @@ public interface TaskService {
     List<Task> getTaskByPriority(int priority) throws TaskManagerException;
     List<Task> getTaskByDifficulty(Difficulty difficulty) throws TaskManagerException;
     List<Task> getTaskByEstimatedTime(int estimatedTime) throws TaskManagerException;
+    List<Task> findTasks(TaskQuery query) throws TaskManagerException;
 
 }
\ No newline at end of file
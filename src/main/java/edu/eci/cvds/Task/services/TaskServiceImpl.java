@@ -1,17 +1,18 @@
 package edu.eci.cvds.Task.services;
 
+import edu.eci.cvds.Task.IdGenerator;
 import edu.eci.cvds.Task.RoleDTO;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
 import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * This class is the implementation of the Task Service Interface.
@@ -24,8 +25,6 @@ import java.util.UUID;
 public class TaskServiceImpl implements TaskService {
     private final TaskPersistence taskRepository;
 
-    private int id = 1; // Este metodo se usara para crear una String
-
     public TaskServiceImpl(TaskPersistence taskRepository) {
         this.taskRepository = taskRepository;
     }
@@ -158,9 +157,20 @@ public class TaskServiceImpl implements TaskService {
     public List<Task> getTaskByEstimatedTime(int estimatedTime) throws TaskManagerException{
         return taskRepository.findByEstimatedTime(estimatedTime);
     }
-    // Este metodo genra la clave de 14 caracteres, mas el valor del contador (imposible que se repita)
+
+    /**
+     * This method returns the tasks that meet the given query, it is evaluated by the database.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The list of tasks that satisfies the query.
+     * @throws TaskManagerException Throws an exception if there is a problem with the database.
+     */
+    @Override
+    public List<Task> findTasks(TaskQuery query) throws TaskManagerException {
+        return taskRepository.find(query);
+    }
+    // Este metodo genera la clave de 13 caracteres, ordenada por la fecha en que se crea (imposible que se repita)
     private String generateId(){
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 9) + this.id++;
+        return IdGenerator.shared().next();
     }
 
 }
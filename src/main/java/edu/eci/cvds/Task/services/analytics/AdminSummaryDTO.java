@@ -0,0 +1,35 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class is the Data Transfer Object of the analytics of all the users, each one and added together.
+ * The users whose analysis was not ready in time are not in the analytics, they are listed as skipped.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+@AllArgsConstructor
+public class AdminSummaryDTO {
+    private AnalyticsSummary total;
+    private Map<String, AnalyticsSummary> users;
+    private List<String> skippedUsers;
+
+    /**
+     * This method returns the given metric of the analytics of each user.
+     * @param metric The metric taken from the analytics of a user.
+     * @return The Map with the metric of each user by its id.
+     * @param <R> The type of the metric.
+     */
+    public <R> Map<String, R> eachUser(Function<AnalyticsSummary, R> metric) {
+        Map<String, R> results = new HashMap<>();
+        users.forEach((userId, summary) -> results.put(userId, metric.apply(summary)));
+        return results;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.eci.cvds.Task.services.analytics;
+
+/**
+ * This interface is the loops the analytics run over the columns of the tasks, so they can run on a scalar
+ * or on a vectorized implementation. Every implementation must return exactly the same results.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public interface AggregationKernel {
+    /**
+     * The name of the scalar kernel.
+     */
+    String SCALAR = "scalar";
+    /**
+     * The name of the kernel of the Vector API.
+     */
+    String VECTOR = "vector";
+    /**
+     * The module of the Vector API, it has to be added to the JVM to use the vector kernel.
+     */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * This method returns the name of the kernel.
+     * @return The name of the kernel.
+     */
+    String name();
+
+    /**
+     * This method counts the rows whose value is the given one.
+     * @param values The column of the values.
+     * @param rows The number of rows of the column.
+     * @param value The value to count.
+     * @return The number of rows with the value.
+     */
+    long count(byte[] values, int rows, byte value);
+
+    /**
+     * This method adds the values of the rows whose key is the given one and whose bit is set.
+     * @param values The column of the values to add, they must be between zero and maxValue.
+     * @param keys The column of the keys.
+     * @param key The key of the rows to add.
+     * @param bits The bits of the rows, the bit of the row i is the bit i % 64 of the word i / 64.
+     * @param rows The number of rows of the columns.
+     * @param maxValue The maximum of the values.
+     * @return The sum of the values of the rows.
+     */
+    long sumWhere(int[] values, byte[] keys, byte key, long[] bits, int rows, int maxValue);
+
+    /**
+     * This method returns true if the vector kernel can be used in this JVM.
+     * @return True if the module of the Vector API is present.
+     */
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    /**
+     * This method returns the kernel with the given name, the vector kernel is replaced by the scalar one
+     * if the Vector API is not present in this JVM or its vectors have more lanes than the vector kernel can mask.
+     * @param name The name of the kernel, scalar or vector.
+     * @return The kernel.
+     */
+    static AggregationKernel named(String name) {
+        if (SCALAR.equalsIgnoreCase(name)) return new ScalarAggregationKernel();
+        if (!VECTOR.equalsIgnoreCase(name)) throw new IllegalArgumentException("Unknown aggregation kernel: " + name);
+        return isVectorAvailable() && VectorAggregationKernel.isSupported() ? new VectorAggregationKernel() : new ScalarAggregationKernel();
+    }
+}
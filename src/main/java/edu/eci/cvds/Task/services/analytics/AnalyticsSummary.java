@@ -0,0 +1,142 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.TaskStatistics;
+
+import java.util.Map;
+
+/**
+ * This class has all the analytics of the tasks of a user, or of several users added together, kept in histograms
+ * backed by primitive arrays: the difficulties are indexed by their ordinal and the priorities and estimated times by their value.
+ * Its getters return the histograms themselves, they are read only Maps with the same JSON shape the individual
+ * analytics endpoints return.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class AnalyticsSummary {
+    private static final int PRIORITIES = 6;
+    private static final int ESTIMATED_TIMES = 64;
+    private final EnumHistogram<Difficulty> countByDifficulty = new EnumHistogram<>(Difficulty.class, true);
+    private final EnumTotals<Difficulty> finishedTimeByDifficulty = new EnumTotals<>(Difficulty.class);
+    private final IntHistogram countByPriority = new IntHistogram(PRIORITIES);
+    private final IntHistogram finishedByEstimatedTime = new IntHistogram(ESTIMATED_TIMES);
+
+    /**
+     * This method returns the summary of the tasks counted by the given statistics, in one pass over its counters.
+     * @param statistics The counters of the tasks of a user.
+     * @return The summary of the tasks.
+     */
+    public static AnalyticsSummary of(TaskStatistics statistics) {
+        AnalyticsSummary summary = new AnalyticsSummary();
+        for (Map.Entry<Difficulty, Long> entry : statistics.getCountByDifficulty().entrySet()) {
+            if (entry.getKey() != null) summary.countByDifficulty.add(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Difficulty, Double> entry : statistics.getFinishedTimeByDifficulty().entrySet()) {
+            if (entry.getKey() != null) summary.finishedTimeByDifficulty.add(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Integer, Long> entry : statistics.getCountByPriority().entrySet()) {
+            summary.countByPriority.add(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Integer, Long> entry : statistics.getFinishedByEstimatedTime().entrySet()) {
+            summary.finishedByEstimatedTime.add(entry.getKey(), entry.getValue());
+        }
+        return summary;
+    }
+
+    /**
+     * This method adds the counters of the given summary to the counters of this one, without allocating
+     * unless the other summary has keys this one has no room for.
+     * @param other The summary to add, it is not modified.
+     * @return This summary.
+     */
+    public AnalyticsSummary add(AnalyticsSummary other) {
+        countByDifficulty.add(other.countByDifficulty);
+        finishedTimeByDifficulty.add(other.finishedTimeByDifficulty);
+        countByPriority.add(other.countByPriority);
+        finishedByEstimatedTime.add(other.finishedByEstimatedTime);
+        return this;
+    }
+
+    /**
+     * This method subtracts the counters of the given summary from the counters of this one, it is used to take
+     * out of a total the summary of a user that was added to it before.
+     * @param other The summary to subtract, it is not modified.
+     * @return This summary.
+     */
+    public AnalyticsSummary subtract(AnalyticsSummary other) {
+        countByDifficulty.subtract(other.countByDifficulty);
+        finishedTimeByDifficulty.subtract(other.finishedTimeByDifficulty);
+        countByPriority.subtract(other.countByPriority);
+        finishedByEstimatedTime.subtract(other.finishedByEstimatedTime);
+        return this;
+    }
+
+    /**
+     * This method returns a new summary with the same counters as this one.
+     * @return The copy of the summary.
+     */
+    public AnalyticsSummary copy() {
+        return new AnalyticsSummary().add(this);
+    }
+
+    /**
+     * This method counts one task given by the values of its columns.
+     * @param difficulty The ordinal of the difficulty of the task, negative if it has none.
+     * @param priority The priority of the task.
+     * @param estimatedTime The estimated time of the task.
+     * @param finished True if the task is finished.
+     */
+    void count(int difficulty, int priority, int estimatedTime, boolean finished) {
+        if (difficulty >= 0) countByDifficulty.addOrdinal(difficulty, 1);
+        countByPriority.add(priority, 1);
+        if (finished) {
+            finishedByEstimatedTime.add(estimatedTime, 1);
+            if (difficulty >= 0) finishedTimeByDifficulty.addOrdinal(difficulty, estimatedTime);
+        }
+    }
+
+    void addDifficulty(int difficulty, long count, double finishedTime) {
+        countByDifficulty.addOrdinal(difficulty, count);
+        finishedTimeByDifficulty.addOrdinal(difficulty, finishedTime);
+    }
+
+    void addPriority(int priority, long count) {
+        countByPriority.add(priority, count);
+    }
+
+    void addFinished(int estimatedTime, long count) {
+        finishedByEstimatedTime.add(estimatedTime, count);
+    }
+
+    /**
+     * This method returns the number of tasks by difficulty, every difficulty is present.
+     * @return The Map with the number of tasks by difficulty.
+     */
+    public Map<Difficulty, Long> getHistogram() {
+        return countByDifficulty;
+    }
+
+    /**
+     * This method returns the number of finished tasks by estimated time, only the estimated times with tasks are present.
+     * @return The Map with the number of finished tasks by estimated time.
+     */
+    public Map<Integer, Long> getFinishedTasks() {
+        return finishedByEstimatedTime;
+    }
+
+    /**
+     * This method returns the number of tasks by priority, only the priorities with tasks are present.
+     * @return The Map with the number of tasks by priority.
+     */
+    public Map<Integer, Double> getConsolidatedPriority() {
+        return countByPriority.asDoubles();
+    }
+
+    /**
+     * This method returns the time spent on finished tasks by difficulty, only the difficulties with finished tasks are present.
+     * @return The Map with the time spent by difficulty.
+     */
+    public Map<Difficulty, Double> getTotalTimeSpentByDifficulty() {
+        return finishedTimeByDifficulty;
+    }
+}
@@ -0,0 +1,177 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.metrics.CacheStatsDTO;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.services.AnalyticsService;
+import edu.eci.cvds.Task.services.TaskAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * This class is a Task Analytics service that keeps the summary of the analytics of each user in memory,
+ * in front of another analytics service. The summaries are kept by user and version of the tasks of the user,
+ * so a summary is used again until the tasks of the user change, then the next request computes it again.
+ * Every analytics method of a user is answered from the same summary.
+ * The summaries of old versions are never used again and leave the cache when it is full or they expire.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Service
+@Primary
+public class CachingTaskAnalyticsService implements TaskAnalyticsService {
+    private final TaskAnalyticsService taskAnalyticsService;
+    private final TaskVersions taskVersions;
+    private final Cache<Key, AnalyticsSummary> results;
+
+    /**
+     * This method is the CachingTaskAnalyticsService Constructor.
+     * @param taskAnalyticsService The service that computes the analytics.
+     * @param taskVersions The versions of the tasks of the users.
+     * @param maximumSize The maximum number of summaries to keep in memory.
+     * @param expireAfterAccess The time a summary is kept in memory since it was used for the last time.
+     */
+    @Autowired
+    public CachingTaskAnalyticsService(AnalyticsService taskAnalyticsService, TaskVersions taskVersions,
+                                       @Value("${task.cache.analytics.maximum-size:10000}") long maximumSize,
+                                       @Value("${task.cache.analytics.expire-after-access:30m}") Duration expireAfterAccess) {
+        this((TaskAnalyticsService) taskAnalyticsService, taskVersions, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * This method is the CachingTaskAnalyticsService Constructor for any analytics service.
+     * @param taskAnalyticsService The service that computes the analytics.
+     * @param taskVersions The versions of the tasks of the users.
+     * @param maximumSize The maximum number of summaries to keep in memory.
+     * @param expireAfterAccess The time a summary is kept in memory since it was used for the last time.
+     */
+    public CachingTaskAnalyticsService(TaskAnalyticsService taskAnalyticsService, TaskVersions taskVersions,
+                                       long maximumSize, Duration expireAfterAccess) {
+        this.taskAnalyticsService = taskAnalyticsService;
+        this.taskVersions = taskVersions;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * This method creates random tasks for the user, the tasks of the user change so its summary is not used again.
+     * @param userId The id of the user.
+     * @param numberTasks The number of tasks to create.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public void createTasks(String userId, int numberTasks) throws TaskManagerException {
+        taskAnalyticsService.createTasks(userId, numberTasks);
+    }
+
+    /**
+     * This method returns the number of tasks by difficulty of the user, from the summary of the current version of its tasks.
+     * @param userId The id of the user.
+     * @return The Map with the number of tasks by difficulty.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public Map<Difficulty, Long> getHistogram(String userId) throws TaskManagerException {
+        return getSummary(userId).getHistogram();
+    }
+
+    /**
+     * This method returns the number of finished tasks by estimated time of the user, from the summary of the current version of its tasks.
+     * @param userId The id of the user.
+     * @return The Map with the number of finished tasks by estimated time.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public Map<Integer, Long> getFinishedTasks(String userId) throws TaskManagerException {
+        return getSummary(userId).getFinishedTasks();
+    }
+
+    /**
+     * This method returns the number of tasks by priority of the user, from the summary of the current version of its tasks.
+     * @param userId The id of the user.
+     * @return The Map with the number of tasks by priority.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public Map<Integer, Double> getConsolidatedPriority(String userId) throws TaskManagerException {
+        return getSummary(userId).getConsolidatedPriority();
+    }
+
+    /**
+     * This method returns the time spent on finished tasks by difficulty of the user, from the summary of the current version of its tasks.
+     * @param userId The id of the user.
+     * @return The Map with the time spent by difficulty.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public Map<Difficulty, Double> getTotalTimeSpentByDifficulty(String userId) throws TaskManagerException {
+        return getSummary(userId).getTotalTimeSpentByDifficulty();
+    }
+
+    /**
+     * This method returns all the analytics of the user, computed once per version of its tasks.
+     * @param userId The id of the user.
+     * @return The summary of the analytics of the user, it must not be modified.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public AnalyticsSummary getSummary(String userId) throws TaskManagerException {
+        Key key = new Key(userId, taskVersions.current(userId));
+        try {
+            return results.get(key, ignored -> {
+                try {
+                    return taskAnalyticsService.getSummary(userId);
+                } catch (TaskManagerException e) {
+                    throw new AnalysisFailure(e);
+                }
+            });
+        } catch (AnalysisFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * This method deletes the tasks of the user, the tasks of the user change so its summary is not used again.
+     * @param userId The id of the user.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    @Override
+    public void deleteAll(String userId) throws TaskManagerException {
+        taskAnalyticsService.deleteAll(userId);
+    }
+
+    /**
+     * This method returns the hits, misses and evictions of the cache since it was created.
+     * @return The statistics of the cache.
+     */
+    public CacheStatsDTO getStats() {
+        results.cleanUp();
+        CacheStats stats = results.stats();
+        return new CacheStatsDTO(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), results.estimatedSize());
+    }
+
+    private record Key(String userId, TaskVersions.Version version) {
+    }
+
+    private static class AnalysisFailure extends RuntimeException {
+        AnalysisFailure(TaskManagerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized TaskManagerException getCause() {
+            return (TaskManagerException) super.getCause();
+        }
+    }
+}
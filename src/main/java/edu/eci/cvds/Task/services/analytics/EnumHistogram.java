@@ -0,0 +1,130 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class is a read only Map of counters by the constants of an enum, kept in a long[] indexed by the ordinal.
+ * It is serialized as any other Map, it can have every constant or only the ones whose counter isn't zero.
+ * @param <E> The enum of the keys.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class EnumHistogram<E extends Enum<E>> extends AbstractMap<E, Long> {
+    private final E[] keys;
+    private final long[] counts;
+    private final boolean withZeros;
+
+    /**
+     * This method is the EnumHistogram Constructor, every counter starts in zero.
+     * @param type The enum of the keys.
+     * @param withZeros True if the constants whose counter is zero are keys of the Map too.
+     */
+    public EnumHistogram(Class<E> type, boolean withZeros) {
+        this.keys = type.getEnumConstants();
+        this.counts = new long[keys.length];
+        this.withZeros = withZeros;
+    }
+
+    /**
+     * This method adds the given amount to the counter of the given constant.
+     * @param key The constant.
+     * @param amount The amount to add.
+     */
+    public void add(E key, long amount) {
+        counts[key.ordinal()] += amount;
+    }
+
+    void addOrdinal(int ordinal, long amount) {
+        counts[ordinal] += amount;
+    }
+
+    /**
+     * This method adds the counters of the given histogram to the counters of this one, without allocating.
+     * @param other The histogram to add, it is not modified.
+     */
+    public void add(EnumHistogram<E> other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    /**
+     * This method subtracts the counters of the given histogram from the counters of this one, without allocating.
+     * @param other The histogram to subtract, it is not modified.
+     */
+    public void subtract(EnumHistogram<E> other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] -= other.counts[i];
+        }
+    }
+
+    /**
+     * This method returns the counter of the given constant.
+     * @param key The constant.
+     * @return The counter, zero if nothing was added to it.
+     */
+    public long count(E key) {
+        return counts[key.ordinal()];
+    }
+
+    @Override
+    public Long get(Object key) {
+        for (E constant : keys) {
+            if (constant == key) return present(constant.ordinal()) ? counts[constant.ordinal()] : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<E, Long>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<E, Long>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < counts.length;
+                    }
+
+                    @Override
+                    public Entry<E, Long> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<E, Long> entry = Map.entry(keys[next], counts[next]);
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    if (present(i)) size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    private int advance(int from) {
+        while (from < counts.length && !present(from)) from++;
+        return from;
+    }
+
+    private boolean present(int index) {
+        return withZeros || counts[index] != 0;
+    }
+}
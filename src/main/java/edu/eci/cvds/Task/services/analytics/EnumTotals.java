@@ -0,0 +1,114 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class is a read only Map of totals by the constants of an enum, kept in a double[] indexed by the ordinal.
+ * It is serialized as any other Map and only the constants whose total isn't zero are keys of it.
+ * @param <E> The enum of the keys.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class EnumTotals<E extends Enum<E>> extends AbstractMap<E, Double> {
+    private final E[] keys;
+    private final double[] totals;
+
+    /**
+     * This method is the EnumTotals Constructor, every total starts in zero.
+     * @param type The enum of the keys.
+     */
+    public EnumTotals(Class<E> type) {
+        this.keys = type.getEnumConstants();
+        this.totals = new double[keys.length];
+    }
+
+    /**
+     * This method adds the given amount to the total of the given constant.
+     * @param key The constant.
+     * @param amount The amount to add.
+     */
+    public void add(E key, double amount) {
+        totals[key.ordinal()] += amount;
+    }
+
+    void addOrdinal(int ordinal, double amount) {
+        totals[ordinal] += amount;
+    }
+
+    /**
+     * This method adds the totals of the given Map to the totals of this one, without allocating.
+     * @param other The totals to add, they are not modified.
+     */
+    public void add(EnumTotals<E> other) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] += other.totals[i];
+        }
+    }
+
+    /**
+     * This method subtracts the totals of the given Map from the totals of this one, without allocating.
+     * @param other The totals to subtract, they are not modified.
+     */
+    public void subtract(EnumTotals<E> other) {
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] -= other.totals[i];
+        }
+    }
+
+    @Override
+    public Double get(Object key) {
+        for (E constant : keys) {
+            if (constant == key) return totals[constant.ordinal()] != 0 ? totals[constant.ordinal()] : null;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<E, Double>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<E, Double>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < totals.length;
+                    }
+
+                    @Override
+                    public Entry<E, Double> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Entry<E, Double> entry = Map.entry(keys[next], totals[next]);
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (double total : totals) {
+                    if (total != 0) size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    private int advance(int from) {
+        while (from < totals.length && totals[from] == 0) from++;
+        return from;
+    }
+}
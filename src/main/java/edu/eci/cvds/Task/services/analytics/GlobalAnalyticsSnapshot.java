@@ -0,0 +1,238 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class keeps the analytics of every user and of all of them added together in an immutable snapshot,
+ * so the admin dashboards read them without going over the users on each request.
+ * The snapshot is built from every user at startup and after that only the users whose tasks changed are
+ * analysed again, in the background, and a new snapshot replaces the previous one at once. The new snapshot takes
+ * out of the total the old analytics of each user changed and adds the new ones, and it shares with the previous one
+ * the analytics of the users not changed, so a refresh costs the users changed and not every user.
+ * A read never gets a snapshot that misses a change older than the maximum staleness, if the background
+ * refresh is late the read refreshes the snapshot itself.
+ * When the tasks are kept in columns the analytics are computed from them, otherwise from the users.
+ * The snapshot is created unless task.admin.snapshot.enabled is false, then the admin analytics go over the users on each request.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+@ConditionalOnProperty(name = "task.admin.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class GlobalAnalyticsSnapshot implements TaskMutationListener {
+    private static final long NO_CHANGES = -1;
+    private final Logger logger = LoggerFactory.getLogger(GlobalAnalyticsSnapshot.class);
+    private final UserPersistence userPersistence;
+    private final ScheduledExecutorService scheduler;
+    private final Duration maxStaleness;
+    private final Duration refreshInterval;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Set<String> changedUsers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong changedSince = new AtomicLong(NO_CHANGES);
+    private volatile boolean rebuildRequired = true;
+    private TaskColumns taskColumns;
+
+    /**
+     * This method is the GlobalAnalyticsSnapshot Constructor, the snapshot is refreshed in the given scheduler.
+     * @param userPersistence The persistence of the users.
+     * @param scheduler The scheduler where the snapshot is built and refreshed.
+     * @param maxStaleness The maximum time a change of the tasks can be missing from the snapshot returned.
+     * @param refreshInterval The time between the background refreshes.
+     */
+    @Autowired
+    public GlobalAnalyticsSnapshot(UserPersistence userPersistence,
+                                   @Qualifier("adminSnapshotScheduler") ScheduledExecutorService scheduler,
+                                   @Value("${task.admin.snapshot.max-staleness:5s}") Duration maxStaleness,
+                                   @Value("${task.admin.snapshot.refresh-interval:1s}") Duration refreshInterval) {
+        this.userPersistence = userPersistence;
+        this.scheduler = scheduler;
+        this.maxStaleness = maxStaleness;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * This method is the GlobalAnalyticsSnapshot Constructor without background refresh,
+     * the snapshot is only refreshed by the reads.
+     * @param userPersistence The persistence of the users.
+     * @param maxStaleness The maximum time a change of the tasks can be missing from the snapshot returned.
+     */
+    public GlobalAnalyticsSnapshot(UserPersistence userPersistence, Duration maxStaleness) {
+        this(userPersistence, null, maxStaleness, null);
+    }
+
+    /**
+     * This method sets the columns of the tasks the analytics are computed from.
+     * @param taskColumns The columns of the tasks of every user.
+     */
+    @Autowired(required = false)
+    public void setTaskColumns(TaskColumns taskColumns) {
+        this.taskColumns = taskColumns;
+    }
+
+    /**
+     * This method starts the background work once the application is ready: the first build of the snapshot
+     * and the periodic refresh with the changes of the tasks. The application doesn't wait for the first build.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (scheduler == null) return;
+        scheduler.scheduleWithFixedDelay(this::refreshInBackground, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method returns the current snapshot, it is refreshed first if it's not built yet
+     * or if it misses changes older than the maximum staleness.
+     * @return The snapshot of the analytics of every user.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public Snapshot get() throws TaskManagerException {
+        long since = changedSince.get();
+        if (current.get() == null || rebuildRequired
+                || (since != NO_CHANGES && System.nanoTime() - since >= maxStaleness.toNanos())) {
+            refresh();
+        }
+        return current.get();
+    }
+
+    /**
+     * This method replaces the snapshot with a new one that has the changes of the tasks received so far,
+     * only the users whose tasks changed are analysed again unless every user changed.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public synchronized void refresh() throws TaskManagerException {
+        changedSince.set(NO_CHANGES);
+        Snapshot snapshot = current.get();
+        if (snapshot == null || rebuildRequired) {
+            rebuildRequired = false;
+            changedUsers.clear();
+            try {
+                current.set(rebuild());
+            } catch (TaskManagerException | RuntimeException e) {
+                rebuildRequired = true;
+                throw e;
+            }
+        } else if (!changedUsers.isEmpty()) {
+            current.set(update(snapshot));
+        }
+    }
+
+    /**
+     * This method marks the given user to be analysed again in the next refresh.
+     * @param userId The id of the user whose tasks changed.
+     */
+    @Override
+    public void tasksChanged(String userId) {
+        changedUsers.add(userId);
+        changedSince.compareAndSet(NO_CHANGES, System.nanoTime());
+    }
+
+    /**
+     * This method marks every user to be analysed again in the next refresh.
+     */
+    @Override
+    public void allTasksChanged() {
+        rebuildRequired = true;
+    }
+
+    private Snapshot rebuild() throws TaskManagerException {
+        if (taskColumns != null) return Snapshot.of(taskColumns.summarizeByOwner());
+        Map<String, AnalyticsSummary> users = new HashMap<>();
+        for (User user : userPersistence.findAll()) {
+            users.put(user.getUsernameId(), AnalyticsSummary.of(user.getStatistics()));
+        }
+        return Snapshot.of(users);
+    }
+
+    private Snapshot update(Snapshot snapshot) throws TaskManagerException {
+        Map<String, AnalyticsSummary> changes = new HashMap<>();
+        if (taskColumns != null) {
+            Set<String> changed = new HashSet<>(changedUsers);
+            changedUsers.removeAll(changed);
+            try {
+                Map<String, AnalyticsSummary> summaries = taskColumns.summarize(changed);
+                for (String userId : changed) {
+                    changes.put(userId, summaries.get(userId));
+                }
+            } catch (TaskManagerException | RuntimeException e) {
+                changed.forEach(this::tasksChanged);
+                throw e;
+            }
+            return snapshot.with(changes);
+        }
+        Iterator<String> ids = changedUsers.iterator();
+        while (ids.hasNext()) {
+            String userId = ids.next();
+            ids.remove();
+            try {
+                Optional<User> user = userPersistence.findById(userId);
+                changes.put(userId, user.map(found -> AnalyticsSummary.of(found.getStatistics())).orElse(null));
+            } catch (TaskManagerException | RuntimeException e) {
+                changes.keySet().forEach(this::tasksChanged);
+                tasksChanged(userId);
+                throw e;
+            }
+        }
+        return snapshot.with(changes);
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh();
+        } catch (TaskManagerException | RuntimeException e) {
+            logger.warn("The analytics snapshot could not be refreshed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * This record is the analytics of every user and of all of them added together at one moment, it is never modified.
+     * @param total The analytics of all the users added together.
+     * @param users The analytics of each user by its id.
+     */
+    public record Snapshot(AnalyticsSummary total, Map<String, AnalyticsSummary> users) {
+        private static Snapshot of(Map<String, AnalyticsSummary> users) {
+            AnalyticsSummary total = new AnalyticsSummary();
+            for (AnalyticsSummary summary : users.values()) {
+                total.add(summary);
+            }
+            return new Snapshot(total, UserSummaries.of(users));
+        }
+
+        /**
+         * This method returns a new snapshot with the given changes: the total takes out the old analytics of each
+         * user changed and adds the new ones, and only the users changed are copied, the rest are shared.
+         */
+        private Snapshot with(Map<String, AnalyticsSummary> changes) {
+            AnalyticsSummary changedTotal = total.copy();
+            for (Map.Entry<String, AnalyticsSummary> change : changes.entrySet()) {
+                AnalyticsSummary previous = users.get(change.getKey());
+                if (previous != null) changedTotal.subtract(previous);
+                if (change.getValue() != null) changedTotal.add(change.getValue());
+            }
+            UserSummaries summaries = users instanceof UserSummaries shared ? shared : UserSummaries.of(users);
+            return new Snapshot(changedTotal, summaries.with(changes));
+        }
+    }
+}
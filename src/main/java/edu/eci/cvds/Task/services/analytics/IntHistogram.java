@@ -0,0 +1,187 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class is a read only Map of counters by int keys, the small keys (priorities, estimated times) are kept
+ * in a dense long[] indexed by the key and the rest in a HashMap, so the common keys are counted without boxing.
+ * It is serialized as any other Map and only the keys whose counter isn't zero are keys of it.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class IntHistogram extends AbstractMap<Integer, Long> {
+    private static final int MAX_DENSE = 1024;
+    private long[] dense;
+    private final HashMap<Integer, Long> sparse = new HashMap<>();
+
+    /**
+     * This method is the IntHistogram Constructor, it has room for the keys from 0 to the given bound without growing.
+     * @param bound The first key that is not kept in the dense counters at first.
+     */
+    public IntHistogram(int bound) {
+        this.dense = new long[Math.max(0, Math.min(bound, MAX_DENSE))];
+    }
+
+    /**
+     * This method adds the given amount to the counter of the given key.
+     * @param key The key.
+     * @param amount The amount to add.
+     */
+    public void add(int key, long amount) {
+        if (amount == 0) return;
+        if (key >= 0 && key < MAX_DENSE) {
+            if (key >= dense.length) dense = Arrays.copyOf(dense, Math.min(MAX_DENSE, Math.max(key + 1, dense.length * 2)));
+            dense[key] += amount;
+        } else {
+            sparse.merge(key, amount, (count, added) -> count + added == 0 ? null : count + added);
+        }
+    }
+
+    /**
+     * This method adds the counters of the given histogram to the counters of this one,
+     * it only allocates if the dense counters of the other histogram are longer.
+     * @param other The histogram to add, it is not modified.
+     */
+    public void add(IntHistogram other) {
+        if (other.dense.length > dense.length) dense = Arrays.copyOf(dense, other.dense.length);
+        for (int i = 0; i < other.dense.length; i++) {
+            dense[i] += other.dense[i];
+        }
+        for (Map.Entry<Integer, Long> entry : other.sparse.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * This method subtracts the counters of the given histogram from the counters of this one,
+     * it only allocates if the dense counters of the other histogram are longer.
+     * @param other The histogram to subtract, it is not modified.
+     */
+    public void subtract(IntHistogram other) {
+        if (other.dense.length > dense.length) dense = Arrays.copyOf(dense, other.dense.length);
+        for (int i = 0; i < other.dense.length; i++) {
+            dense[i] -= other.dense[i];
+        }
+        for (Map.Entry<Integer, Long> entry : other.sparse.entrySet()) {
+            add(entry.getKey(), -entry.getValue());
+        }
+    }
+
+    /**
+     * This method returns the counter of the given key.
+     * @param key The key.
+     * @return The counter, zero if nothing was added to it.
+     */
+    public long count(int key) {
+        if (key >= 0 && key < dense.length) return dense[key];
+        return sparse.getOrDefault(key, 0L);
+    }
+
+    /**
+     * This method returns a read only view of the counters as doubles, it changes with this histogram.
+     * @return The Map of the counters as doubles.
+     */
+    public Map<Integer, Double> asDoubles() {
+        return new AbstractMap<>() {
+            @Override
+            public Double get(Object key) {
+                Long count = IntHistogram.this.get(key);
+                return count == null ? null : count.doubleValue();
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return IntHistogram.this.containsKey(key);
+            }
+
+            @Override
+            public Set<Entry<Integer, Double>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<Integer, Double>> iterator() {
+                        Iterator<Entry<Integer, Long>> counts = IntHistogram.this.entrySet().iterator();
+                        return new Iterator<>() {
+                            @Override
+                            public boolean hasNext() {
+                                return counts.hasNext();
+                            }
+
+                            @Override
+                            public Entry<Integer, Double> next() {
+                                Entry<Integer, Long> entry = counts.next();
+                                return Map.entry(entry.getKey(), entry.getValue().doubleValue());
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return IntHistogram.this.size();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Long get(Object key) {
+        if (!(key instanceof Integer value)) return null;
+        long count = count(value);
+        return count == 0 ? null : count;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<Integer, Long>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Integer, Long>> iterator() {
+                Iterator<Entry<Integer, Long>> others = sparse.entrySet().iterator();
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < dense.length || others.hasNext();
+                    }
+
+                    @Override
+                    public Entry<Integer, Long> next() {
+                        if (next < dense.length) {
+                            Entry<Integer, Long> entry = Map.entry(next, dense[next]);
+                            next = advance(next + 1);
+                            return entry;
+                        }
+                        if (!others.hasNext()) throw new NoSuchElementException();
+                        return Map.Entry.copyOf(others.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = sparse.size();
+                for (long count : dense) {
+                    if (count != 0) size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    private int advance(int from) {
+        while (from < dense.length && dense[from] == 0) from++;
+        return from;
+    }
+}
@@ -0,0 +1,33 @@
+package edu.eci.cvds.Task.services.analytics;
+
+/**
+ * This class is the aggregation kernel made of plain loops, one row at a time.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class ScalarAggregationKernel implements AggregationKernel {
+
+    @Override
+    public String name() {
+        return SCALAR;
+    }
+
+    @Override
+    public long count(byte[] values, int rows, byte value) {
+        long count = 0;
+        for (int row = 0; row < rows; row++) {
+            if (values[row] == value) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public long sumWhere(int[] values, byte[] keys, byte key, long[] bits, int rows, int maxValue) {
+        long sum = 0;
+        for (int row = 0; row < rows; row++) {
+            long selected = (bits[row >>> 6] >>> row) & (keys[row] == key ? 1 : 0);
+            sum += values[row] & -selected;
+        }
+        return sum;
+    }
+}
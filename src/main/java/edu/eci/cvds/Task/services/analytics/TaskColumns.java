@@ -0,0 +1,351 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class keeps the tasks of every user in columns, one primitive array per attribute used by the analytics:
+ * priority, estimated time, ordinal of the difficulty, state bit and index of the owner.
+ * The analytics over many users run as loops over these arrays instead of going over the Task objects.
+ * The tasks of all the users are loaded on the first use and after that only the users whose tasks changed
+ * are loaded again, before the next read. The rows of the removed tasks are reused by the next tasks added
+ * and the index of a removed user by the next user added, so the columns don't grow with the users that come and go.
+ * It is notified before the other listeners, so anything refreshed from it by a notification sees the change.
+ * The analytics of all the tasks run on the aggregation kernel chosen at startup, scalar or vectorized,
+ * the free rows have no difficulty, no priority and are not finished so the kernels don't have to skip them.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskColumns implements TaskMutationListener {
+    private static final int[] NO_ROWS = new int[0];
+    private static final int DIFFICULTIES = Difficulty.values().length;
+    private final UserPersistence userPersistence;
+    private final AggregationKernel kernel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<String> changedUsers = ConcurrentHashMap.newKeySet();
+    private volatile boolean reloadRequired = true;
+    private int rows;
+    private int maxPriority;
+    private int maxEstimatedTime;
+    private byte[] priority = new byte[0];
+    private int[] estimatedTime = new int[0];
+    private byte[] difficulty = new byte[0];
+    private long[] state = new long[0];
+    private int[] owner = new int[0];
+    private int[] freeRows = new int[0];
+    private int free;
+    private final Map<String, Integer> ownerIndexes = new HashMap<>();
+    private int[][] rowsByOwner = new int[0][];
+    private int owners;
+    private int[] freeOwners = new int[0];
+    private int freeOwnerCount;
+
+    /**
+     * This method is the TaskColumns Constructor, the analytics run on the scalar kernel.
+     * @param userPersistence The persistence the tasks are loaded from.
+     */
+    public TaskColumns(UserPersistence userPersistence) {
+        this(userPersistence, new ScalarAggregationKernel());
+    }
+
+    /**
+     * This method is the TaskColumns Constructor.
+     * @param userPersistence The persistence the tasks are loaded from.
+     * @param kernel The kernel the analytics of all the tasks run on.
+     */
+    @Autowired
+    public TaskColumns(UserPersistence userPersistence, AggregationKernel kernel) {
+        this.userPersistence = userPersistence;
+        this.kernel = kernel;
+    }
+
+    /**
+     * This method returns the analytics of the tasks of every user added together, in one loop over the columns.
+     * @return The summary of all the tasks.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public AnalyticsSummary summarize() throws TaskManagerException {
+        sync();
+        lock.readLock().lock();
+        try {
+            AnalyticsSummary summary = new AnalyticsSummary();
+            for (int ordinal = 0; ordinal < DIFFICULTIES; ordinal++) {
+                summary.addDifficulty(ordinal, kernel.count(difficulty, rows, (byte) ordinal),
+                        kernel.sumWhere(estimatedTime, difficulty, (byte) ordinal, state, rows, maxEstimatedTime));
+            }
+            for (int value = 1; value <= maxPriority; value++) {
+                summary.addPriority(value, kernel.count(priority, rows, (byte) value));
+            }
+            for (int word = 0; word < state.length; word++) {
+                for (long bits = state[word]; bits != 0; bits &= bits - 1) {
+                    summary.addFinished(estimatedTime[(word << 6) + Long.numberOfTrailingZeros(bits)], 1);
+                }
+            }
+            return summary;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the analytics of the tasks of the given user, in one loop over its rows.
+     * @param userId The id of the user.
+     * @return The summary of the tasks of the user, empty if the user has no tasks.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public AnalyticsSummary summarize(String userId) throws TaskManagerException {
+        sync();
+        lock.readLock().lock();
+        try {
+            AnalyticsSummary summary = new AnalyticsSummary();
+            for (int row : rowsOf(userId)) {
+                count(summary, row);
+            }
+            return summary;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the analytics of the tasks of each one of the given users, in one loop over their rows.
+     * @param userIds The ids of the users.
+     * @return The summary of each user by its id, the users that don't exist are not present.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public Map<String, AnalyticsSummary> summarize(Collection<String> userIds) throws TaskManagerException {
+        sync();
+        lock.readLock().lock();
+        try {
+            Map<String, AnalyticsSummary> result = new HashMap<>();
+            for (String userId : userIds) {
+                if (!ownerIndexes.containsKey(userId)) continue;
+                AnalyticsSummary summary = new AnalyticsSummary();
+                for (int row : rowsOf(userId)) {
+                    count(summary, row);
+                }
+                result.put(userId, summary);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the analytics of the tasks of each user, in one loop over the columns.
+     * @return The summary of each user by its id, every user loaded is present even without tasks.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public Map<String, AnalyticsSummary> summarizeByOwner() throws TaskManagerException {
+        sync();
+        lock.readLock().lock();
+        try {
+            AnalyticsSummary[] summaries = new AnalyticsSummary[owners];
+            for (int row = 0; row < rows; row++) {
+                int index = owner[row];
+                if (index < 0) continue;
+                if (summaries[index] == null) summaries[index] = new AnalyticsSummary();
+                count(summaries[index], row);
+            }
+            Map<String, AnalyticsSummary> result = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : ownerIndexes.entrySet()) {
+                AnalyticsSummary summary = summaries[entry.getValue()];
+                result.put(entry.getKey(), summary == null ? new AnalyticsSummary() : summary);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method returns the number of tasks kept in the columns.
+     * @return The number of tasks of every user.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public int size() throws TaskManagerException {
+        sync();
+        lock.readLock().lock();
+        try {
+            return rows - free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * This method marks the tasks of the given user to be loaded again before the next read.
+     * @param userId The id of the user whose tasks changed.
+     */
+    @Override
+    public void tasksChanged(String userId) {
+        changedUsers.add(userId);
+    }
+
+    /**
+     * This method marks the tasks of every user to be loaded again before the next read.
+     */
+    @Override
+    public void allTasksChanged() {
+        reloadRequired = true;
+    }
+
+    /**
+     * This method returns the number of owner indexes in the columns, the ones in use and the free ones.
+     * @return The number of owner indexes.
+     */
+    int ownerSlots() {
+        lock.readLock().lock();
+        try {
+            return owners;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void sync() throws TaskManagerException {
+        if (!reloadRequired && changedUsers.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            if (reloadRequired) {
+                reloadRequired = false;
+                changedUsers.clear();
+                try {
+                    reload();
+                } catch (TaskManagerException | RuntimeException e) {
+                    reloadRequired = true;
+                    throw e;
+                }
+            }
+            Iterator<String> ids = changedUsers.iterator();
+            while (ids.hasNext()) {
+                String userId = ids.next();
+                ids.remove();
+                try {
+                    Optional<User> user = userPersistence.findById(userId);
+                    if (user.isPresent()) replace(userId, user.get().getTasks().values());
+                    else remove(userId);
+                } catch (TaskManagerException | RuntimeException e) {
+                    changedUsers.add(userId);
+                    throw e;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reload() throws TaskManagerException {
+        List<User> users = userPersistence.findAll();
+        rows = 0;
+        free = 0;
+        maxPriority = 0;
+        maxEstimatedTime = 0;
+        Arrays.fill(state, 0);
+        owners = 0;
+        freeOwnerCount = 0;
+        ownerIndexes.clear();
+        rowsByOwner = new int[users.size()][];
+        int total = 0;
+        for (User user : users) {
+            total += user.getTasks().size();
+        }
+        resize(total);
+        for (User user : users) {
+            replace(user.getUsernameId(), user.getTasks().values());
+        }
+    }
+
+    private void replace(String userId, Collection<Task> tasks) {
+        Integer index = ownerIndexes.get(userId);
+        if (index == null) {
+            index = freeOwnerCount > 0 ? freeOwners[--freeOwnerCount] : owners++;
+            ownerIndexes.put(userId, index);
+        }
+        if (index >= rowsByOwner.length) rowsByOwner = Arrays.copyOf(rowsByOwner, Math.max(index + 1, rowsByOwner.length * 2));
+        release(rowsByOwner[index]);
+        int[] userRows = new int[tasks.size()];
+        int next = 0;
+        for (Task task : tasks) {
+            int row = allocate();
+            priority[row] = (byte) task.getPriority();
+            estimatedTime[row] = task.getEstimatedTime();
+            difficulty[row] = (byte) (task.getDifficulty() == null ? -1 : task.getDifficulty().ordinal());
+            setState(row, task.getState());
+            owner[row] = index;
+            maxPriority = Math.max(maxPriority, task.getPriority());
+            maxEstimatedTime = Math.max(maxEstimatedTime, task.getEstimatedTime());
+            userRows[next++] = row;
+        }
+        rowsByOwner[index] = userRows;
+    }
+
+    private void remove(String userId) {
+        Integer index = ownerIndexes.remove(userId);
+        if (index == null) return;
+        release(rowsByOwner[index]);
+        rowsByOwner[index] = null;
+        if (freeOwnerCount == freeOwners.length) freeOwners = Arrays.copyOf(freeOwners, Math.max(4, freeOwnerCount * 2));
+        freeOwners[freeOwnerCount++] = index;
+    }
+
+    private int[] rowsOf(String userId) {
+        Integer index = ownerIndexes.get(userId);
+        if (index == null || rowsByOwner[index] == null) return NO_ROWS;
+        return rowsByOwner[index];
+    }
+
+    private void release(int[] userRows) {
+        if (userRows == null) return;
+        if (free + userRows.length > freeRows.length) freeRows = Arrays.copyOf(freeRows, Math.max(free + userRows.length, freeRows.length * 2));
+        for (int row : userRows) {
+            owner[row] = -1;
+            priority[row] = 0;
+            difficulty[row] = -1;
+            setState(row, false);
+            freeRows[free++] = row;
+        }
+    }
+
+    private int allocate() {
+        if (free > 0) return freeRows[--free];
+        if (rows == owner.length) resize(Math.max(16, rows * 2));
+        return rows++;
+    }
+
+    private void resize(int capacity) {
+        if (capacity <= owner.length) return;
+        priority = Arrays.copyOf(priority, capacity);
+        estimatedTime = Arrays.copyOf(estimatedTime, capacity);
+        difficulty = Arrays.copyOf(difficulty, capacity);
+        state = Arrays.copyOf(state, (capacity + 63) >>> 6);
+        owner = Arrays.copyOf(owner, capacity);
+    }
+
+    private void setState(int row, boolean finished) {
+        if (finished) state[row >>> 6] |= 1L << row;
+        else state[row >>> 6] &= ~(1L << row);
+    }
+
+    private boolean isFinished(int row) {
+        return (state[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void count(AnalyticsSummary summary, int row) {
+        summary.count(difficulty[row], priority[row], estimatedTime[row], isFinished(row));
+    }
+}
@@ -0,0 +1,61 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.TaskEvent;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.persistence.EventSourcedUserPersistence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This class returns the history of the tasks of the users kept by the log of the events of the tasks:
+ * the changes of the tasks of a user in a period, and the analytics of the tasks of a user at a past moment.
+ * It is only available when the events of the tasks are enabled.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Service
+public class TaskHistoryService {
+    private EventSourcedUserPersistence taskEvents;
+
+    /**
+     * This method sets the persistence that keeps the events of the tasks.
+     * @param taskEvents The persistence of the events of the tasks.
+     */
+    @Autowired(required = false)
+    public void setTaskEvents(EventSourcedUserPersistence taskEvents) {
+        this.taskEvents = taskEvents;
+    }
+
+    /**
+     * This method returns the changes of the tasks of the user in the given period, in the order they happened.
+     * @param userId The id of the user.
+     * @param from The start of the period, null for the first change.
+     * @param to The end of the period, null for the last change.
+     * @return The events of the tasks of the user in the period.
+     * @throws TaskManagerException If the history is not enabled or there is a problem with the log.
+     */
+    public List<TaskEvent> getHistory(String userId, LocalDateTime from, LocalDateTime to) throws TaskManagerException {
+        return events().findEvents(userId, from, to);
+    }
+
+    /**
+     * This method computes the analytics of the tasks of the user as they were at the given moment.
+     * @param userId The id of the user.
+     * @param at The moment of the analytics.
+     * @return The summary of the analytics of the tasks of the user at the moment.
+     * @throws TaskManagerException If the history is not enabled, the user does not exist or there is a problem with the log.
+     */
+    public AnalyticsSummary getSummaryAt(String userId, LocalDateTime at) throws TaskManagerException {
+        User user = events().findByIdAt(userId, at).orElseThrow(() -> new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST));
+        return AnalyticsSummary.of(user.getStatistics());
+    }
+
+    private EventSourcedUserPersistence events() throws TaskManagerException {
+        if (taskEvents == null) throw new TaskManagerException(TaskManagerException.TASK_HISTORY_DISABLED);
+        return taskEvents;
+    }
+}
@@ -0,0 +1,19 @@
+package edu.eci.cvds.Task.services.analytics;
+
+/**
+ * This interface is notified when the tasks of a user change, once the change is stored.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public interface TaskMutationListener {
+    /**
+     * This method is called when the tasks of the given user were added, changed or deleted.
+     * @param userId The id of the user whose tasks changed.
+     */
+    void tasksChanged(String userId);
+
+    /**
+     * This method is called when the tasks of every user may have changed, for example when all the users are deleted.
+     */
+    void allTasksChanged();
+}
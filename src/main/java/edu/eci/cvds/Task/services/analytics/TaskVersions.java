@@ -0,0 +1,52 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps a version of the tasks of each user, the version changes every time the tasks of the user change.
+ * Anything computed from the tasks of a user can be kept while the version of the user is the same.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+public class TaskVersions implements TaskMutationListener {
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    /**
+     * This method returns the current version of the tasks of the given user.
+     * @param userId The id of the user.
+     * @return The version, it is different every time the tasks of the user change.
+     */
+    public Version current(String userId) {
+        return new Version(epoch.get(), versions.getOrDefault(userId, 0L));
+    }
+
+    /**
+     * This method changes the version of the tasks of the given user.
+     * @param userId The id of the user whose tasks changed.
+     */
+    @Override
+    public void tasksChanged(String userId) {
+        versions.merge(userId, 1L, Long::sum);
+    }
+
+    /**
+     * This method changes the version of the tasks of every user.
+     */
+    @Override
+    public void allTasksChanged() {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * This record is the version of the tasks of one user, the epoch changes when every user changes at once.
+     * @param epoch The version of all the users.
+     * @param version The version of the user.
+     */
+    public record Version(long epoch, long version) {
+    }
+}
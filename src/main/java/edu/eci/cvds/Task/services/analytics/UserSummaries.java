@@ -0,0 +1,117 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class is a read only Map of the analytics of each user by its id, split in shards by the hash of the id.
+ * It is never modified: a change makes a new map that copies only the shards of the users changed and shares
+ * the rest with this one, so the snapshots of the analytics are refreshed without copying every user.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+final class UserSummaries extends AbstractMap<String, AnalyticsSummary> {
+    private static final int SHARDS = 256;
+    private final Map<String, AnalyticsSummary>[] shards;
+    private final int size;
+
+    private UserSummaries(Map<String, AnalyticsSummary>[] shards, int size) {
+        this.shards = shards;
+        this.size = size;
+    }
+
+    /**
+     * This method returns the map with the analytics of the given users.
+     * @param users The analytics of each user by its id.
+     * @return The map of the analytics.
+     */
+    @SuppressWarnings("unchecked")
+    static UserSummaries of(Map<String, AnalyticsSummary> users) {
+        Map<String, AnalyticsSummary>[] shards = new Map[SHARDS];
+        for (int i = 0; i < SHARDS; i++) shards[i] = Collections.emptyMap();
+        UserSummaries empty = new UserSummaries(shards, 0);
+        return users.isEmpty() ? empty : empty.with(users);
+    }
+
+    /**
+     * This method returns a new map with the given changes, the shards of the users not changed are shared.
+     * @param changes The new analytics of each user changed, null for the users removed.
+     * @return The map with the changes.
+     */
+    UserSummaries with(Map<String, AnalyticsSummary> changes) {
+        Map<String, AnalyticsSummary>[] copy = shards.clone();
+        boolean[] copied = new boolean[SHARDS];
+        int newSize = size;
+        for (Map.Entry<String, AnalyticsSummary> change : changes.entrySet()) {
+            int shard = shardOf(change.getKey());
+            if (!copied[shard]) {
+                copy[shard] = new HashMap<>(copy[shard]);
+                copied[shard] = true;
+            }
+            AnalyticsSummary previous = change.getValue() == null
+                    ? copy[shard].remove(change.getKey())
+                    : copy[shard].put(change.getKey(), change.getValue());
+            if (previous == null && change.getValue() != null) newSize++;
+            else if (previous != null && change.getValue() == null) newSize--;
+        }
+        return new UserSummaries(copy, newSize);
+    }
+
+    @Override
+    public AnalyticsSummary get(Object key) {
+        return key instanceof String id ? shards[shardOf(id)].get(id) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String id && shards[shardOf(id)].containsKey(id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, AnalyticsSummary>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, AnalyticsSummary>> iterator() {
+                return new Iterator<>() {
+                    private int shard;
+                    private Iterator<Entry<String, AnalyticsSummary>> entries = shards[0].entrySet().iterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!entries.hasNext() && shard < SHARDS - 1) {
+                            entries = shards[++shard].entrySet().iterator();
+                        }
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, AnalyticsSummary> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return Map.Entry.copyOf(entries.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static int shardOf(String id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (SHARDS - 1);
+    }
+}
@@ -0,0 +1,92 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class is the aggregation kernel built on the Vector API, it compares and adds as many rows at once
+ * as the preferred vectors of the CPU have lanes, the rows left at the end run one at a time.
+ * The sums are kept in int lanes and moved to a long before they can overflow.
+ * The bits of the rows are read as a mask of the int lanes, so the int vectors can't have more lanes than a long has bits.
+ * It can only be loaded if the JVM has the jdk.incubator.vector module.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class VectorAggregationKernel implements AggregationKernel {
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * This method returns true if the preferred int vectors of the CPU can be masked with the bits of one long.
+     * @return True if the int vectors have at most 64 lanes.
+     */
+    public static boolean isSupported() {
+        return INTS.length() <= Long.SIZE;
+    }
+
+    @Override
+    public String name() {
+        return VECTOR;
+    }
+
+    @Override
+    public long count(byte[] values, int rows, byte value) {
+        long count = 0;
+        int bound = BYTES.loopBound(rows);
+        int row = 0;
+        for (; row < bound; row += BYTES.length()) {
+            count += ByteVector.fromArray(BYTES, values, row).compare(VectorOperators.EQ, value).trueCount();
+        }
+        for (; row < rows; row++) {
+            if (values[row] == value) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public long sumWhere(int[] values, byte[] keys, byte key, long[] bits, int rows, int maxValue) {
+        int parts = BYTES.length() / INTS.length();
+        long addsBeforeOverflow = Math.max(1, Integer.MAX_VALUE / Math.max(1, maxValue));
+        int[] lanes = new int[INTS.length()];
+        long sum = 0;
+        IntVector partial = IntVector.zero(INTS);
+        long adds = 0;
+        int bound = BYTES.loopBound(rows);
+        int row = 0;
+        for (; row < bound; row += BYTES.length()) {
+            ByteVector rowKeys = null;
+            for (int part = 0; part < parts; part++) {
+                int start = row + part * INTS.length();
+                long word = bits[start >>> 6] >>> (start & 63);
+                if (word == 0) continue;
+                if (rowKeys == null) rowKeys = ByteVector.fromArray(BYTES, keys, row);
+                VectorMask<Integer> selected = ((IntVector) rowKeys.convertShape(VectorOperators.B2I, INTS, part))
+                        .compare(VectorOperators.EQ, key)
+                        .and(VectorMask.fromLong(INTS, word));
+                partial = partial.add(IntVector.fromArray(INTS, values, start), selected);
+                if (++adds == addsBeforeOverflow) {
+                    sum += addUp(partial, lanes);
+                    partial = IntVector.zero(INTS);
+                    adds = 0;
+                }
+            }
+        }
+        sum += addUp(partial, lanes);
+        for (; row < rows; row++) {
+            if (keys[row] == key && (bits[row >>> 6] & (1L << row)) != 0) sum += values[row];
+        }
+        return sum;
+    }
+
+    private long addUp(IntVector partial, int[] lanes) {
+        partial.intoArray(lanes, 0);
+        long sum = 0;
+        for (int lane : lanes) {
+            sum += lane;
+        }
+        return sum;
+    }
+}
@@ -3,6 +3,7 @@ package edu.eci.cvds.Task.services.persistence;
 import edu.eci.cvds.Task.RoleDTO;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.services.analytics.AdminSummaryDTO;
 
 import java.util.List;
 import java.util.Map;
@@ -19,6 +20,7 @@ public interface AdminService {
     Map<Integer, Long> getUsersFinishedTasks()throws TaskManagerException;
     Map<Integer, Double> getUsersConsolidatedPriority()throws TaskManagerException;
     Map<Difficulty, Double> getUsersTotalTimeSpentByDifficulty() throws TaskManagerException;
+    AdminSummaryDTO getSummary() throws TaskManagerException;
 
     // For just one user
     Map<Difficulty, Long> getHistogram(String userId)throws TaskManagerException;
@@ -0,0 +1,237 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.metrics.CacheStatsDTO;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is a User persistence that keeps the most used users in memory, in front of another persistence.
+ * The cache is bounded by size and by time since the last write, and it is written through: every save and
+ * delete goes first to the wrapped persistence and then to the cache, under the lock of the key, so concurrent
+ * updates of the same user leave the cache in the same order as the database. The wrapped persistence is written
+ * outside the map of the cache, so a slow write never blocks the users that share a bin of the map with it.
+ * The cache keeps its own copy of each user, callers always receive a copy they can modify freely. The copies
+ * share the tasks with the cache, so a copy is made in constant time whatever the number of tasks of the user.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class CachingUserPersistence implements UserPersistence {
+    private static final int LOCKS = 256;
+    private final UserPersistence userPersistence;
+    private final Cache<String, User> users;
+    private final ConcurrentHashMap<String, String> idsByEmail = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCKS];
+
+    /**
+     * This method is the CachingUserPersistence Constructor.
+     * @param userPersistence The persistence where the users are stored.
+     * @param maximumSize The maximum number of users to keep in memory.
+     * @param expireAfterWrite The time a user is kept in memory after it was loaded or saved.
+     */
+    public CachingUserPersistence(UserPersistence userPersistence, long maximumSize, Duration expireAfterWrite) {
+        this.userPersistence = userPersistence;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .evictionListener((String id, User user, RemovalCause cause) -> forgetEmail(user))
+                .recordStats()
+                .build();
+        for (int i = 0; i < LOCKS; i++) locks[i] = new Object();
+    }
+
+    /**
+     * This method returns the user with the given email, from memory if its id is known. Otherwise only the id is
+     * taken from the wrapped persistence, and the user is loaded through the cache like by its id, so a user
+     * deleted at the same time is never put in memory.
+     * @param email the given email of the user.
+     * @return The User if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<User> findByEmail(String email) throws TaskManagerException {
+        String id = idsByEmail.get(email);
+        if (id != null) {
+            Optional<User> user = findById(id);
+            if (user.isPresent() && email.equals(user.get().getEmail())) return user;
+        }
+        Optional<User> stored = userPersistence.findByEmail(email);
+        if (stored.isEmpty()) return stored;
+        Optional<User> user = findById(stored.get().getUsernameId());
+        return user.isPresent() && email.equals(user.get().getEmail()) ? user : Optional.empty();
+    }
+
+    /**
+     * This method saves the user in the wrapped persistence and then keeps a copy of it in memory.
+     * @param user The User to save.
+     * @return The saved user.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public User save(User user) throws TaskManagerException {
+        User snapshot = user.copy();
+        User saved;
+        synchronized (lockOf(user.getUsernameId())) {
+            saved = userPersistence.save(user);
+            User previous = users.asMap().put(user.getUsernameId(), snapshot);
+            if (previous != null && !previous.getEmail().equals(snapshot.getEmail())) forgetEmail(previous);
+        }
+        rememberEmail(snapshot);
+        return saved;
+    }
+
+    /**
+     * This method returns all the users from the wrapped persistence, they are not kept in memory.
+     * @return The list of all the users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public List<User> findAll() throws TaskManagerException {
+        return userPersistence.findAll();
+    }
+
+    /**
+     * This method deletes the user from the wrapped persistence and then from memory.
+     * @param id The id of the user to delete.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public void deleteById(String id) throws TaskManagerException {
+        synchronized (lockOf(id)) {
+            userPersistence.deleteById(id);
+            forgetEmail(users.asMap().remove(id));
+        }
+    }
+
+    /**
+     * This method returns the user with the given id, it is loaded from the wrapped persistence only if it is not in memory.
+     * @param id The id of the user.
+     * @return The user if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<User> findById(String id) throws TaskManagerException {
+        User user;
+        try {
+            user = users.get(id, key -> {
+                try {
+                    return userPersistence.findById(key).orElse(null);
+                } catch (TaskManagerException e) {
+                    throw new PersistenceFailure(e);
+                }
+            });
+        } catch (PersistenceFailure e) {
+            throw e.getCause();
+        }
+        if (user == null) return Optional.empty();
+        rememberEmail(user);
+        return Optional.of(user.copy());
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given query, from memory if the user is there,
+     * the user is not loaded into memory otherwise so the query is evaluated by the wrapped persistence.
+     * The queries are not counted in the statistics of the cache, they are not lookups of users.
+     * @param id The id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return A copy of the tasks that meet the query, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<List<Task>> findTasks(String id, TaskQuery query) throws TaskManagerException {
+        User user = users.policy().getIfPresentQuietly(id);
+        if (user == null) return userPersistence.findTasks(id, query);
+        List<Task> tasks = user.findTasks(query);
+        if (query.isProjected()) return Optional.of(tasks);
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(task.copy());
+        }
+        return Optional.of(copies);
+    }
+
+    /**
+     * This method returns the next tasks of the user from its pending tasks if the user is in memory,
+     * the user is not loaded into memory otherwise so the query of the next tasks is evaluated by the wrapped persistence.
+     * @param id The id of the user.
+     * @param count The maximum number of tasks to return.
+     * @return A copy of the next tasks of the user, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<List<Task>> findNextTasks(String id, int count) throws TaskManagerException {
+        User user = users.policy().getIfPresentQuietly(id);
+        if (user == null) return userPersistence.findNextTasks(id, count);
+        List<Task> copies = new ArrayList<>(count);
+        for (Task task : user.getNextTasks(count)) {
+            copies.add(task.copy());
+        }
+        return Optional.of(copies);
+    }
+
+    /**
+     * This method deletes all the users from the wrapped persistence and from memory.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public void deleteAll() throws TaskManagerException {
+        userPersistence.deleteAll();
+        users.invalidateAll();
+        idsByEmail.clear();
+    }
+
+    /**
+     * This method returns the total of users of the wrapped persistence.
+     * @return The number of users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public long count() throws TaskManagerException {
+        return userPersistence.count();
+    }
+
+    /**
+     * This method returns the hits, misses and evictions of the cache since it was created.
+     * @return The statistics of the cache.
+     */
+    public CacheStatsDTO getStats() {
+        users.cleanUp();
+        CacheStats stats = users.stats();
+        return new CacheStatsDTO(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(), users.estimatedSize());
+    }
+
+    private Object lockOf(String id) {
+        int hash = id.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCKS - 1)];
+    }
+
+    private void rememberEmail(User user) {
+        idsByEmail.put(user.getEmail(), user.getUsernameId());
+    }
+
+    private void forgetEmail(User user) {
+        if (user != null) idsByEmail.remove(user.getEmail(), user.getUsernameId());
+    }
+
+    private static class PersistenceFailure extends RuntimeException {
+        PersistenceFailure(TaskManagerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized TaskManagerException getCause() {
+            return (TaskManagerException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskEvent;
+import edu.eci.cvds.Task.models.TaskMap;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class is a User persistence that stores the changes of the tasks as events: a save compares the tasks of
+ * the user with the ones of its last save and appends one small event per task added, updated, toggled or deleted
+ * to the log of the user, instead of writing the whole user again. The whole user is written as a snapshot to the
+ * wrapped persistence only every given number of events, or when the fields of the user itself change, and the
+ * snapshot keeps the number of its last event. A user is rebuilt from its snapshot and the events after it, and the
+ * last state of the most used users is kept in memory to compare the next saves with it.
+ * Since the events are kept, the tasks of a user at any past moment are rebuilt from the events up to that moment.
+ * The users stored before the log existed get an added event for each of their tasks on their first save.
+ * The snapshots read directly from the wrapped persistence may be behind the log by the events not written to them yet.
+ * A log that keeps the events of the deleted users is fine, the events of a user are replaced when it is created again.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class EventSourcedUserPersistence implements UserPersistence {
+    private static final int LOCKS = 256;
+    private final UserPersistence snapshots;
+    private final TaskEventStore events;
+    private final int snapshotInterval;
+    private final Clock clock;
+    private final Cache<String, Head> heads;
+    private final Object[] locks = new Object[LOCKS];
+    private final LongAdder appendedEvents = new LongAdder();
+    private final LongAdder writtenSnapshots = new LongAdder();
+
+    /**
+     * This method is the EventSourcedUserPersistence Constructor.
+     * @param snapshots The persistence where the snapshots of the users are stored.
+     * @param events The log of the events of the tasks.
+     * @param snapshotInterval The number of events of a user after which a new snapshot is written.
+     * @param maximumSize The maximum number of users whose last state is kept in memory.
+     * @param clock The clock of the moment of the events.
+     */
+    public EventSourcedUserPersistence(UserPersistence snapshots, TaskEventStore events, int snapshotInterval, long maximumSize, Clock clock) {
+        this.snapshots = snapshots;
+        this.events = events;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+        this.clock = clock;
+        this.heads = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        for (int i = 0; i < LOCKS; i++) locks[i] = new Object();
+    }
+
+    /**
+     * This method appends to the log the changes of the tasks of the user since its last save,
+     * and writes a snapshot of the user if it is due. The last state of the user is only kept once the events
+     * and the snapshot are written, if any of them fails the user is rebuilt from the snapshot and the log on its next use.
+     * The first events of a user that does not exist replace the ones left in the log by a deleted user with its id.
+     * @param user The User to save.
+     * @return The saved user.
+     * @throws TaskManagerException If the events or the snapshot can't be written.
+     */
+    @Override
+    public User save(User user) throws TaskManagerException {
+        String id = user.getUsernameId();
+        synchronized (lockOf(id)) {
+            Head head = head(id);
+            LocalDateTime now = LocalDateTime.now(clock);
+            TaskMap before = head.user == null || head.sequence == 0 ? null : head.user.getTasks();
+            List<TaskEvent> changes = new ArrayList<>();
+            long sequence = head.sequence;
+            for (Task task : user.getTasks().values()) {
+                TaskEvent event = TaskEvent.between(id, sequence + 1, now, before == null ? null : before.get(task.getId()), task);
+                if (event == null) continue;
+                changes.add(event);
+                sequence++;
+            }
+            if (before != null) {
+                for (Task task : before.values()) {
+                    if (!user.getTasks().containsKey(task.getId())) changes.add(TaskEvent.deleted(id, ++sequence, now, task.getId()));
+                }
+            }
+            try {
+                if (!changes.isEmpty()) {
+                    if (head.user == null) events.deleteByUser(id);
+                    events.append(changes);
+                    appendedEvents.add(changes.size());
+                }
+                User state = user.copy();
+                state.setVersion(sequence);
+                int pending = head.pending + changes.size();
+                boolean due = !head.stored || !sameFields(head.user, state) || pending >= snapshotInterval;
+                if (due) {
+                    snapshots.save(state);
+                    writtenSnapshots.increment();
+                }
+                heads.put(id, new Head(state, sequence, due ? 0 : pending, true));
+            } catch (TaskManagerException | RuntimeException e) {
+                heads.invalidate(id);
+                throw e;
+            }
+        }
+        return user;
+    }
+
+    /**
+     * This method returns the user with the given id as it is after its last event.
+     * @param id The id of the user.
+     * @return The user if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public Optional<User> findById(String id) throws TaskManagerException {
+        User user = head(id).user;
+        return user == null ? Optional.empty() : Optional.of(user.copy());
+    }
+
+    /**
+     * This method returns the user with the given email as it is after its last event.
+     * @param email the given email of the user.
+     * @return The User if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public Optional<User> findByEmail(String email) throws TaskManagerException {
+        Optional<User> snapshot = snapshots.findByEmail(email);
+        if (snapshot.isEmpty()) return snapshot;
+        return findById(snapshot.get().getUsernameId());
+    }
+
+    /**
+     * This method returns all the users as they are after their last event.
+     * @return The list of all the users.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public List<User> findAll() throws TaskManagerException {
+        List<User> users = new ArrayList<>();
+        for (User snapshot : snapshots.findAll()) {
+            findById(snapshot.getUsernameId()).ifPresent(users::add);
+        }
+        return users;
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given query. The query is evaluated by the wrapped
+     * persistence if the snapshot of the user has all its events, over the user rebuilt in memory otherwise.
+     * @param id The id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public Optional<List<Task>> findTasks(String id, TaskQuery query) throws TaskManagerException {
+        Head head = head(id);
+        if (head.user == null) return Optional.empty();
+        if (head.stored && head.pending == 0) return snapshots.findTasks(id, query);
+        List<Task> tasks = head.user.findTasks(query);
+        return Optional.of(query.isProjected() ? tasks : copies(tasks));
+    }
+
+    /**
+     * This method returns the next tasks of the user. The query is evaluated by the wrapped persistence
+     * if the snapshot of the user has all its events, over the user rebuilt in memory otherwise.
+     * @param id The id of the user.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks of the user, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public Optional<List<Task>> findNextTasks(String id, int count) throws TaskManagerException {
+        Head head = head(id);
+        if (head.user == null) return Optional.empty();
+        if (head.stored && head.pending == 0) return snapshots.findNextTasks(id, count);
+        return Optional.of(copies(head.user.getNextTasks(count)));
+    }
+
+    /**
+     * This method deletes the user with its events.
+     * @param id The id of the user to delete.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public void deleteById(String id) throws TaskManagerException {
+        synchronized (lockOf(id)) {
+            snapshots.deleteById(id);
+            heads.invalidate(id);
+            events.deleteByUser(id);
+        }
+    }
+
+    /**
+     * This method deletes all the users with their events.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    @Override
+    public void deleteAll() throws TaskManagerException {
+        snapshots.deleteAll();
+        events.deleteAll();
+        heads.invalidateAll();
+    }
+
+    /**
+     * This method returns the total of users.
+     * @return The number of users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public long count() throws TaskManagerException {
+        return snapshots.count();
+    }
+
+    /**
+     * This method returns the user with the given id with its tasks as they were at the given moment, rebuilt from
+     * the events up to that moment. The fields of the user itself are the current ones, they have no events.
+     * @param id The id of the user.
+     * @param at The moment of the tasks.
+     * @return The user with the tasks of the moment, Empty if the user does not exist now.
+     * @throws TaskManagerException If there is a problem with the persistence or the log.
+     */
+    public Optional<User> findByIdAt(String id, LocalDateTime at) throws TaskManagerException {
+        User current = head(id).user;
+        if (current == null) return Optional.empty();
+        User user = new User(id, current.getName(), current.getPassword(), current.getEmail());
+        user.setRole(current.getRole());
+        List<TaskEvent> history = events.findBetween(id, null, at);
+        for (TaskEvent event : history) {
+            event.applyTo(user);
+        }
+        user.rebuildStatistics();
+        user.setVersion(history.isEmpty() ? 0 : history.get(history.size() - 1).getSequence());
+        return Optional.of(user);
+    }
+
+    /**
+     * This method returns the events of the tasks of the user that happened in the given period, in order.
+     * @param id The id of the user.
+     * @param from The start of the period, null for the first event.
+     * @param to The end of the period, null for the last event.
+     * @return The events of the user in the period.
+     * @throws TaskManagerException If there is a problem with the log.
+     */
+    public List<TaskEvent> findEvents(String id, LocalDateTime from, LocalDateTime to) throws TaskManagerException {
+        return events.findBetween(id, from, to);
+    }
+
+    /**
+     * This method returns the number of events appended since the persistence was created.
+     * @return The number of events appended.
+     */
+    public long getAppendedEvents() {
+        return appendedEvents.sum();
+    }
+
+    /**
+     * This method returns the number of snapshots written since the persistence was created.
+     * @return The number of snapshots written.
+     */
+    public long getWrittenSnapshots() {
+        return writtenSnapshots.sum();
+    }
+
+    private Head head(String id) throws TaskManagerException {
+        Head head = heads.getIfPresent(id);
+        if (head != null) return head;
+        synchronized (lockOf(id)) {
+            head = heads.getIfPresent(id);
+            if (head == null) {
+                head = load(id);
+                heads.put(id, head);
+            }
+            return head;
+        }
+    }
+
+    /**
+     * This method rebuilds the user from its snapshot and the events after it.
+     */
+    private Head load(String id) throws TaskManagerException {
+        Optional<User> snapshot = snapshots.findById(id);
+        if (snapshot.isEmpty()) return new Head(null, 0, 0, false);
+        User user = snapshot.get();
+        List<TaskEvent> after = events.findAfter(id, user.getVersion());
+        if (after.isEmpty()) return new Head(user, user.getVersion(), 0, true);
+        for (TaskEvent event : after) {
+            event.applyTo(user);
+        }
+        user.rebuildStatistics();
+        user.setVersion(after.get(after.size() - 1).getSequence());
+        return new Head(user, user.getVersion(), after.size(), true);
+    }
+
+    private Object lockOf(String id) {
+        int hash = id.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCKS - 1)];
+    }
+
+    private static boolean sameFields(User before, User after) {
+        return before != null && before.getName().equals(after.getName())
+                && before.getPassword().equals(after.getPassword())
+                && before.getEmail().equals(after.getEmail())
+                && Objects.equals(before.getRole(), after.getRole());
+    }
+
+    private static List<Task> copies(List<Task> tasks) throws TaskManagerException {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(task.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * This class is the last state of a user: the user after its last event, or null if it does not exist,
+     * the number of its last event, the events not in its snapshot and if its snapshot was written.
+     * The user of a head is never modified, a save puts a new head.
+     */
+    private static final class Head {
+        private final User user;
+        private final long sequence;
+        private final int pending;
+        private final boolean stored;
+
+        private Head(User user, long sequence, int pending, boolean stored) {
+            this.user = user;
+            this.sequence = sequence;
+            this.pending = pending;
+            this.stored = stored;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package edu.eci.cvds.Task.services.persistence;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
 import edu.eci.cvds.Task.services.TaskPersistence;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.util.Optional;
@@ -19,6 +21,7 @@ import java.util.List;
  */
 @Component
 public class FilePersistenceImpl implements TaskPersistence {
+    private static final String SEPARATOR = "-#-";
     private String fileName;
     private File file;
 
@@ -66,7 +69,7 @@ public class FilePersistenceImpl implements TaskPersistence {
             writer.write(
                 task.getId() + "-#-" + task.getName() + "-#-" + task.getDescription() + "-#-" +
                     task.getState() + "-#-" + task.getPriority()+ "-#-"+ task.getEstimatedTime()+ "-#-"
-                    + task.getDifficulty() + "-#-" + task.getDeadline().format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm")));
+                    + task.getDifficulty() + "-#-" + task.getDeadline().format(TaskRow.DEADLINE_FORMAT));
             writer.newLine();
         } catch (IOException e) {
             throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
@@ -123,14 +126,7 @@ public class FilePersistenceImpl implements TaskPersistence {
      */
     @Override
     public List<Task> findByState(boolean state) throws TaskManagerException {
-        List<Task> allTasks = findAll();
-        ArrayList<Task> tasksByState = new ArrayList<>();
-        for(Task task: allTasks){
-            if(task.getState() == (state)){
-                tasksByState.add(task);
-            }
-        }
-        return tasksByState;
+        return find(TaskQuery.where(TaskFilterDTO.builder().state(state).build()));
     }
 
     /**
@@ -143,14 +139,7 @@ public class FilePersistenceImpl implements TaskPersistence {
      */
     @Override
     public List<Task> findByDeadline(LocalDateTime deadline) throws TaskManagerException {
-        List<Task> tasks = findAll();
-        ArrayList<Task> tasksByDeadline = new ArrayList<>();
-        for(Task task: tasks){
-            if(task.getDeadline().isBefore(deadline)){
-                tasksByDeadline.add(task);
-            }
-        }
-        return tasksByDeadline;
+        return find(TaskQuery.where(TaskFilterDTO.builder().deadlineBefore(deadline).build()));
     }
 
     /**
@@ -162,14 +151,7 @@ public class FilePersistenceImpl implements TaskPersistence {
      */
     @Override
     public List<Task> findByPriority(int priority) throws TaskManagerException {
-        List<Task> tasks = findAll();
-        ArrayList<Task> taskByPriority = new ArrayList<>();
-        for(Task task: tasks){
-            if(task.getPriority()== priority){
-                taskByPriority.add(task);
-            }
-        }
-        return taskByPriority;
+        return find(TaskQuery.where(TaskFilterDTO.builder().priority(priority).build()));
     }
 
     /**
@@ -180,15 +162,8 @@ public class FilePersistenceImpl implements TaskPersistence {
      * with the information stored in the text plane file.
      */
     @Override
-    public List<Task> findByDifficulty(Difficulty difficulty) throws TaskManagerException{
-        List<Task> tasks = findAll();
-        ArrayList<Task> taskByDifficulty = new ArrayList<>();
-        for(Task task: tasks){
-            if(task.getDifficulty().equals(difficulty)){
-                taskByDifficulty.add(task);
-            }
-        }
-        return taskByDifficulty;
+    public List<Task> findByDifficulty(Difficulty difficulty) throws TaskManagerException {
+        return find(TaskQuery.where(TaskFilterDTO.builder().difficulty(difficulty).build()));
     }
 
     /**
@@ -200,17 +175,39 @@ public class FilePersistenceImpl implements TaskPersistence {
      */
     @Override
     public List<Task> findByEstimatedTime(int estimatedTime) throws TaskManagerException {
-        List<Task> tasks = findAll();
-        ArrayList<Task> taskByEstimatedTime = new ArrayList<>();
-        for(Task task: tasks){
-            if(task.getEstimatedTime() == estimatedTime){
-                taskByEstimatedTime.add(task);
+        return find(TaskQuery.where(TaskFilterDTO.builder().minEstimatedTime(estimatedTime).maxEstimatedTime(estimatedTime).build()));
+    }
+
+    /**
+     * This method returns the tasks that meet the given query. The filter is evaluated over each row of the file
+     * while it is read, reading only the columns it needs, and only the rows to return are kept,
+     * so the tasks are only built for them. Without an order the file is read only until the limit of the query is reached.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query.
+     * @throws TaskManagerException Throws an exception if there is a problem
+     * with the information stored in the text plane file.
+     */
+    @Override
+    public List<Task> find(TaskQuery query) throws TaskManagerException {
+        TaskQuery.Selection<TaskRow> selection = query.selection();
+        TaskRow row = new TaskRow(SEPARATOR);
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while (!selection.isComplete() && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                row.reset(line, 0, line.length());
+                if (query.matches(row) && selection.offer(row)) row = new TaskRow(SEPARATOR);
             }
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (TaskRow match : selection.result()) {
+            tasks.add(query.isProjected() ? query.project(match) : match.toTask());
         }
-        return taskByEstimatedTime;
+        return tasks;
     }
 
-
     private void cleanFileForTest()throws TaskManagerException{
         try (PrintWriter writer = new PrintWriter(fileName)) {
         } catch (FileNotFoundException e) {
@@ -234,7 +231,7 @@ public class FilePersistenceImpl implements TaskPersistence {
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
-                String key = line.split("-#-")[0];
+                String key = line.split(SEPARATOR)[0];
                 if (!key.contains(id)) {
                     lines.add(line);
                 }
@@ -248,12 +245,11 @@ public class FilePersistenceImpl implements TaskPersistence {
 
         ArrayList<Task> tasks = new ArrayList<>();
         for(String linea: lineas){
-            String[] contenido = linea.split("-#-");
+            String[] contenido = linea.split(SEPARATOR);
             int priority = Integer.parseInt(contenido[4]);
             int estimatedTime = Integer.parseInt(contenido[5]);
             Difficulty difficulty = Difficulty.valueOf(contenido[6]);
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-            LocalDateTime localDateTime = LocalDateTime.parse(contenido[7], formatter);
+            LocalDateTime localDateTime = LocalDateTime.parse(contenido[7], TaskRow.DEADLINE_FORMAT);
             boolean state = Boolean.parseBoolean(contenido[3]);
             Task task = new Task(
                     contenido[0], contenido[1], contenido[2], state,priority,estimatedTime, difficulty, localDateTime);
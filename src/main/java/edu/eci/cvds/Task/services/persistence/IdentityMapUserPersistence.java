@@ -0,0 +1,302 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+
+import java.util.*;
+
+/**
+ * This class is a User persistence that keeps an identity map of the users used by the current unit of work,
+ * usually one HTTP request. The first load of a user in a unit of work is reused for the rest of it, so the
+ * same user is read only once from the wrapped persistence, and the saves are only marked as pending and flushed
+ * together, one save per modified user, when the unit of work is flushed or closed.
+ * Outside a unit of work every call goes directly to the wrapped persistence.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class IdentityMapUserPersistence implements UserPersistence {
+    private final UserPersistence userPersistence;
+    private final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    /**
+     * This method is the IdentityMapUserPersistence Constructor.
+     * @param userPersistence The persistence where the users are stored.
+     */
+    public IdentityMapUserPersistence(UserPersistence userPersistence) {
+        this.userPersistence = userPersistence;
+    }
+
+    /**
+     * This method starts a unit of work in the current thread, it has to be closed when the work finishes.
+     * @return The unit of work, closing it flushes the pending saves.
+     */
+    public UnitOfWork begin() {
+        UnitOfWork unitOfWork = new UnitOfWork(current.get());
+        current.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    /**
+     * This method saves in the wrapped persistence the users modified in the current unit of work.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    public void flush() throws TaskManagerException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork != null) unitOfWork.flush();
+    }
+
+    /**
+     * This method saves in the wrapped persistence the users modified in the current unit of work, like flush.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public void commit() throws TaskManagerException {
+        flush();
+    }
+
+    /**
+     * This method runs the given action after the next flush of the current unit of work,
+     * or right away if there are no pending saves.
+     * @param action The action to run.
+     */
+    @Override
+    public void afterCommit(Runnable action) {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null || unitOfWork.dirty.isEmpty()) action.run();
+        else unitOfWork.afterFlush.add(action);
+    }
+
+    /**
+     * This method drops the user from the identity map of the current unit of work, so it is loaded again
+     * when it is read next. A user modified in the unit of work and not saved yet is kept.
+     * @param id The id of the user.
+     */
+    @Override
+    public void refresh(String id) {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null || unitOfWork.dirty.contains(id)) return;
+        unitOfWork.forget(id);
+        unitOfWork.missingIds.remove(id);
+    }
+
+    /**
+     * This method returns the user with the given email, it is loaded only once per unit of work.
+     * @param email the given email of the user.
+     * @return The User if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<User> findByEmail(String email) throws TaskManagerException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) return userPersistence.findByEmail(email);
+        String id = unitOfWork.idsByEmail.get(email);
+        if (id != null) return Optional.of(unitOfWork.users.get(id));
+        if (unitOfWork.missingEmails.contains(email)) return Optional.empty();
+        Optional<User> user = userPersistence.findByEmail(email);
+        if (user.isEmpty()) {
+            unitOfWork.missingEmails.add(email);
+            return user;
+        }
+        return Optional.of(unitOfWork.register(user.get()));
+    }
+
+    /**
+     * This method keeps the user in the identity map and marks it to be saved when the unit of work is flushed.
+     * @param user The User to save.
+     * @return The given user.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public User save(User user) throws TaskManagerException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) return userPersistence.save(user);
+        unitOfWork.forget(user.getUsernameId());
+        unitOfWork.register(user);
+        unitOfWork.dirty.add(user.getUsernameId());
+        return user;
+    }
+
+    /**
+     * This method returns all the users of the wrapped persistence, the pending saves are flushed first.
+     * @return The list of all the users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public List<User> findAll() throws TaskManagerException {
+        flush();
+        return userPersistence.findAll();
+    }
+
+    /**
+     * This method deletes the user from the wrapped persistence and discards its pending save.
+     * @param id The id of the user to delete.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public void deleteById(String id) throws TaskManagerException {
+        userPersistence.deleteById(id);
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork != null) {
+            unitOfWork.forget(id);
+            unitOfWork.missingIds.add(id);
+        }
+    }
+
+    /**
+     * This method returns the user with the given id, it is loaded only once per unit of work.
+     * @param id The id of the user.
+     * @return The user if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<User> findById(String id) throws TaskManagerException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) return userPersistence.findById(id);
+        User user = unitOfWork.users.get(id);
+        if (user != null) return Optional.of(user);
+        if (unitOfWork.missingIds.contains(id)) return Optional.empty();
+        Optional<User> found = userPersistence.findById(id);
+        if (found.isEmpty()) {
+            unitOfWork.missingIds.add(id);
+            return found;
+        }
+        return Optional.of(unitOfWork.register(found.get()));
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given query, from the identity map if the user
+     * was already loaded in the unit of work, or from the wrapped persistence without loading the user otherwise.
+     * @param id The id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<List<Task>> findTasks(String id, TaskQuery query) throws TaskManagerException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) return userPersistence.findTasks(id, query);
+        User user = unitOfWork.users.get(id);
+        if (user != null) return Optional.of(user.findTasks(query));
+        if (unitOfWork.missingIds.contains(id)) return Optional.empty();
+        return userPersistence.findTasks(id, query);
+    }
+
+    /**
+     * This method returns the next tasks of the user from its pending tasks if the user was already loaded
+     * in the unit of work, or from the wrapped persistence without loading the user otherwise.
+     * @param id The id of the user.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks of the user, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<List<Task>> findNextTasks(String id, int count) throws TaskManagerException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) return userPersistence.findNextTasks(id, count);
+        User user = unitOfWork.users.get(id);
+        if (user != null) return Optional.of(user.getNextTasks(count));
+        if (unitOfWork.missingIds.contains(id)) return Optional.empty();
+        return userPersistence.findNextTasks(id, count);
+    }
+
+    /**
+     * This method deletes all the users from the wrapped persistence and clears the identity map.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public void deleteAll() throws TaskManagerException {
+        userPersistence.deleteAll();
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork != null) unitOfWork.clear();
+    }
+
+    /**
+     * This method returns the total of users of the wrapped persistence, the pending saves are flushed first.
+     * @return The number of users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public long count() throws TaskManagerException {
+        flush();
+        return userPersistence.count();
+    }
+
+    /**
+     * This class is the identity map of one unit of work and the ids of its modified users.
+     */
+    public class UnitOfWork implements AutoCloseable {
+        private final UnitOfWork previous;
+        private final Map<String, User> users = new HashMap<>();
+        private final Map<String, String> idsByEmail = new HashMap<>();
+        private final Set<String> missingIds = new HashSet<>();
+        private final Set<String> missingEmails = new HashSet<>();
+        private final Set<String> dirty = new LinkedHashSet<>();
+        private final List<Runnable> afterFlush = new ArrayList<>();
+
+        private UnitOfWork(UnitOfWork previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * This method saves the modified users in the wrapped persistence, one save per user.
+         * A user whose save fails is not saved again by a later flush.
+         * The actions waiting for the saves run even if one of them fails.
+         * @throws TaskManagerException If there is a problem with the persistence.
+         */
+        public void flush() throws TaskManagerException {
+            try {
+                Iterator<String> ids = dirty.iterator();
+                while (ids.hasNext()) {
+                    User user = users.get(ids.next());
+                    ids.remove();
+                    userPersistence.save(user);
+                }
+            } finally {
+                List<Runnable> actions = new ArrayList<>(afterFlush);
+                afterFlush.clear();
+                actions.forEach(Runnable::run);
+            }
+        }
+
+        /**
+         * This method flushes the pending saves and ends the unit of work.
+         * @throws TaskManagerException If there is a problem with the persistence.
+         */
+        @Override
+        public void close() throws TaskManagerException {
+            try {
+                flush();
+            } finally {
+                if (previous == null) current.remove();
+                else current.set(previous);
+            }
+        }
+
+        private User register(User user) {
+            User known = users.putIfAbsent(user.getUsernameId(), user);
+            if (known != null) return known;
+            idsByEmail.put(user.getEmail(), user.getUsernameId());
+            missingIds.remove(user.getUsernameId());
+            missingEmails.remove(user.getEmail());
+            return user;
+        }
+
+        private void forget(String id) {
+            User user = users.remove(id);
+            if (user != null) idsByEmail.remove(user.getEmail());
+            dirty.remove(id);
+        }
+
+        private void clear() {
+            users.clear();
+            idsByEmail.clear();
+            missingIds.clear();
+            missingEmails.clear();
+            dirty.clear();
+            afterFlush.forEach(Runnable::run);
+            afterFlush.clear();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class compiles the task queries to the criteria and the order of the database, they are written with the
+ * names of the properties of the Task, so they are mapped to the fields of the documents by Spring Data.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+final class MongoTaskQueries {
+
+    private MongoTaskQueries() {
+    }
+
+    /**
+     * This method compiles the filter of the given query and the task it starts after to one criteria.
+     * @param query The query of the tasks.
+     * @return The criteria of the database.
+     */
+    static Criteria criteria(TaskQuery query) {
+        Criteria filter = criteria(query.getFilter());
+        if (query.getAfter() == null) return filter;
+        return and(List.of(filter, after(query)));
+    }
+
+    /**
+     * This method compiles the order of the given query, ending with the id.
+     * @param query The query of the tasks.
+     * @return The order of the database, unsorted if the query is not sorted.
+     */
+    static Sort sort(TaskQuery query) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (TaskQuery.Order order : query.sortKey()) {
+            String property = order.field().property();
+            orders.add(order.ascending() ? Sort.Order.asc(property) : Sort.Order.desc(property));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * This method compiles the given filter to the criteria of the database, each condition is a criteria of its own
+     * so the conditions over the same field can be combined.
+     * @param filter The conditions of the tasks, null for every task.
+     * @return The criteria of the database.
+     */
+    static Criteria criteria(TaskFilterDTO filter) {
+        if (filter == null) return new Criteria();
+        List<Criteria> conditions = new ArrayList<>();
+        if (filter.getState() != null) conditions.add(Criteria.where(TaskField.STATE.property()).is(filter.getState()));
+        if (filter.getPriority() != null) conditions.add(Criteria.where(TaskField.PRIORITY.property()).is(filter.getPriority()));
+        if (filter.getMinPriority() != null) conditions.add(Criteria.where(TaskField.PRIORITY.property()).gte(filter.getMinPriority()));
+        if (filter.getMaxPriority() != null) conditions.add(Criteria.where(TaskField.PRIORITY.property()).lte(filter.getMaxPriority()));
+        if (filter.getDifficulty() != null) conditions.add(Criteria.where(TaskField.DIFFICULTY.property()).is(filter.getDifficulty()));
+        if (filter.getMinEstimatedTime() != null) conditions.add(Criteria.where(TaskField.ESTIMATED_TIME.property()).gte(filter.getMinEstimatedTime()));
+        if (filter.getMaxEstimatedTime() != null) conditions.add(Criteria.where(TaskField.ESTIMATED_TIME.property()).lte(filter.getMaxEstimatedTime()));
+        if (filter.getDeadlineBefore() != null) conditions.add(Criteria.where(TaskField.DEADLINE.property()).lt(filter.getDeadlineBefore()));
+        if (filter.getDeadlineAfter() != null) conditions.add(Criteria.where(TaskField.DEADLINE.property()).gt(filter.getDeadlineAfter()));
+        if (filter.getAnd() != null) {
+            for (TaskFilterDTO other : filter.getAnd()) {
+                conditions.add(criteria(other));
+            }
+        }
+        if (filter.getOr() != null) {
+            if (filter.getOr().isEmpty()) {
+                conditions.add(Criteria.where(TaskField.ID.property()).in(List.of()));
+            } else {
+                conditions.add(new Criteria().orOperator(filter.getOr().stream().map(MongoTaskQueries::criteria).toList()));
+            }
+        }
+        if (filter.getNot() != null) conditions.add(new Criteria().norOperator(criteria(filter.getNot())));
+        return and(conditions);
+    }
+
+    /**
+     * This method compiles the condition of the tasks that come after the task the query starts after:
+     * the tasks with the same values in the first fields of the order and a greater value in the next one,
+     * for each field of the order. A task without value comes before every task with one, as in the order of the database.
+     */
+    private static Criteria after(TaskQuery query) {
+        List<TaskQuery.Order> key = query.sortKey();
+        List<Criteria> branches = new ArrayList<>();
+        for (int i = 0; i < key.size(); i++) {
+            TaskQuery.Order order = key.get(i);
+            Object value = order.field().value(query.getAfter());
+            if (!order.ascending() && value == null) continue;
+            List<Criteria> conditions = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                TaskField field = key.get(j).field();
+                conditions.add(Criteria.where(field.property()).is(field.value(query.getAfter())));
+            }
+            String property = order.field().property();
+            if (value == null) conditions.add(Criteria.where(property).ne(null));
+            else if (order.ascending()) conditions.add(Criteria.where(property).gt(value));
+            else conditions.add(new Criteria().orOperator(Criteria.where(property).lt(value), Criteria.where(property).is(null)));
+            branches.add(and(conditions));
+        }
+        if (branches.isEmpty()) return Criteria.where(TaskField.ID.property()).in(List.of());
+        return branches.size() == 1 ? branches.get(0) : new Criteria().orOperator(branches);
+    }
+
+    private static Criteria and(List<Criteria> conditions) {
+        if (conditions.isEmpty()) return new Criteria();
+        if (conditions.size() == 1) return conditions.get(0);
+        return new Criteria().andOperator(conditions);
+    }
+}
@@ -0,0 +1,30 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.TaskEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This interface is the log of the changes made to the tasks of the users, the events are only appended
+ * and they are returned in the order they were appended.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public interface TaskEventStore {
+    void append(List<TaskEvent> events) throws TaskManagerException;
+    List<TaskEvent> findAfter(String userId, long sequence) throws TaskManagerException;
+
+    /**
+     * This method returns the events of the user that happened in the given period, in order.
+     * @param userId The id of the user.
+     * @param from The start of the period, null for the first event.
+     * @param to The end of the period, null for the last event.
+     * @return The events of the user in the period.
+     * @throws TaskManagerException If there is a problem with the log.
+     */
+    List<TaskEvent> findBetween(String userId, LocalDateTime from, LocalDateTime to) throws TaskManagerException;
+    void deleteByUser(String userId) throws TaskManagerException;
+    void deleteAll() throws TaskManagerException;
+}
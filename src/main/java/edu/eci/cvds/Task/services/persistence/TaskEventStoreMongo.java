@@ -0,0 +1,66 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.metrics.MongoCommandMetrics;
+import edu.eci.cvds.Task.models.TaskEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This class is the log of the changes of the tasks stored in Mongo, one small document per event,
+ * read by the index of the user and the number of the event.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskEventStoreMongo implements TaskEventStore {
+    private static final String USER_ID = "userId";
+    private static final String SEQUENCE = "sequence";
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void append(List<TaskEvent> events) {
+        try (var operation = MongoCommandMetrics.operation("TaskEventStoreMongo.append")) {
+            mongoTemplate.insertAll(events);
+        }
+    }
+
+    @Override
+    public List<TaskEvent> findAfter(String userId, long sequence) {
+        try (var operation = MongoCommandMetrics.operation("TaskEventStoreMongo.findAfter")) {
+            Query query = Query.query(Criteria.where(USER_ID).is(userId).and(SEQUENCE).gt(sequence))
+                    .with(Sort.by(SEQUENCE));
+            return mongoTemplate.find(query, TaskEvent.class);
+        }
+    }
+
+    @Override
+    public List<TaskEvent> findBetween(String userId, LocalDateTime from, LocalDateTime to) {
+        try (var operation = MongoCommandMetrics.operation("TaskEventStoreMongo.findBetween")) {
+            Criteria criteria = Criteria.where(USER_ID).is(userId);
+            if (from != null && to != null) criteria = criteria.and("time").gte(from).lte(to);
+            else if (from != null) criteria = criteria.and("time").gte(from);
+            else if (to != null) criteria = criteria.and("time").lte(to);
+            return mongoTemplate.find(Query.query(criteria).with(Sort.by(SEQUENCE)), TaskEvent.class);
+        }
+    }
+
+    @Override
+    public void deleteByUser(String userId) {
+        try (var operation = MongoCommandMetrics.operation("TaskEventStoreMongo.deleteByUser")) {
+            mongoTemplate.remove(Query.query(Criteria.where(USER_ID).is(userId)), TaskEvent.class);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        // NO BORRAR TODO :)
+    }
+}
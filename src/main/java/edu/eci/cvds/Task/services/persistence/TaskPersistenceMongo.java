@@ -1,15 +1,21 @@
 package edu.eci.cvds.Task.services.persistence;
 
 import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.metrics.MongoCommandMetrics;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
 
 import edu.eci.cvds.Task.services.TaskPersistence;
 import edu.eci.cvds.Task.services.TaskRepository;
 
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,56 +32,103 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TaskPersistenceMongo implements TaskPersistence {
     private final TaskRepository taskRepository;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public Task save(Task task) throws TaskManagerException {
-        taskRepository.save(task);
-        return task;
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.save")) {
+            taskRepository.save(task);
+            return task;
+        }
     }
 
     @Override
     public void deleteById(String id) {
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.deleteById")) {
             taskRepository.deleteById(id);
-
+        }
     }
 
     @Override
     public List<Task> findAll() throws TaskManagerException {
-        return taskRepository.findAll();
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findAll")) {
+            return taskRepository.findAll();
+        }
     }
 
     @Override
     public List<Task> findByState(boolean state) throws TaskManagerException {
-        return taskRepository.findByState(state);
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findByState")) {
+            return taskRepository.findByState(state);
+        }
     }
 
     @Override
     public List<Task> findByDeadline(LocalDateTime deadline) throws TaskManagerException {
-        return taskRepository.findByDeadline(deadline);
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findByDeadline")) {
+            return taskRepository.findByDeadline(deadline);
+        }
     }
 
     @Override
     public List<Task> findByPriority(int priority) throws TaskManagerException {
-        return taskRepository.findByPriority(priority);
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findByPriority")) {
+            return taskRepository.findByPriority(priority);
+        }
     }
 
     @Override
     public List<Task> findByDifficulty(Difficulty difficulty) throws TaskManagerException {
-        return taskRepository.findByDifficulty(difficulty);
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findByDifficulty")) {
+            return taskRepository.findByDifficulty(difficulty);
+        }
     }
 
     @Override
     public List<Task> findByEstimatedTime(int estimatedTime) throws TaskManagerException {
-        return taskRepository.findByEstimatedTime(estimatedTime);
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findByEstimatedTime")) {
+            return taskRepository.findByEstimatedTime(estimatedTime);
+        }
+    }
+
+    /**
+     * This method returns the tasks that meet the given query, the filter, order, limit and projection
+     * are compiled to one query of the database, so only the tasks returned are read.
+     * @param query The query of the tasks.
+     * @return The tasks that meet the query.
+     */
+    @Override
+    public List<Task> find(TaskQuery query) throws TaskManagerException {
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.find")) {
+            return mongoTemplate.find(toQuery(query), Task.class);
+        }
+    }
+
+    /**
+     * This method compiles the given query to a query of the database.
+     * @param query The query of the tasks.
+     * @return The query of the database.
+     */
+    static Query toQuery(TaskQuery query) {
+        Query result = new Query(MongoTaskQueries.criteria(query)).with(MongoTaskQueries.sort(query));
+        if (query.hasLimit()) result.limit(query.getLimit());
+        for (TaskField field : query.getProjection()) {
+            result.fields().include(field.property());
+        }
+        return result;
     }
 
     @Override
     public Optional<Task> findById(String id) throws TaskManagerException {
-        return taskRepository.findById(id);
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.findById")) {
+            return taskRepository.findById(id);
+        }
     }
     @Override
     public void deleteAll(){
-        taskRepository.deleteAll();
+        try (var operation = MongoCommandMetrics.operation("TaskPersistenceMongo.deleteAll")) {
+            taskRepository.deleteAll();
+        }
     }
 
 }
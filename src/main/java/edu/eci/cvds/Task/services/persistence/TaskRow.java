@@ -0,0 +1,113 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskView;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * This class is a view of a task stored as a row of a text plane file, its columns are the id, name, description,
+ * state, priority, estimated time, difficulty and deadline of the task separated by a separator.
+ * Each column is read only when it is asked for, the offsets of the columns are found once and the deadline
+ * is parsed at most once, so a query can evaluate its filter over the row without building the task.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+final class TaskRow implements TaskView {
+    static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final int COLUMNS = 8;
+    private final String separator;
+    private final int[] starts = new int[COLUMNS];
+    private final int[] ends = new int[COLUMNS];
+    private String line;
+    private LocalDateTime deadline;
+
+    /**
+     * This method is the TaskRow constructor.
+     * @param separator The separator of the columns of the row.
+     */
+    TaskRow(String separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * This method makes this view read the row between the given positions of the given line.
+     * @param line The line of the file.
+     * @param from The position of the first character of the row.
+     * @param to The position after the last character of the row.
+     * @throws TaskManagerException If the row does not have all the columns.
+     */
+    void reset(String line, int from, int to) throws TaskManagerException {
+        this.line = line;
+        this.deadline = null;
+        int start = from;
+        for (int column = 0; column < COLUMNS; column++) {
+            int end = column == COLUMNS - 1 ? to : line.indexOf(separator, start);
+            if (end < 0 || end > to) throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+            starts[column] = start;
+            ends[column] = end;
+            start = end + separator.length();
+        }
+    }
+
+    /**
+     * This method builds the task of the row, validating its fields.
+     * @return The task of the row.
+     * @throws TaskManagerException If the information of the task is not correct.
+     */
+    Task toTask() throws TaskManagerException {
+        return new Task(getId(), getName(), getDescription(), getState(), getPriority(), getEstimatedTime(), getDifficulty(), getDeadline());
+    }
+
+    @Override
+    public String getId() {
+        return column(0);
+    }
+
+    @Override
+    public String getName() {
+        return column(1);
+    }
+
+    @Override
+    public String getDescription() {
+        return column(2);
+    }
+
+    @Override
+    public boolean getState() {
+        return ends[3] - starts[3] == 4 && line.regionMatches(true, starts[3], "true", 0, 4);
+    }
+
+    @Override
+    public int getPriority() {
+        return Integer.parseInt(line, starts[4], ends[4], 10);
+    }
+
+    @Override
+    public int getEstimatedTime() {
+        return Integer.parseInt(line, starts[5], ends[5], 10);
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        int length = ends[6] - starts[6];
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.name().length() == length && line.startsWith(difficulty.name(), starts[6])) return difficulty;
+        }
+        throw new IllegalArgumentException(column(6));
+    }
+
+    @Override
+    public LocalDateTime getDeadline() {
+        if (deadline == null) deadline = LocalDateTime.parse(line.subSequence(starts[7], ends[7]), DEADLINE_FORMAT);
+        return deadline;
+    }
+
+    private String column(int column) {
+        return line.substring(starts[column], ends[column]);
+    }
+}
@@ -1,6 +1,7 @@
 package edu.eci.cvds.Task.services.persistence;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.*;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -18,6 +19,10 @@ import java.util.Optional;
  */
 @Component
 public class UserFilePersistenceImpl implements UserPersistence {
+    private static final String SEPARATOR = "-#-";
+    private static final String TASK_SEPARATOR = ";";
+    private static final char TASKS_SEPARATOR = '|';
+    private static final int TASKS_COLUMN = 5;
     private String fileName;
     private File file;
 
@@ -125,6 +130,44 @@ public class UserFilePersistenceImpl implements UserPersistence {
         return res;
     }
 
+    /**
+     * This method returns the tasks of the user that meet the given query. Only the line of the user is kept,
+     * the filter is evaluated over each task of the line reading only the columns it needs,
+     * and the tasks are only built for the ones returned.
+     * @param usernameId The username id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the file operations
+     */
+    @Override
+    public Optional<List<Task>> findTasks(String usernameId, TaskQuery query) throws TaskManagerException {
+        String line = findLine(usernameId);
+        if (line == null) return Optional.empty();
+        int from = line.length();
+        int separator = -SEPARATOR.length();
+        for (int column = 0; column < TASKS_COLUMN; column++) {
+            separator = line.indexOf(SEPARATOR, separator + SEPARATOR.length());
+            if (separator < 0) break;
+            if (column == TASKS_COLUMN - 1) from = separator + SEPARATOR.length();
+        }
+        TaskQuery.Selection<TaskRow> selection = query.selection();
+        TaskRow row = new TaskRow(TASK_SEPARATOR);
+        while (from < line.length() && !selection.isComplete()) {
+            int to = line.indexOf(TASKS_SEPARATOR, from);
+            if (to < 0) to = line.length();
+            if (to > from) {
+                row.reset(line, from, to);
+                if (query.matches(row) && selection.offer(row)) row = new TaskRow(TASK_SEPARATOR);
+            }
+            from = to + 1;
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (TaskRow match : selection.result()) {
+            tasks.add(query.isProjected() ? query.project(match) : match.toTask());
+        }
+        return Optional.of(tasks);
+    }
+
     /**
      * Cleans the file for testing purposes
      * @throws TaskManagerException If there is a problem with the file operations
@@ -157,6 +200,20 @@ public class UserFilePersistenceImpl implements UserPersistence {
         return res;
     }
 
+    private String findLine(String usernameId) throws TaskManagerException {
+        String key = usernameId + SEPARATOR;
+        String found = null;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(key)) found = line;
+            }
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+        return found;
+    }
+
     private ArrayList<String> searchId(String usernameId) throws TaskManagerException {
         ArrayList<String> lines = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
@@ -187,6 +244,7 @@ public class UserFilePersistenceImpl implements UserPersistence {
             // Deserialize and add tasks if present
             if (content.length > 5) {
                 deserializeTasks(content[5], user);
+                user.rebuildStatistics();
             }
             users.add(user);
         }
@@ -0,0 +1,300 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Role;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * This class is a local append only file with the saves and deletes of users that were not written yet
+ * to the persistence where the users are stored. Each record is the whole user, or the id of the user deleted,
+ * preceded by its length and its checksum, and it is forced to the disk before the append returns,
+ * so the changes survive a crash of the application and they are replayed when it starts again.
+ * A record cut by a crash in the middle of an append fails its checksum, it and the rest of the file are dropped.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class UserJournal implements AutoCloseable {
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER = Integer.BYTES * 2;
+    private final Path path;
+    private FileChannel channel;
+
+    /**
+     * This method is the UserJournal Constructor, it opens the file or creates it if it does not exist.
+     * @param path The path of the file of the journal.
+     * @throws TaskManagerException If the file can't be opened.
+     */
+    public UserJournal(Path path) throws TaskManagerException {
+        this.path = path;
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            this.channel = open(path);
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+    }
+
+    /**
+     * This method appends the save of the given user.
+     * @param user The user saved.
+     * @throws TaskManagerException If the record can't be written.
+     */
+    public synchronized void appendSave(User user) throws TaskManagerException {
+        append(encode(SAVE, user.getUsernameId(), user));
+    }
+
+    /**
+     * This method appends the delete of the user with the given id.
+     * @param id The id of the user deleted.
+     * @throws TaskManagerException If the record can't be written.
+     */
+    public synchronized void appendDelete(String id) throws TaskManagerException {
+        append(encode(DELETE, id, null));
+    }
+
+    /**
+     * This method reads the records of the file in order and returns the last change of each user,
+     * the file is cut after the last whole record.
+     * @return The last change of each user by id, the user saved or Empty if it was deleted.
+     * @throws TaskManagerException If the file can't be read.
+     */
+    public synchronized Map<String, Optional<User>> replay() throws TaskManagerException {
+        Map<String, Optional<User>> changes = new LinkedHashMap<>();
+        try {
+            channel.position(0);
+            long valid = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            while (readFully(header)) {
+                int length = header.getInt(0);
+                int checksum = header.getInt(Integer.BYTES);
+                if (length <= 0 || length > channel.size() - channel.position()) break;
+                ByteBuffer record = ByteBuffer.allocate(length);
+                if (!readFully(record) || checksum(record.array()) != checksum) break;
+                decode(record.array(), changes);
+                valid = channel.position();
+            }
+            channel.truncate(valid);
+            channel.position(valid);
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+        return changes;
+    }
+
+    /**
+     * This method empties the file, it is called when every change of the journal was written.
+     * @throws TaskManagerException If the file can't be changed.
+     */
+    public synchronized void reset() throws TaskManagerException {
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+    }
+
+    /**
+     * This method replaces the file with one that has only the last change of each user given, the file is written
+     * aside and then moved over the old one, so a crash in the middle leaves the old file whole.
+     * @param changes The last change of each user not written yet, the user saved or Empty if it was deleted.
+     * @throws TaskManagerException If the file can't be written.
+     */
+    public synchronized void rewrite(Map<String, Optional<User>> changes) throws TaskManagerException {
+        Path next = path.resolveSibling(path.getFileName() + ".next");
+        try {
+            try (FileChannel rewritten = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, Optional<User>> change : changes.entrySet()) {
+                    byte[] record = change.getValue().isPresent() ? encode(SAVE, change.getKey(), change.getValue().get()) : encode(DELETE, change.getKey(), null);
+                    ByteBuffer buffer = ByteBuffer.wrap(record);
+                    while (buffer.hasRemaining()) {
+                        rewritten.write(buffer);
+                    }
+                }
+                rewritten.force(true);
+            }
+            channel.close();
+            Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+    }
+
+    /**
+     * This method returns the size of the file.
+     * @return The number of bytes of the records.
+     * @throws TaskManagerException If the file can't be read.
+     */
+    public synchronized long size() throws TaskManagerException {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws TaskManagerException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private void append(byte[] record) throws TaskManagerException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+        }
+    }
+
+    private boolean readFully(ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) return false;
+        }
+        return true;
+    }
+
+    private static byte[] encode(byte type, String id, User user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(type);
+            writeString(out, id);
+            if (type == SAVE) {
+                writeString(out, user.getName());
+                writeString(out, user.getPassword());
+                writeString(out, user.getEmail());
+                writeString(out, user.getRole() == null ? null : user.getRole().name());
+                Collection<Task> tasks = user.getTasks().values();
+                out.writeInt(tasks.size());
+                for (Task task : tasks) {
+                    writeString(out, task.getId());
+                    writeString(out, task.getName());
+                    writeString(out, task.getDescription());
+                    out.writeBoolean(task.getState());
+                    out.writeInt(task.getPriority());
+                    out.writeInt(task.getEstimatedTime());
+                    out.writeByte(task.getDifficulty() == null ? -1 : task.getDifficulty().ordinal());
+                    LocalDateTime deadline = task.getDeadline();
+                    out.writeBoolean(deadline != null);
+                    if (deadline != null) {
+                        out.writeLong(deadline.toEpochSecond(ZoneOffset.UTC));
+                        out.writeInt(deadline.getNano());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer header = ByteBuffer.wrap(record, 0, HEADER);
+        header.putInt(record.length - HEADER);
+        header.putInt(checksum(record, HEADER, record.length - HEADER));
+        return record;
+    }
+
+    private static void decode(byte[] record, Map<String, Optional<User>> changes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte type = in.readByte();
+            String id = readString(in);
+            if (type == DELETE) {
+                changes.remove(id);
+                changes.put(id, Optional.empty());
+                return;
+            }
+            User user = new User(id, readString(in), readString(in), readString(in));
+            String role = readString(in);
+            if (role != null) user.setRole(Role.valueOf(role));
+            int tasks = in.readInt();
+            for (int i = 0; i < tasks; i++) {
+                String taskId = readString(in);
+                String name = readString(in);
+                String description = readString(in);
+                boolean state = in.readBoolean();
+                int priority = in.readInt();
+                int estimatedTime = in.readInt();
+                byte difficulty = in.readByte();
+                LocalDateTime deadline = in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+                Task task = new Task(taskId, name, description, state, priority, estimatedTime,
+                        difficulty < 0 ? null : Difficulty.values()[difficulty], deadline);
+                user.getTasks().put(taskId, task);
+            }
+            user.rebuildStatistics();
+            changes.remove(id);
+            changes.put(id, Optional.of(user));
+        } catch (TaskManagerException | IllegalArgumentException e) {
+            throw new IOException(e);
+        } catch (EOFException e) {
+            throw new IOException("The record of the journal is not complete", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] bytes) {
+        return checksum(bytes, 0, bytes.length);
+    }
+
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -1,7 +1,10 @@
 package edu.eci.cvds.Task.services.persistence;
 
 import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.PendingTasks;
+import edu.eci.cvds.Task.models.Task;
 import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,4 +17,57 @@ public interface UserPersistence {
     Optional<User> findById(String id) throws TaskManagerException;
     void deleteAll() throws TaskManagerException;
     long count() throws TaskManagerException;
+
+    /**
+     * This method returns the tasks of the user with the given id that meet the given query, the persistences
+     * that can evaluate it where the tasks are stored do it without loading the whole user.
+     * @param userId The id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    default Optional<List<Task>> findTasks(String userId, TaskQuery query) throws TaskManagerException {
+        Optional<User> user = findById(userId);
+        if (user.isEmpty()) return Optional.empty();
+        return Optional.of(user.get().findTasks(query));
+    }
+
+    /**
+     * This method returns the first unfinished tasks of the user with the given id in the order they should be done,
+     * the persistences that keep the user in memory read them from its pending tasks and the others evaluate
+     * the query of the next tasks where the tasks are stored.
+     * @param userId The id of the user.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks of the user, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    default Optional<List<Task>> findNextTasks(String userId, int count) throws TaskManagerException {
+        return findTasks(userId, PendingTasks.query(count));
+    }
+
+    /**
+     * This method runs the given action once the saves done until now are stored,
+     * the persistences that store every save immediately run it right away.
+     * @param action The action to run.
+     */
+    default void afterCommit(Runnable action) {
+        action.run();
+    }
+
+    /**
+     * This method stores now the saves of the current work that are waiting, and runs the actions waiting for them,
+     * the persistences that store every save immediately do nothing.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    default void commit() throws TaskManagerException {
+    }
+
+    /**
+     * This method drops the copy of the user kept by the persistence for the current work, so the next read
+     * loads the user stored now. The copies with changes not saved yet are kept,
+     * the persistences that don't keep copies do nothing.
+     * @param id The id of the user.
+     */
+    default void refresh(String id) {
+    }
 }
@@ -1,40 +1,101 @@
 package edu.eci.cvds.Task.services.persistence;
 
+import edu.eci.cvds.Task.metrics.MongoCommandMetrics;
+import edu.eci.cvds.Task.models.Task;
 import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ObjectOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 @Component
-@Primary
 @RequiredArgsConstructor
 public class UserPersistenceMongo implements UserPersistence {
+    private static final String TASKS = "tasks";
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
     @Override
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.findByEmail")) {
+            return userRepository.findByEmail(email);
+        }
     }
 
     @Override
     public User save(User user) {
-        return userRepository.save(user);
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.save")) {
+            return userRepository.save(user);
+        }
     }
 
     @Override
     public List<User> findAll() {
-        return userRepository.findAll();
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.findAll")) {
+            return userRepository.findAll();
+        }
     }
 
     @Override
     public void deleteById(String id) {
-        userRepository.deleteById(id);
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.deleteById")) {
+            userRepository.deleteById(id);
+        }
     }
 
     @Override
     public Optional<User> findById(String id) {
-        return userRepository.findById(id);
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.findById")) {
+            return userRepository.findById(id);
+        }
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given query with one aggregation: the map of tasks
+     * of the user is turned into one document per task, and the filter, order, limit and projection of the query
+     * are applied to them in the database, so only the tasks returned are read.
+     * @param userId The id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query, Empty if the user does not exist.
+     */
+    @Override
+    public Optional<List<Task>> findTasks(String userId, TaskQuery query) {
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.findTasks")) {
+            List<Task> tasks = mongoTemplate.aggregate(toAggregation(userId, query), mongoTemplate.getCollectionName(User.class), Task.class)
+                    .getMappedResults();
+            if (tasks.isEmpty() && !userRepository.existsById(userId)) return Optional.empty();
+            return Optional.of(tasks);
+        }
+    }
+
+    /**
+     * This method builds the aggregation of the tasks of the given user that meet the given query,
+     * the stages after the tasks are unwound are mapped with the properties of the Task.
+     * @param userId The id of the user.
+     * @param query The query of the tasks.
+     * @return The aggregation of the tasks.
+     */
+    static TypedAggregation<Task> toAggregation(String userId, TaskQuery query) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(Criteria.where("_id").is(userId)));
+        stages.add(Aggregation.project().and(ObjectOperators.valueOf(TASKS).toArray()).as(TASKS));
+        stages.add(Aggregation.unwind(TASKS));
+        stages.add(Aggregation.replaceRoot(TASKS + ".v"));
+        stages.add(Aggregation.match(MongoTaskQueries.criteria(query)));
+        if (!query.getOrders().isEmpty()) stages.add(Aggregation.sort(MongoTaskQueries.sort(query)));
+        if (query.hasLimit()) stages.add(Aggregation.limit(query.getLimit()));
+        if (query.isProjected()) {
+            stages.add(Aggregation.project(query.getProjection().stream().map(TaskField::property).toArray(String[]::new)));
+        }
+        return Aggregation.newAggregation(Task.class, stages);
     }
 
     @Override
@@ -44,6 +105,8 @@ public class UserPersistenceMongo implements UserPersistence {
 
     @Override
     public long count() {
-        return userRepository.count();
+        try (var operation = MongoCommandMetrics.operation("UserPersistenceMongo.count")) {
+            return userRepository.count();
+        }
     }
 }
@@ -0,0 +1,365 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class is a User persistence that writes the users to another persistence behind the callers: a save or
+ * a delete is appended to a local journal, it is kept in memory as the last state of the user and the id is queued,
+ * and a background flusher writes each queued user once per interval, however many times it was saved in it.
+ * The reads see the users kept in memory before the ones of the wrapped persistence, so they always see the last
+ * save. The journal is replayed when the persistence is created, so the saves not written before a crash are
+ * written after it, and it is emptied every time there is nothing left to write.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class WriteBehindUserPersistence implements UserPersistence, AutoCloseable {
+    private static final long MAXIMUM_JOURNAL_SIZE = 64L * 1024 * 1024;
+    private static final int LOCKS = 256;
+    private final Logger logger = LoggerFactory.getLogger(WriteBehindUserPersistence.class);
+    private final UserPersistence userPersistence;
+    private final UserJournal journal;
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> dirty = new ConcurrentLinkedQueue<>();
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object[] locks = new Object[LOCKS];
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final ScheduledFuture<?> flusher;
+
+    /**
+     * This method is the WriteBehindUserPersistence Constructor, it takes back the changes left in the journal.
+     * @param userPersistence The persistence where the users are stored.
+     * @param journal The journal of the changes not written yet.
+     * @param scheduler The scheduler where the flusher runs.
+     * @param interval The time between two writes of the changes.
+     * @throws TaskManagerException If the journal can't be read.
+     */
+    public WriteBehindUserPersistence(UserPersistence userPersistence, UserJournal journal, ScheduledExecutorService scheduler, Duration interval) throws TaskManagerException {
+        this.userPersistence = userPersistence;
+        this.journal = journal;
+        for (int i = 0; i < LOCKS; i++) locks[i] = new Object();
+        Map<String, Optional<User>> changes = journal.replay();
+        for (Map.Entry<String, Optional<User>> change : changes.entrySet()) {
+            pending.put(change.getKey(), new Pending(change.getValue().orElse(null)));
+            dirty.add(change.getKey());
+        }
+        if (!changes.isEmpty()) logger.info("{} users of the journal are written again", changes.size());
+        this.flusher = scheduler.scheduleWithFixedDelay(this::flushQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method appends the save of the user to the journal and keeps a copy of it until it is written.
+     * @param user The User to save.
+     * @return The saved user.
+     * @throws TaskManagerException If the save can't be appended to the journal.
+     */
+    @Override
+    public User save(User user) throws TaskManagerException {
+        User snapshot = user.copy();
+        mark(user.getUsernameId(), snapshot, () -> journal.appendSave(snapshot));
+        saves.increment();
+        return user;
+    }
+
+    /**
+     * This method appends the delete of the user to the journal, the user is not found anymore from now on.
+     * @param id The id of the user to delete.
+     * @throws TaskManagerException If the delete can't be appended to the journal.
+     */
+    @Override
+    public void deleteById(String id) throws TaskManagerException {
+        mark(id, null, () -> journal.appendDelete(id));
+        saves.increment();
+    }
+
+    /**
+     * This method returns the user with the given id, the last save not written yet if there is one.
+     * @param id The id of the user.
+     * @return The user if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<User> findById(String id) throws TaskManagerException {
+        Pending change = pending.get(id);
+        if (change == null) return userPersistence.findById(id);
+        return change.user == null ? Optional.empty() : Optional.of(change.user.copy());
+    }
+
+    /**
+     * This method returns the user with the given email, the last save not written yet if there is one.
+     * @param email the given email of the user.
+     * @return The User if it's found, Empty otherwise.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<User> findByEmail(String email) throws TaskManagerException {
+        for (Pending change : pending.values()) {
+            if (change.user != null && email.equals(change.user.getEmail())) return Optional.of(change.user.copy());
+        }
+        Optional<User> user = userPersistence.findByEmail(email);
+        if (user.isPresent() && pending.containsKey(user.get().getUsernameId())) return Optional.empty();
+        return user;
+    }
+
+    /**
+     * This method returns all the users of the wrapped persistence with the changes not written yet.
+     * @return The list of all the users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public List<User> findAll() throws TaskManagerException {
+        Map<String, User> users = new LinkedHashMap<>();
+        for (User user : userPersistence.findAll()) {
+            users.put(user.getUsernameId(), user);
+        }
+        for (Map.Entry<String, Pending> change : pending.entrySet()) {
+            if (change.getValue().user == null) users.remove(change.getKey());
+            else users.put(change.getKey(), change.getValue().user.copy());
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given query, from the last save not written yet
+     * if there is one, the query is evaluated by the wrapped persistence otherwise.
+     * @param id The id of the user.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks that meet the query, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<List<Task>> findTasks(String id, TaskQuery query) throws TaskManagerException {
+        Pending change = pending.get(id);
+        if (change == null) return userPersistence.findTasks(id, query);
+        if (change.user == null) return Optional.empty();
+        List<Task> tasks = change.user.findTasks(query);
+        return Optional.of(query.isProjected() ? tasks : copies(tasks));
+    }
+
+    /**
+     * This method returns the next tasks of the user, from the last save not written yet if there is one,
+     * the query of the next tasks is evaluated by the wrapped persistence otherwise.
+     * @param id The id of the user.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks of the user, Empty if the user does not exist.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public Optional<List<Task>> findNextTasks(String id, int count) throws TaskManagerException {
+        Pending change = pending.get(id);
+        if (change == null) return userPersistence.findNextTasks(id, count);
+        if (change.user == null) return Optional.empty();
+        return Optional.of(copies(change.user.getNextTasks(count)));
+    }
+
+    /**
+     * This method deletes all the users, the ones of the wrapped persistence and the changes not written yet.
+     * @throws TaskManagerException If there is a problem with the persistence or the journal.
+     */
+    @Override
+    public void deleteAll() throws TaskManagerException {
+        flushLock.lock();
+        journalLock.writeLock().lock();
+        try {
+            pending.clear();
+            dirty.clear();
+            journal.reset();
+            userPersistence.deleteAll();
+        } finally {
+            journalLock.writeLock().unlock();
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * This method returns the total of users, the changes not written yet are written first.
+     * @return The number of users.
+     * @throws TaskManagerException If there is a problem with the persistence.
+     */
+    @Override
+    public long count() throws TaskManagerException {
+        flush();
+        return userPersistence.count();
+    }
+
+    /**
+     * This method writes to the wrapped persistence the last change of each user queued, once per user.
+     * The users that fail, with a TaskManagerException or with a runtime error of the database like a duplicate key,
+     * are queued again, and the users changed while they were written are written in the next flush.
+     * @throws TaskManagerException The last error of the wrapped persistence, after trying every user.
+     */
+    public void flush() throws TaskManagerException {
+        flushLock.lock();
+        try {
+            Exception failure = null;
+            List<String> again = new ArrayList<>();
+            try {
+                for (int queued = dirty.size(); queued > 0; queued--) {
+                    String id = dirty.poll();
+                    if (id == null) break;
+                    Pending change = pending.get(id);
+                    if (change == null) continue;
+                    try {
+                        write(id, change);
+                        writes.increment();
+                        if (!pending.remove(id, change)) again.add(id);
+                    } catch (TaskManagerException | RuntimeException e) {
+                        failure = e;
+                        again.add(id);
+                    }
+                }
+            } finally {
+                dirty.addAll(again);
+            }
+            compactJournal();
+            if (failure instanceof RuntimeException e) throw e;
+            if (failure != null) throw (TaskManagerException) failure;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * This method returns the number of users with changes not written yet.
+     * @return The number of users waiting to be written.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * This method returns the number of saves and deletes received since the persistence was created.
+     * @return The number of changes received.
+     */
+    public long getSaves() {
+        return saves.sum();
+    }
+
+    /**
+     * This method returns the number of saves and deletes made to the wrapped persistence since the persistence was created.
+     * @return The number of changes written.
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * This method stops the flusher, writes the changes left and closes the journal.
+     * @throws TaskManagerException If the changes or the journal can't be written.
+     */
+    @Override
+    public void close() throws TaskManagerException {
+        flusher.cancel(false);
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    /**
+     * This method appends the change to the journal and keeps it as the last change of the user, under the lock of
+     * the user so the journal and the memory have the changes of a user in the same order. The journal is written
+     * outside the map of the changes, so its sync never blocks the users that share a bin of the map with it.
+     */
+    private void mark(String id, User user, JournalAppend append) throws TaskManagerException {
+        Pending change = new Pending(user);
+        Pending previous;
+        journalLock.readLock().lock();
+        try {
+            synchronized (lockOf(id)) {
+                append.run();
+                previous = pending.put(id, change);
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+        if (previous == null) dirty.add(id);
+    }
+
+    private void write(String id, Pending change) throws TaskManagerException {
+        if (change.user != null) {
+            userPersistence.save(change.user);
+            return;
+        }
+        try {
+            userPersistence.deleteById(id);
+        } catch (TaskManagerException e) {
+            if (!TaskManagerException.USER_DOESNT_EXIST.equals(e.getMessage())) throw e;
+        }
+    }
+
+    private void compactJournal() throws TaskManagerException {
+        journalLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                if (journal.size() > 0) journal.reset();
+            } else if (journal.size() > MAXIMUM_JOURNAL_SIZE) {
+                Map<String, Optional<User>> changes = new LinkedHashMap<>();
+                pending.forEach((id, change) -> changes.put(id, Optional.ofNullable(change.user)));
+                journal.rewrite(changes);
+            }
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (TaskManagerException | RuntimeException e) {
+            logger.warn("The changes of {} users could not be written, they will be written again", pending.size(), e);
+        }
+    }
+
+    private Object lockOf(String id) {
+        int hash = id.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCKS - 1)];
+    }
+
+    private static List<Task> copies(List<Task> tasks) throws TaskManagerException {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copies.add(task.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * This class is the last change of a user not written yet, the user saved or null if it was deleted.
+     * Two changes are never equal, so a change is only removed if it is still the last one.
+     */
+    private static final class Pending {
+        private final User user;
+
+        private Pending(User user) {
+            this.user = user;
+        }
+    }
+
+    @FunctionalInterface
+    private interface JournalAppend {
+        void run() throws TaskManagerException;
+    }
+}
@@ -0,0 +1,198 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * This class is an index of the tasks of a user made of compressed bitmaps: one by state, one by priority,
+ * one by difficulty and one by bucket of estimated time, the bucket b has the estimated times from 2^(b-1) to 2^b - 1.
+ * The bit i of a bitmap is set if the task in the position i has that value, so a filter is answered by
+ * intersecting, joining and complementing bitmaps instead of going over the tasks.
+ * The deadlines are kept as the positions of the tasks sorted by deadline, a range of deadlines is found by binary search.
+ * The index is never modified, a new one is built when the tasks change.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class TaskBitmapIndex {
+    private static final int BUCKETS = Integer.SIZE + 1;
+    private final Task[] tasks;
+    private final int[] estimatedTimes;
+    private final RoaringBitmap all;
+    private final RoaringBitmap finished = new RoaringBitmap();
+    private final RoaringBitmap[] byPriority;
+    private final RoaringBitmap[] byDifficulty = new RoaringBitmap[Difficulty.values().length];
+    private final RoaringBitmap[] byEstimatedTime = new RoaringBitmap[BUCKETS];
+    private final int[] byDeadline;
+    private final LocalDateTime[] sortedDeadlines;
+
+    /**
+     * This method builds the index of the given tasks, they keep the order given.
+     * @param tasks The tasks of the user.
+     */
+    public TaskBitmapIndex(Collection<Task> tasks) {
+        this.tasks = tasks.toArray(new Task[0]);
+        this.estimatedTimes = new int[this.tasks.length];
+        this.all = RoaringBitmap.bitmapOfRange(0, this.tasks.length);
+        int maxPriority = 0;
+        for (Task task : this.tasks) {
+            maxPriority = Math.max(maxPriority, task.getPriority());
+        }
+        this.byPriority = new RoaringBitmap[maxPriority + 1];
+        for (int i = 0; i < this.tasks.length; i++) {
+            Task task = this.tasks[i];
+            estimatedTimes[i] = task.getEstimatedTime();
+            if (task.getState()) finished.add(i);
+            if (task.getPriority() >= 0) bitmap(byPriority, task.getPriority()).add(i);
+            if (task.getDifficulty() != null) bitmap(byDifficulty, task.getDifficulty().ordinal()).add(i);
+            bitmap(byEstimatedTime, bucket(task.getEstimatedTime())).add(i);
+        }
+        for (RoaringBitmap[] bitmaps : List.of(byPriority, byDifficulty, byEstimatedTime)) {
+            for (RoaringBitmap bitmap : bitmaps) {
+                if (bitmap != null) bitmap.runOptimize();
+            }
+        }
+        finished.runOptimize();
+        this.byDeadline = IntStream.range(0, this.tasks.length).filter(i -> this.tasks[i].getDeadline() != null).boxed()
+                .sorted(Comparator.comparing(i -> this.tasks[i].getDeadline())).mapToInt(Integer::intValue).toArray();
+        this.sortedDeadlines = Arrays.stream(byDeadline).mapToObj(i -> this.tasks[i].getDeadline()).toArray(LocalDateTime[]::new);
+    }
+
+    /**
+     * This method returns the tasks that meet the given filter, in the order they were given.
+     * @param filter The conditions of the tasks.
+     * @return The list of the tasks that meet the filter.
+     */
+    public List<Task> query(TaskFilterDTO filter) {
+        RoaringBitmap matches = evaluate(filter);
+        List<Task> result = new ArrayList<>(matches.getCardinality());
+        matches.forEach((int position) -> result.add(tasks[position]));
+        return result;
+    }
+
+    /**
+     * This method returns the number of tasks that meet the given filter.
+     * @param filter The conditions of the tasks.
+     * @return The number of tasks that meet the filter.
+     */
+    public int count(TaskFilterDTO filter) {
+        return evaluate(filter).getCardinality();
+    }
+
+    /**
+     * This method returns the number of tasks of the index.
+     * @return The number of tasks.
+     */
+    public int size() {
+        return tasks.length;
+    }
+
+    private RoaringBitmap evaluate(TaskFilterDTO filter) {
+        RoaringBitmap result = all.clone();
+        if (filter == null) return result;
+        if (filter.getState() != null) {
+            if (filter.getState()) result.and(finished);
+            else result.andNot(finished);
+        }
+        if (filter.getPriority() != null) result.and(priorities(filter.getPriority(), filter.getPriority()));
+        if (filter.getMinPriority() != null || filter.getMaxPriority() != null) {
+            result.and(priorities(value(filter.getMinPriority(), Integer.MIN_VALUE), value(filter.getMaxPriority(), Integer.MAX_VALUE)));
+        }
+        if (filter.getDifficulty() != null) result.and(orEmpty(byDifficulty[filter.getDifficulty().ordinal()]));
+        if (filter.getMinEstimatedTime() != null || filter.getMaxEstimatedTime() != null) {
+            result.and(estimatedTimes(value(filter.getMinEstimatedTime(), Integer.MIN_VALUE), value(filter.getMaxEstimatedTime(), Integer.MAX_VALUE)));
+        }
+        if (filter.getDeadlineBefore() != null || filter.getDeadlineAfter() != null) {
+            result.and(deadlines(filter.getDeadlineAfter(), filter.getDeadlineBefore()));
+        }
+        if (filter.getAnd() != null) {
+            for (TaskFilterDTO other : filter.getAnd()) {
+                result.and(evaluate(other));
+            }
+        }
+        if (filter.getOr() != null) {
+            RoaringBitmap any = new RoaringBitmap();
+            for (TaskFilterDTO other : filter.getOr()) {
+                any.or(evaluate(other));
+            }
+            result.and(any);
+        }
+        if (filter.getNot() != null) result.andNot(evaluate(filter.getNot()));
+        return result;
+    }
+
+    private RoaringBitmap priorities(int min, int max) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (int priority = Math.max(0, min); priority <= max && priority < byPriority.length; priority++) {
+            if (byPriority[priority] != null) result.or(byPriority[priority]);
+        }
+        return result;
+    }
+
+    private RoaringBitmap estimatedTimes(int min, int max) {
+        RoaringBitmap result = new RoaringBitmap();
+        if (min > max) return result;
+        int first = bucket(min);
+        int last = bucket(max);
+        for (int bucket = first; bucket <= last; bucket++) {
+            RoaringBitmap bitmap = byEstimatedTime[bucket];
+            if (bitmap == null) continue;
+            if (bucket > first && bucket < last) {
+                result.or(bitmap);
+            } else {
+                bitmap.forEach((int position) -> {
+                    if (estimatedTimes[position] >= min && estimatedTimes[position] <= max) result.add(position);
+                });
+            }
+        }
+        return result;
+    }
+
+    private RoaringBitmap deadlines(LocalDateTime after, LocalDateTime before) {
+        int from = after == null ? 0 : firstAfter(after, false);
+        int to = before == null ? byDeadline.length : firstAfter(before, true);
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = from; i < to; i++) {
+            result.add(byDeadline[i]);
+        }
+        return result;
+    }
+
+    private int firstAfter(LocalDateTime deadline, boolean inclusive) {
+        int low = 0;
+        int high = sortedDeadlines.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = sortedDeadlines[middle].compareTo(deadline);
+            if (comparison > 0 || (inclusive && comparison == 0)) high = middle;
+            else low = middle + 1;
+        }
+        return low;
+    }
+
+    private static int bucket(int estimatedTime) {
+        return estimatedTime < 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(estimatedTime);
+    }
+
+    private static RoaringBitmap bitmap(RoaringBitmap[] bitmaps, int index) {
+        if (bitmaps[index] == null) bitmaps[index] = new RoaringBitmap();
+        return bitmaps[index];
+    }
+
+    private static RoaringBitmap orEmpty(RoaringBitmap bitmap) {
+        return bitmap == null ? new RoaringBitmap() : bitmap;
+    }
+
+    private static int value(Integer value, int absent) {
+        return value == null ? absent : value;
+    }
+}
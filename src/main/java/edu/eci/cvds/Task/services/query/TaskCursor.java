@@ -0,0 +1,69 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * This class writes and reads the cursors of the pages of tasks. A cursor has the field the pages are sorted by and
+ * the values of the last task of a page in that order, its deadline and its id, so the next page is read by starting
+ * after that task instead of skipping the tasks of the previous pages. The cursors are opaque to the clients.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public final class TaskCursor {
+    private static final Set<TaskField> SORTS = EnumSet.of(TaskField.DEADLINE, TaskField.ID);
+    private static final String SEPARATOR = "\n";
+
+    private TaskCursor() {
+    }
+
+    /**
+     * This method checks that the pages can be sorted by the given field.
+     * @param sort The field to sort the pages by.
+     * @throws TaskManagerException If the pages can not be sorted by the field.
+     */
+    public static void checkSort(TaskField sort) throws TaskManagerException {
+        if (!SORTS.contains(sort)) throw new TaskManagerException(TaskManagerException.INVALID_PAGE_SORT);
+    }
+
+    /**
+     * This method returns the cursor of the page that ends with the given task.
+     * @param sort The field the pages are sorted by.
+     * @param last The last task of the page.
+     * @return The cursor of the next page.
+     */
+    public static String encode(TaskField sort, TaskView last) {
+        String deadline = sort == TaskField.DEADLINE && last.getDeadline() != null ? last.getDeadline().toString() : "";
+        String cursor = sort.name() + SEPARATOR + deadline + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This method returns the task to start the next page after, with the values written in the given cursor.
+     * @param cursor The cursor given by the previous page.
+     * @param sort The field the pages are sorted by, it must be the one of the cursor.
+     * @return The task with the id and the deadline of the cursor.
+     * @throws TaskManagerException If the cursor is not valid or it was made for another order.
+     */
+    public static Task decode(String cursor, TaskField sort) throws TaskManagerException {
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+            if (values.length != 3 || !values[0].equals(sort.name()) || values[2].isEmpty()) {
+                throw new TaskManagerException(TaskManagerException.INVALID_CURSOR);
+            }
+            Task after = Task.projection(values[2]);
+            if (!values[1].isEmpty()) after.setDeadline(LocalDateTime.parse(values[1]));
+            return after;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new TaskManagerException(TaskManagerException.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskView;
+
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * This enum has the fields of a task a query can sort by or project, with the name of the property
+ * in the database, the order of the tasks by the field and how to copy it to a projected task.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public enum TaskField {
+    ID("id", TaskView::getId, Comparator.comparing(TaskView::getId, Comparator.nullsFirst(Comparator.naturalOrder())),
+            (view, task) -> { }),
+    NAME("name", TaskView::getName, Comparator.comparing(TaskView::getName, Comparator.nullsFirst(Comparator.naturalOrder())),
+            (view, task) -> task.setName(view.getName())),
+    DESCRIPTION("description", TaskView::getDescription, Comparator.comparing(TaskView::getDescription, Comparator.nullsFirst(Comparator.naturalOrder())),
+            (view, task) -> task.setDescription(view.getDescription())),
+    STATE("state", TaskView::getState, (first, second) -> Boolean.compare(first.getState(), second.getState()),
+            (view, task) -> task.setState(view.getState())),
+    PRIORITY("priority", TaskView::getPriority, Comparator.comparingInt(TaskView::getPriority),
+            (view, task) -> task.setPriority(view.getPriority())),
+    ESTIMATED_TIME("estimatedTime", TaskView::getEstimatedTime, Comparator.comparingInt(TaskView::getEstimatedTime),
+            (view, task) -> task.setEstimatedTime(view.getEstimatedTime())),
+    DIFFICULTY("difficulty", TaskView::getDifficulty, Comparator.comparing(TaskView::getDifficulty, Comparator.nullsFirst(Comparator.naturalOrder())),
+            (view, task) -> task.setDifficulty(view.getDifficulty())),
+    DEADLINE("deadline", TaskView::getDeadline, Comparator.comparing(TaskView::getDeadline, Comparator.nullsFirst(Comparator.naturalOrder())),
+            (view, task) -> task.setDeadline(view.getDeadline()));
+
+    private final String property;
+    private final Function<TaskView, Object> value;
+    private final Comparator<TaskView> comparator;
+    private final BiConsumer<TaskView, Task> copy;
+
+    TaskField(String property, Function<TaskView, Object> value, Comparator<TaskView> comparator, BiConsumer<TaskView, Task> copy) {
+        this.property = property;
+        this.value = value;
+        this.comparator = comparator;
+        this.copy = copy;
+    }
+
+    /**
+     * This method returns the name of the property of the task in the database.
+     * @return The name of the property.
+     */
+    public String property() {
+        return property;
+    }
+
+    /**
+     * This method returns the value of this field in the given view.
+     * @param view The view of the task.
+     * @return The value of the field, boxed if it is a primitive.
+     */
+    public Object value(TaskView view) {
+        return value.apply(view);
+    }
+
+    /**
+     * This method returns the comparator of the tasks by this field in ascending order.
+     * @return The comparator of the field.
+     */
+    public Comparator<TaskView> comparator() {
+        return comparator;
+    }
+
+    /**
+     * This method copies this field from the given view to the given task.
+     * @param view The view to read the field from.
+     * @param task The task to write the field to.
+     */
+    public void copy(TaskView view, Task task) {
+        copy.accept(view, task);
+    }
+}
@@ -0,0 +1,82 @@
+package edu.eci.cvds.Task.services.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.TaskVersions;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * This class answers the queries over the tasks of a user with a bitmap index of its tasks.
+ * The indexes are kept in memory by user and version of the tasks of the user, so the index is built
+ * once and used by every query until the tasks of the user change.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Service
+public class TaskIndexService {
+    private final UserPersistence userPersistence;
+    private final TaskVersions taskVersions;
+    private final Cache<Key, TaskBitmapIndex> indexes;
+
+    /**
+     * This method is the TaskIndexService Constructor.
+     * @param userPersistence The persistence of the users.
+     * @param taskVersions The versions of the tasks of the users.
+     * @param maximumSize The maximum number of indexes to keep in memory.
+     * @param expireAfterAccess The time an index is kept in memory since it was used for the last time.
+     */
+    @Autowired
+    public TaskIndexService(UserPersistence userPersistence, TaskVersions taskVersions,
+                            @Value("${task.cache.query.maximum-size:1000}") long maximumSize,
+                            @Value("${task.cache.query.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.userPersistence = userPersistence;
+        this.taskVersions = taskVersions;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * This method returns the tasks of the user that meet the given filter.
+     * @param userId The id of the user.
+     * @param filter The conditions of the tasks, null for every task.
+     * @return The list of the tasks that meet the filter.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    public List<Task> query(String userId, TaskFilterDTO filter) throws TaskManagerException {
+        return getIndex(userId).query(filter);
+    }
+
+    /**
+     * This method returns the index of the current version of the tasks of the user, it is built if it's not in memory.
+     * @param userId The id of the user.
+     * @return The index of the tasks of the user.
+     * @throws TaskManagerException If the user doesn't exist or there is a problem with the persistence.
+     */
+    public TaskBitmapIndex getIndex(String userId) throws TaskManagerException {
+        Key key = new Key(userId, taskVersions.current(userId));
+        TaskBitmapIndex index = indexes.getIfPresent(key);
+        if (index != null) return index;
+        index = new TaskBitmapIndex(findUser(userId).getTasks().values());
+        indexes.put(key, index);
+        return index;
+    }
+
+    private User findUser(String userId) throws TaskManagerException {
+        return userPersistence.findById(userId).orElseThrow(() -> new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST));
+    }
+
+    private record Key(String userId, TaskVersions.Version version) {
+    }
+}
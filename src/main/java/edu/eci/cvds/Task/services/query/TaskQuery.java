@@ -0,0 +1,263 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import edu.eci.cvds.Task.models.TaskView;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * This class is a query over the tasks: the filter the tasks must meet, the fields to sort them by,
+ * the task to start after, the maximum number of tasks to return and the fields to return of each one.
+ * Each persistence evaluates it where the tasks are, the database compiles it to its own query language
+ * and the text plane file evaluates the filter over each row before building the task.
+ * The sorted queries are always sorted by id after the given fields, so the order of the tasks is stable,
+ * and a query that starts after a task is sorted by id if it has no order, so the pages of a query can be
+ * read by starting each one after the last task of the previous one.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Getter
+public class TaskQuery {
+    private final TaskFilterDTO filter;
+    private final List<Order> orders;
+    private final TaskView after;
+    private final int limit;
+    private final Set<TaskField> projection;
+    @Getter(AccessLevel.NONE)
+    private final Comparator<TaskView> comparator;
+
+    @Builder(toBuilder = true)
+    private TaskQuery(TaskFilterDTO filter, @Singular List<Order> orders, TaskView after, int limit,
+                      @Singular("include") Set<TaskField> projection) {
+        this.filter = filter;
+        this.orders = after != null && orders.isEmpty() ? List.of(Order.asc(TaskField.ID)) : orders;
+        this.after = after;
+        this.limit = limit;
+        this.projection = projection;
+        this.comparator = comparatorOf(this.orders);
+    }
+
+    /**
+     * This method returns a query of every task that meets the given filter, unsorted and with all the fields.
+     * @param filter The conditions of the tasks, null for every task.
+     * @return The query of the tasks.
+     */
+    public static TaskQuery where(TaskFilterDTO filter) {
+        return TaskQuery.builder().filter(filter).build();
+    }
+
+    /**
+     * This method returns true if the query returns a maximum number of tasks.
+     * @return True if the query has a limit, false otherwise.
+     */
+    public boolean hasLimit() {
+        return limit > 0;
+    }
+
+    /**
+     * This method returns true if the query returns only some fields of the tasks.
+     * @return True if the query has a projection, false otherwise.
+     */
+    public boolean isProjected() {
+        return !projection.isEmpty();
+    }
+
+    /**
+     * This method returns true if the given task meets the filter of the query and comes after the task to start after.
+     * @param task The task to evaluate.
+     * @return True if the task meets the query, false otherwise.
+     */
+    public boolean matches(TaskView task) {
+        return matches(filter, task) && (after == null || comparator.compare(task, after) > 0);
+    }
+
+    /**
+     * This method returns the order of the tasks of the query, it ends with the id unless the query already sorts by it.
+     * @return The comparator of the tasks, null if the query is not sorted.
+     */
+    public Comparator<TaskView> comparator() {
+        return comparator;
+    }
+
+    /**
+     * This method returns the fields the tasks are sorted by, in order, always ending with the id.
+     * @return The orders of the query, empty if it is not sorted.
+     */
+    public List<Order> sortKey() {
+        if (orders.isEmpty() || sortsBy(TaskField.ID)) return orders;
+        List<Order> key = new ArrayList<>(orders);
+        key.add(Order.asc(TaskField.ID));
+        return key;
+    }
+
+    /**
+     * This method returns true if the query sorts the tasks by the given field.
+     * @param field The field of the tasks.
+     * @return True if some order of the query has the field, false otherwise.
+     */
+    public boolean sortsBy(TaskField field) {
+        for (Order order : orders) {
+            if (order.field() == field) return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method returns a new selection of the tasks of this query, the tasks that meet it are offered to the
+     * selection while they are read and it keeps only the ones to return.
+     * @return The empty selection.
+     * @param <T> The type of the views of the tasks.
+     */
+    public <T extends TaskView> Selection<T> selection() {
+        return new Selection<>();
+    }
+
+    /**
+     * This method returns a new task with the id and the fields of the projection of the given view,
+     * or with every field if the query has no projection.
+     * @param view The view of the task.
+     * @return The projected task.
+     */
+    public Task project(TaskView view) {
+        Task task = Task.projection(view.getId());
+        for (TaskField field : isProjected() ? projection : EnumSet.allOf(TaskField.class)) {
+            field.copy(view, task);
+        }
+        return task;
+    }
+
+    /**
+     * This method evaluates the query over the given tasks without copying them first,
+     * the tasks returned are the given ones unless the query has a projection.
+     * @param tasks The tasks to query.
+     * @return The tasks that meet the query.
+     */
+    public List<Task> apply(Collection<Task> tasks) {
+        Selection<Task> selection = selection();
+        for (Task task : tasks) {
+            if (matches(task)) selection.offer(task);
+            if (selection.isComplete()) break;
+        }
+        List<Task> matches = selection.result();
+        if (!isProjected()) return matches;
+        List<Task> projected = new ArrayList<>(matches.size());
+        for (Task task : matches) {
+            projected.add(project(task));
+        }
+        return projected;
+    }
+
+    /**
+     * This method returns true if the given task meets all the conditions of the given filter.
+     * @param filter The conditions of the task, null for every task.
+     * @param task The task to evaluate.
+     * @return True if the task meets the filter, false otherwise.
+     */
+    public static boolean matches(TaskFilterDTO filter, TaskView task) {
+        if (filter == null) return true;
+        if (filter.getState() != null && filter.getState() != task.getState()) return false;
+        if (filter.getPriority() != null && filter.getPriority() != task.getPriority()) return false;
+        if (filter.getMinPriority() != null && task.getPriority() < filter.getMinPriority()) return false;
+        if (filter.getMaxPriority() != null && task.getPriority() > filter.getMaxPriority()) return false;
+        if (filter.getDifficulty() != null && filter.getDifficulty() != task.getDifficulty()) return false;
+        if (filter.getMinEstimatedTime() != null && task.getEstimatedTime() < filter.getMinEstimatedTime()) return false;
+        if (filter.getMaxEstimatedTime() != null && task.getEstimatedTime() > filter.getMaxEstimatedTime()) return false;
+        if (filter.getDeadlineBefore() != null && (task.getDeadline() == null || !task.getDeadline().isBefore(filter.getDeadlineBefore()))) return false;
+        if (filter.getDeadlineAfter() != null && (task.getDeadline() == null || !task.getDeadline().isAfter(filter.getDeadlineAfter()))) return false;
+        if (filter.getAnd() != null) {
+            for (TaskFilterDTO other : filter.getAnd()) {
+                if (!matches(other, task)) return false;
+            }
+        }
+        if (filter.getOr() != null && filter.getOr().stream().noneMatch(other -> matches(other, task))) return false;
+        return filter.getNot() == null || !matches(filter.getNot(), task);
+    }
+
+    private static Comparator<TaskView> comparatorOf(List<Order> orders) {
+        if (orders.isEmpty()) return null;
+        Comparator<TaskView> comparator = null;
+        boolean byId = false;
+        for (Order order : orders) {
+            Comparator<TaskView> next = order.ascending() ? order.field().comparator() : order.field().comparator().reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+            byId |= order.field() == TaskField.ID;
+        }
+        return byId ? comparator : comparator.thenComparing(TaskField.ID.comparator());
+    }
+
+    /**
+     * This class keeps the tasks of the query to return while they are read: all of them if the query has no limit,
+     * the first ones up to the limit if it is not sorted, and the lowest ones in a heap of the size of the limit
+     * if it is sorted, so only the tasks returned are kept and fully sorted.
+     * @param <T> The type of the views of the tasks.
+     */
+    public final class Selection<T extends TaskView> {
+        private final List<T> kept = new ArrayList<>();
+        private final PriorityQueue<T> heap = comparator != null && hasLimit() ? new PriorityQueue<>(limit + 1, comparator.reversed()) : null;
+
+        private Selection() {
+        }
+
+        /**
+         * This method offers a task that meets the query to the selection.
+         * @param task The task that meets the query.
+         * @return True if the task was kept, false if it is not one of the tasks to return.
+         */
+        public boolean offer(T task) {
+            if (heap == null) {
+                kept.add(task);
+                return true;
+            }
+            if (heap.size() == limit) {
+                if (comparator.compare(task, heap.peek()) >= 0) return false;
+                heap.poll();
+            }
+            heap.add(task);
+            return true;
+        }
+
+        /**
+         * This method returns true if no more tasks can be kept, so the rest of the tasks don't have to be read.
+         * @return True if the query is not sorted and the limit was reached, false otherwise.
+         */
+        public boolean isComplete() {
+            return comparator == null && hasLimit() && kept.size() >= limit;
+        }
+
+        /**
+         * This method returns the tasks kept, in the order of the query.
+         * @return The tasks to return.
+         */
+        public List<T> result() {
+            List<T> result = heap == null ? kept : new ArrayList<>(heap);
+            if (comparator != null) result.sort(comparator);
+            return result;
+        }
+    }
+
+    /**
+     * This record is a field to sort the tasks by and its direction.
+     * @param field The field of the tasks.
+     * @param ascending True to sort from the lowest value, false to sort from the highest.
+     */
+    public record Order(TaskField field, boolean ascending) {
+        public static Order asc(TaskField field) {
+            return new Order(field, true);
+        }
+
+        public static Order desc(TaskField field) {
+            return new Order(field, false);
+        }
+    }
+}
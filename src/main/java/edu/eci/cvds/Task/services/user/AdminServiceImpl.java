@@ -4,13 +4,28 @@ import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.User;
 import edu.eci.cvds.Task.services.TaskAnalyticsService;
+import edu.eci.cvds.Task.services.analytics.AdminSummaryDTO;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
+import edu.eci.cvds.Task.services.analytics.GlobalAnalyticsSnapshot;
+import edu.eci.cvds.Task.services.analytics.TaskMutationListener;
 import edu.eci.cvds.Task.services.persistence.AdminService;
 import edu.eci.cvds.Task.services.persistence.UserPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
 
 /**
  * This class implements the Admin User service and provides a solution
@@ -20,18 +35,60 @@ import java.util.Map;
  */
 @Service
 public class AdminServiceImpl implements AdminService {
+    private final Logger logger = LoggerFactory.getLogger(AdminServiceImpl.class);
     private final TaskAnalyticsService taskAnalysis;
     private final UserPersistence userPersistence;
+    private final Executor executor;
+    private final Duration timeout;
+    private final ConcurrentHashMap<String, CompletableFuture<AnalyticsSummary>> running = new ConcurrentHashMap<>();
+    private List<TaskMutationListener> taskMutationListeners = List.of();
+    private GlobalAnalyticsSnapshot analyticsSnapshot;
 
     /**
      * This method is the AdminServiceImpl Constructor, it requires the taskAnalysis service (Autowired)
-     * and a userPersistence service (Autowired too).
+     * and a userPersistence service (Autowired too). The users are analysed one after the other in the calling thread.
      * @param taskAnalysis The service of task Analysis.
      * @param userPersistence The Persistence service.
      */
     public AdminServiceImpl(TaskAnalyticsService taskAnalysis, UserPersistence userPersistence) {
+        this(taskAnalysis, userPersistence, Runnable::run, Duration.ofDays(1));
+    }
+
+    /**
+     * This method is the AdminServiceImpl Constructor that analyses the users concurrently in the given executor.
+     * @param taskAnalysis The service of task Analysis.
+     * @param userPersistence The Persistence service.
+     * @param executor The executor where the analysis of each user runs, its threads limit how many users are analysed at once.
+     * @param timeout The maximum time to wait for the analysis of all the users, the users not analysed by then are
+     *                skipped and returned as such, their analysis keeps running and is shared with the next calls.
+     */
+    @Autowired
+    public AdminServiceImpl(TaskAnalyticsService taskAnalysis, UserPersistence userPersistence,
+                            @Qualifier("adminAnalyticsExecutor") Executor executor,
+                            @Value("${task.admin.analytics.timeout:5s}") Duration timeout) {
         this.taskAnalysis = taskAnalysis;
         this.userPersistence = userPersistence;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * This method sets the listeners notified when the tasks of a user change.
+     * @param taskMutationListeners The listeners to notify.
+     */
+    @Autowired(required = false)
+    public void setTaskMutationListeners(List<TaskMutationListener> taskMutationListeners) {
+        this.taskMutationListeners = taskMutationListeners;
+    }
+
+    /**
+     * This method sets the snapshot the analytics of all the users are read from,
+     * without it the users are analysed on each call.
+     * @param analyticsSnapshot The snapshot of the analytics of every user.
+     */
+    @Autowired(required = false)
+    public void setAnalyticsSnapshot(GlobalAnalyticsSnapshot analyticsSnapshot) {
+        this.analyticsSnapshot = analyticsSnapshot;
     }
 
     /**
@@ -42,13 +99,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<String, Map<Difficulty, Long>> getEachUserHistogram() throws TaskManagerException {
-        List<User> users = userPersistence.findAll();
-        Map<String, Map<Difficulty, Long>> histogramTotal = new HashMap<>();
-        for(User user : users) {
-            Map<Difficulty, Long> histogram = taskAnalysis.getHistogram(user.getUsernameId());
-            histogramTotal.put(user.getUsernameId(), histogram);
-        }
-        return histogramTotal;
+        return eachUser(AnalyticsSummary::getHistogram);
     }
 
     /**
@@ -58,13 +109,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<String, Map<Integer, Long>> getEachUserFinishedTask() throws TaskManagerException{
-        Map<String, Map<Integer, Long>> histogramTotal = new HashMap<>();
-        List<User> users = userPersistence.findAll();
-        for(User user : users) {
-            Map<Integer, Long> histogram = taskAnalysis.getFinishedTasks(user.getUsernameId());
-            histogramTotal.put(user.getUsernameId(), histogram);
-        }
-        return histogramTotal;
+        return eachUser(AnalyticsSummary::getFinishedTasks);
     }
 
     /**
@@ -74,13 +119,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<String, Map<Integer, Double>> getEachUserConsolidatedPriority() throws TaskManagerException{
-        Map<String, Map<Integer, Double>> histogramTotal = new HashMap<>();
-        List<User> users = userPersistence.findAll();
-        for(User user : users) {
-            Map<Integer, Double> histogram = taskAnalysis.getConsolidatedPriority(user.getUsernameId());
-            histogramTotal.put(user.getUsernameId(), histogram);
-        }
-        return histogramTotal;
+        return eachUser(AnalyticsSummary::getConsolidatedPriority);
     }
 
     /**
@@ -90,13 +129,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<String, Map<Difficulty, Double>> getEachUserTotalTimeSpentByDifficulty() throws TaskManagerException{
-        Map<String, Map<Difficulty, Double>> histogramTotal = new HashMap<>();
-        List<User> users = userPersistence.findAll();
-        for(User user : users) {
-            Map<Difficulty, Double> histogram = taskAnalysis.getTotalTimeSpentByDifficulty(user.getUsernameId());
-            histogramTotal.put(user.getUsernameId(), histogram);
-        }
-        return histogramTotal;
+        return eachUser(AnalyticsSummary::getTotalTimeSpentByDifficulty);
     }
 
     /**
@@ -106,27 +139,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<Difficulty, Long> getUsersHistogram() throws TaskManagerException {
-        Map<Difficulty, Long> histogramTotal = new HashMap<>(3);
-        List<User> users = userPersistence.findAll();
-        for(User user : users) {
-            Map<Difficulty, Long> histogram = taskAnalysis.getHistogram(user.getUsernameId());
-
-            if(histogramTotal.containsKey(Difficulty.ALTA))
-                histogramTotal.put(Difficulty.ALTA,histogramTotal.get(Difficulty.ALTA)+ histogram.get(Difficulty.ALTA));
-            else
-                histogramTotal.put(Difficulty.ALTA, histogram.get(Difficulty.ALTA));
-
-            if(histogramTotal.containsKey(Difficulty.MEDIA))
-                histogramTotal.put(Difficulty.MEDIA,histogramTotal.get(Difficulty.MEDIA) + histogram.get(Difficulty.MEDIA));
-            else
-                histogramTotal.put(Difficulty.MEDIA, histogram.get(Difficulty.MEDIA));
-
-            if(histogramTotal.containsKey(Difficulty.BAJA))
-                histogramTotal.put(Difficulty.BAJA, histogramTotal.get(Difficulty.BAJA) + histogram.get(Difficulty.BAJA));
-            else
-                histogramTotal.put(Difficulty.BAJA, histogram.get(Difficulty.BAJA));
-        }
-        return histogramTotal;
+        return getUsersSummary().getHistogram();
     }
 
     /**
@@ -136,20 +149,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<Integer, Long> getUsersFinishedTasks() throws TaskManagerException {
-        Map<Integer, Long> histogramTotal = new HashMap<>();
-        List<User> users = userPersistence.findAll();
-        for(User user : users) {
-            Map<Integer, Long> histogram = taskAnalysis.getFinishedTasks(user.getUsernameId());
-
-            for(Map.Entry<Integer, Long> entry : histogram.entrySet()) {
-                if(histogramTotal.containsKey(entry.getKey())) {
-                    histogramTotal.put(entry.getKey(), histogramTotal.get(entry.getKey()) + entry.getValue());
-                } else{
-                    histogramTotal.put(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-        return histogramTotal;
+        return getUsersSummary().getFinishedTasks();
     }
 
     /**
@@ -159,19 +159,7 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<Integer, Double> getUsersConsolidatedPriority() throws TaskManagerException {
-        Map<Integer, Double> histogramTotal = new HashMap<>();
-        List<User> users = userPersistence.findAll();
-        for(User user: users) {
-            Map<Integer, Double> histogram = taskAnalysis.getConsolidatedPriority(user.getUsernameId());
-            for(Map.Entry<Integer, Double> entry : histogram.entrySet()) {
-                if(histogramTotal.containsKey(entry.getKey())) {
-                    histogramTotal.put(entry.getKey(), histogramTotal.get(entry.getKey()) + entry.getValue());
-                } else{
-                    histogramTotal.put(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-        return histogramTotal;
+        return getUsersSummary().getConsolidatedPriority();
     }
 
     /**
@@ -181,19 +169,23 @@ public class AdminServiceImpl implements AdminService {
      */
     @Override
     public Map<Difficulty, Double> getUsersTotalTimeSpentByDifficulty() throws TaskManagerException {
-        List<User> users = userPersistence.findAll();
-        Map<Difficulty, Double> histogramTotal = new HashMap<>();
-        for(User user : users) {
-            Map<Difficulty, Double> histogram = taskAnalysis.getTotalTimeSpentByDifficulty(user.getUsernameId());
-            for(Map.Entry<Difficulty, Double> entry : histogram.entrySet()) {
-                if(histogramTotal.containsKey(entry.getKey())) {
-                    histogramTotal.put(entry.getKey(), histogramTotal.get(entry.getKey()) + entry.getValue());
-                } else {
-                    histogramTotal.put(entry.getKey(), entry.getValue());
-                }
-            }
+        return getUsersSummary().getTotalTimeSpentByDifficulty();
+    }
+
+    /**
+     * This method returns all the analytics of each user and of all the users added together,
+     * the analytics of each user are computed only once. The users whose analysis is not ready before the timeout
+     * are left out of the analytics and listed as skipped.
+     * @return The summary of each user by its id, the total of all of them and the users skipped.
+     * @throws TaskManagerException If there is any error with the DB.
+     */
+    @Override
+    public AdminSummaryDTO getSummary() throws TaskManagerException {
+        if (analyticsSnapshot != null) {
+            GlobalAnalyticsSnapshot.Snapshot snapshot = analyticsSnapshot.get();
+            return new AdminSummaryDTO(snapshot.total(), snapshot.users(), List.of());
         }
-        return histogramTotal;
+        return analyseUsers();
     }
 
     /**
@@ -248,6 +240,7 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public void deleteUser(String userId) throws TaskManagerException {
         userPersistence.deleteById(userId);
+        taskMutationListeners.forEach(listener -> listener.tasksChanged(userId));
     }
 
     /**
@@ -268,4 +261,84 @@ public class AdminServiceImpl implements AdminService {
 
 
     }
+
+    private AnalyticsSummary getUsersSummary() throws TaskManagerException {
+        return getSummary().getTotal();
+    }
+
+    private <R> Map<String, R> eachUser(Function<AnalyticsSummary, R> metric) throws TaskManagerException {
+        return getSummary().eachUser(metric);
+    }
+
+    private AnalyticsSummary addUp(Collection<AnalyticsSummary> summaries) {
+        AnalyticsSummary total = new AnalyticsSummary();
+        for (AnalyticsSummary summary : summaries) {
+            total.add(summary);
+        }
+        return total;
+    }
+
+    /**
+     * This method analyses every user concurrently and waits for the results until the timeout. Each user is analysed
+     * from the counters of the user loaded with all the others, it is not read again. The users whose
+     * analysis is not ready by then are listed as skipped, so a slow user doesn't stall the rest.
+     * The analysis of a skipped user is not stopped, a running analysis can't be: it keeps its thread until it
+     * ends, and the calls made meanwhile wait for that same analysis instead of starting another one for the user,
+     * so the slow users don't fill the executor with copies of their analysis.
+     * @return The summary of each user analysed, the total of all of them and the users skipped.
+     * @throws TaskManagerException If there is an error with the DB or the analysis of a user fails.
+     */
+    private AdminSummaryDTO analyseUsers() throws TaskManagerException {
+        List<User> users = userPersistence.findAll();
+        Map<String, CompletableFuture<AnalyticsSummary>> pending = new LinkedHashMap<>();
+        for (User user : users) {
+            pending.put(user.getUsernameId(), analysisOf(user));
+        }
+        Map<String, AnalyticsSummary> results = new HashMap<>();
+        List<String> skipped = new ArrayList<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Map.Entry<String, CompletableFuture<AnalyticsSummary>> entry : pending.entrySet()) {
+            try {
+                results.put(entry.getKey(), entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                skipped.add(entry.getKey());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TaskManagerException cause) throw cause;
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TaskManagerException(TaskManagerException.ANALYSIS_INTERRUPTED);
+            }
+        }
+        if (!skipped.isEmpty()) logger.warn("The analysis of {} users was skipped, it took more than {}: {}", skipped.size(), timeout, skipped);
+        return new AdminSummaryDTO(addUp(results.values()), results, skipped);
+    }
+
+    /**
+     * This method returns the analysis of the user running now, or starts it in the executor if there is none.
+     */
+    private CompletableFuture<AnalyticsSummary> analysisOf(User user) {
+        String userId = user.getUsernameId();
+        CompletableFuture<AnalyticsSummary> analysis = running.get(userId);
+        if (analysis != null) return analysis;
+        CompletableFuture<AnalyticsSummary> started = new CompletableFuture<>();
+        analysis = running.putIfAbsent(userId, started);
+        if (analysis != null) return analysis;
+        try {
+            executor.execute(() -> {
+                try {
+                    started.complete(AnalyticsSummary.of(user.getStatistics()));
+                } catch (RuntimeException e) {
+                    started.completeExceptionally(e);
+                } finally {
+                    running.remove(userId, started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.remove(userId, started);
+            started.completeExceptionally(e);
+        }
+        return started;
+    }
 }
@@ -2,6 +2,8 @@ package edu.eci.cvds.Task.services.user;
 
 import edu.eci.cvds.Task.*;
 import edu.eci.cvds.Task.models.*;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +16,8 @@ public interface ServiceUser {
     void changePassword(String id, String password) throws TaskManagerException;
     void changeName(String id, String name) throws TaskManagerException;
     void deleteUser(String userId) throws TaskManagerException;
+    void deleteUser(String userId, UserCommand<?> check) throws TaskManagerException;
+    <T> T changeTasks(String userId, UserCommand<T> command) throws TaskManagerException;
     Task addTask(String userId, TaskDTO dto) throws TaskManagerException;
     void deleteTask(String userId, String id) throws TaskManagerException;
     void changeStateTask(String userId, String id)throws TaskManagerException;
@@ -26,6 +30,11 @@ public interface ServiceUser {
     List<Task> getTaskByDifficulty(String userId, Difficulty difficulty) throws TaskManagerException;
     // Analytics
     List<Task> getTaskByEstimatedTime(String userId, int estimatedTime) throws TaskManagerException;
+    List<Task> queryTasks(String userId, TaskFilterDTO filter) throws TaskManagerException;
+    List<Task> findTasks(String userId, TaskQuery query) throws TaskManagerException;
+    TaskPage getTasksPage(String userId, TaskFilterDTO filter, TaskField sort, String cursor, int size) throws TaskManagerException;
+    List<Task> getNextTasks(String userId, int count) throws TaskManagerException;
+    List<TaskOperationResult> applyTaskOperations(String userId, List<TaskOperation> operations) throws TaskManagerException;
     void deleteAll() throws TaskManagerException;
     UserIDTO getUserId(String email) throws TaskManagerException;
     RoleDTO getRoleUser(String email) throws TaskManagerException;
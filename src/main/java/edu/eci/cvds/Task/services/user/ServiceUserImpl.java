@@ -3,8 +3,14 @@ package edu.eci.cvds.Task.services.user;
 import edu.eci.cvds.Task.*;
 import edu.eci.cvds.Task.jwt.JwtService;
 import edu.eci.cvds.Task.models.*;
+import edu.eci.cvds.Task.services.analytics.TaskMutationListener;
 import edu.eci.cvds.Task.services.persistence.UserPersistence;
 import edu.eci.cvds.Task.services.persistence.UserRepository;
+import edu.eci.cvds.Task.services.query.TaskBitmapIndex;
+import edu.eci.cvds.Task.services.query.TaskCursor;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskIndexService;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,20 +21,61 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 @RequiredArgsConstructor
 @Service
 public class ServiceUserImpl implements ServiceUser {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
-    private int id = 1;
     @Autowired
     private final UserPersistence userRepository;
+    private List<TaskMutationListener> taskMutationListeners = List.of();
+    private TaskIndexService taskIndexService;
+    private UserLocks userLocks = new UserLocks(UserLocks.DEFAULT_STRIPES);
+    private UserMailboxes userMailboxes;
 
+    /**
+     * This method sets the listeners notified when the tasks of a user change.
+     * @param taskMutationListeners The listeners to notify.
+     */
+    @Autowired(required = false)
+    public void setTaskMutationListeners(List<TaskMutationListener> taskMutationListeners) {
+        this.taskMutationListeners = taskMutationListeners;
+    }
 
+    /**
+     * This method sets the service that keeps the indexes of the tasks used by the queries,
+     * without it the index of the tasks of the user is built on each query.
+     * @param taskIndexService The service of the indexes of the tasks.
+     */
+    @Autowired(required = false)
+    public void setTaskIndexService(TaskIndexService taskIndexService) {
+        this.taskIndexService = taskIndexService;
+    }
+
+    /**
+     * This method sets the locks taken by the changes of the users, so the changes of the same user are made one after the other.
+     * @param userLocks The locks of the users.
+     */
+    @Autowired(required = false)
+    public void setUserLocks(UserLocks userLocks) {
+        this.userLocks = userLocks;
+    }
+
+    /**
+     * This method sets the mailboxes of the users, with them the changes of each user are queued and applied
+     * one after the other by the mailbox of the user instead of taking its lock.
+     * @param userMailboxes The mailboxes of the users.
+     */
+    @Autowired(required = false)
+    public void setUserMailboxes(UserMailboxes userMailboxes) {
+        this.userMailboxes = userMailboxes;
+    }
 
     public List<User> getUsers()throws TaskManagerException{ return userRepository.findAll(); }
 
@@ -64,6 +111,7 @@ public class ServiceUserImpl implements ServiceUser {
         // IF There is not any user created, the first user created should be the ADMIN
         if(userRepository.count()==0) user.setRole(Role.ADMIN);
         userRepository.save(user);
+        tasksChanged(user.getUsernameId());
         return TokenDTO.builder().token(jwtService.getToken(user.getUsername())).build();
     }
 
@@ -95,6 +143,7 @@ public class ServiceUserImpl implements ServiceUser {
                 registerDTO.getEmail());
         user.setRole(Role.ADMIN);
         userRepository.save(user);
+        tasksChanged(user.getUsernameId());
         return TokenDTO.builder().token(jwtService.getToken(user.getUsername())).build();
     }
 
@@ -120,9 +169,11 @@ public class ServiceUserImpl implements ServiceUser {
     @Override
     public void changePassword(String id, String password) throws TaskManagerException {
         if(notValidatePassword(password)) throw new TaskManagerException(TaskManagerException.INVALID_PASSWORD);
-        User user = findUser(id);
-        user.changePassword(passwordEncoder.encode(password));
-        userRepository.save(user);
+        String encoded = passwordEncoder.encode(password);
+        changeUser(id, user -> {
+            user.changePassword(encoded);
+            return null;
+        });
     }
 
     /**
@@ -133,9 +184,10 @@ public class ServiceUserImpl implements ServiceUser {
      */
     @Override
     public void changeName(String id, String name) throws TaskManagerException {
-        User user = findUser(id);
-        user.changeName(name);
-        userRepository.save(user);
+        changeUser(id, user -> {
+            user.changeName(name);
+            return null;
+        });
     }
 
     /**
@@ -147,10 +199,7 @@ public class ServiceUserImpl implements ServiceUser {
      */
     @Override
     public Task addTask(String userId, TaskDTO dto) throws TaskManagerException {
-        User user = findUser(userId);
-        Task task = user.addTask(dto);
-        userRepository.save(user);
-        return task;
+        return changeTasks(userId, user -> user.addTask(dto));
     }
 
     /**
@@ -161,9 +210,10 @@ public class ServiceUserImpl implements ServiceUser {
      */
     @Override
     public void deleteTask(String userId, String id) throws TaskManagerException {
-        User user = findUser(userId);
-        user.deleteTask(id);
-        userRepository.save(user);
+        changeTasks(userId, user -> {
+            user.deleteTask(id);
+            return null;
+        });
     }
 
     /**
@@ -174,9 +224,10 @@ public class ServiceUserImpl implements ServiceUser {
      */
     @Override
     public void changeStateTask(String userId, String id) throws TaskManagerException {
-        User user = findUser(userId);
-        user.getTasks().get(id).changeState();
-        userRepository.save(user);
+        changeTasks(userId, user -> {
+            user.changeStateTask(id);
+            return null;
+        });
     }
 
     /**
@@ -187,9 +238,10 @@ public class ServiceUserImpl implements ServiceUser {
      */
     @Override
     public void updateTask(String userId, TaskDTO dto) throws TaskManagerException {
-        User user = findUser(userId);
-        user.updateTask(dto);
-        userRepository.save(user);
+        changeTasks(userId, user -> {
+            user.updateTask(dto);
+            return null;
+        });
     }
 
     /**
@@ -266,12 +318,106 @@ public class ServiceUserImpl implements ServiceUser {
         return user.getTaskByEstimatedTime(estimatedTime);
     }
 
+    /**
+     * This method returns the tasks from a user with the given id that meet all the conditions of the given filter,
+     * the conditions are evaluated over the bitmap index of the tasks of the user.
+     * @param userId The given user id.
+     * @param filter The conditions of the tasks, null for every task.
+     * @return The tasks of the user that meet the filter.
+     * @throws TaskManagerException If the user does not exist.
+     */
+    @Override
+    public List<Task> queryTasks(String userId, TaskFilterDTO filter) throws TaskManagerException {
+        if (taskIndexService != null) return taskIndexService.query(userId, filter);
+        return new TaskBitmapIndex(findUser(userId).getTasks().values()).query(filter);
+    }
+
+    /**
+     * This method returns the tasks from a user with the given id that meet the given query,
+     * sorted, limited and projected as the query says. The query is evaluated by the persistence where the tasks are.
+     * @param userId The given user id.
+     * @param query The filter, order, limit and projection of the tasks.
+     * @return The tasks of the user that meet the query.
+     * @throws TaskManagerException If the user does not exist.
+     */
+    @Override
+    public List<Task> findTasks(String userId, TaskQuery query) throws TaskManagerException {
+        return userRepository.findTasks(userId, query).orElseThrow(() -> new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST));
+    }
+
+    /**
+     * This method returns a page of the tasks from a user with the given id that meet the given filter, sorted by
+     * the given field and then by id. The page starts after the task of the given cursor, so it is read
+     * by the persistence without reading the tasks of the previous pages.
+     * @param userId The given user id.
+     * @param filter The conditions of the tasks, null for every task.
+     * @param sort The field to sort the tasks by, the deadline or the id.
+     * @param cursor The cursor returned with the previous page, null for the first page.
+     * @param size The maximum number of tasks of the page.
+     * @return The tasks of the page and the cursor of the next one.
+     * @throws TaskManagerException If the user does not exist, or the sort, the cursor or the size are not valid.
+     */
+    @Override
+    public TaskPage getTasksPage(String userId, TaskFilterDTO filter, TaskField sort, String cursor, int size) throws TaskManagerException {
+        if (size < 1 || size > MAX_PAGE_SIZE) throw new TaskManagerException(TaskManagerException.INVALID_PAGE_SIZE);
+        TaskCursor.checkSort(sort);
+        TaskQuery query = TaskQuery.builder()
+                .filter(filter)
+                .order(TaskQuery.Order.asc(sort))
+                .after(cursor == null || cursor.isEmpty() ? null : TaskCursor.decode(cursor, sort))
+                .limit(size + 1)
+                .build();
+        List<Task> tasks = findTasks(userId, query);
+        if (tasks.size() <= size) return new TaskPage(tasks, null);
+        List<Task> page = new ArrayList<>(tasks.subList(0, size));
+        return new TaskPage(page, TaskCursor.encode(sort, page.get(size - 1)));
+    }
+
+    /**
+     * This method returns the first unfinished tasks from a user with the given id in the order they should be done,
+     * by deadline and then from the highest priority to the lowest.
+     * @param userId The given user id.
+     * @param count The maximum number of tasks to return.
+     * @return The next tasks of the user.
+     * @throws TaskManagerException If the user does not exist or the number of tasks is not valid.
+     */
+    @Override
+    public List<Task> getNextTasks(String userId, int count) throws TaskManagerException {
+        if (count < 1 || count > MAX_PAGE_SIZE) throw new TaskManagerException(TaskManagerException.INVALID_NEXT_TASKS_COUNT);
+        return userRepository.findNextTasks(userId, count).orElseThrow(() -> new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST));
+    }
+
+    /**
+     * This method makes the given changes to the tasks of a user with the given id in order, the user is read once
+     * and saved once after all the changes. A change that fails does not stop the next ones and it leaves the
+     * tasks as they were before it, so the result of each change says if it was made or why it was not.
+     * @param userId The given user id.
+     * @param operations The changes to the tasks, each one an add, an update, a delete or a change of state.
+     * @return The result of each change, in the order of the changes.
+     * @throws TaskManagerException If the user does not exist or the number of changes is not valid.
+     */
+    @Override
+    public List<TaskOperationResult> applyTaskOperations(String userId, List<TaskOperation> operations) throws TaskManagerException {
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_BATCH_SIZE) {
+            throw new TaskManagerException(TaskManagerException.INVALID_BATCH_SIZE);
+        }
+        return changeTasks(userId, user -> {
+            List<TaskOperationResult> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(apply(user, i, operations.get(i)));
+            }
+            return results;
+        }, results -> results.stream().anyMatch(TaskOperationResult::isSuccess));
+    }
+
     /**
      * This method deletes all the users from the database.
      */
     @Override
     public void deleteAll() throws TaskManagerException{
         userRepository.deleteAll();
+        if (userMailboxes != null) userMailboxes.clear();
+        taskMutationListeners.forEach(TaskMutationListener::allTasksChanged);
     }
 
     /**
@@ -307,17 +453,137 @@ public class ServiceUserImpl implements ServiceUser {
      */
     @Override
     public void deleteUser(String id)throws TaskManagerException {
-        User user = findUser(id);
-        if(user.getRole().toString().equals("ADMIN")){
-            throw new TaskManagerException(TaskManagerException.ADMIN_SHOULD_NOT_DELETE);
+        deleteUser(id, user -> {
+            if(user.getRole().toString().equals("ADMIN")){
+                throw new TaskManagerException(TaskManagerException.ADMIN_SHOULD_NOT_DELETE);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * This method deletes a user from the database by the given id, after the changes of the user made before,
+     * only if the given check does not fail.
+     * @param id The given user id.
+     * @param check The condition of the user to be deleted, it throws if the user should not be deleted.
+     * @throws TaskManagerException If the user does not exist, the check fails or the user can't be deleted.
+     */
+    @Override
+    public void deleteUser(String id, UserCommand<?> check) throws TaskManagerException {
+        if (userMailboxes != null) {
+            userMailboxes.delete(id, check);
+            userRepository.refresh(id);
+        } else {
+            lockUser(id);
+            try {
+                userRepository.refresh(id);
+                check.apply(findUser(id));
+                userRepository.deleteById(id);
+            } finally {
+                unlockAfterCommit(id);
+            }
+        }
+        tasksChanged(id);
+    }
+    /**
+     * This method applies a change to a user and saves it, so two changes of the same user never overwrite each other.
+     * In the mailbox mode the change is queued in the mailbox of the user. Otherwise the lock of the user is held
+     * until the change is stored, and the user is read again when the lock is taken, it may have been loaded
+     * before by the unit of work and changed since then by another one.
+     * The user is only saved if the given condition over the result of the change is met.
+     */
+    private <T> T changeUser(String userId, UserCommand<T> command, Predicate<? super T> changed) throws TaskManagerException {
+        if (userMailboxes != null) {
+            T result = userMailboxes.execute(userId, command, changed);
+            userRepository.refresh(userId);
+            return result;
         }
-        userRepository.deleteById(id);
+        lockUser(userId);
+        try {
+            userRepository.refresh(userId);
+            User user = findUser(userId);
+            T result = command.apply(user);
+            if (changed.test(result)) userRepository.save(user);
+            return result;
+        } finally {
+            unlockAfterCommit(userId);
+        }
+    }
+    /**
+     * This method takes the lock of the user. The locks are released when the unit of work is flushed, so a thread
+     * that still holds the lock of another user flushes its saves first: it never holds the locks of two users,
+     * and two requests that change the same two users in opposite orders can't wait for each other forever.
+     */
+    private void lockUser(String userId) throws TaskManagerException {
+        if (userLocks.holdsOtherThan(userId)) userRepository.commit();
+        userLocks.lock(userId);
+    }
+    /**
+     * This method releases the lock of the user once the unit of work is flushed, not when the change ends:
+     * the save of the change only reaches the database at the flush, so releasing the lock before would let
+     * another change read the user stored before this one and overwrite it, losing this change.
+     * Without a unit of work, or without saves waiting, the lock is released right away.
+     */
+    private void unlockAfterCommit(String userId) {
+        userRepository.afterCommit(() -> userLocks.unlock(userId));
+    }
+    private <T> T changeUser(String userId, UserCommand<T> command) throws TaskManagerException {
+        return changeUser(userId, command, result -> true);
+    }
+    private <T> T changeTasks(String userId, UserCommand<T> command, Predicate<? super T> changed) throws TaskManagerException {
+        T result = changeUser(userId, command, changed);
+        if (changed.test(result)) tasksChanged(userId);
+        return result;
+    }
+    /**
+     * This method applies a change to the tasks of a user and saves it, one after the other with the other changes
+     * of the same user, and then notifies the listeners.
+     * @param userId The id of the user to change.
+     * @param command The change to apply to the user.
+     * @return The result of the change.
+     * @param <T> The type of the result of the change.
+     * @throws TaskManagerException If the user does not exist, the change is not valid or the user can't be saved.
+     */
+    @Override
+    public <T> T changeTasks(String userId, UserCommand<T> command) throws TaskManagerException {
+        return changeTasks(userId, command, result -> true);
+    }
+    private TaskOperationResult apply(User user, int index, TaskOperation operation) {
+        if (operation == null || operation.getType() == null) {
+            return TaskOperationResult.failure(index, null, null, TaskManagerException.INVALID_OPERATION);
+        }
+        TaskOperation.Type type = operation.getType();
+        String id = operation.getId() == null && operation.getTask() != null ? operation.getTask().getId() : operation.getId();
+        try {
+            switch (type) {
+                case ADD -> {
+                    if (operation.getTask() == null) throw new TaskManagerException(TaskManagerException.INVALID_OPERATION);
+                    Task task = user.addTask(operation.getTask());
+                    return TaskOperationResult.success(index, type, task.getId(), task);
+                }
+                case UPDATE -> {
+                    if (operation.getTask() == null) throw new TaskManagerException(TaskManagerException.INVALID_OPERATION);
+                    user.updateTask(id, operation.getTask());
+                }
+                case DELETE -> user.deleteTask(id);
+                case TOGGLE -> user.changeStateTask(id);
+            }
+            return TaskOperationResult.success(index, type, id, null);
+        } catch (TaskManagerException e) {
+            return TaskOperationResult.failure(index, type, id, e.getMessage());
+        }
+    }
+    private void tasksChanged(String userId) {
+        // The mailboxes already keep the changes made through them, they are only told of the changes made elsewhere
+        userRepository.afterCommit(() -> taskMutationListeners.stream()
+                .filter(listener -> listener != userMailboxes)
+                .forEach(listener -> listener.tasksChanged(userId)));
     }
     private boolean verificateEmail(String email)throws TaskManagerException{
         return userRepository.findByEmail(email).isEmpty();
     }
     private String generateId(String name){
-        return name + "_"+UUID.randomUUID().toString().replace("-", "").substring(0, 2) + this.id++;
+        return name + "_" + IdGenerator.shared().next();
     }
     private User findUser(String id) throws TaskManagerException {
         if(userRepository.findById(id).isEmpty()) throw new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST);
@@ -337,5 +603,4 @@ public class ServiceUserImpl implements ServiceUser {
             throw new TaskManagerException(TaskManagerException.INVALID_EMAIL);
         }
     }
-
 }
@@ -0,0 +1,22 @@
+package edu.eci.cvds.Task.services.user;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.User;
+
+/**
+ * This interface is a change made to a user, it is applied to the user in memory and the user is saved after it.
+ * A change that fails should throw before modifying the user, so the user is left as it was.
+ * @param <T> The type of the result of the change.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@FunctionalInterface
+public interface UserCommand<T> {
+    /**
+     * This method applies the change to the given user.
+     * @param user The user to change.
+     * @return The result of the change.
+     * @throws TaskManagerException If the change is not valid for the user.
+     */
+    T apply(User user) throws TaskManagerException;
+}
@@ -0,0 +1,126 @@
+package edu.eci.cvds.Task.services.user;
+
+import edu.eci.cvds.Task.metrics.LockStatsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class is a fixed table of locks shared by the users: the id of a user always takes the same lock,
+ * so the changes of the same user run one after the other while the changes of users with other locks run at
+ * the same time, without keeping a lock per user. Two users may share a lock, the table is large so it is rare.
+ * The locks are only held inside this instance, the instances of a cluster don't see each other's locks.
+ * The time waited for each lock is recorded, in a histogram with fixed buckets in milliseconds.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@Component
+public class UserLocks {
+    /**
+     * The number of locks used when it is not configured.
+     */
+    public static final int DEFAULT_STRIPES = 1024;
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000};
+    private final ReentrantLock[] locks;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+    private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * This method is the UserLocks constructor.
+     * @param stripes The number of locks, it is rounded up to a power of two.
+     */
+    public UserLocks(@Value("${task.locks.user-stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[Math.max(1, Math.min(size, 1 << 16))];
+        for (int i = 0; i < locks.length; i++) locks[i] = new ReentrantLock();
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    /**
+     * This method takes the lock of the user with the given id, waiting while another thread holds it.
+     * The lock is reentrant, the thread that holds it may take it again and has to release it as many times.
+     * @param userId The id of the user.
+     */
+    public void lock(String userId) {
+        ReentrantLock lock = lockOf(userId);
+        if (!lock.tryLock()) {
+            long start = System.nanoTime();
+            lock.lock();
+            recordWait(System.nanoTime() - start);
+        }
+        held.get()[0]++;
+        acquisitions.increment();
+    }
+
+    /**
+     * This method releases once the lock of the user with the given id, held by the current thread.
+     * @param userId The id of the user.
+     */
+    public void unlock(String userId) {
+        lockOf(userId).unlock();
+        held.get()[0]--;
+    }
+
+    /**
+     * This method returns true if the current thread holds a lock other than the lock of the user with the given id.
+     * @param userId The id of the user.
+     * @return True if the thread holds the lock of another user.
+     */
+    public boolean holdsOtherThan(String userId) {
+        return held.get()[0] > lockOf(userId).getHoldCount();
+    }
+
+    /**
+     * This method returns the number of locks of the table.
+     * @return The number of locks.
+     */
+    public int getStripes() {
+        return locks.length;
+    }
+
+    /**
+     * This method returns how many times the locks were taken and how long the ones that were held had to wait.
+     * @return The statistics of the locks.
+     */
+    public LockStatsDTO getStats() {
+        long waits = contended.sum();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        histogram.put("0ms", acquisitions.sum() - waits);
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            histogram.put("<" + BUCKET_BOUNDS_MILLIS[i] + "ms", buckets[i].sum());
+        }
+        histogram.put(">=" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] + "ms", buckets[BUCKET_BOUNDS_MILLIS.length].sum());
+        double totalMillis = totalWaitNanos.sum() / 1_000_000.0;
+        return new LockStatsDTO(locks.length, acquisitions.sum(), waits, totalMillis,
+                waits == 0 ? 0 : totalMillis / waits, maxWaitNanos.get() / 1_000_000.0, histogram);
+    }
+
+    private ReentrantLock lockOf(String userId) {
+        int hash = userId.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+
+    private void recordWait(long nanos) {
+        contended.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        long millis = nanos / 1_000_000;
+        int bucket = BUCKET_BOUNDS_MILLIS.length;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis < BUCKET_BOUNDS_MILLIS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        buckets[bucket].increment();
+    }
+}
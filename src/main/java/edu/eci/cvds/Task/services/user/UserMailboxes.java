@@ -0,0 +1,315 @@
+package edu.eci.cvds.Task.services.user;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.TaskMutationListener;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * This class makes the changes of the users without locks: each active user has a mailbox where its changes are
+ * queued, and a single thread at a time takes them from the mailbox and applies them in order to the user kept in
+ * memory by the mailbox. The changes taken together are saved with a single save, so the more changes a user
+ * receives at the same time the fewer saves per change. The mailboxes share the threads of the executor, and the
+ * mailboxes idle for longer than the given time are dropped with their user.
+ * The users changed without the mailboxes, like by the admin or the analysis, are dropped when the change is
+ * notified and read again on their next change.
+ * The mailboxes are only held inside this instance, the instances of a cluster don't see each other's mailboxes.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class UserMailboxes implements TaskMutationListener, AutoCloseable {
+    private static final int MAXIMUM_BATCH = 256;
+    private static final int IDLE = 0;
+    private static final int RUNNING = 1;
+    private static final int CLOSED = 2;
+    private final UserPersistence userPersistence;
+    private final ScheduledExecutorService executor;
+    private final long idleNanos;
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final ScheduledFuture<?> sweeper;
+
+    /**
+     * This method is the UserMailboxes constructor.
+     * @param userPersistence The persistence where the users are read and saved.
+     * @param executor The executor where the mailboxes run, it also drops the idle mailboxes.
+     * @param idleTime The time a mailbox without changes is kept.
+     */
+    public UserMailboxes(UserPersistence userPersistence, ScheduledExecutorService executor, Duration idleTime) {
+        this.userPersistence = userPersistence;
+        this.executor = executor;
+        this.idleNanos = idleTime.toNanos();
+        long period = Math.max(1, idleTime.toMillis() / 2);
+        this.sweeper = executor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This method queues the given change in the mailbox of the user and waits until it is applied and saved.
+     * @param userId The id of the user to change.
+     * @param command The change to apply to the user.
+     * @return The result of the change.
+     * @param <T> The type of the result of the change.
+     * @throws TaskManagerException If the user does not exist, the change is not valid or the user can't be saved.
+     */
+    public <T> T execute(String userId, UserCommand<T> command) throws TaskManagerException {
+        return execute(userId, command, result -> true);
+    }
+
+    /**
+     * This method queues the given change in the mailbox of the user and waits until it is applied,
+     * and saved if the given condition over its result is met.
+     * @param userId The id of the user to change.
+     * @param command The change to apply to the user.
+     * @param changed The condition over the result of the change for the user to be saved.
+     * @return The result of the change.
+     * @param <T> The type of the result of the change.
+     * @throws TaskManagerException If the user does not exist, the change is not valid or the user can't be saved.
+     */
+    public <T> T execute(String userId, UserCommand<T> command, Predicate<? super T> changed) throws TaskManagerException {
+        return await(submit(userId, new Envelope<>(command, changed, false)));
+    }
+
+    /**
+     * This method queues the delete of the user in its mailbox, after the changes queued before it,
+     * and waits until the user is deleted. The user is only deleted if the given check does not fail.
+     * @param userId The id of the user to delete.
+     * @param check The condition of the user to be deleted, it throws if the user should not be deleted.
+     * @throws TaskManagerException If the user does not exist, the check fails or the user can't be deleted.
+     */
+    public void delete(String userId, UserCommand<?> check) throws TaskManagerException {
+        await(submit(userId, new Envelope<>(check, result -> true, true)));
+    }
+
+    /**
+     * This method drops the users kept by the mailboxes, they are read again on their next change.
+     * It is used when the users are changed without the mailboxes, like when all of them are deleted.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * This method drops the user kept by its mailbox, it is read again on its next change.
+     * It is called when the user is changed or deleted without the mailboxes.
+     * @param userId The id of the user changed.
+     */
+    @Override
+    public void tasksChanged(String userId) {
+        Mailbox mailbox = mailboxes.get(userId);
+        if (mailbox != null) mailbox.stale = true;
+    }
+
+    /**
+     * This method drops the users kept by every mailbox, they are read again on their next change.
+     */
+    @Override
+    public void allTasksChanged() {
+        clear();
+    }
+
+    /**
+     * This method returns the number of mailboxes kept now.
+     * @return The number of active users.
+     */
+    public int getActiveCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * This method returns the number of changes received since the mailboxes were created.
+     * @return The number of changes.
+     */
+    public long getCommands() {
+        return commands.sum();
+    }
+
+    /**
+     * This method returns the number of saves and deletes made since the mailboxes were created.
+     * @return The number of writes to the persistence.
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * This method returns the number of idle mailboxes dropped since the mailboxes were created.
+     * @return The number of mailboxes dropped.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * This method stops dropping the idle mailboxes, the changes queued are still applied by the executor.
+     */
+    @Override
+    public void close() {
+        sweeper.cancel(false);
+    }
+
+    private <T> CompletableFuture<T> submit(String userId, Envelope<T> envelope) {
+        commands.increment();
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(userId, Mailbox::new);
+            mailbox.queue.add(envelope);
+            if (mailbox.state.compareAndSet(IDLE, RUNNING)) {
+                executor.execute(mailbox);
+                return envelope.result;
+            }
+            if (mailbox.state.get() != CLOSED || !mailbox.queue.remove(envelope)) return envelope.result;
+            mailboxes.remove(userId, mailbox);
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        for (Mailbox mailbox : mailboxes.values()) {
+            if (now - mailbox.lastUsed > idleNanos && mailbox.queue.isEmpty() && mailbox.state.compareAndSet(IDLE, CLOSED)) {
+                mailboxes.remove(mailbox.userId, mailbox);
+                evictions.increment();
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) throws TaskManagerException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskManagerException(TaskManagerException.CHANGE_INTERRUPTED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskManagerException cause) throw cause;
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * This class is the mailbox of a user, the changes queued and the user they are applied to.
+     * Only the thread that moved the state to running reads the user.
+     */
+    private final class Mailbox implements Runnable {
+        private final String userId;
+        private final ConcurrentLinkedQueue<Envelope<?>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private volatile long lastUsed = System.nanoTime();
+        private volatile boolean stale;
+        private User user;
+        private long userGeneration;
+
+        private Mailbox(String userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<Envelope<?>> batch = new ArrayList<>();
+                for (Envelope<?> envelope = queue.poll(); envelope != null; envelope = batch.size() < MAXIMUM_BATCH ? queue.poll() : null) {
+                    batch.add(envelope);
+                }
+                if (!batch.isEmpty()) apply(batch);
+            } finally {
+                lastUsed = System.nanoTime();
+                state.set(IDLE);
+                if (!queue.isEmpty() && state.compareAndSet(IDLE, RUNNING)) executor.execute(this);
+            }
+        }
+
+        private void apply(List<Envelope<?>> batch) {
+            List<Envelope<?>> applied = new ArrayList<>();
+            try {
+                if (user == null || stale || userGeneration != generation.get()) {
+                    stale = false;
+                    userGeneration = generation.get();
+                    user = userPersistence.findById(userId).orElse(null);
+                }
+                for (Envelope<?> envelope : batch) {
+                    if (user == null) {
+                        envelope.result.completeExceptionally(new TaskManagerException(TaskManagerException.USER_DOESNT_EXIST));
+                    } else if (envelope.delete) {
+                        if (!envelope.run(user)) continue;
+                        save(applied);
+                        userPersistence.deleteById(userId);
+                        writes.increment();
+                        user = null;
+                        envelope.result.complete(null);
+                    } else if (envelope.run(user)) {
+                        applied.add(envelope);
+                    }
+                }
+                save(applied);
+            } catch (TaskManagerException | RuntimeException e) {
+                user = null;
+                for (Envelope<?> envelope : batch) {
+                    envelope.result.completeExceptionally(e);
+                }
+            }
+        }
+
+        private void save(List<Envelope<?>> applied) throws TaskManagerException {
+            if (applied.isEmpty()) return;
+            userPersistence.save(user);
+            writes.increment();
+            for (Envelope<?> envelope : applied) {
+                envelope.complete();
+            }
+            applied.clear();
+        }
+    }
+
+    /**
+     * This class is a change queued in a mailbox, with the result given to the caller once the change is saved.
+     */
+    private static final class Envelope<T> {
+        private final UserCommand<T> command;
+        private final Predicate<? super T> changed;
+        private final boolean delete;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        private Envelope(UserCommand<T> command, Predicate<? super T> changed, boolean delete) {
+            this.command = command;
+            this.changed = changed;
+            this.delete = delete;
+        }
+
+        /**
+         * This method applies the change to the user, it returns true if the user has to be saved before the
+         * result is given, the result of a change that does not save the user is given right away.
+         */
+        private boolean run(User user) {
+            try {
+                value = command.apply(user);
+                if (changed.test(value)) return true;
+                complete();
+                return false;
+            } catch (TaskManagerException | RuntimeException e) {
+                result.completeExceptionally(e);
+                return false;
+            }
+        }
+
+        private void complete() {
+            result.complete(value);
+        }
+    }
+}
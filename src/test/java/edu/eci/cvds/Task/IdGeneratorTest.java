@@ -0,0 +1,119 @@
+package edu.eci.cvds.Task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+    private static final long NOW = Instant.parse("2026-10-19T10:00:00Z").toEpochMilli();
+
+    @Test
+    void shouldSortTheIdsByTheTimeTheyWereMade() {
+        AtomicLong clock = new AtomicLong(NOW);
+        IdGenerator generator = new IdGenerator(7, clock::get);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            if (i % 100 == 0) clock.addAndGet(1);
+            ids.add(generator.next());
+        }
+        assertEquals(10000, new HashSet<>(ids).size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertTrue(ids.stream().allMatch(id -> id.length() == IdGenerator.LENGTH));
+    }
+
+    @Test
+    void shouldWaitForTheClockWhenItGoesBackOrTheSequenceRunsOut() {
+        AtomicLong clock = new AtomicLong(NOW);
+        AtomicLong reads = new AtomicLong();
+        LongSupplier slowClock = () -> clock.get() + reads.incrementAndGet() / 100;
+        IdGenerator generator = new IdGenerator(7, slowClock);
+        long previous = generator.nextLong();
+        for (int i = 0; i < 10000; i++) {
+            long id = generator.nextLong();
+            assertTrue(id > previous);
+            assertTrue(timeOf(id) <= slowClock.getAsLong());
+            previous = id;
+        }
+        clock.addAndGet(-60);
+        long afterTheClockWentBack = generator.nextLong();
+        assertTrue(afterTheClockWentBack > previous);
+        assertTrue(timeOf(afterTheClockWentBack) <= slowClock.getAsLong());
+    }
+
+    @Test
+    void shouldNotRepeatTheIdsMadeBeforeARestartWithTheSameNode() {
+        AtomicLong clock = new AtomicLong(NOW);
+        IdGenerator before = new IdGenerator(7, clock::get);
+        long last = 0;
+        for (int i = 0; i < 4095; i++) {
+            last = before.nextLong();
+        }
+        clock.addAndGet(1);
+        assertTrue(new IdGenerator(7, clock::get).nextLong() > last);
+    }
+
+    @Test
+    void shouldNotRepeatTheIdsOfTheSameMillisecondInOtherNodes() {
+        IdGenerator first = new IdGenerator(1, () -> NOW);
+        IdGenerator second = new IdGenerator(2, () -> NOW);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ids.add(first.next()));
+            assertTrue(ids.add(second.next()));
+        }
+    }
+
+    @Test
+    void shouldNotRepeatTheIdsOfManyThreads() throws Exception {
+        IdGenerator generator = new IdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                writers.add(executor.submit(() -> {
+                    for (int j = 0; j < 20000; j++) {
+                        assertTrue(ids.add(generator.nextLong()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(160000, ids.size());
+    }
+
+    @Test
+    void shouldMakeTheSharedGeneratorWhenItIsFirstNeeded() {
+        assertNotNull(IdGenerator.shared());
+        assertSame(IdGenerator.shared(), IdGenerator.shared());
+        assertEquals(IdGenerator.LENGTH, IdGenerator.shared().next().length());
+    }
+
+    @Test
+    void shouldNotAcceptANodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(IdGenerator.MAX_NODE + 1));
+        assertEquals(IdGenerator.MAX_NODE, new IdGenerator(IdGenerator.MAX_NODE).getNode());
+    }
+
+    private long timeOf(long id) {
+        return (id >>> 22) + Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    }
+}
@@ -2,8 +2,12 @@ package edu.eci.cvds.Task;
 
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -124,4 +128,31 @@ public class TaskTests {
             assertEquals(TaskManagerException.TIME_INCORRECT, e.getMessage());
         }
     }
+
+    @Test
+    void shouldWriteTheSameJson() throws Exception {
+        Task written = new Task("7", "Study", "Description", true, 4, 12, Difficulty.ALTA, LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123456000));
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        JsonNode expected = mapper.readTree("""
+                {"id": "7", "name": "Study", "description": "Description", "state": true, "priority": 4,
+                 "estimatedTime": 12, "difficulty": "ALTA", "deadline": "2026-10-19T08:30:15.123456"}""");
+        assertEquals(expected, mapper.readTree(mapper.writeValueAsString(written)));
+    }
+
+    @Test
+    void shouldKeepTheDeadlineAndTheDifficultyAsTheyWereGiven() throws TaskManagerException {
+        LocalDateTime deadline = LocalDateTime.of(1500, 1, 1, 0, 0, 0, 999999999);
+        task.setDeadline(deadline);
+        task.setDifficulty(null);
+        assertEquals(deadline, task.getDeadline());
+        assertNull(task.getDifficulty());
+        task.setDeadline(null);
+        assertNull(task.getDeadline());
+        for (Difficulty difficulty : Difficulty.values()) {
+            task.setDifficulty(difficulty);
+            task.changeState();
+            assertEquals(difficulty, task.getDifficulty());
+        }
+        assertEquals(LocalDateTime.MAX, new Task("2", "Task", "Description", false, 1, 1, Difficulty.BAJA, LocalDateTime.MAX).getDeadline());
+    }
 }
@@ -0,0 +1,97 @@
+package edu.eci.cvds.Task.benchmark;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskStatistics;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * This class measures the consolidated analytics of 1M generated tasks, split among 1000 users,
+ * computed with the streams and HashMaps used before and with the summaries backed by primitive histograms.
+ * Run it with the main method from the test classpath.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsSummaryBenchmark {
+    private static final int USERS = 1_000;
+    private static final int TASKS_PER_USER = 1_000;
+    private List<List<Task>> tasks;
+    private List<TaskStatistics> statistics;
+    private List<AnalyticsSummary> summaries;
+
+    @Setup
+    public void setUp() throws TaskManagerException {
+        Random random = new Random(42);
+        Difficulty[] difficulties = Difficulty.values();
+        tasks = new ArrayList<>(USERS);
+        statistics = new ArrayList<>(USERS);
+        summaries = new ArrayList<>(USERS);
+        for (int user = 0; user < USERS; user++) {
+            List<Task> userTasks = new ArrayList<>(TASKS_PER_USER);
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                userTasks.add(new Task(String.valueOf(i), "Task", "Description", random.nextBoolean(), random.nextInt(5) + 1,
+                        random.nextInt(40) + 1, difficulties[random.nextInt(difficulties.length)], LocalDateTime.now()));
+            }
+            tasks.add(userTasks);
+            statistics.add(TaskStatistics.of(userTasks));
+            summaries.add(AnalyticsSummary.of(statistics.get(user)));
+        }
+    }
+
+    @Benchmark
+    public Object streams() {
+        Map<Difficulty, Long> histogram = new HashMap<>();
+        Map<Integer, Long> finished = new HashMap<>();
+        Map<Integer, Double> priorities = new HashMap<>();
+        Map<Difficulty, Double> times = new HashMap<>();
+        for (List<Task> userTasks : tasks) {
+            userTasks.stream().collect(Collectors.groupingBy(Task::getDifficulty, Collectors.counting()))
+                    .forEach((key, value) -> histogram.merge(key, value, Long::sum));
+            userTasks.stream().filter(Task::getState).collect(Collectors.groupingBy(Task::getEstimatedTime, Collectors.counting()))
+                    .forEach((key, value) -> finished.merge(key, value, Long::sum));
+            userTasks.stream().collect(Collectors.groupingBy(Task::getPriority, Collectors.summingDouble(task -> 1)))
+                    .forEach((key, value) -> priorities.merge(key, value, Double::sum));
+            userTasks.stream().filter(Task::getState).collect(Collectors.groupingBy(Task::getDifficulty, Collectors.summingDouble(Task::getEstimatedTime)))
+                    .forEach((key, value) -> times.merge(key, value, Double::sum));
+        }
+        return List.of(histogram, finished, priorities, times);
+    }
+
+    @Benchmark
+    public AnalyticsSummary summariesFromStatistics() {
+        AnalyticsSummary total = new AnalyticsSummary();
+        for (TaskStatistics userStatistics : statistics) {
+            total.add(AnalyticsSummary.of(userStatistics));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public AnalyticsSummary mergeCachedSummaries() {
+        AnalyticsSummary total = new AnalyticsSummary();
+        for (AnalyticsSummary summary : summaries) {
+            total.add(summary);
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AnalyticsSummaryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package edu.eci.cvds.Task.benchmark;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskStatistics;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.AggregationKernel;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
+import edu.eci.cvds.Task.services.analytics.TaskColumns;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the analytics of 1M generated tasks, split among 1000 users, computed going over
+ * the Task objects of each user and going over the columns of the tasks with each aggregation kernel.
+ * Run it with the main method from the test classpath.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class TaskColumnsBenchmark {
+    private static final int USERS = 1_000;
+    private static final int TASKS_PER_USER = 1_000;
+    @Param({AggregationKernel.SCALAR, AggregationKernel.VECTOR})
+    private String kernel;
+    private List<User> users;
+    private TaskColumns taskColumns;
+
+    @Setup
+    public void setUp() throws TaskManagerException {
+        Random random = new Random(42);
+        Difficulty[] difficulties = Difficulty.values();
+        users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("User" + i, "User", "Password", "user" + i + "@gmail.com");
+            for (int j = 0; j < TASKS_PER_USER; j++) {
+                user.addTask(new TaskDTO(null, "Task", "Description", random.nextBoolean(), random.nextInt(5) + 1,
+                        random.nextInt(40) + 1, difficulties[random.nextInt(difficulties.length)], LocalDateTime.now()));
+            }
+            users.add(user);
+        }
+        taskColumns = new TaskColumns(new UserPersistence() {
+            @Override
+            public Optional<User> findByEmail(String email) {
+                return Optional.empty();
+            }
+
+            @Override
+            public User save(User user) {
+                return user;
+            }
+
+            @Override
+            public List<User> findAll() {
+                return users;
+            }
+
+            @Override
+            public void deleteById(String id) {
+            }
+
+            @Override
+            public Optional<User> findById(String id) {
+                return users.stream().filter(user -> user.getUsernameId().equals(id)).findFirst();
+            }
+
+            @Override
+            public void deleteAll() {
+            }
+
+            @Override
+            public long count() {
+                return users.size();
+            }
+        }, AggregationKernel.named(kernel));
+        taskColumns.size();
+    }
+
+    @Benchmark
+    public AnalyticsSummary objects() {
+        AnalyticsSummary total = new AnalyticsSummary();
+        for (User user : users) {
+            Collection<Task> tasks = user.getTasks().values();
+            total.add(AnalyticsSummary.of(TaskStatistics.of(tasks)));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public AnalyticsSummary columns() throws TaskManagerException {
+        return taskColumns.summarize();
+    }
+
+    @Benchmark
+    public Map<String, AnalyticsSummary> columnsByOwner() throws TaskManagerException {
+        return taskColumns.summarizeByOwner();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskColumnsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
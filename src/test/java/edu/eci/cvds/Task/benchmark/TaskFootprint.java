@@ -0,0 +1,47 @@
+package edu.eci.cvds.Task.benchmark;
+
+import com.github.javafaker.Faker;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class reports the layout of a Task and the heap retained by tasks generated like the ones of the analytics,
+ * measured with JOL over the graph of the tasks, without the list that holds them. The descriptions are copied
+ * like the ones read from the database, so they are not shared unless the tasks share them.
+ * Run it with the main method from the test classpath, the number of tasks can be given as the first argument.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+public class TaskFootprint {
+
+    private TaskFootprint() {
+    }
+
+    public static void main(String[] args) throws TaskManagerException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Faker faker = new Faker(new Random(42));
+        Difficulty[] difficulties = Difficulty.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime deadline = faker.date().birthday().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+            tasks.add(new Task(String.valueOf(i), faker.name().fullName(), new String(faker.animal().name()), faker.bool().bool(),
+                    faker.number().numberBetween(1, 6), faker.number().numberBetween(1, 100),
+                    difficulties[faker.number().numberBetween(0, 3)], deadline));
+        }
+        System.out.println(ClassLayout.parseClass(Task.class).toPrintable());
+        GraphLayout graph = GraphLayout.parseInstance(tasks.toArray());
+        for (Class<?> type : graph.getClasses()) {
+            System.out.printf("%10d %12d   %s%n", graph.getClassCounts().count(type), graph.getClassSizes().count(type), type.getName());
+        }
+        System.out.printf("%d tasks, %.1f bytes per task%n", count, graph.totalSize() / (double) count);
+    }
+}
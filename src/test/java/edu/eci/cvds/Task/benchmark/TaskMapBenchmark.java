@@ -0,0 +1,94 @@
+package edu.eci.cvds.Task.benchmark;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the put, get, remove and iteration of the tasks of a user kept in a HashMap and kept
+ * in a TaskMap, with 1k, 100k and 1M tasks. The ids are read in a random order and the put and the remove
+ * change a task that is already in the map, so the number of tasks does not change while it is measured.
+ * Run it with the main method from the test classpath.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskMapBenchmark {
+    private static final int DISTINCT_TASKS = 1024;
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    @Param({"HashMap", "TaskMap"})
+    private String map;
+    private Map<String, Task> tasks;
+    private String[] ids;
+    private Task[] values;
+    private int next;
+
+    @Setup
+    public void setUp() throws TaskManagerException {
+        Random random = new Random(42);
+        values = new Task[DISTINCT_TASKS];
+        for (int i = 0; i < DISTINCT_TASKS; i++) {
+            values[i] = new Task(UUID.randomUUID().toString(), "Task", "Description", random.nextBoolean(),
+                    random.nextInt(5) + 1, random.nextInt(40) + 1, Difficulty.MEDIA, LocalDateTime.now());
+        }
+        tasks = map.equals("HashMap") ? new HashMap<>() : new TaskMap();
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()).toString();
+            tasks.put(ids[i], values[i % DISTINCT_TASKS]);
+        }
+        Collections.shuffle(Arrays.asList(ids), random);
+    }
+
+    @Benchmark
+    public Task get() {
+        return tasks.get(nextId());
+    }
+
+    @Benchmark
+    public Task put() {
+        String id = nextId();
+        return tasks.put(id, values[next % DISTINCT_TASKS]);
+    }
+
+    @Benchmark
+    public Task remove() {
+        String id = nextId();
+        Task removed = tasks.remove(id);
+        tasks.put(id, removed);
+        return removed;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long total = 0;
+        for (Task task : tasks.values()) {
+            total += task.getPriority();
+        }
+        return total;
+    }
+
+    private String nextId() {
+        if (++next == ids.length) next = 0;
+        return ids[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskMapBenchmark.class.getSimpleName()).build()).run();
+    }
+}
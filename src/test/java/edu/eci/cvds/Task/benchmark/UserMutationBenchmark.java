@@ -0,0 +1,102 @@
+package edu.eci.cvds.Task.benchmark;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.persistence.CachingUserPersistence;
+import edu.eci.cvds.Task.services.persistence.IdentityMapUserPersistence;
+import edu.eci.cvds.Task.services.user.InMemoryUserPersistence;
+import edu.eci.cvds.Task.services.user.ServiceUserImpl;
+import edu.eci.cvds.Task.services.user.UserLocks;
+import edu.eci.cvds.Task.services.user.UserMailboxes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class measures the changes of the tasks made by 16 threads at the same time to the same user or to 16 users,
+ * with the locks of the users and with the mailboxes of the users. Each change is a request with its own unit of
+ * work, and each save of the database takes the given time. Run it with the main method from the test classpath.
+ * @version 1.0
+ * @since 19-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class UserMutationBenchmark {
+    private static final int TASKS_PER_USER = 100;
+    @Param({"locks", "mailboxes"})
+    private String mode;
+    @Param({"1", "16"})
+    private int users;
+    @Param({"0", "200"})
+    private int saveMicros;
+    private final AtomicInteger threads = new AtomicInteger();
+    private IdentityMapUserPersistence userPersistence;
+    private ServiceUserImpl serviceUser;
+    private ScheduledExecutorService executor;
+    private List<List<String>> taskIds;
+
+    @Setup
+    public void setUp() throws TaskManagerException {
+        InMemoryUserPersistence database = new InMemoryUserPersistence(Duration.ofNanos(saveMicros * 1000L));
+        taskIds = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User("User" + i, "User " + i, "Password1", "user" + i + "@gmail.com");
+            List<String> ids = new ArrayList<>(TASKS_PER_USER);
+            for (int j = 0; j < TASKS_PER_USER; j++) {
+                ids.add(user.addTask(new TaskDTO(null, "Task " + j, "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now().plusDays(1))).getId());
+            }
+            database.save(user);
+            taskIds.add(ids);
+        }
+        userPersistence = new IdentityMapUserPersistence(new CachingUserPersistence(database, 1000, Duration.ofMinutes(10)));
+        serviceUser = new ServiceUserImpl(null, null, null, userPersistence);
+        serviceUser.setUserLocks(new UserLocks(UserLocks.DEFAULT_STRIPES));
+        executor = Executors.newScheduledThreadPool(8);
+        if (mode.equals("mailboxes")) serviceUser.setUserMailboxes(new UserMailboxes(userPersistence, executor, Duration.ofMinutes(1)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private int user;
+        private int task;
+
+        @Setup
+        public void setUp(UserMutationBenchmark benchmark) {
+            user = benchmark.threads.getAndIncrement() % benchmark.users;
+        }
+    }
+
+    @Benchmark
+    public void changeStateTask(Caller caller) throws TaskManagerException {
+        String taskId = taskIds.get(caller.user).get(caller.task++ % TASKS_PER_USER);
+        try (var unitOfWork = userPersistence.begin()) {
+            serviceUser.changeStateTask("User" + caller.user, taskId);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserMutationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
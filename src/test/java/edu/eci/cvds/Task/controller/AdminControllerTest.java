@@ -0,0 +1,43 @@
+package edu.eci.cvds.Task.controller;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.services.analytics.AdminSummaryDTO;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
+import edu.eci.cvds.Task.services.user.AdminServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminControllerTest {
+    private AdminSummaryDTO summary;
+    private final AdminController controller = new AdminController(new AdminServiceImpl(null, null) {
+        @Override
+        public AdminSummaryDTO getSummary() {
+            return summary;
+        }
+    }, null);
+
+    @Test
+    void shouldListTheSkippedUsersInTheHeader() throws TaskManagerException {
+        AnalyticsSummary user = new AnalyticsSummary();
+        summary = new AdminSummaryDTO(user, Map.of("User1", user), List.of("User2", "User3"));
+        ResponseEntity<Map<String, Map<Difficulty, Long>>> histogram = controller.getEachUserHistogram();
+        assertEquals("User2,User3", histogram.getHeaders().getFirst(AdminController.SKIPPED_USERS));
+        assertEquals(Map.of("User1", user.getHistogram()), histogram.getBody());
+        assertEquals("User2,User3", controller.getUsersHistogram().getHeaders().getFirst(AdminController.SKIPPED_USERS));
+        assertEquals(List.of("User2", "User3"), controller.getSummary().getBody().getSkippedUsers());
+    }
+
+    @Test
+    void shouldNotAddTheHeaderWhenNoUserWasSkipped() throws TaskManagerException {
+        AnalyticsSummary user = new AnalyticsSummary();
+        summary = new AdminSummaryDTO(user, Map.of("User1", user), List.of());
+        assertFalse(controller.getUsersConsolidatedPriority().getHeaders().containsKey(AdminController.SKIPPED_USERS));
+        assertEquals(1, controller.getEachUserFinishedTask().getBody().size());
+    }
+}
@@ -0,0 +1,46 @@
+package edu.eci.cvds.Task.controller;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import edu.eci.cvds.Task.metrics.CommandStatsDTO;
+import edu.eci.cvds.Task.metrics.MongoCommandMetrics;
+import edu.eci.cvds.Task.services.user.UserLocks;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsControllerTest {
+    private final MongoCommandMetrics mongoCommandMetrics = new MongoCommandMetrics();
+    private final MetricsController controller = new MetricsController(mongoCommandMetrics, null, null, new UserLocks(16));
+
+    @Test
+    void shouldReturnAndResetTheMongoStats() {
+        ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+        try (MongoCommandMetrics.Operation operation = MongoCommandMetrics.operation("UserPersistenceMongo.count")) {
+            mongoCommandMetrics.commandStarted(new CommandStartedEvent(null, 1, 1, connection, "test", "count", new BsonDocument()));
+        }
+        mongoCommandMetrics.commandSucceeded(new CommandSucceededEvent(null, 1, 1, connection, "test", "count",
+                new BsonDocument("n", new BsonInt32(4)), 1_000_000));
+
+        ResponseEntity<Map<String, CommandStatsDTO>> stats = controller.getMongoStats();
+        assertEquals(HttpStatus.OK, stats.getStatusCode());
+        assertEquals(4, stats.getBody().get("UserPersistenceMongo.count count").getDocumentsReturned());
+        assertEquals(HttpStatus.OK, controller.resetMongoStats().getStatusCode());
+        assertTrue(controller.getMongoStats().getBody().isEmpty());
+    }
+
+    @Test
+    void shouldReturnTheStatsOfTheUserLocks() {
+        assertEquals(16, controller.getUserLockStats().getBody().getStripes());
+    }
+}
@@ -0,0 +1,132 @@
+package edu.eci.cvds.Task.metrics;
+
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoCommandMetricsTest {
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private final MongoCommandMetrics metrics = new MongoCommandMetrics();
+
+    @Test
+    void shouldTagTheCommandsWithTheOperationOfTheThread() {
+        try (MongoCommandMetrics.Operation operation = MongoCommandMetrics.operation("UserPersistenceMongo.findById")) {
+            started(1, "find");
+            try (MongoCommandMetrics.Operation nested = MongoCommandMetrics.operation("UserPersistenceMongo.save")) {
+                started(2, "update");
+            }
+            started(3, "find");
+        }
+        started(4, "find");
+        succeeded(1, "find", cursor(2), 3);
+        succeeded(2, "update", new BsonDocument("n", new BsonInt32(1)), 1);
+        succeeded(3, "find", cursor(1), 5);
+        succeeded(4, "find", cursor(0), 1);
+
+        Map<String, CommandStatsDTO> stats = metrics.getStats();
+        assertEquals(3, stats.size());
+        CommandStatsDTO finds = stats.get("UserPersistenceMongo.findById find");
+        assertEquals(2, finds.getCount());
+        assertEquals(3, finds.getDocumentsReturned());
+        assertEquals(8, finds.getTotalMillis(), 0.001);
+        assertEquals(4, finds.getAverageMillis(), 0.001);
+        assertEquals(5, finds.getMaxMillis(), 0.001);
+        assertEquals(1, stats.get("UserPersistenceMongo.save update").getDocumentsReturned());
+        assertEquals(1, stats.get(MongoCommandMetrics.UNTAGGED + " find").getCount());
+    }
+
+    @Test
+    void shouldCountTheBytesOfTheResponses() {
+        BsonDocument response = cursor(3);
+        long size = new RawBsonDocument(response, new BsonDocumentCodec()).getByteBuffer().remaining();
+        started(1, "find");
+        succeeded(1, "find", response, 1);
+        started(2, "find");
+        succeeded(2, "find", new RawBsonDocument(response, new BsonDocumentCodec()), 1);
+        CommandStatsDTO finds = metrics.getStats().get(MongoCommandMetrics.UNTAGGED + " find");
+        assertEquals(2 * size, finds.getBytesReturned());
+        assertEquals(6, finds.getDocumentsReturned());
+    }
+
+    @Test
+    void shouldRecordTheFailuresAndTheCommandsNotStarted() {
+        try (MongoCommandMetrics.Operation operation = MongoCommandMetrics.operation("UserPersistenceMongo.deleteById")) {
+            started(1, "delete");
+        }
+        metrics.commandFailed(new CommandFailedEvent(null, 1, 1, CONNECTION, "test", "delete",
+                TimeUnit.MILLISECONDS.toNanos(30), new MongoException("timeout")));
+        succeeded(2, "insert", new BsonDocument("n", new BsonInt32(1)), 2);
+
+        CommandStatsDTO deletes = metrics.getStats().get("UserPersistenceMongo.deleteById delete");
+        assertEquals(1, deletes.getCount());
+        assertEquals(1, deletes.getFailures());
+        assertEquals(0, deletes.getDocumentsReturned());
+        assertEquals(1, deletes.getLatencyHistogram().get("<50ms"));
+        assertEquals(1, metrics.getStats().get(MongoCommandMetrics.UNTAGGED + " insert").getCount());
+    }
+
+    @Test
+    void shouldDiscardTheStatsOnReset() {
+        started(1, "find");
+        succeeded(1, "find", cursor(1), 1);
+        metrics.reset();
+        assertTrue(metrics.getStats().isEmpty());
+        started(2, "find");
+        succeeded(2, "find", cursor(1), 1);
+        assertEquals(1, metrics.getStats().get(MongoCommandMetrics.UNTAGGED + " find").getCount());
+    }
+
+    @Test
+    void shouldPutTheLatenciesInTheirBuckets() {
+        CommandStats stats = new CommandStats();
+        stats.recordSuccess(TimeUnit.MICROSECONDS.toNanos(500), 0, 0);
+        stats.recordSuccess(TimeUnit.MILLISECONDS.toNanos(1), 0, 0);
+        stats.recordSuccess(TimeUnit.MILLISECONDS.toNanos(7), 0, 0);
+        stats.recordFailure(TimeUnit.SECONDS.toNanos(2));
+        Map<String, Long> histogram = stats.toDTO().getLatencyHistogram();
+        assertEquals(CommandStats.BUCKET_BOUNDS_MILLIS.length + 1, histogram.size());
+        assertEquals(1, histogram.get("<1ms"));
+        assertEquals(1, histogram.get("<2ms"));
+        assertEquals(1, histogram.get("<10ms"));
+        assertEquals(1, histogram.get(">=1000ms"));
+        assertEquals(0, histogram.get("<5ms"));
+        assertEquals(4, stats.toDTO().getCount());
+        assertEquals(1, stats.toDTO().getFailures());
+        assertEquals(2000, stats.toDTO().getMaxMillis(), 0.001);
+    }
+
+    private void started(int requestId, String commandName) {
+        metrics.commandStarted(new CommandStartedEvent(null, requestId, requestId, CONNECTION, "test", commandName,
+                new BsonDocument(commandName, new BsonString("Users"))));
+    }
+
+    private void succeeded(int requestId, String commandName, BsonDocument response, long millis) {
+        metrics.commandSucceeded(new CommandSucceededEvent(null, requestId, requestId, CONNECTION, "test", commandName,
+                response, TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    private BsonDocument cursor(int documents) {
+        BsonArray batch = new BsonArray();
+        for (int i = 0; i < documents; i++) {
+            batch.add(new BsonDocument("_id", new BsonString("User" + i)));
+        }
+        return new BsonDocument("cursor", new BsonDocument("firstBatch", batch)).append("ok", new BsonInt32(1));
+    }
+}
@@ -0,0 +1,219 @@
+package edu.eci.cvds.Task.models;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskMapTest {
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void shouldBehaveLikeAHashMap() throws TaskManagerException {
+        Random random = new Random(11);
+        TaskMap map = new TaskMap();
+        Map<String, Task> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            String id = "task" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), map.remove(id));
+            } else {
+                Task task = task(id);
+                assertEquals(expected.put(id, task), map.put(id, task));
+            }
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.size());
+        for (String id : expected.keySet()) {
+            assertTrue(map.containsKey(id));
+            assertSame(expected.get(id), map.get(id));
+        }
+        assertNull(map.get("missing"));
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.snapshot()));
+    }
+
+    @Test
+    void shouldKeepTheNullIdLikeAHashMap() throws TaskManagerException {
+        TaskMap map = new TaskMap();
+        Map<String, Task> expected = new HashMap<>();
+        for (String id : new String[]{null, "", "task1", null}) {
+            Task task = task("task");
+            assertEquals(expected.put(id, task), map.put(id, task));
+        }
+        assertEquals(expected, map);
+        assertTrue(map.containsKey(null));
+        assertSame(expected.get(null), map.get(null));
+        assertSame(expected.get(""), map.get(""));
+        Iterator<Map.Entry<String, Task>> entries = map.entrySet().iterator();
+        while (entries.hasNext()) {
+            if (entries.next().getKey() == null) entries.remove();
+        }
+        assertFalse(map.containsKey(null));
+        assertSame(expected.get(""), map.get(""));
+        assertEquals(2, map.size());
+        assertNull(map.remove(null));
+        assertThrows(NullPointerException.class, () -> map.put("task2", null));
+    }
+
+    @Test
+    void shouldKeepTheKeysWithTheSameHash()throws TaskManagerException {
+        TaskMap map = new TaskMap();
+        List<String> ids = List.of("Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa");
+        for (String id : ids) {
+            map.put(id, task(id));
+        }
+        assertEquals(ids.size(), map.size());
+        for (String id : ids) {
+            assertEquals(id, map.get(id).getId());
+        }
+        map.remove("Aa");
+        map.remove("AaBB");
+        assertNull(map.get("Aa"));
+        assertEquals("BB", map.get("BB").getId());
+        assertEquals("BBAa", map.get("BBAa").getId());
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void shouldKeepTheKeysWithTheSameHashNextToOtherKeys() throws TaskManagerException {
+        TaskMap map = new TaskMap();
+        List<String> ids = List.of("Aa", "BB", "AaAa", "BBBB", "C#", "Aa#", "BB#");
+        for (String id : ids) {
+            map.put(id, task(id));
+        }
+        for (String id : ids) {
+            assertEquals(id, map.get(id).getId());
+        }
+        for (String id : ids) {
+            map.remove(id);
+            assertNull(map.get(id));
+        }
+        assertTrue(map.isEmpty());
+        assertTrue(map.snapshot().isEmpty());
+    }
+
+    @Test
+    void shouldWalkTheSameIdsInTheSameOrder() throws TaskManagerException {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ids.add("task" + i);
+        }
+        TaskMap inOrder = new TaskMap();
+        for (String id : ids) {
+            inOrder.put(id, task(id));
+        }
+        Collections.shuffle(ids, new Random(5));
+        TaskMap shuffled = new TaskMap();
+        for (String id : ids) {
+            shuffled.put(id, task(id));
+            shuffled.put("removed" + id, task("removed" + id));
+        }
+        for (String id : ids) {
+            shuffled.remove("removed" + id);
+        }
+        List<String> expected = inOrder.snapshot().stream().map(Task::getId).toList();
+        assertEquals(expected, shuffled.snapshot().stream().map(Task::getId).toList());
+        assertEquals(expected, shuffled.keySet().stream().toList());
+        assertEquals(expected.get(1234), shuffled.snapshot().get(1234).getId());
+    }
+
+    @Test
+    void shouldNotChangeTheSnapshotsWhenTheMapChanges() throws TaskManagerException {
+        TaskMap map = new TaskMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("task" + i, task("task" + i));
+        }
+        List<Task> snapshot = map.snapshot();
+        map.remove("task1");
+        map.put("task1000", task("task1000"));
+        map.put("task2", task("other"));
+        assertEquals(100, snapshot.size());
+        assertTrue(snapshot.stream().anyMatch(task -> task.getId().equals("task1")));
+        assertTrue(snapshot.stream().noneMatch(task -> task.getId().equals("task1000")));
+        assertTrue(snapshot.stream().noneMatch(task -> task.getId().equals("other")));
+        assertEquals(new ArrayList<>(snapshot), List.copyOf(snapshot));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(task("task2000")));
+    }
+
+    @Test
+    void shouldNotShareTheChangesWithItsCopies() throws TaskManagerException {
+        TaskMap map = new TaskMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("task" + i, task("task" + i));
+        }
+        TaskMap copy = map.copy();
+        copy.remove("task1");
+        copy.put("added", task("added"));
+        map.put("task2", task("task2"));
+        assertEquals(100, map.size());
+        assertTrue(map.containsKey("task1"));
+        assertFalse(map.containsKey("added"));
+        assertEquals(100, copy.size());
+        assertFalse(copy.containsKey("task1"));
+        assertNotSame(map.get("task2"), copy.get("task2"));
+        assertSame(map.get("task3"), copy.get("task3"));
+    }
+
+    @Test
+    void shouldRemoveWhileIterating() throws TaskManagerException {
+        TaskMap map = new TaskMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("task" + i, task("task" + i));
+        }
+        Iterator<Task> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            if (Integer.parseInt(iterator.next().getId().substring(4)) % 2 == 0) iterator.remove();
+        }
+        assertEquals(50, map.size());
+        assertTrue(map.values().stream().allMatch(task -> Integer.parseInt(task.getId().substring(4)) % 2 == 1));
+    }
+
+    @Test
+    void shouldGiveWholeSnapshotsToOtherThreads() throws Exception {
+        TaskMap map = new TaskMap();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        List<Task> snapshot = map.snapshot();
+                        int size = 0;
+                        for (Task ignored : snapshot) size++;
+                        assertEquals(snapshot.size(), size);
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 20000; i++) {
+                map.put("task" + i, task("task" + i));
+                if (i % 3 == 0) map.remove("task" + (i / 2));
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Task task(String id) throws TaskManagerException {
+        return new Task(id, "Task " + id, "Description", false, 3, 5, Difficulty.MEDIA, now);
+    }
+}
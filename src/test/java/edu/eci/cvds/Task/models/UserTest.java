@@ -2,12 +2,14 @@ package edu.eci.cvds.Task.models;
 
 import com.github.javafaker.Faker;
 import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -189,6 +191,149 @@ class UserTest {
         }catch (TaskManagerException e) {fail("Should not have failed with error: " + e.getMessage());}
     }
 
+    @Test
+    void shouldKeepStatisticsUpToDate() throws TaskManagerException {
+        addSomeTasks(200);
+        List<Task> tasks = user.getAllTasks();
+        user.deleteTask(tasks.get(0).getId());
+        user.changeStateTask(tasks.get(1).getId());
+        Task updated = tasks.get(2);
+        user.updateTask(new TaskDTO(updated.getId(), "Updated", "Updated", !updated.getState(), 1, 11, Difficulty.ALTA, LocalDateTime.now()));
+        assertStatisticsMatchTasks();
+    }
+
+    @Test
+    void shouldKeepStatisticsWhenTheUpdateFails() throws TaskManagerException {
+        addSomeTasks(20);
+        Task task = user.getAllTasks().get(0);
+        assertThrows(TaskManagerException.class, () -> user.updateTask(new TaskDTO(task.getId(), "Updated", "Updated", true, 9, 11, Difficulty.ALTA, LocalDateTime.now())));
+        assertStatisticsMatchTasks();
+    }
+
+    @Test
+    void shouldCopyStatistics() throws TaskManagerException {
+        addSomeTasks(20);
+        User copy = user.copy();
+        copy.deleteTask(copy.getAllTasks().get(0).getId());
+        assertEquals(20, user.getStatistics().getTotal());
+        assertEquals(19, copy.getStatistics().getTotal());
+    }
+
+    @Test
+    void shouldRebuildStatisticsWhenTasksChangeOutsideTheUser() throws TaskManagerException {
+        Task task = new Task("external", "Task", "Description", true, 2, 5, Difficulty.MEDIA, LocalDateTime.now());
+        user.getTasks().put(task.getId(), task);
+        assertEquals(1L, user.getStatistics().countOf(Difficulty.MEDIA));
+        assertEquals(5.0, user.getStatistics().getFinishedTimeByDifficulty().get(Difficulty.MEDIA));
+    }
+
+    @Test
+    void shouldKeepTheNextTasksInOrderAfterEachChange() throws TaskManagerException {
+        addSomeTasks(40);
+        assertNextTasksMatchTasks();
+        List<Task> tasks = user.getAllTasks();
+        user.deleteTask(tasks.get(0).getId());
+        assertNextTasksMatchTasks();
+        user.changeStateTask(tasks.get(1).getId());
+        assertNextTasksMatchTasks();
+        Task updated = tasks.get(2);
+        user.updateTask(new TaskDTO(updated.getId(), "Updated", "Updated", false, 5, 11, Difficulty.ALTA, LocalDateTime.now().minusDays(1)));
+        assertNextTasksMatchTasks();
+        assertEquals(updated.getId(), user.getNextTasks(1).get(0).getId());
+        Task failed = tasks.get(3);
+        assertThrows(TaskManagerException.class, () -> user.updateTask(new TaskDTO(failed.getId(), "Updated", "Updated", false, 9, 11, Difficulty.ALTA, LocalDateTime.now())));
+        assertNextTasksMatchTasks();
+    }
+
+    @Test
+    void shouldFindTheNextTasksWhenTasksChangeOutsideTheUser() throws TaskManagerException {
+        addSomeTasks(10);
+        Task task = new Task("external", "Task", "Description", false, 2, 5, Difficulty.MEDIA, LocalDateTime.now().minusDays(1));
+        user.getTasks().put(task.getId(), task);
+        assertEquals("external", user.getNextTasks(1).get(0).getId());
+    }
+
+    @Test
+    void shouldKeepTheIndexesOfTheTasksAfterEachChange() throws TaskManagerException {
+        addSomeTasks(60);
+        assertIndexesMatchTasks();
+        List<Task> tasks = user.getAllTasks();
+        user.deleteTask(tasks.get(0).getId());
+        user.changeStateTask(tasks.get(1).getId());
+        Task updated = tasks.get(2);
+        user.updateTask(new TaskDTO(updated.getId(), "Updated", "Updated", !updated.getState(), 3, 7, Difficulty.MEDIA, updated.getDeadline().plusHours(1)));
+        assertIndexesMatchTasks();
+        user.getTasks().put("external", new Task("external", "Task", "Description", true, 2, 5, Difficulty.MEDIA, LocalDateTime.now()));
+        assertIndexesMatchTasks();
+    }
+
+    @Test
+    void shouldFilterByAllTheConditionsOverTheCandidatesOfAnIndex() throws TaskManagerException {
+        addSomeTasks(60);
+        TaskFilterDTO filter = TaskFilterDTO.builder().state(false).priority(3).deadlineBefore(LocalDateTime.now().plusDays(30)).build();
+        List<Task> expected = user.getAllTasks().stream().filter(task -> !task.getState() && task.getPriority() == 3).toList();
+        assertEquals(new HashSet<>(expected), new HashSet<>(user.findTasks(TaskQuery.where(filter))));
+        assertTrue(user.getTaskByPriority(9).isEmpty());
+    }
+
+    @Test
+    void shouldNotChangeTheTasksReadBeforeAChange() throws TaskManagerException {
+        addSomeTasks(20);
+        List<Task> before = user.getAllTasks();
+        Task task = before.get(0);
+        boolean state = task.getState();
+        String name = task.getName();
+        user.changeStateTask(task.getId());
+        user.updateTask(new TaskDTO(before.get(1).getId(), "Updated", "Updated", false, 3, 7, Difficulty.MEDIA, LocalDateTime.now()));
+        user.deleteTask(before.get(2).getId());
+        assertEquals(20, before.size());
+        assertEquals(state, task.getState());
+        assertEquals(name, task.getName());
+        assertNotEquals("Updated", before.get(1).getName());
+        assertEquals(!state, user.getTasks().get(task.getId()).getState());
+        assertEquals("Updated", user.getTasks().get(before.get(1).getId()).getName());
+        assertEquals(19, user.getAllTasks().size());
+    }
+
+    private void assertIndexesMatchTasks() throws TaskManagerException {
+        List<Task> all = user.getAllTasks();
+        for (boolean state : new boolean[]{true, false}) {
+            assertEquals(new HashSet<>(all.stream().filter(task -> task.getState() == state).toList()), new HashSet<>(user.getTasksByState(state)));
+        }
+        for (int priority = 1; priority <= 5; priority++) {
+            int value = priority;
+            assertEquals(new HashSet<>(all.stream().filter(task -> task.getPriority() == value).toList()), new HashSet<>(user.getTaskByPriority(priority)));
+        }
+        for (Difficulty difficulty : Difficulty.values()) {
+            assertEquals(new HashSet<>(all.stream().filter(task -> task.getDifficulty() == difficulty).toList()), new HashSet<>(user.getTaskByDifficulty(difficulty)));
+        }
+        for (int estimatedTime = 1; estimatedTime <= 10; estimatedTime++) {
+            int value = estimatedTime;
+            assertEquals(new HashSet<>(all.stream().filter(task -> task.getEstimatedTime() == value).toList()), new HashSet<>(user.getTaskByEstimatedTime(estimatedTime)));
+        }
+        for (Task task : all) {
+            LocalDateTime deadline = task.getDeadline();
+            assertEquals(new HashSet<>(all.stream().filter(other -> other.getDeadline().isBefore(deadline)).toList()), new HashSet<>(user.getTasksByDeadline(deadline)));
+        }
+    }
+
+    private void assertNextTasksMatchTasks() throws TaskManagerException {
+        for (int count : new int[]{1, 5, 100}) {
+            assertEquals(PendingTasks.query(count).apply(user.getAllTasks()), user.getNextTasks(count));
+        }
+    }
+
+    private void assertStatisticsMatchTasks() throws TaskManagerException {
+        TaskStatistics statistics = user.getStatistics();
+        TaskStatistics expected = TaskStatistics.of(user.getAllTasks());
+        assertEquals(expected.getTotal(), statistics.getTotal());
+        assertEquals(expected.getCountByDifficulty(), statistics.getCountByDifficulty());
+        assertEquals(expected.getCountByPriority(), statistics.getCountByPriority());
+        assertEquals(expected.getFinishedByEstimatedTime(), statistics.getFinishedByEstimatedTime());
+        assertEquals(expected.getFinishedTimeByDifficulty(), statistics.getFinishedTimeByDifficulty());
+        assertFalse(statistics.getCountByPriority().containsValue(0L));
+    }
+
     private void addSomeTasks(int tasks)throws TaskManagerException {
         Faker faker = new Faker();
         for(int i = 0; i < tasks; i++){
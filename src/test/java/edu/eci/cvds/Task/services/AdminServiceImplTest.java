@@ -3,17 +3,27 @@ package edu.eci.cvds.Task.services;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskStatistics;
 import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.AdminSummaryDTO;
+import edu.eci.cvds.Task.services.analytics.AnalyticsSummary;
 import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
 import edu.eci.cvds.Task.services.user.AdminServiceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 class AdminServiceImplTest {
@@ -243,6 +253,120 @@ class AdminServiceImplTest {
         } catch (TaskManagerException e) {fail("Should not fail with: " + e.getMessage());}
     }
 
+    @Test
+    void shouldAnalyseTheUsersConcurrently() throws TaskManagerException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            AdminServiceImpl concurrentAdmin = new AdminServiceImpl(new AnalyticsService(new TaskAnalysis(userFilePersistence)), userFilePersistence, executor, Duration.ofSeconds(10));
+            assertEquals(adminServiceImpl.getEachUserHistogram(), concurrentAdmin.getEachUserHistogram());
+            assertEquals(adminServiceImpl.getEachUserFinishedTask(), concurrentAdmin.getEachUserFinishedTask());
+            assertEquals(adminServiceImpl.getEachUserConsolidatedPriority(), concurrentAdmin.getEachUserConsolidatedPriority());
+            assertEquals(adminServiceImpl.getEachUserTotalTimeSpentByDifficulty(), concurrentAdmin.getEachUserTotalTimeSpentByDifficulty());
+            assertEquals(5, concurrentAdmin.getEachUserHistogram().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSkipTheUsersThatTakeTooLong() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowAnalyses = new AtomicInteger();
+        User slowUser = new User("TestUser3", "TestUserName3", "Password3", "email3@gmail.com") {
+            @Override
+            public TaskStatistics getStatistics() {
+                slowAnalyses.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getStatistics();
+            }
+        };
+        try {
+            AdminServiceImpl concurrentAdmin = new AdminServiceImpl(new AnalyticsService(new TaskAnalysis(userFilePersistence)),
+                    replacing(slowUser), executor, Duration.ofMillis(300));
+            Map<String, Map<Difficulty, Long>> histogram = concurrentAdmin.getEachUserHistogram();
+            assertEquals(4, histogram.size());
+            assertFalse(histogram.containsKey("TestUser3"));
+            AdminSummaryDTO summary = concurrentAdmin.getSummary();
+            assertEquals(List.of("TestUser3"), summary.getSkippedUsers());
+            assertEquals(4, summary.getUsers().size());
+            assertEquals(1, slowAnalyses.get());
+            release.countDown();
+            long limit = System.currentTimeMillis() + 5000;
+            AdminSummaryDTO complete = concurrentAdmin.getSummary();
+            while (!complete.getSkippedUsers().isEmpty() && System.currentTimeMillis() < limit) {
+                complete = concurrentAdmin.getSummary();
+            }
+            assertEquals(5, complete.getUsers().size());
+            assertTrue(complete.getSkippedUsers().isEmpty());
+            assertTrue(slowAnalyses.get() <= 2);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldFailWhenTheAnalysisOfAUserFails() throws TaskManagerException {
+        User failingUser = new User("TestUser3", "TestUserName3", "Password3", "email3@gmail.com") {
+            @Override
+            public TaskStatistics getStatistics() {
+                throw new IllegalStateException("The statistics of the user are broken");
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AdminServiceImpl concurrentAdmin = new AdminServiceImpl(new AnalyticsService(new TaskAnalysis(userFilePersistence)),
+                    replacing(failingUser), executor, Duration.ofSeconds(10));
+            IllegalStateException e = assertThrows(IllegalStateException.class, concurrentAdmin::getEachUserFinishedTask);
+            assertEquals("The statistics of the user are broken", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldAnalyseTheUsersWithoutLoadingThemAgain() throws TaskManagerException {
+        AtomicInteger loads = new AtomicInteger();
+        UserFilePersistenceImpl counting = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataTEST.txt") {
+            @Override
+            public List<User> findAll() throws TaskManagerException {
+                loads.incrementAndGet();
+                return super.findAll();
+            }
+        };
+        AdminServiceImpl countingAdmin = new AdminServiceImpl(new AnalyticsService(new TaskAnalysis(counting)), counting);
+        assertEquals(5, countingAdmin.getSummary().getUsers().size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getSummary() throws TaskManagerException {
+        AdminSummaryDTO summary = adminServiceImpl.getSummary();
+        assertEquals(5, summary.getUsers().size());
+        assertEquals(adminServiceImpl.getEachUserHistogram().get("TestUser1"), summary.getUsers().get("TestUser1").getHistogram());
+        assertEquals(adminServiceImpl.getUsersHistogram(), summary.getTotal().getHistogram());
+        assertEquals(adminServiceImpl.getUsersFinishedTasks(), summary.getTotal().getFinishedTasks());
+        assertEquals(adminServiceImpl.getUsersConsolidatedPriority(), summary.getTotal().getConsolidatedPriority());
+        assertEquals(adminServiceImpl.getUsersTotalTimeSpentByDifficulty(), summary.getTotal().getTotalTimeSpentByDifficulty());
+        assertEquals(35L, summary.getTotal().getHistogram().get(Difficulty.BAJA));
+    }
+
+    private UserFilePersistenceImpl replacing(User replacement) {
+        return new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataTEST.txt") {
+            @Override
+            public List<User> findAll() throws TaskManagerException {
+                List<User> users = new ArrayList<>(super.findAll());
+                users.replaceAll(user -> user.getUsernameId().equals(replacement.getUsernameId()) ? replacement : user);
+                return users;
+            }
+        };
+    }
+
     private void saveSomeTasks(String userId) throws TaskManagerException{
         User user = userFilePersistence.findById(userId).get();
         user.addTask(new TaskDTO("task1" + userId, user.getName() + " Task", "Description ...", false, 1, 39, Difficulty.ALTA, LocalDateTime.now()));
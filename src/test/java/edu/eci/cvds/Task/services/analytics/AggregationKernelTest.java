@@ -0,0 +1,102 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.TaskAnalysis;
+import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregationKernelTest {
+    private final AggregationKernel scalar = new ScalarAggregationKernel();
+    private final AggregationKernel vector = new VectorAggregationKernel();
+
+    @Test
+    void shouldUseTheVectorKernelWhenTheModuleIsPresent() {
+        assertTrue(AggregationKernel.isVectorAvailable());
+        assertTrue(VectorAggregationKernel.isSupported());
+        assertEquals(AggregationKernel.VECTOR, AggregationKernel.named("vector").name());
+        assertEquals(AggregationKernel.SCALAR, AggregationKernel.named("SCALAR").name());
+        assertThrows(IllegalArgumentException.class, () -> AggregationKernel.named("gpu"));
+    }
+
+    @Test
+    void shouldCountTheSameAsTheScalarKernel() {
+        Random random = new Random(7);
+        for (int rows : new int[]{0, 1, 63, 64, 65, 1000, 4099}) {
+            byte[] values = new byte[rows + 17];
+            for (int i = 0; i < values.length; i++) values[i] = (byte) (random.nextInt(7) - 1);
+            for (byte value = -1; value < 6; value++) {
+                assertEquals(scalar.count(values, rows, value), vector.count(values, rows, value));
+            }
+        }
+    }
+
+    @Test
+    void shouldAddTheSameAsTheScalarKernel() {
+        Random random = new Random(11);
+        for (int rows : new int[]{0, 1, 63, 64, 65, 1000, 4099}) {
+            for (int maxValue : new int[]{1, 100, Integer.MAX_VALUE}) {
+                int[] values = new int[rows];
+                byte[] keys = new byte[rows];
+                long[] bits = new long[(rows + 63) / 64];
+                for (int i = 0; i < rows; i++) {
+                    values[i] = maxValue == Integer.MAX_VALUE ? Integer.MAX_VALUE - random.nextInt(10) : random.nextInt(maxValue + 1);
+                    keys[i] = (byte) random.nextInt(3);
+                    if (random.nextBoolean()) bits[i >>> 6] |= 1L << i;
+                }
+                for (byte key = 0; key < 3; key++) {
+                    assertEquals(scalar.sumWhere(values, keys, key, bits, rows, maxValue), vector.sumWhere(values, keys, key, bits, rows, maxValue));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldAddTheSameAsTheScalarKernelWhenFewRowsHaveTheirBit() {
+        Random random = new Random(13);
+        for (int every : new int[]{1, 5, 16, 37, 64, 200}) {
+            int rows = 4099;
+            int[] values = new int[rows];
+            byte[] keys = new byte[rows];
+            long[] bits = new long[(rows + 63) / 64];
+            for (int i = 0; i < rows; i++) {
+                values[i] = random.nextInt(100);
+                keys[i] = (byte) random.nextInt(2);
+                if (i % every == every - 1) bits[i >>> 6] |= 1L << i;
+            }
+            for (byte key = 0; key < 2; key++) {
+                assertEquals(scalar.sumWhere(values, keys, key, bits, rows, 100), vector.sumWhere(values, keys, key, bits, rows, 100));
+            }
+        }
+    }
+
+    @Test
+    void shouldSummarizeTheColumnsTheSameWithBothKernels() throws TaskManagerException {
+        UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt");
+        try {
+            filePersistence.save(new User("KernelUser", "Kernel User", "Password", "kernel@gmail.com"));
+            filePersistence.save(new User("OtherUser", "Other User", "Password", "other@gmail.com"));
+            new TaskAnalysis(filePersistence).randomData("KernelUser", 150);
+            new TaskAnalysis(filePersistence).randomData("OtherUser", 70);
+            TaskColumns scalarColumns = new TaskColumns(filePersistence, scalar);
+            TaskColumns vectorColumns = new TaskColumns(filePersistence, vector);
+            scalarColumns.tasksChanged("OtherUser");
+            vectorColumns.summarize();
+            filePersistence.deleteById("OtherUser");
+            vectorColumns.tasksChanged("OtherUser");
+            AnalyticsSummary expected = scalarColumns.summarize();
+            AnalyticsSummary actual = vectorColumns.summarize();
+            assertEquals(expected.getHistogram(), actual.getHistogram());
+            assertEquals(expected.getFinishedTasks(), actual.getFinishedTasks());
+            assertEquals(expected.getConsolidatedPriority(), actual.getConsolidatedPriority());
+            assertEquals(expected.getTotalTimeSpentByDifficulty(), actual.getTotalTimeSpentByDifficulty());
+            assertEquals(150, vectorColumns.size());
+        } finally {
+            filePersistence.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsSummaryTest {
+
+    @Test
+    void shouldBeEqualToTheMapsOfTheTasks() throws TaskManagerException {
+        AnalyticsSummary summary = AnalyticsSummary.of(TaskStatistics.of(List.of(
+                task(true, 1, 10, Difficulty.ALTA), task(false, 5, 2000, Difficulty.ALTA), task(true, 5, 2000, Difficulty.BAJA))));
+        assertEquals(Map.of(Difficulty.ALTA, 2L, Difficulty.MEDIA, 0L, Difficulty.BAJA, 1L), summary.getHistogram());
+        assertEquals(Map.of(10, 1L, 2000, 1L), summary.getFinishedTasks());
+        assertEquals(Map.of(1, 1.0, 5, 2.0), summary.getConsolidatedPriority());
+        assertEquals(Map.of(Difficulty.ALTA, 10.0, Difficulty.BAJA, 2000.0), summary.getTotalTimeSpentByDifficulty());
+        assertEquals(new HashMap<>(summary.getFinishedTasks()), summary.getFinishedTasks());
+    }
+
+    @Test
+    void shouldAddTheCountersOfOtherSummaries() throws TaskManagerException {
+        AnalyticsSummary total = new AnalyticsSummary();
+        total.add(AnalyticsSummary.of(TaskStatistics.of(List.of(task(true, 2, 3, Difficulty.MEDIA)))));
+        total.add(AnalyticsSummary.of(TaskStatistics.of(List.of(task(true, 2, 3, Difficulty.MEDIA), task(false, 4, 5000, Difficulty.BAJA)))));
+        assertEquals(2L, total.getHistogram().get(Difficulty.MEDIA));
+        assertEquals(Map.of(3, 2L), total.getFinishedTasks());
+        assertEquals(Map.of(2, 2.0, 4, 1.0), total.getConsolidatedPriority());
+        assertEquals(Map.of(Difficulty.MEDIA, 6.0), total.getTotalTimeSpentByDifficulty());
+    }
+
+    @Test
+    void shouldBeSerializedAsTheMapsOfTheTasks() throws Exception {
+        AnalyticsSummary summary = AnalyticsSummary.of(TaskStatistics.of(List.of(task(true, 3, 7, Difficulty.BAJA))));
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.writeValueAsString(Map.of(7, 1L)), mapper.writeValueAsString(summary.getFinishedTasks()));
+        assertEquals(mapper.writeValueAsString(Map.of(3, 1.0)), mapper.writeValueAsString(summary.getConsolidatedPriority()));
+        assertThrows(UnsupportedOperationException.class, () -> summary.getHistogram().put(Difficulty.ALTA, 1L));
+    }
+
+    private Task task(boolean state, int priority, int estimatedTime, Difficulty difficulty) throws TaskManagerException {
+        return new Task(null, "Task", "Description", state, priority, estimatedTime, difficulty, LocalDateTime.now());
+    }
+}
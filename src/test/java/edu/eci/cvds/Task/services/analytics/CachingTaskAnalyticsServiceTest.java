@@ -0,0 +1,108 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.AnalyticsService;
+import edu.eci.cvds.Task.services.TaskAnalysis;
+import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
+import edu.eci.cvds.Task.services.user.ServiceUserImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingTaskAnalyticsServiceTest {
+    private final AtomicInteger findByIdCalls = new AtomicInteger();
+    private final UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+        @Override
+        public Optional<User> findById(String usernameId) throws TaskManagerException {
+            findByIdCalls.incrementAndGet();
+            return super.findById(usernameId);
+        }
+    };
+    private final TaskVersions taskVersions = new TaskVersions();
+    private final ServiceUserImpl serviceUser = new ServiceUserImpl(null, null, null, filePersistence);
+    private CachingTaskAnalyticsService analytics;
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        TaskAnalysis taskAnalysis = new TaskAnalysis(filePersistence);
+        taskAnalysis.setTaskMutationListeners(List.of(taskVersions));
+        serviceUser.setTaskMutationListeners(List.of(taskVersions));
+        analytics = new CachingTaskAnalyticsService(new AnalyticsService(taskAnalysis), taskVersions, 100, Duration.ofMinutes(1));
+        filePersistence.save(new User("AnalyticsUser", "Analytics User", "Password", "analytics@gmail.com"));
+        serviceUser.addTask("AnalyticsUser", new TaskDTO(null, "Study", "Description", true, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+        findByIdCalls.set(0);
+    }
+
+    @AfterEach
+    void tearDown() throws TaskManagerException {
+        filePersistence.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedDashboardLoadsFromMemory() throws TaskManagerException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1L, analytics.getHistogram("AnalyticsUser").get(Difficulty.MEDIA));
+            assertEquals(1L, analytics.getFinishedTasks("AnalyticsUser").get(10));
+            assertEquals(1.0, analytics.getConsolidatedPriority("AnalyticsUser").get(3));
+            assertEquals(10.0, analytics.getTotalTimeSpentByDifficulty("AnalyticsUser").get(Difficulty.MEDIA));
+        }
+        int loads = findByIdCalls.get();
+        analytics.getHistogram("AnalyticsUser");
+        analytics.getTotalTimeSpentByDifficulty("AnalyticsUser");
+        assertEquals(loads, findByIdCalls.get());
+        assertEquals(13, analytics.getStats().getHits());
+        assertEquals(1, analytics.getStats().getMisses());
+    }
+
+    @Test
+    void shouldComputeAgainWhenTheTasksChange() throws TaskManagerException {
+        assertEquals(1L, analytics.getHistogram("AnalyticsUser").get(Difficulty.MEDIA));
+        Task task = serviceUser.addTask("AnalyticsUser", new TaskDTO(null, "Read", "Description", false, 2, 5, Difficulty.ALTA, LocalDateTime.now()));
+        assertEquals(1L, analytics.getHistogram("AnalyticsUser").get(Difficulty.ALTA));
+        serviceUser.changeStateTask("AnalyticsUser", task.getId());
+        assertEquals(5.0, analytics.getTotalTimeSpentByDifficulty("AnalyticsUser").get(Difficulty.ALTA));
+        serviceUser.deleteTask("AnalyticsUser", task.getId());
+        assertEquals(0L, analytics.getHistogram("AnalyticsUser").get(Difficulty.ALTA));
+    }
+
+    @Test
+    void shouldNotShareResultsBetweenUsers() throws TaskManagerException {
+        filePersistence.save(new User("OtherUser", "Other User", "Password", "other@gmail.com"));
+        assertEquals(1L, analytics.getHistogram("AnalyticsUser").get(Difficulty.MEDIA));
+        assertEquals(0L, analytics.getHistogram("OtherUser").get(Difficulty.MEDIA));
+        serviceUser.addTask("OtherUser", new TaskDTO(null, "Read", "Description", false, 2, 5, Difficulty.MEDIA, LocalDateTime.now()));
+        int loads = findByIdCalls.get();
+        assertEquals(1L, analytics.getHistogram("AnalyticsUser").get(Difficulty.MEDIA));
+        assertEquals(loads, findByIdCalls.get());
+        assertEquals(1L, analytics.getHistogram("OtherUser").get(Difficulty.MEDIA));
+    }
+
+    @Test
+    void shouldComputeAgainWhenTasksAreCreatedOrDeleted() throws TaskManagerException {
+        analytics.deleteAll("AnalyticsUser");
+        filePersistence.save(new User("AnalyticsUser", "Analytics User", "Password", "analytics@gmail.com"));
+        assertEquals(0L, analytics.getHistogram("AnalyticsUser").get(Difficulty.MEDIA));
+        analytics.createTasks("AnalyticsUser", 10);
+        Long total = analytics.getHistogram("AnalyticsUser").values().stream().reduce(0L, Long::sum);
+        assertEquals(10L, total);
+    }
+
+    @Test
+    void shouldNotCacheMissingUsers() throws TaskManagerException {
+        assertThrows(TaskManagerException.class, () -> analytics.getHistogram("Missing"));
+        filePersistence.save(new User("Missing", "Missing User", "Password", "missing@gmail.com"));
+        assertEquals(0L, analytics.getHistogram("Missing").get(Difficulty.ALTA));
+    }
+}
@@ -0,0 +1,151 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.AnalyticsService;
+import edu.eci.cvds.Task.services.TaskAnalysis;
+import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
+import edu.eci.cvds.Task.services.user.AdminServiceImpl;
+import edu.eci.cvds.Task.services.user.ServiceUserImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalAnalyticsSnapshotTest {
+    private final AtomicInteger findAllCalls = new AtomicInteger();
+    private final AtomicInteger findByIdCalls = new AtomicInteger();
+    private final UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+        @Override
+        public List<User> findAll() throws TaskManagerException {
+            findAllCalls.incrementAndGet();
+            return super.findAll();
+        }
+
+        @Override
+        public Optional<User> findById(String usernameId) throws TaskManagerException {
+            findByIdCalls.incrementAndGet();
+            return super.findById(usernameId);
+        }
+    };
+    private final ServiceUserImpl serviceUser = new ServiceUserImpl(null, null, null, filePersistence);
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        filePersistence.save(new User("FirstUser", "First User", "Password", "first@gmail.com"));
+        filePersistence.save(new User("SecondUser", "Second User", "Password", "second@gmail.com"));
+        serviceUser.addTask("FirstUser", task(true, Difficulty.ALTA));
+        serviceUser.addTask("SecondUser", task(false, Difficulty.BAJA));
+    }
+
+    @AfterEach
+    void tearDown() throws TaskManagerException {
+        filePersistence.deleteAll();
+    }
+
+    @Test
+    void shouldBuildTheSnapshotFromEveryUserOnce() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ofMinutes(1));
+        assertEquals(2, snapshot.get().users().size());
+        assertEquals(1L, snapshot.get().total().getHistogram().get(Difficulty.ALTA));
+        assertEquals(1L, snapshot.get().total().getHistogram().get(Difficulty.BAJA));
+        assertSame(snapshot.get(), snapshot.get());
+        assertEquals(1, findAllCalls.get());
+    }
+
+    @Test
+    void shouldServeTheSameSnapshotWithinTheStalenessBound() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ofMinutes(1));
+        GlobalAnalyticsSnapshot.Snapshot first = snapshot.get();
+        serviceUser.addTask("FirstUser", task(false, Difficulty.ALTA));
+        assertSame(first, snapshot.get());
+        assertEquals(1L, snapshot.get().total().getHistogram().get(Difficulty.ALTA));
+    }
+
+    @Test
+    void shouldApplyOnlyTheUsersThatChanged() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ZERO);
+        GlobalAnalyticsSnapshot.Snapshot first = snapshot.get();
+        serviceUser.addTask("FirstUser", task(false, Difficulty.ALTA));
+        findByIdCalls.set(0);
+        GlobalAnalyticsSnapshot.Snapshot second = snapshot.get();
+        assertNotSame(first, second);
+        assertEquals(1, findByIdCalls.get());
+        assertEquals(2L, second.total().getHistogram().get(Difficulty.ALTA));
+        assertSame(first.users().get("SecondUser"), second.users().get("SecondUser"));
+        assertEquals(1L, first.total().getHistogram().get(Difficulty.ALTA));
+    }
+
+    @Test
+    void shouldRemoveTheDeletedUsers() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ZERO);
+        snapshot.get();
+        serviceUser.deleteUser("SecondUser");
+        assertFalse(snapshot.get().users().containsKey("SecondUser"));
+        assertEquals(0L, snapshot.get().total().getHistogram().get(Difficulty.BAJA));
+    }
+
+    @Test
+    void shouldKeepTheTotalEqualToTheUsersAddedTogether() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ZERO);
+        snapshot.get();
+        filePersistence.save(new User("ThirdUser", "Third User", "Password", "third@gmail.com"));
+        String taskId = serviceUser.addTask("ThirdUser", task(false, Difficulty.MEDIA)).getId();
+        serviceUser.addTask("FirstUser", task(true, Difficulty.BAJA));
+        snapshot.get();
+        serviceUser.changeStateTask("ThirdUser", taskId);
+        serviceUser.deleteUser("SecondUser");
+        GlobalAnalyticsSnapshot.Snapshot current = snapshot.get();
+        AnalyticsSummary expected = new AnalyticsSummary();
+        current.users().values().forEach(expected::add);
+        assertEquals(List.of("FirstUser", "ThirdUser"), current.users().keySet().stream().sorted().toList());
+        assertEquals(expected.getHistogram(), current.total().getHistogram());
+        assertEquals(expected.getFinishedTasks(), current.total().getFinishedTasks());
+        assertEquals(expected.getConsolidatedPriority(), current.total().getConsolidatedPriority());
+        assertEquals(expected.getTotalTimeSpentByDifficulty(), current.total().getTotalTimeSpentByDifficulty());
+        assertEquals(Map.of(Difficulty.ALTA, 10.0, Difficulty.MEDIA, 10.0, Difficulty.BAJA, 10.0), current.total().getTotalTimeSpentByDifficulty());
+    }
+
+    @Test
+    void shouldRebuildWhenEveryUserChanged() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ofMinutes(1));
+        snapshot.get();
+        snapshot.allTasksChanged();
+        snapshot.get();
+        assertEquals(2, findAllCalls.get());
+    }
+
+    @Test
+    void shouldServeTheAdminAnalyticsFromTheSnapshot() throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = snapshot(Duration.ofMinutes(1));
+        AdminServiceImpl adminService = new AdminServiceImpl(new AnalyticsService(new TaskAnalysis(filePersistence)), filePersistence);
+        adminService.setAnalyticsSnapshot(snapshot);
+        assertEquals(1L, adminService.getUsersHistogram().get(Difficulty.ALTA));
+        assertEquals(2, adminService.getEachUserHistogram().size());
+        assertEquals(10.0, adminService.getSummary().getTotal().getTotalTimeSpentByDifficulty().get(Difficulty.ALTA));
+        assertEquals(1, findAllCalls.get());
+        assertEquals(0, findByIdCalls.get());
+    }
+
+    private GlobalAnalyticsSnapshot snapshot(Duration maxStaleness) {
+        GlobalAnalyticsSnapshot snapshot = new GlobalAnalyticsSnapshot(filePersistence, maxStaleness);
+        serviceUser.setTaskMutationListeners(List.of(snapshot));
+        findAllCalls.set(0);
+        findByIdCalls.set(0);
+        return snapshot;
+    }
+
+    private TaskDTO task(boolean state, Difficulty difficulty) {
+        return new TaskDTO(null, "Task", "Description", state, 3, 10, difficulty, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,121 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskStatistics;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.TaskAnalysis;
+import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
+import edu.eci.cvds.Task.services.user.ServiceUserImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskColumnsTest {
+    private final UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt");
+    private final ServiceUserImpl serviceUser = new ServiceUserImpl(null, null, null, filePersistence);
+    private final TaskColumns taskColumns = new TaskColumns(filePersistence);
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        serviceUser.setTaskMutationListeners(List.of(taskColumns));
+        filePersistence.save(new User("FirstUser", "First User", "Password", "first@gmail.com"));
+        filePersistence.save(new User("SecondUser", "Second User", "Password", "second@gmail.com"));
+        new TaskAnalysis(filePersistence).randomData("FirstUser", 20);
+        new TaskAnalysis(filePersistence).randomData("SecondUser", 30);
+    }
+
+    @AfterEach
+    void tearDown() throws TaskManagerException {
+        filePersistence.deleteAll();
+    }
+
+    @Test
+    void shouldComputeTheSameAnalyticsAsTheTasks() throws TaskManagerException {
+        List<Task> tasks = new ArrayList<>();
+        for (User user : filePersistence.findAll()) {
+            tasks.addAll(user.getTasks().values());
+            assertSummaryEquals(AnalyticsSummary.of(user.getStatistics()), taskColumns.summarize(user.getUsernameId()));
+        }
+        assertEquals(50, taskColumns.size());
+        assertSummaryEquals(AnalyticsSummary.of(TaskStatistics.of(tasks)), taskColumns.summarize());
+    }
+
+    @Test
+    void shouldSummarizeEachOwnerInOnePass() throws TaskManagerException {
+        Map<String, AnalyticsSummary> summaries = taskColumns.summarizeByOwner();
+        assertEquals(Set.of("FirstUser", "SecondUser"), summaries.keySet());
+        assertEquals(20L, summaries.get("FirstUser").getHistogram().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(Set.of("SecondUser"), taskColumns.summarize(List.of("SecondUser", "Missing")).keySet());
+    }
+
+    @Test
+    void shouldLoadAgainOnlyTheUsersThatChanged() throws TaskManagerException {
+        taskColumns.summarize();
+        Task task = serviceUser.addTask("FirstUser", new TaskDTO(null, "Study", "Description", false, 2, 500, Difficulty.ALTA, LocalDateTime.now()));
+        assertEquals(51, taskColumns.size());
+        serviceUser.changeStateTask("FirstUser", task.getId());
+        assertEquals(1L, taskColumns.summarize("FirstUser").getFinishedTasks().get(500));
+        serviceUser.deleteTask("FirstUser", task.getId());
+        assertNull(taskColumns.summarize("FirstUser").getFinishedTasks().get(500));
+        assertEquals(50, taskColumns.size());
+    }
+
+    @Test
+    void shouldReuseTheRowsOfTheDeletedUsers() throws TaskManagerException {
+        taskColumns.summarize();
+        serviceUser.deleteUser("SecondUser");
+        assertEquals(20, taskColumns.size());
+        assertFalse(taskColumns.summarizeByOwner().containsKey("SecondUser"));
+        filePersistence.save(new User("ThirdUser", "Third User", "Password", "third@gmail.com"));
+        new TaskAnalysis(filePersistence).randomData("ThirdUser", 10);
+        taskColumns.tasksChanged("ThirdUser");
+        assertEquals(30, taskColumns.size());
+    }
+
+    @Test
+    void shouldReuseTheIndexesOfTheDeletedUsers() throws TaskManagerException {
+        taskColumns.summarize();
+        for (int i = 0; i < 10; i++) {
+            filePersistence.save(new User("User" + i, "User", "Password", "user" + i + "@gmail.com"));
+            new TaskAnalysis(filePersistence).randomData("User" + i, 5);
+            taskColumns.tasksChanged("User" + i);
+            assertEquals(55, taskColumns.size());
+            assertEquals(5L, taskColumns.summarizeByOwner().get("User" + i).getHistogram().values().stream().mapToLong(Long::longValue).sum());
+            filePersistence.deleteById("User" + i);
+            taskColumns.tasksChanged("User" + i);
+            assertEquals(50, taskColumns.size());
+        }
+        assertEquals(3, taskColumns.ownerSlots());
+        assertEquals(Set.of("FirstUser", "SecondUser"), taskColumns.summarizeByOwner().keySet());
+    }
+
+    @Test
+    void shouldFeedTheAnalyticsSnapshot()throws TaskManagerException {
+        GlobalAnalyticsSnapshot snapshot = new GlobalAnalyticsSnapshot(filePersistence, Duration.ZERO);
+        snapshot.setTaskColumns(taskColumns);
+        serviceUser.setTaskMutationListeners(List.of(taskColumns, snapshot));
+        assertEquals(2, snapshot.get().users().size());
+        serviceUser.addTask("SecondUser", new TaskDTO(null, "Study", "Description", true, 2, 500, Difficulty.ALTA, LocalDateTime.now()));
+        assertEquals(1L, snapshot.get().total().getFinishedTasks().get(500));
+        assertEquals(1L, snapshot.get().users().get("SecondUser").getFinishedTasks().get(500));
+    }
+
+    private void assertSummaryEquals(AnalyticsSummary expected, AnalyticsSummary actual) {
+        assertEquals(expected.getHistogram(), actual.getHistogram());
+        assertEquals(expected.getFinishedTasks(), actual.getFinishedTasks());
+        assertEquals(expected.getConsolidatedPriority(), actual.getConsolidatedPriority());
+        assertEquals(expected.getTotalTimeSpentByDifficulty(), actual.getTotalTimeSpentByDifficulty());
+    }
+}
@@ -0,0 +1,52 @@
+package edu.eci.cvds.Task.services.analytics;
+
+import edu.eci.cvds.Task.models.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSummariesTest {
+
+    @Test
+    void shouldCopyOnlyTheChangedUsers() {
+        Map<String, AnalyticsSummary> users = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            users.put("User" + i, summary(i));
+        }
+        UserSummaries first = UserSummaries.of(users);
+        Map<String, AnalyticsSummary> changes = new HashMap<>();
+        changes.put("User1", summary(7));
+        changes.put("User2", null);
+        changes.put("User1000", summary(1));
+        UserSummaries second = first.with(changes);
+
+        assertEquals(1000, first.size());
+        assertEquals(1000, second.size());
+        assertEquals(users, first);
+        assertSame(changes.get("User1"), second.get("User1"));
+        assertFalse(second.containsKey("User2"));
+        assertTrue(first.containsKey("User2"));
+        assertSame(users.get("User3"), second.get("User3"));
+        assertEquals(1000, second.entrySet().stream().count());
+        assertNull(second.get(3));
+    }
+
+    @Test
+    void shouldBeEmptyWithoutUsers() {
+        UserSummaries empty = UserSummaries.of(Map.of());
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.entrySet().iterator().hasNext());
+        assertEquals(1, empty.with(Map.of("User1", summary(1))).size());
+    }
+
+    private AnalyticsSummary summary(int tasks) {
+        AnalyticsSummary summary = new AnalyticsSummary();
+        for (int i = 0; i < tasks; i++) {
+            summary.count(Difficulty.MEDIA.ordinal(), 3, 10, i % 2 == 0);
+        }
+        return summary;
+    }
+}
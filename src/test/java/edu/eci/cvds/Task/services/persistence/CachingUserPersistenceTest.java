@@ -0,0 +1,213 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingUserPersistenceTest {
+    private final AtomicInteger findByIdCalls = new AtomicInteger();
+    private final AtomicInteger findByEmailCalls = new AtomicInteger();
+    private final UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+        @Override
+        public Optional<User> findById(String usernameId) throws TaskManagerException {
+            findByIdCalls.incrementAndGet();
+            return super.findById(usernameId);
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) throws TaskManagerException {
+            findByEmailCalls.incrementAndGet();
+            return super.findByEmail(email);
+        }
+    };
+    private CachingUserPersistence cache;
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        cache = new CachingUserPersistence(filePersistence, 2, Duration.ofMinutes(1));
+        filePersistence.save(new User("CacheUser1", "Cache User 1", "Password1", "cache1@gmail.com"));
+        filePersistence.save(new User("CacheUser2", "Cache User 2", "Password2", "cache2@gmail.com"));
+        filePersistence.save(new User("CacheUser3", "Cache User 3", "Password3", "cache3@gmail.com"));
+    }
+
+    @AfterEach
+    void tearDown() throws TaskManagerException {
+        filePersistence.deleteAll();
+    }
+
+    @Test
+    void shouldLoadUserOnlyOnce() throws TaskManagerException {
+        assertEquals("Cache User 1", cache.findById("CacheUser1").get().getName());
+        assertEquals("Cache User 1", cache.findById("CacheUser1").get().getName());
+        assertEquals(1, findByIdCalls.get());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(1, cache.getStats().getMisses());
+    }
+
+    @Test
+    void shouldNotCacheMissingUsers() throws TaskManagerException {
+        assertTrue(cache.findById("Missing").isEmpty());
+        filePersistence.save(new User("Missing", "Missing User", "Password", "missing@gmail.com"));
+        assertTrue(cache.findById("Missing").isPresent());
+    }
+
+    @Test
+    void shouldWriteThroughOnSave() throws TaskManagerException {
+        User user = cache.findById("CacheUser1").get();
+        Task task = user.addTask(new TaskDTO(null, "Study", "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+        cache.save(user);
+        assertTrue(filePersistence.findById("CacheUser1").get().getTasks().containsKey(task.getId()));
+        findByIdCalls.set(0);
+        assertTrue(cache.findById("CacheUser1").get().getTasks().containsKey(task.getId()));
+        assertEquals(0, findByIdCalls.get());
+    }
+
+    @Test
+    void shouldNotShareInstancesWithCallers() throws TaskManagerException {
+        User user = cache.findById("CacheUser1").get();
+        user.changeName("Changed but not saved");
+        assertEquals("Cache User 1", cache.findById("CacheUser1").get().getName());
+    }
+
+    @Test
+    void shouldInvalidateOnDelete() throws TaskManagerException {
+        cache.findById("CacheUser1");
+        cache.deleteById("CacheUser1");
+        assertTrue(cache.findById("CacheUser1").isEmpty());
+        assertTrue(cache.findByEmail("cache1@gmail.com").isEmpty());
+    }
+
+    @Test
+    void shouldFindByEmailFromMemory() throws TaskManagerException {
+        cache.findById("CacheUser2");
+        assertEquals("CacheUser2", cache.findByEmail("cache2@gmail.com").get().getUsernameId());
+        assertEquals(0, findByEmailCalls.get());
+        assertEquals("CacheUser3", cache.findByEmail("cache3@gmail.com").get().getUsernameId());
+        assertEquals("CacheUser3", cache.findByEmail("cache3@gmail.com").get().getUsernameId());
+        assertEquals(1, findByEmailCalls.get());
+    }
+
+    @Test
+    void shouldNotKeepAUserDeletedWhileItWasFoundByEmail() throws TaskManagerException {
+        CachingUserPersistence[] deleting = new CachingUserPersistence[1];
+        deleting[0] = new CachingUserPersistence(new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+            @Override
+            public Optional<User> findByEmail(String email) throws TaskManagerException {
+                Optional<User> user = super.findByEmail(email);
+                deleting[0].deleteById(user.get().getUsernameId());
+                return user;
+            }
+        }, 2, Duration.ofMinutes(1));
+        assertTrue(deleting[0].findByEmail("cache1@gmail.com").isEmpty());
+        assertTrue(deleting[0].findById("CacheUser1").isEmpty());
+        assertEquals(0, deleting[0].getStats().getSize());
+    }
+
+    @Test
+    void shouldEvictWhenFull() throws TaskManagerException {
+        for (int i = 0; i < 10; i++) {
+            cache.findById("CacheUser1");
+            cache.findById("CacheUser2");
+            cache.findById("CacheUser3");
+        }
+        assertTrue(cache.getStats().getSize() <= 2);
+        assertTrue(cache.getStats().getEvictions() > 0);
+    }
+
+    @Test
+    void shouldKeepTheLastSavedVersionUnderConcurrentSaves() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String name = "Name " + i;
+            futures.add(executor.submit(() -> {
+                User user = cache.findById("CacheUser1").get();
+                user.changeName(name);
+                return cache.save(user);
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        executor.shutdown();
+        assertEquals(filePersistence.findById("CacheUser1").get().getName(), cache.findById("CacheUser1").get().getName());
+    }
+
+    @Test
+    void shouldNotHoldTheEntryOfTheCacheWhileWriting() throws Exception {
+        CachingUserPersistence[] reentrant = new CachingUserPersistence[1];
+        List<String> seen = new ArrayList<>();
+        reentrant[0] = new CachingUserPersistence(new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+            @Override
+            public User save(User user) throws TaskManagerException {
+                seen.add(reentrant[0].findById(user.getUsernameId()).get().getName());
+                return super.save(user);
+            }
+        }, 2, Duration.ofMinutes(1));
+        User user = filePersistence.findById("CacheUser1").get();
+        user.changeName("Changed");
+        reentrant[0].save(user);
+        assertEquals(List.of("Cache User 1"), seen);
+        assertEquals("Changed", reentrant[0].findById("CacheUser1").get().getName());
+    }
+
+    @Test
+    void shouldQueryTheTasksOfACachedUserInMemory() throws TaskManagerException {
+        User user = cache.findById("CacheUser1").get();
+        user.addTask(new TaskDTO(null, "Study", "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+        user.addTask(new TaskDTO(null, "Read", "Description", true, 1, 5, Difficulty.BAJA, LocalDateTime.now()));
+        cache.save(user);
+        findByIdCalls.set(0);
+        TaskQuery query = TaskQuery.builder().order(TaskQuery.Order.asc(TaskField.PRIORITY)).limit(1).build();
+        Task task = cache.findTasks("CacheUser1", query).get().get(0);
+        assertEquals("Read", task.getName());
+        assertEquals(0, findByIdCalls.get());
+        task.changeName("Changed");
+        assertEquals("Read", cache.findTasks("CacheUser1", query).get().get(0).getName());
+    }
+
+    @Test
+    void shouldQueryTheTasksOfOtherUsersWithoutLoadingThem() throws TaskManagerException {
+        User user = filePersistence.findById("CacheUser2").get();
+        user.addTask(new TaskDTO(null, "Study", "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+        filePersistence.save(user);
+        findByIdCalls.set(0);
+        assertEquals(1, cache.findTasks("CacheUser2", TaskQuery.where(null)).get().size());
+        assertTrue(cache.findTasks("Missing", TaskQuery.where(null)).isEmpty());
+        assertEquals(0, findByIdCalls.get());
+        assertEquals(0, cache.getStats().getMisses());
+    }
+
+    @Test
+    void shouldReadTheNextTasksOfACachedUserInMemory() throws TaskManagerException {
+        User user = cache.findById("CacheUser1").get();
+        user.addTask(new TaskDTO(null, "Later", "Description", false, 5, 10, Difficulty.MEDIA, LocalDateTime.now().plusDays(2)));
+        user.addTask(new TaskDTO(null, "Done", "Description", true, 1, 5, Difficulty.BAJA, LocalDateTime.now()));
+        user.addTask(new TaskDTO(null, "First", "Description", false, 1, 5, Difficulty.BAJA, LocalDateTime.now().plusDays(1)));
+        cache.save(user);
+        findByIdCalls.set(0);
+        List<Task> next = cache.findNextTasks("CacheUser1", 5).get();
+        assertEquals(List.of("First", "Later"), next.stream().map(Task::getName).toList());
+        assertEquals(0, findByIdCalls.get());
+        next.get(0).changeName("Changed");
+        assertEquals("First", cache.findNextTasks("CacheUser1", 1).get().get(0).getName());
+        assertEquals(List.of("First"), filePersistence.findNextTasks("CacheUser1", 1).get().stream().map(Task::getName).toList());
+    }
+}
@@ -0,0 +1,236 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskEvent;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import edu.eci.cvds.Task.services.user.InMemoryUserPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSourcedUserPersistenceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 19, 8, 0);
+    private final InMemoryUserPersistence snapshots = new InMemoryUserPersistence();
+    private final InMemoryTaskEventStore events = new InMemoryTaskEventStore();
+    private final MovingClock clock = new MovingClock();
+
+    @Test
+    void shouldAppendAnEventPerChangeOfTheTasks() throws TaskManagerException {
+        EventSourcedUserPersistence persistence = persistence(100);
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        persistence.save(user);
+        Task study = user.addTask(task("Study"));
+        Task read = user.addTask(task("Read"));
+        persistence.save(user);
+        user.changeStateTask(study.getId());
+        persistence.save(user);
+        user.updateTask(new TaskDTO(read.getId(), "Read more", "Description", false, 5, 10, Difficulty.ALTA, START.plusDays(2)));
+        persistence.save(user);
+        user.deleteTask(study.getId());
+        persistence.save(user);
+        persistence.save(user);
+
+        List<TaskEvent> log = events.all();
+        assertEquals(List.of(TaskEvent.Type.TASK_ADDED, TaskEvent.Type.TASK_ADDED, TaskEvent.Type.STATE_TOGGLED,
+                TaskEvent.Type.TASK_UPDATED, TaskEvent.Type.TASK_DELETED), log.stream().map(TaskEvent::getType).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), log.stream().map(TaskEvent::getSequence).toList());
+        assertEquals(true, log.get(2).getState());
+        assertEquals("Read more", log.get(3).getTask().getName());
+        assertEquals(1, persistence.getWrittenSnapshots());
+        assertEquals(5, persistence.getAppendedEvents());
+        assertEquals(1, snapshots.getSaves());
+        User stored = persistence.findById("User1").get();
+        assertEquals(1, stored.getTasks().size());
+        assertEquals("Read more", stored.getTasks().get(read.getId()).getName());
+    }
+
+    @Test
+    void shouldRebuildTheUserFromTheSnapshotAndTheEventsAfterIt() throws TaskManagerException {
+        EventSourcedUserPersistence persistence = persistence(3);
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        for (int i = 0; i < 5; i++) {
+            user.addTask(task("Task " + i));
+            persistence.save(user);
+        }
+        user.changeName("Renamed");
+        persistence.save(user);
+        user.addTask(task("Task 5"));
+        persistence.save(user);
+        assertEquals(3, snapshots.getSaves());
+        assertEquals(5, snapshots.findById("User1").get().getTasks().size());
+
+        EventSourcedUserPersistence restarted = persistence(3);
+        User rebuilt = restarted.findById("User1").get();
+        assertEquals(6, rebuilt.getTasks().size());
+        assertEquals(6, rebuilt.getStatistics().getTotal());
+        assertEquals(6, rebuilt.getVersion());
+        assertEquals("Renamed", rebuilt.getName());
+        assertEquals(6, restarted.findTasks("User1", TaskQuery.builder().build()).get().size());
+        assertEquals(6, restarted.findByEmail("user1@gmail.com").get().getTasks().size());
+        rebuilt.deleteTask(rebuilt.getTasks().values().iterator().next().getId());
+        restarted.save(rebuilt);
+        assertEquals(7, events.all().size());
+    }
+
+    @Test
+    void shouldRebuildTheTasksOfAPastMoment() throws TaskManagerException {
+        EventSourcedUserPersistence persistence = persistence(100);
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        Task study = user.addTask(task("Study"));
+        persistence.save(user);
+        clock.moveTo(START.plusHours(1));
+        user.addTask(task("Read"));
+        user.changeStateTask(study.getId());
+        persistence.save(user);
+        clock.moveTo(START.plusHours(2));
+        user.deleteTask(study.getId());
+        persistence.save(user);
+
+        User first = persistence.findByIdAt("User1", START.plusMinutes(30)).get();
+        assertEquals(1, first.getTasks().size());
+        assertFalse(first.getTasks().get(study.getId()).getState());
+        User second = persistence.findByIdAt("User1", START.plusMinutes(90)).get();
+        assertEquals(2, second.getTasks().size());
+        assertTrue(second.getTasks().get(study.getId()).getState());
+        assertEquals(1L, second.getStatistics().getFinishedByEstimatedTime().get(10));
+        assertEquals(1, persistence.findByIdAt("User1", START.plusHours(3)).get().getTasks().size());
+        assertEquals(0, persistence.findByIdAt("User1", START.minusHours(1)).get().getTasks().size());
+        assertEquals(2, persistence.findEvents("User1", START.plusMinutes(30), START.plusMinutes(90)).size());
+        assertTrue(persistence.findByIdAt("Missing", START).isEmpty());
+    }
+
+    @Test
+    void shouldAddTheTasksStoredBeforeTheEvents() throws TaskManagerException {
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        user.addTask(task("Study"));
+        user.addTask(task("Read"));
+        snapshots.save(user);
+        EventSourcedUserPersistence persistence = persistence(100);
+        User loaded = persistence.findById("User1").get();
+        loaded.addTask(task("Write"));
+        persistence.save(loaded);
+        assertEquals(3, events.all().size());
+        assertTrue(events.all().stream().allMatch(event -> event.getType() == TaskEvent.Type.TASK_ADDED));
+        assertEquals(3, persistence.findByIdAt("User1", START).get().getTasks().size());
+    }
+
+    @Test
+    void shouldDeleteTheEventsWithTheUser() throws TaskManagerException {
+        EventSourcedUserPersistence persistence = persistence(100);
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        user.addTask(task("Study"));
+        persistence.save(user);
+        persistence.deleteById("User1");
+        assertTrue(persistence.findById("User1").isEmpty());
+        assertTrue(persistence.findTasks("User1", TaskQuery.builder().build()).isEmpty());
+        assertTrue(events.all().isEmpty());
+        assertEquals(0, persistence.count());
+    }
+
+    @Test
+    void shouldWriteAgainTheSnapshotThatFailed() throws TaskManagerException {
+        AtomicBoolean unreachable = new AtomicBoolean();
+        InMemoryUserPersistence failing = new InMemoryUserPersistence() {
+            @Override
+            public User save(User user) throws TaskManagerException {
+                if (unreachable.get()) throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+                return super.save(user);
+            }
+        };
+        EventSourcedUserPersistence persistence = new EventSourcedUserPersistence(failing, events, 2, 100, clock);
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        user.addTask(task("Study"));
+        persistence.save(user);
+        unreachable.set(true);
+        user.addTask(task("Read"));
+        persistence.save(user);
+        user.addTask(task("Write"));
+        assertThrows(TaskManagerException.class, () -> persistence.save(user));
+        assertEquals(1, failing.findById("User1").get().getVersion());
+        User created = new User("User2", "User 2", "Password2", "user2@gmail.com");
+        created.addTask(task("Study"));
+        assertThrows(TaskManagerException.class, () -> persistence.save(created));
+        assertTrue(persistence.findById("User2").isEmpty());
+
+        unreachable.set(false);
+        persistence.save(created);
+        assertEquals(1, persistence.findById("User2").get().getVersion());
+        User loaded = persistence.findById("User1").get();
+        assertEquals(3, loaded.getTasks().size());
+        assertEquals(3, loaded.getVersion());
+        loaded.addTask(task("Sleep"));
+        persistence.save(loaded);
+        assertEquals(List.of(1L, 2L, 3L, 4L), events.findAfter("User1", 0).stream().map(TaskEvent::getSequence).toList());
+        assertEquals(4, failing.findById("User1").get().getVersion());
+    }
+
+    @Test
+    void shouldNotRepeatTheEventsOfAUserCreatedAgainWhenTheLogKeepsThem() throws TaskManagerException {
+        InMemoryTaskEventStore keeping = new InMemoryTaskEventStore() {
+            @Override
+            public synchronized void deleteAll() {
+            }
+        };
+        EventSourcedUserPersistence persistence = new EventSourcedUserPersistence(snapshots, keeping, 100, 100, clock);
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        user.addTask(task("Study"));
+        user.addTask(task("Read"));
+        persistence.save(user);
+        persistence.deleteAll();
+        assertTrue(persistence.findById("User1").isEmpty());
+
+        User again = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        again.addTask(task("Write"));
+        persistence.save(again);
+        assertEquals(1, keeping.all().size());
+        User rebuilt = new EventSourcedUserPersistence(snapshots, keeping, 100, 100, clock).findById("User1").get();
+        assertEquals(1, rebuilt.getTasks().size());
+        assertEquals(1, rebuilt.getVersion());
+    }
+
+    private EventSourcedUserPersistence persistence(int snapshotInterval) {
+        return new EventSourcedUserPersistence(snapshots, events, snapshotInterval, 100, clock);
+    }
+
+    private TaskDTO task(String name) {
+        return new TaskDTO(null, name, "Description", false, 3, 10, Difficulty.MEDIA, START.plusDays(1));
+    }
+
+    /**
+     * This class is a clock that stays at the moment it is moved to.
+     */
+    private static class MovingClock extends Clock {
+        private Instant now = START.toInstant(ZoneOffset.UTC);
+
+        void moveTo(LocalDateTime moment) {
+            now = moment.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
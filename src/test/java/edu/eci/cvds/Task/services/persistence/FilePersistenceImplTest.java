@@ -3,6 +3,9 @@ package edu.eci.cvds.Task.services.persistence;
 import edu.eci.cvds.Task.TaskManagerException;
 import edu.eci.cvds.Task.models.Difficulty;
 import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -237,6 +240,41 @@ class FilePersistenceImplTest {
         assertEquals(tasks1.size(), 0);
     }
 
+    @Test
+    void shouldFindTasksWithAQuery() throws TaskManagerException {
+        saveSomeTasks();
+        TaskQuery query = TaskQuery.builder()
+                .filter(TaskFilterDTO.builder().state(false).minPriority(2).build())
+                .order(TaskQuery.Order.desc(TaskField.PRIORITY)).order(TaskQuery.Order.asc(TaskField.DEADLINE))
+                .limit(4)
+                .build();
+        List<Task> found = filePersistence.find(query);
+        assertEquals(List.of("011", "012", "010", "04"), found.stream().map(Task::getId).toList());
+        assertEquals(query.apply(filePersistence.findAll()).stream().map(Task::getId).toList(), found.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldReturnOnlyTheProjectedFields() throws TaskManagerException {
+        TaskQuery query = TaskQuery.builder()
+                .filter(TaskFilterDTO.builder().difficulty(Difficulty.ALTA).build())
+                .include(TaskField.NAME).include(TaskField.PRIORITY)
+                .build();
+        List<Task> found = filePersistence.find(query);
+        assertEquals(2, found.size());
+        assertEquals("Task 1", found.get(0).getName());
+        assertEquals(2, found.get(0).getPriority());
+        assertEquals(tasks.get(0).getId(), found.get(0).getId());
+        assertNull(found.get(0).getDescription());
+        assertNull(found.get(0).getDeadline());
+    }
+
+    @Test
+    void shouldStopReadingAtTheLimitOfAnUnsortedQuery() throws TaskManagerException {
+        List<Task> found = filePersistence.find(TaskQuery.builder().limit(2).build());
+        assertEquals(List.of(tasks.get(0).getId(), tasks.get(1).getId()), found.stream().map(Task::getId).toList());
+        assertEquals(4, filePersistence.find(TaskQuery.where(null)).size());
+    }
+
     private void saveSomeTasks() throws TaskManagerException {
         filePersistence.save(new Task("01", "Task 1", "Description 1", false, 1, 10,Difficulty.MEDIA, deadline.plusDays(2)));
         filePersistence.save(new Task("02", "Task 2", "Description 2", false, 2, 10,Difficulty.MEDIA, deadline.plusDays(2)));
@@ -0,0 +1,172 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskPage;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.TaskAnalysis;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.user.ServiceUserImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityMapUserPersistenceTest {
+    private final AtomicInteger findByIdCalls = new AtomicInteger();
+    private final AtomicInteger findByEmailCalls = new AtomicInteger();
+    private final AtomicInteger saveCalls = new AtomicInteger();
+    private final UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+        @Override
+        public Optional<User> findById(String usernameId) throws TaskManagerException {
+            findByIdCalls.incrementAndGet();
+            return super.findById(usernameId);
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) throws TaskManagerException {
+            findByEmailCalls.incrementAndGet();
+            return super.findByEmail(email);
+        }
+
+        @Override
+        public User save(User user) throws TaskManagerException {
+            saveCalls.incrementAndGet();
+            return super.save(user);
+        }
+    };
+    private final IdentityMapUserPersistence userPersistence = new IdentityMapUserPersistence(filePersistence);
+    private final ServiceUserImpl serviceUser = new ServiceUserImpl(null, null, null, userPersistence);
+    private final TaskAnalysis taskAnalysis = new TaskAnalysis(userPersistence);
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        filePersistence.save(new User("MapUser", "Map User", "Password", "map@gmail.com"));
+        resetCalls();
+    }
+
+    @AfterEach
+    void tearDown() throws TaskManagerException {
+        filePersistence.deleteAll();
+    }
+
+    @Test
+    void shouldFindByEmailOnceWhenGettingTheRole() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            assertEquals("MapUser", serviceUser.getRoleUser("map@gmail.com").getUsernameId());
+        }
+        assertEquals(1, findByEmailCalls.get());
+    }
+
+    @Test
+    void shouldFindByEmailOnceWhenGettingTheId() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            assertEquals("MapUser", serviceUser.getUserId("map@gmail.com").getUserId());
+        }
+        assertEquals(1, findByEmailCalls.get());
+    }
+
+    @Test
+    void shouldFindByIdOnceWhenGettingTheUser() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            assertEquals("Map User", serviceUser.getUser("MapUser").getName());
+        }
+        assertEquals(1, findByIdCalls.get());
+    }
+
+    @Test
+    void shouldFindByIdOnceWhenGettingTheHistogram() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            assertEquals(3, taskAnalysis.getHistogram("MapUser").size());
+        }
+        assertEquals(1, findByIdCalls.get());
+    }
+
+    @Test
+    void shouldReuseTheUserLoadedToAuthenticate() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            userPersistence.findByEmail("map@gmail.com");
+            serviceUser.getRoleUser("map@gmail.com");
+            serviceUser.getAllTasks("MapUser");
+        }
+        assertEquals(1, findByEmailCalls.get());
+        assertEquals(0, findByIdCalls.get());
+    }
+
+    @Test
+    void shouldSaveOnceAtTheEndOfTheUnitOfWork() throws TaskManagerException {
+        Task task;
+        try (var unitOfWork = userPersistence.begin()) {
+            task = serviceUser.addTask("MapUser", new TaskDTO(null, "Study", "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+            serviceUser.changeStateTask("MapUser", task.getId());
+            serviceUser.changeName("MapUser", "New Name");
+            assertEquals(0, saveCalls.get());
+        }
+        assertEquals(1, findByIdCalls.get());
+        assertEquals(1, saveCalls.get());
+        User stored = filePersistence.findById("MapUser").get();
+        assertEquals("New Name", stored.getName());
+        assertTrue(stored.getTasks().get(task.getId()).getState());
+    }
+
+    @Test
+    void shouldNotSaveWhenNothingChanged() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            serviceUser.getAllTasks("MapUser");
+            taskAnalysis.getFinishedTasks("MapUser");
+        }
+        assertEquals(0, saveCalls.get());
+    }
+
+    @Test
+    void shouldFlushBeforeCounting() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            userPersistence.save(new User("OtherUser", "Other User", "Password", "other@gmail.com"));
+            assertEquals(2, userPersistence.count());
+        }
+        assertEquals(1, saveCalls.get());
+    }
+
+    @Test
+    void shouldRememberMissingUsers() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            assertTrue(userPersistence.findById("Missing").isEmpty());
+            assertTrue(userPersistence.findById("Missing").isEmpty());
+        }
+        assertEquals(1, findByIdCalls.get());
+    }
+
+    @Test
+    void shouldGoToThePersistenceOutsideAUnitOfWork() throws TaskManagerException {
+        serviceUser.getRoleUser("map@gmail.com");
+        serviceUser.changeName("MapUser", "New Name");
+        assertEquals(5, findByEmailCalls.get());
+        assertEquals(1, saveCalls.get());
+    }
+
+    @Test
+    void shouldReadThePagesOfTheLoadedUserFromTheIdentityMap() throws TaskManagerException {
+        try (var unitOfWork = userPersistence.begin()) {
+            serviceUser.addTask("MapUser", new TaskDTO(null, "Study", "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+            serviceUser.addTask("MapUser", new TaskDTO(null, "Read", "Description", false, 3, 10, Difficulty.MEDIA, LocalDateTime.now()));
+            TaskPage page = serviceUser.getTasksPage("MapUser", null, TaskField.ID, null, 1);
+            assertEquals(1, page.getTasks().size());
+            assertEquals(1, serviceUser.getTasksPage("MapUser", null, TaskField.ID, page.getNextCursor(), 1).getTasks().size());
+            assertEquals(1, findByIdCalls.get());
+            assertEquals(0, saveCalls.get());
+        }
+    }
+
+    private void resetCalls() {
+        findByIdCalls.set(0);
+        findByEmailCalls.set(0);
+        saveCalls.set(0);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.models.TaskEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a log of the events of the tasks in memory, it rejects the events with a number already used
+ * like the unique index of the real log.
+ */
+class InMemoryTaskEventStore implements TaskEventStore {
+    private final List<TaskEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void append(List<TaskEvent> appended) {
+        for (TaskEvent event : appended) {
+            if (events.stream().anyMatch(known -> known.getId().equals(event.getId()))) {
+                throw new IllegalStateException("Duplicated event " + event.getId());
+            }
+        }
+        events.addAll(appended);
+    }
+
+    @Override
+    public synchronized List<TaskEvent> findAfter(String userId, long sequence) {
+        return events.stream().filter(event -> event.getUserId().equals(userId) && event.getSequence() > sequence).toList();
+    }
+
+    @Override
+    public synchronized List<TaskEvent> findBetween(String userId, LocalDateTime from, LocalDateTime to) {
+        return events.stream().filter(event -> event.getUserId().equals(userId)
+                && (from == null || !event.getTime().isBefore(from))
+                && (to == null || !event.getTime().isAfter(to))).toList();
+    }
+
+    @Override
+    public synchronized void deleteByUser(String userId) {
+        events.removeIf(event -> event.getUserId().equals(userId));
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        events.clear();
+    }
+
+    synchronized List<TaskEvent> all() {
+        return new ArrayList<>(events);
+    }
+}
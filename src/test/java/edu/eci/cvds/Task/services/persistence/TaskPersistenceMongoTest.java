@@ -0,0 +1,69 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskPersistenceMongoTest {
+
+    @Test
+    void shouldCompileTheFilterToCriteria() {
+        LocalDateTime deadline = LocalDateTime.of(2026, 10, 19, 12, 0);
+        TaskFilterDTO filter = TaskFilterDTO.builder()
+                .state(false)
+                .minPriority(2).maxPriority(4)
+                .difficulty(Difficulty.ALTA)
+                .deadlineBefore(deadline)
+                .or(List.of(TaskFilterDTO.builder().priority(1).build(), TaskFilterDTO.builder().maxEstimatedTime(10).build()))
+                .not(TaskFilterDTO.builder().minEstimatedTime(100).build())
+                .build();
+        Document expected = Document.parse("""
+                {"$and": [
+                  {"state": false},
+                  {"priority": {"$gte": 2}},
+                  {"priority": {"$lte": 4}}
+                ]}""");
+        Document query = TaskPersistenceMongo.toQuery(TaskQuery.where(filter)).getQueryObject();
+        List<?> conditions = query.getList("$and", Object.class);
+        assertEquals(7, conditions.size());
+        assertEquals(expected.getList("$and", Document.class), conditions.subList(0, 3));
+        assertEquals(new Document("difficulty", Difficulty.ALTA), conditions.get(3));
+        assertEquals(new Document("deadline", new Document("$lt", deadline)), conditions.get(4));
+        assertEquals(new Document("$or", List.of(new Document("priority", 1), new Document("estimatedTime", new Document("$lte", 10)))),
+                conditions.get(5));
+        assertEquals(new Document("$nor", List.of(new Document("estimatedTime", new Document("$gte", 100)))), conditions.get(6));
+    }
+
+    @Test
+    void shouldCompileTheOrderLimitAndProjection() {
+        TaskQuery taskQuery = TaskQuery.builder()
+                .filter(TaskFilterDTO.builder().state(true).build())
+                .order(TaskQuery.Order.asc(TaskField.DEADLINE))
+                .order(TaskQuery.Order.desc(TaskField.PRIORITY))
+                .limit(20)
+                .include(TaskField.NAME)
+                .build();
+        Query query = TaskPersistenceMongo.toQuery(taskQuery);
+        assertEquals(new Document("state", true), query.getQueryObject());
+        assertEquals(List.of("deadline", "priority", "id"), List.copyOf(query.getSortObject().keySet()));
+        assertEquals(-1, query.getSortObject().get("priority"));
+        assertEquals(20, query.getLimit());
+        assertEquals(new Document("name", 1), query.getFieldsObject());
+    }
+
+    @Test
+    void shouldNotMatchAnythingWithAnEmptyOr() {
+        Document query = TaskPersistenceMongo.toQuery(TaskQuery.where(TaskFilterDTO.builder().or(List.of()).build())).getQueryObject();
+        assertEquals(new Document("id", new Document("$in", List.of())), query);
+        assertEquals(new Document(), TaskPersistenceMongo.toQuery(TaskQuery.where(null)).getQueryObject());
+    }
+}
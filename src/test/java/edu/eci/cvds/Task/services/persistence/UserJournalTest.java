@@ -0,0 +1,96 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Role;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayTheLastChangeOfEachUser() throws TaskManagerException {
+        Path path = directory.resolve("users.journal");
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        user.setRole(Role.ADMIN);
+        Task task = user.addTask(new TaskDTO(null, "Study", "Description ñ", true, 4, 12, Difficulty.ALTA, LocalDateTime.of(2026, 10, 19, 10, 30, 15, 123)));
+        try (UserJournal journal = new UserJournal(path)) {
+            journal.appendSave(new User("User1", "Old", "Password1", "user1@gmail.com"));
+            journal.appendSave(new User("User2", "User 2", "Password2", "user2@gmail.com"));
+            journal.appendSave(user);
+            journal.appendDelete("User2");
+        }
+        try (UserJournal journal = new UserJournal(path)) {
+            Map<String, Optional<User>> changes = journal.replay();
+            assertEquals(List.of("User1", "User2"), List.copyOf(changes.keySet()));
+            assertTrue(changes.get("User2").isEmpty());
+            User replayed = changes.get("User1").get();
+            assertEquals("User 1", replayed.getName());
+            assertEquals(Role.ADMIN, replayed.getRole());
+            assertTrue(task.equals(replayed.getTasks().get(task.getId())));
+            assertEquals(task.getDeadline(), replayed.getTasks().get(task.getId()).getDeadline());
+            assertEquals(1, replayed.getStatistics().getTotal());
+        }
+    }
+
+    @Test
+    void shouldDropTheRecordCutByACrash() throws TaskManagerException, IOException {
+        Path path = directory.resolve("users.journal");
+        try (UserJournal journal = new UserJournal(path)) {
+            journal.appendSave(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+            journal.appendSave(new User("User2", "User 2", "Password2", "user2@gmail.com"));
+        }
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+        try (UserJournal journal = new UserJournal(path)) {
+            assertEquals(List.of("User1"), List.copyOf(journal.replay().keySet()));
+            journal.appendSave(new User("User3", "User 3", "Password3", "user3@gmail.com"));
+        }
+        try (UserJournal journal = new UserJournal(path)) {
+            assertEquals(List.of("User1", "User3"), List.copyOf(journal.replay().keySet()));
+        }
+    }
+
+    @Test
+    void shouldRewriteOnlyTheGivenChanges() throws TaskManagerException {
+        Path path = directory.resolve("users.journal");
+        try (UserJournal journal = new UserJournal(path)) {
+            for (int i = 0; i < 100; i++) {
+                journal.appendSave(new User("User1", "User " + i, "Password1", "user1@gmail.com"));
+            }
+            long size = journal.size();
+            Map<String, Optional<User>> changes = new LinkedHashMap<>();
+            changes.put("User1", Optional.of(new User("User1", "Last", "Password1", "user1@gmail.com")));
+            changes.put("User2", Optional.empty());
+            journal.rewrite(changes);
+            assertTrue(journal.size() < size);
+            journal.appendDelete("User3");
+        }
+        try (UserJournal journal = new UserJournal(path)) {
+            Map<String, Optional<User>> changes = journal.replay();
+            assertEquals(List.of("User1", "User2", "User3"), List.copyOf(changes.keySet()));
+            assertEquals("Last", changes.get("User1").get().getName());
+            assertTrue(changes.get("User2").isEmpty());
+        }
+    }
+}
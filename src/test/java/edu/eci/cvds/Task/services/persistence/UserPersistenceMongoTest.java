@@ -0,0 +1,76 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskMap;
+import edu.eci.cvds.Task.models.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPersistenceMongoTest {
+
+    @Test
+    void shouldStoreTheTasksOfTheUserAsADocument() throws TaskManagerException {
+        MappingMongoConverter converter = converter();
+        User user = new User("MongoUser", "Mongo User", "Password", "mongo@gmail.com");
+        for (int i = 0; i < 50; i++) {
+            user.addTask(new TaskDTO(null, "Task " + i, "Description", i % 2 == 0, i % 5 + 1, i + 1, Difficulty.MEDIA, LocalDateTime.now()));
+        }
+        Document document = new Document();
+        converter.write(user, document);
+        assertEquals(50, document.get("tasks", Document.class).size());
+        User read = converter.read(User.class, document);
+        assertInstanceOf(TaskMap.class, read.getTasks());
+        assertEquals(50, read.getTasks().size());
+        for (String id : user.getTasks().keySet()) {
+            assertEquals(user.getTasks().get(id).getName(), read.getTasks().get(id).getName());
+            assertEquals(user.getTasks().get(id).getState(), read.getTasks().get(id).getState());
+        }
+        assertEquals(user.getTasksByState(true).size(), read.getTasksByState(true).size());
+    }
+
+    @Test
+    void shouldStoreTheFieldsOfTheTasks() throws TaskManagerException {
+        MappingMongoConverter converter = converter();
+        LocalDateTime deadline = LocalDateTime.of(2026, 10, 19, 8, 30, 15);
+        Task task = new Task("7", "Study", "Description", true, 4, 12, Difficulty.ALTA, deadline);
+        Document document = new Document();
+        converter.write(task, document);
+        document.remove("_class");
+        Document expected = new Document("_id", "7").append("name", "Study").append("description", "Description")
+                .append("state", true).append("priority", 4).append("estimatedTime", 12).append("difficulty", "ALTA")
+                .append("deadline", Date.from(deadline.atZone(ZoneId.systemDefault()).toInstant()));
+        assertEquals(expected.keySet(), document.keySet());
+        for (String key : expected.keySet()) {
+            assertEquals(expected.get(key), document.get(key), key);
+        }
+        Task read = converter.read(Task.class, document);
+        assertTrue(read.equals(task));
+        assertEquals(deadline, read.getDeadline());
+        assertEquals(Difficulty.ALTA, read.getDifficulty());
+        assertEquals(12, read.getEstimatedTime());
+    }
+
+    private MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,178 @@
+package edu.eci.cvds.Task.services.persistence;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.query.TaskQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindUserPersistenceTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+    private final AtomicInteger saves = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final AtomicBoolean unreachable = new AtomicBoolean();
+    private final LocalDateTime now = LocalDateTime.now();
+    @TempDir
+    Path directory;
+    private UserFilePersistenceImpl filePersistence;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.createFile(directory.resolve("users.txt"));
+        filePersistence = new UserFilePersistenceImpl(file.toString()) {
+            @Override
+            public User save(User user) throws TaskManagerException {
+                if (failing.get()) throw new TaskManagerException(TaskManagerException.DATA_BASE_FILE_ERROR);
+                if (unreachable.get()) throw new DataAccessResourceFailureException("The database is unreachable");
+                saves.incrementAndGet();
+                return super.save(user);
+            }
+        };
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shouldWriteEachUserOnceWhateverTheNumberOfSaves() throws TaskManagerException, IOException {
+        WriteBehindUserPersistence persistence = persistence();
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        for (int i = 0; i < 50; i++) {
+            user.addTask(task("Task " + i));
+            persistence.save(user);
+        }
+        assertEquals(0, saves.get());
+        assertEquals(50, persistence.findById("User1").get().getTasks().size());
+        persistence.flush();
+        assertEquals(1, saves.get());
+        assertEquals(50, persistence.getSaves());
+        assertEquals(1, persistence.getWrites());
+        assertEquals(0, persistence.getPendingCount());
+        assertEquals(50, filePersistence.findById("User1").get().getTasks().size());
+        assertEquals(0, Files.size(directory.resolve("users.journal")));
+    }
+
+    @Test
+    void shouldReadTheSavesNotWrittenYet() throws TaskManagerException {
+        filePersistence.save(new User("Stored", "Stored", "Password1", "stored@gmail.com"));
+        filePersistence.save(new User("Deleted", "Deleted", "Password1", "deleted@gmail.com"));
+        WriteBehindUserPersistence persistence = persistence();
+        User user = persistence.findById("Stored").get();
+        Task task = user.addTask(task("Study"));
+        user.changeName("Renamed");
+        persistence.save(user);
+        persistence.deleteById("Deleted");
+        persistence.save(new User("Added", "Added", "Password1", "added@gmail.com"));
+
+        assertEquals("Renamed", persistence.findById("Stored").get().getName());
+        assertEquals("Renamed", persistence.findByEmail("stored@gmail.com").get().getName());
+        assertEquals(task.getId(), persistence.findTasks("Stored", TaskQuery.builder().build()).get().get(0).getId());
+        assertEquals(task.getId(), persistence.findNextTasks("Stored", 5).get().get(0).getId());
+        assertTrue(persistence.findById("Deleted").isEmpty());
+        assertTrue(persistence.findByEmail("deleted@gmail.com").isEmpty());
+        assertTrue(persistence.findTasks("Deleted", TaskQuery.builder().build()).isEmpty());
+        assertEquals("Added", persistence.findByEmail("added@gmail.com").get().getName());
+        assertEquals(2, persistence.findAll().size());
+        assertEquals(2, persistence.count());
+        assertTrue(filePersistence.findById("Deleted").isEmpty());
+        assertEquals("Renamed", filePersistence.findById("Stored").get().getName());
+    }
+
+    @Test
+    void shouldWriteAfterACrashTheSavesOfTheJournal() throws TaskManagerException, IOException {
+        WriteBehindUserPersistence crashed = persistence();
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        Task task = user.addTask(task("Study"));
+        crashed.save(user);
+        crashed.save(new User("User2", "User 2", "Password2", "user2@gmail.com"));
+        crashed.deleteById("User2");
+        Files.write(directory.resolve("users.journal"), new byte[]{0, 0, 1, 0, 7, 7}, StandardOpenOption.APPEND);
+
+        WriteBehindUserPersistence restarted = persistence();
+        assertEquals(2, restarted.getPendingCount());
+        assertEquals(task.getId(), restarted.findById("User1").get().getTasks().get(task.getId()).getId());
+        restarted.flush();
+        User stored = filePersistence.findById("User1").get();
+        assertEquals("Study", stored.getTasks().get(task.getId()).getName());
+        assertEquals(task.getDeadline().withSecond(0).withNano(0), stored.getTasks().get(task.getId()).getDeadline());
+        assertTrue(filePersistence.findById("User2").isEmpty());
+    }
+
+    @Test
+    void shouldKeepTheUsersThatCouldNotBeWritten() throws TaskManagerException {
+        WriteBehindUserPersistence persistence = persistence();
+        persistence.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        failing.set(true);
+        assertThrows(TaskManagerException.class, persistence::flush);
+        assertEquals(1, persistence.getPendingCount());
+        assertTrue(persistence.findById("User1").isPresent());
+        failing.set(false);
+        persistence.flush();
+        assertEquals(0, persistence.getPendingCount());
+        assertTrue(filePersistence.findById("User1").isPresent());
+    }
+
+    @Test
+    void shouldKeepTheUsersThatFailedWithARuntimeError() throws TaskManagerException, IOException {
+        WriteBehindUserPersistence persistence = persistence();
+        User user = new User("User1", "User 1", "Password1", "user1@gmail.com");
+        persistence.save(user);
+        persistence.save(new User("User2", "User 2", "Password2", "user2@gmail.com"));
+        unreachable.set(true);
+        assertThrows(DataAccessResourceFailureException.class, persistence::flush);
+        assertEquals(2, persistence.getPendingCount());
+        user.addTask(task("Study"));
+        persistence.save(user);
+        unreachable.set(false);
+        persistence.flush();
+        assertEquals(0, persistence.getPendingCount());
+        assertEquals(1, filePersistence.findById("User1").get().getTasks().size());
+        assertTrue(filePersistence.findById("User2").isPresent());
+        assertEquals(0, Files.size(directory.resolve("users.journal")));
+    }
+
+    @Test
+    void shouldWriteInTheBackground() throws Exception {
+        WriteBehindUserPersistence persistence = new WriteBehindUserPersistence(filePersistence,
+                new UserJournal(directory.resolve("users.journal")), scheduler, Duration.ofMillis(10));
+        persistence.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (persistence.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, persistence.getPendingCount());
+        assertTrue(filePersistence.findById("User1").isPresent());
+        persistence.close();
+    }
+
+    private WriteBehindUserPersistence persistence() throws TaskManagerException {
+        return new WriteBehindUserPersistence(filePersistence, new UserJournal(directory.resolve("users.journal")), scheduler, NEVER);
+    }
+
+    private TaskDTO task(String name) {
+        return new TaskDTO(null, name, "Description", false, 3, 10, Difficulty.MEDIA, now.plusDays(1));
+    }
+}
@@ -0,0 +1,92 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskBitmapIndexTest {
+    private final List<Task> tasks = new ArrayList<>();
+    private TaskBitmapIndex index;
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        Random random = new Random(3);
+        Difficulty[] difficulties = Difficulty.values();
+        for (int i = 0; i < 5000; i++) {
+            tasks.add(new Task(String.valueOf(i), "Task", "Description", random.nextBoolean(), random.nextInt(5) + 1,
+                    random.nextInt(300) + 1, difficulties[random.nextInt(difficulties.length)], LocalDateTime.now()));
+        }
+        index = new TaskBitmapIndex(tasks);
+    }
+
+    @Test
+    void shouldReturnEveryTaskWithoutConditions() {
+        assertEquals(tasks, index.query(new TaskFilterDTO()));
+        assertEquals(tasks, index.query(null));
+    }
+
+    @Test
+    void shouldCombineTheConditionsOfAFilter() {
+        TaskFilterDTO filter = TaskFilterDTO.builder().state(false).minPriority(4).difficulty(Difficulty.ALTA).build();
+        assertQuery(filter, task -> !task.getState() && task.getPriority() >= 4 && task.getDifficulty() == Difficulty.ALTA);
+    }
+
+    @Test
+    void shouldFilterRangesOfEstimatedTime() {
+        assertQuery(TaskFilterDTO.builder().minEstimatedTime(3).maxEstimatedTime(200).build(),
+                task -> task.getEstimatedTime() >= 3 && task.getEstimatedTime() <= 200);
+        assertQuery(TaskFilterDTO.builder().minEstimatedTime(64).maxEstimatedTime(64).build(), task -> task.getEstimatedTime() == 64);
+        assertQuery(TaskFilterDTO.builder().maxEstimatedTime(10).build(), task -> task.getEstimatedTime() <= 10);
+        assertQuery(TaskFilterDTO.builder().minEstimatedTime(20).maxEstimatedTime(10).build(), task -> false);
+    }
+
+    @Test
+    void shouldEvaluateAndOrAndNot() {
+        TaskFilterDTO filter = TaskFilterDTO.builder()
+                .or(List.of(TaskFilterDTO.builder().priority(1).build(), TaskFilterDTO.builder().difficulty(Difficulty.BAJA).build()))
+                .and(List.of(TaskFilterDTO.builder().state(true).build()))
+                .not(TaskFilterDTO.builder().minEstimatedTime(100).build())
+                .build();
+        assertQuery(filter, task -> (task.getPriority() == 1 || task.getDifficulty() == Difficulty.BAJA)
+                && task.getState() && task.getEstimatedTime() < 100);
+    }
+
+    @Test
+    void shouldNotFindValuesNoTaskHas() {
+        assertEquals(0, index.count(TaskFilterDTO.builder().priority(9).build()));
+        assertEquals(0, index.count(TaskFilterDTO.builder().or(List.of()).build()));
+        assertEquals(0, new TaskBitmapIndex(List.of()).count(TaskFilterDTO.builder().difficulty(Difficulty.ALTA).build()));
+    }
+
+    @Test
+    void shouldFilterRangesOfDeadlines() throws TaskManagerException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> dated = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            dated.add(new Task(String.valueOf(i), "Task", "Description", false, 1, 1, Difficulty.BAJA, now.plusHours((i * 37) % 100)));
+        }
+        TaskBitmapIndex datedIndex = new TaskBitmapIndex(dated);
+        LocalDateTime after = now.plusHours(20);
+        LocalDateTime before = now.plusHours(60);
+        assertEquals(dated.stream().filter(task -> task.getDeadline().isAfter(after) && task.getDeadline().isBefore(before)).toList(),
+                datedIndex.query(TaskFilterDTO.builder().deadlineAfter(after).deadlineBefore(before).build()));
+        assertEquals(dated.stream().filter(task -> task.getDeadline().isBefore(after)).toList(),
+                datedIndex.query(TaskFilterDTO.builder().deadlineBefore(after).build()));
+        assertEquals(0, datedIndex.count(TaskFilterDTO.builder().deadlineAfter(before).deadlineBefore(after).build()));
+    }
+
+    private void assertQuery(TaskFilterDTO filter, Predicate<Task> condition) {
+        assertEquals(tasks.stream().filter(condition).toList(), index.query(filter));
+    }
+}
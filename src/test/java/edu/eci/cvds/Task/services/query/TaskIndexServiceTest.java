@@ -0,0 +1,69 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.analytics.TaskVersions;
+import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
+import edu.eci.cvds.Task.services.user.ServiceUserImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIndexServiceTest {
+    private final UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt");
+    private final TaskVersions taskVersions = new TaskVersions();
+    private final TaskIndexService taskIndexService = new TaskIndexService(filePersistence, taskVersions, 100, Duration.ofMinutes(1));
+    private final ServiceUserImpl serviceUser = new ServiceUserImpl(null, null, null, filePersistence);
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        serviceUser.setTaskMutationListeners(List.of(taskVersions));
+        serviceUser.setTaskIndexService(taskIndexService);
+        filePersistence.save(new User("QueryUser", "Query User", "Password", "query@gmail.com"));
+        serviceUser.addTask("QueryUser", new TaskDTO(null, "Study", "Description", false, 5, 10, Difficulty.ALTA, LocalDateTime.now()));
+        serviceUser.addTask("QueryUser", new TaskDTO(null, "Read", "Description", true, 4, 10, Difficulty.ALTA, LocalDateTime.now()));
+    }
+
+    @AfterEach
+    void tearDown() throws TaskManagerException {
+        filePersistence.deleteAll();
+    }
+
+    @Test
+    void shouldQueryTheTasksOfTheUser() throws TaskManagerException {
+        TaskFilterDTO filter = TaskFilterDTO.builder().state(false).minPriority(4).difficulty(Difficulty.ALTA).build();
+        List<Task> tasks = serviceUser.queryTasks("QueryUser", filter);
+        assertEquals(1, tasks.size());
+        assertEquals("Study", tasks.get(0).getName());
+    }
+
+    @Test
+    void shouldReuseTheIndexUntilTheTasksChange() throws TaskManagerException {
+        TaskBitmapIndex index = taskIndexService.getIndex("QueryUser");
+        assertSame(index, taskIndexService.getIndex("QueryUser"));
+        serviceUser.addTask("QueryUser", new TaskDTO(null, "Write", "Description", false, 4, 10, Difficulty.ALTA, LocalDateTime.now()));
+        assertNotSame(index, taskIndexService.getIndex("QueryUser"));
+        assertEquals(2, serviceUser.queryTasks("QueryUser", TaskFilterDTO.builder().state(false).build()).size());
+    }
+
+    @Test
+    void shouldNotQueryMissingUsers() {
+        assertThrows(TaskManagerException.class, () -> serviceUser.queryTasks("Missing", new TaskFilterDTO()));
+    }
+
+    @Test
+    void shouldQueryWithoutTheIndexService() throws TaskManagerException {
+        ServiceUserImpl withoutIndexes = new ServiceUserImpl(null, null, null, filePersistence);
+        assertEquals(1, withoutIndexes.queryTasks("QueryUser", TaskFilterDTO.builder().state(true).build()).size());
+    }
+}
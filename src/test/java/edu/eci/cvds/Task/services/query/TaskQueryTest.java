@@ -0,0 +1,90 @@
+package edu.eci.cvds.Task.services.query;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskFilterDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskQueryTest {
+    private final List<Task> tasks = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() throws TaskManagerException {
+        Random random = new Random(7);
+        Difficulty[] difficulties = Difficulty.values();
+        for (int i = 0; i < 2000; i++) {
+            tasks.add(new Task(String.format("%04d", i), "Task " + i, "Description", random.nextBoolean(), random.nextInt(5) + 1,
+                    random.nextInt(50) + 1, difficulties[random.nextInt(difficulties.length)], now.plusHours(random.nextInt(48))));
+        }
+    }
+
+    @Test
+    void shouldEvaluateTheSameConditionsAsTheBitmapIndex() {
+        TaskFilterDTO filter = TaskFilterDTO.builder()
+                .or(List.of(TaskFilterDTO.builder().priority(1).build(), TaskFilterDTO.builder().difficulty(Difficulty.BAJA).build()))
+                .and(List.of(TaskFilterDTO.builder().state(true).build()))
+                .not(TaskFilterDTO.builder().minEstimatedTime(30).build())
+                .deadlineBefore(now.plusHours(30))
+                .build();
+        assertEquals(new TaskBitmapIndex(tasks).query(filter), TaskQuery.where(filter).apply(tasks));
+    }
+
+    @Test
+    void shouldSortByTheOrdersAndThenById() {
+        TaskQuery query = TaskQuery.builder()
+                .order(TaskQuery.Order.desc(TaskField.PRIORITY))
+                .order(TaskQuery.Order.asc(TaskField.DEADLINE))
+                .build();
+        List<Task> expected = new ArrayList<>(tasks);
+        expected.sort(Comparator.comparing(Task::getPriority).reversed().thenComparing(Task::getDeadline).thenComparing(Task::getId));
+        assertEquals(expected, query.apply(tasks));
+    }
+
+    @Test
+    void shouldKeepOnlyTheFirstTasksUpToTheLimit() {
+        TaskFilterDTO filter = TaskFilterDTO.builder().state(false).build();
+        TaskQuery sorted = TaskQuery.builder().filter(filter).order(TaskQuery.Order.asc(TaskField.ESTIMATED_TIME)).limit(25).build();
+        List<Task> all = TaskQuery.builder().filter(filter).order(TaskQuery.Order.asc(TaskField.ESTIMATED_TIME)).build().apply(tasks);
+        assertEquals(all.subList(0, 25), sorted.apply(tasks));
+        List<Task> unsorted = TaskQuery.builder().filter(filter).limit(10).build().apply(tasks);
+        assertEquals(TaskQuery.where(filter).apply(tasks).subList(0, 10), unsorted);
+    }
+
+    @Test
+    void shouldCopyOnlyTheProjectedFields() {
+        List<Task> projected = TaskQuery.builder().include(TaskField.NAME).include(TaskField.STATE).limit(1).build().apply(tasks);
+        Task task = projected.get(0);
+        assertNotSame(tasks.get(0), task);
+        assertEquals(tasks.get(0).getId(), task.getId());
+        assertEquals(tasks.get(0).getName(), task.getName());
+        assertEquals(tasks.get(0).getState(), task.getState());
+        assertNull(task.getDescription());
+        assertNull(task.getDifficulty());
+        assertEquals(0, task.getPriority());
+    }
+
+    @Test
+    void shouldStartAfterTheGivenTask() {
+        TaskQuery query = TaskQuery.builder().order(TaskQuery.Order.desc(TaskField.DEADLINE)).limit(300).build();
+        List<Task> all = TaskQuery.builder().order(TaskQuery.Order.desc(TaskField.DEADLINE)).build().apply(tasks);
+        List<Task> read = new ArrayList<>();
+        List<Task> page = query.apply(tasks);
+        while (!page.isEmpty()) {
+            read.addAll(page);
+            page = query.toBuilder().after(page.get(page.size() - 1)).build().apply(tasks);
+        }
+        assertEquals(all, read);
+        assertEquals(List.of(TaskQuery.Order.asc(TaskField.ID)), TaskQuery.builder().after(tasks.get(0)).build().getOrders());
+    }
+}
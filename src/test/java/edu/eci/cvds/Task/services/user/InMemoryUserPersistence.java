@@ -0,0 +1,82 @@
+package edu.eci.cvds.Task.services.user;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.persistence.UserPersistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class is a database of users in memory, it stores and returns copies like a real database,
+ * and each save may take the given time like the write of a real database.
+ */
+public class InMemoryUserPersistence implements UserPersistence {
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final AtomicInteger saves = new AtomicInteger();
+    private final long saveNanos;
+
+    public InMemoryUserPersistence() {
+        this(Duration.ZERO);
+    }
+
+    public InMemoryUserPersistence(Duration saveTime) {
+        this.saveNanos = saveTime.toNanos();
+    }
+
+    public int getSaves() {
+        return saves.get();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) throws TaskManagerException {
+        for (User user : users.values()) {
+            if (user.getEmail().equals(email)) return Optional.of(user.copy());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public User save(User user) throws TaskManagerException {
+        if (saveNanos > 0) LockSupport.parkNanos(saveNanos);
+        saves.incrementAndGet();
+        users.put(user.getUsernameId(), user.copy());
+        return user;
+    }
+
+    @Override
+    public List<User> findAll() throws TaskManagerException {
+        List<User> all = new ArrayList<>();
+        for (User user : users.values()) {
+            all.add(user.copy());
+        }
+        return all;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        users.remove(id);
+    }
+
+    @Override
+    public Optional<User> findById(String id) throws TaskManagerException {
+        User user = users.get(id);
+        return user == null ? Optional.empty() : Optional.of(user.copy());
+    }
+
+    @Override
+    public void deleteAll() {
+        users.clear();
+    }
+
+    @Override
+    public long count() {
+        return users.size();
+    }
+}
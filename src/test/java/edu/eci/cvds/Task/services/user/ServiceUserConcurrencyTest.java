@@ -0,0 +1,251 @@
+package edu.eci.cvds.Task.services.user;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.metrics.LockStatsDTO;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import edu.eci.cvds.Task.services.TaskAnalysis;
+import edu.eci.cvds.Task.services.persistence.CachingUserPersistence;
+import edu.eci.cvds.Task.services.persistence.IdentityMapUserPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceUserConcurrencyTest {
+    private final InMemoryUserPersistence database = new InMemoryUserPersistence();
+    private final IdentityMapUserPersistence userPersistence = new IdentityMapUserPersistence(
+            new CachingUserPersistence(database, 100, Duration.ofMinutes(10)));
+    private final UserLocks userLocks = new UserLocks(64);
+    private final ServiceUserImpl serviceUser = new ServiceUserImpl(null, null, null, userPersistence);
+    private final LocalDateTime deadline = LocalDateTime.now().plusDays(1);
+
+    ServiceUserConcurrencyTest() {
+        serviceUser.setUserLocks(userLocks);
+    }
+
+    @Test
+    void shouldNotLoseTheTasksAddedAtTheSameTimeToTheSameUser() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        run(16, 100, (thread, i) -> request(() -> {
+            serviceUser.getAllTasks("User1");
+            serviceUser.addTask("User1", task("Task " + thread + "-" + i));
+        }));
+        assertEquals(1600, database.findById("User1").get().getTasks().size());
+        assertEquals(1600, userLocks.getStats().getAcquisitions());
+    }
+
+    @Test
+    void shouldNotLoseTheChangesOfSeveralUsersChangedAtTheSameTime() throws Exception {
+        for (int user = 0; user < 8; user++) {
+            database.save(new User("User" + user, "User " + user, "Password1", "user" + user + "@gmail.com"));
+        }
+        run(32, 50, (thread, i) -> request(() -> {
+            String userId = "User" + thread % 8;
+            String id = serviceUser.addTask(userId, task("Task " + thread + "-" + i)).getId();
+            serviceUser.changeStateTask(userId, id);
+        }));
+        for (int user = 0; user < 8; user++) {
+            User stored = database.findById("User" + user).get();
+            assertEquals(200, stored.getTasks().size());
+            assertEquals(200, stored.getTasksByState(true).size());
+        }
+    }
+
+    @Test
+    void shouldNotLoseTheTasksGeneratedByTheAnalysisAtTheSameTimeAsOtherChanges() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        Generator generator = new Generator();
+        generator.setServiceUser(serviceUser);
+        run(8, 20, (thread, i) -> request(() -> {
+            serviceUser.getAllTasks("User1");
+            if (thread % 2 == 0) serviceUser.addTask("User1", task("Task " + thread + "-" + i));
+            else generator.generate("User1", 5);
+        }));
+        assertEquals(4 * 20 + 4 * 20 * 5, database.findById("User1").get().getTasks().size());
+    }
+
+    @Test
+    void shouldNotWaitForeverWhenTwoRequestsChangeTheSameUsersInOppositeOrders() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        database.save(new User("User2", "User 2", "Password1", "user2@gmail.com"));
+        CountDownLatch changed = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String[] order : new String[][]{{"User1", "User2"}, {"User2", "User1"}}) {
+                futures.add(executor.submit(() -> {
+                    request(() -> {
+                        serviceUser.addTask(order[0], task("First"));
+                        changed.countDown();
+                        changed.await();
+                        serviceUser.addTask(order[1], task("Second"));
+                    });
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, database.findById("User1").get().getTasks().size());
+        assertEquals(2, database.findById("User2").get().getTasks().size());
+    }
+
+    @Test
+    void shouldNotLoseTheTasksAddedAtTheSameTimeInTheMailboxMode() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+        UserMailboxes mailboxes = new UserMailboxes(userPersistence, executor, Duration.ofMinutes(1));
+        serviceUser.setUserMailboxes(mailboxes);
+        try {
+            run(16, 100, (thread, i) -> request(() -> {
+                serviceUser.getAllTasks("User1");
+                serviceUser.addTask("User1", task("Task " + thread + "-" + i));
+                assertEquals(i + 1, serviceUser.getAllTasks("User1").stream().filter(task -> task.getName().startsWith("Task " + thread + "-")).count());
+            }));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1600, database.findById("User1").get().getTasks().size());
+        assertEquals(0, userLocks.getStats().getAcquisitions());
+        assertTrue(mailboxes.getWrites() <= 1600);
+    }
+
+    @Test
+    void shouldNotBringBackTheUsersDeletedWithoutTheMailboxes() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        database.save(new User("User2", "User 2", "Password1", "user2@gmail.com"));
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        UserMailboxes mailboxes = new UserMailboxes(userPersistence, executor, Duration.ofMinutes(1));
+        serviceUser.setUserMailboxes(mailboxes);
+        serviceUser.setTaskMutationListeners(List.of(mailboxes));
+        AdminServiceImpl adminService = new AdminServiceImpl(null, userPersistence);
+        adminService.setTaskMutationListeners(List.of(mailboxes));
+        TaskAnalysis taskAnalysis = new TaskAnalysis(userPersistence);
+        taskAnalysis.setTaskMutationListeners(List.of(mailboxes));
+        try {
+            serviceUser.addTask("User1", task("Study"));
+            serviceUser.addTask("User2", task("Study"));
+            adminService.deleteUser("User1");
+            taskAnalysis.deleteAllTasks("User2");
+
+            TaskManagerException deleted = assertThrows(TaskManagerException.class, () -> serviceUser.addTask("User1", task("Read")));
+            assertEquals(TaskManagerException.USER_DOESNT_EXIST, deleted.getMessage());
+            assertThrows(TaskManagerException.class, () -> serviceUser.addTask("User2", task("Read")));
+            assertTrue(database.findById("User1").isEmpty());
+            assertTrue(database.findById("User2").isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRecordTheTimeWaitedForTheLockOfAUser() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> holder = executor.submit(() -> {
+                userLocks.lock("User1");
+                locked.countDown();
+                release.await();
+                Thread.sleep(20);
+                userLocks.unlock("User1");
+                return null;
+            });
+            locked.await();
+            Future<?> other = executor.submit(() -> {
+                userLocks.lock("User2");
+                userLocks.unlock("User2");
+            });
+            other.get(5, TimeUnit.SECONDS);
+            Future<?> waiting = executor.submit(() -> {
+                userLocks.lock("User1");
+                userLocks.unlock("User1");
+            });
+            release.countDown();
+            waiting.get(5, TimeUnit.SECONDS);
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        LockStatsDTO stats = userLocks.getStats();
+        assertEquals(64, stats.getStripes());
+        assertEquals(3, stats.getAcquisitions());
+        assertEquals(1, stats.getContended());
+        assertTrue(stats.getMaxWaitMillis() > 0);
+        assertEquals(2, stats.getWaitHistogram().get("0ms"));
+        assertEquals(3, stats.getWaitHistogram().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private void request(Request request) throws TaskManagerException, InterruptedException {
+        try (var unitOfWork = userPersistence.begin()) {
+            request.run();
+        }
+    }
+
+    private void run(int threads, int iterations, Step step) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int number = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        step.run(number, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TaskDTO task(String name) {
+        return new TaskDTO(null, name, "Description", false, 3, 10, Difficulty.MEDIA, deadline);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run() throws TaskManagerException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(int thread, int iteration) throws TaskManagerException, InterruptedException;
+    }
+
+    /**
+     * This class is the analysis of the tasks with the generation of the random tasks open to the tests.
+     */
+    private class Generator extends TaskAnalysis {
+        Generator() {
+            super(userPersistence);
+        }
+
+        void generate(String userId, int counter) throws TaskManagerException {
+            generateAnalysis(userId, counter);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import edu.eci.cvds.Task.jwt.JwtService;
 import edu.eci.cvds.Task.models.*;
 import edu.eci.cvds.Task.services.persistence.FilePersistenceImpl;
 import edu.eci.cvds.Task.services.persistence.UserFilePersistenceImpl;
+import edu.eci.cvds.Task.services.query.TaskField;
+import edu.eci.cvds.Task.services.query.TaskQuery;
 import org.antlr.v4.runtime.Token;
 import org.apache.commons.lang3.builder.Diff;
 import org.hibernate.dialect.function.TimestampdiffFunction;
@@ -19,8 +21,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -29,8 +33,14 @@ import static org.junit.jupiter.api.Assertions.*;
 class  ServiceUserImplTest {
     private final LocalDateTime date = LocalDateTime.now();
     private final ServiceUserImpl serviceUser;
+    private final JwtService jwtService;
+    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
     @Autowired
     ServiceUserImplTest(JwtService jwtService, AuthenticationManager authenticationManager, PasswordEncoder passwordEncoder) {
+        this.jwtService = jwtService;
+        this.authenticationManager = authenticationManager;
+        this.passwordEncoder = passwordEncoder;
         UserFilePersistenceImpl filePersistence= new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt");
         this.serviceUser  = new ServiceUserImpl(jwtService, authenticationManager, passwordEncoder, filePersistence);
     }
@@ -302,6 +312,121 @@ class  ServiceUserImplTest {
         List<User> users = serviceUser.getUsers();
         assertTrue(users.isEmpty());
     }
+    @Test
+    void shouldReadAllTheTasksByPages() throws TaskManagerException {
+        serviceUser.createUser(new RegisterDTO("123123", "User1", "User1234#", "miguel@gmail.com"));
+        String userId = serviceUser.getUserId("miguel@gmail.com").getUserId();
+        for (int i = 0; i < 23; i++) {
+            serviceUser.addTask(userId, new TaskDTO("", "Study " + i, "Description", i % 2 == 0, i % 5 + 1, i + 1, Difficulty.BAJA, date.plusHours(i % 7)));
+        }
+        List<Task> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TaskPage page = serviceUser.getTasksPage(userId, null, TaskField.DEADLINE, cursor, 5);
+            read.addAll(page.getTasks());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(5, pages);
+        List<Task> sorted = serviceUser.findTasks(userId, TaskQuery.builder().order(TaskQuery.Order.asc(TaskField.DEADLINE)).build());
+        assertEquals(sorted.stream().map(Task::getId).toList(), read.stream().map(Task::getId).toList());
+        assertEquals(23, new HashSet<>(read.stream().map(Task::getId).toList()).size());
+    }
+
+    @Test
+    void shouldReadTheFilteredTasksByPages() throws TaskManagerException {
+        serviceUser.createUser(new RegisterDTO("123123", "User1", "User1234#", "miguel@gmail.com"));
+        String userId = serviceUser.getUserId("miguel@gmail.com").getUserId();
+        addSomeTasks(userId);
+        TaskFilterDTO filter = TaskFilterDTO.builder().state(true).build();
+        TaskPage first = serviceUser.getTasksPage(userId, filter, TaskField.ID, null, 3);
+        TaskPage second = serviceUser.getTasksPage(userId, filter, TaskField.ID, first.getNextCursor(), 3);
+        assertNull(second.getNextCursor());
+        List<String> ids = new ArrayList<>(first.getTasks().stream().map(Task::getId).toList());
+        ids.addAll(second.getTasks().stream().map(Task::getId).toList());
+        assertEquals(serviceUser.getTasksByState(userId, true).stream().map(Task::getId).sorted().toList(), ids);
+    }
+
+    @Test
+    void shouldNotReadInvalidPages() throws TaskManagerException {
+        serviceUser.createUser(new RegisterDTO("123123", "User1", "User1234#", "miguel@gmail.com"));
+        String userId = serviceUser.getUserId("miguel@gmail.com").getUserId();
+        addSomeTasks(userId);
+        String cursor = serviceUser.getTasksPage(userId, null, TaskField.DEADLINE, null, 2).getNextCursor();
+        assertPageError(TaskManagerException.INVALID_PAGE_SIZE, () -> serviceUser.getTasksPage(userId, null, TaskField.ID, null, 0));
+        assertPageError(TaskManagerException.INVALID_PAGE_SORT, () -> serviceUser.getTasksPage(userId, null, TaskField.PRIORITY, null, 5));
+        assertPageError(TaskManagerException.INVALID_CURSOR, () -> serviceUser.getTasksPage(userId, null, TaskField.ID, "###", 5));
+        assertPageError(TaskManagerException.INVALID_CURSOR, () -> serviceUser.getTasksPage(userId, null, TaskField.ID, cursor, 5));
+        assertPageError(TaskManagerException.USER_DOESNT_EXIST, () -> serviceUser.getTasksPage("Missing", null, TaskField.ID, null, 5));
+    }
+
+    @Test
+    void shouldReturnTheNextTasksToDo() throws TaskManagerException {
+        serviceUser.createUser(new RegisterDTO("123123", "User1", "User1234#", "miguel@gmail.com"));
+        String userId = serviceUser.getUserId("miguel@gmail.com").getUserId();
+        serviceUser.addTask(userId, new TaskDTO("", "Low", "Description", false, 1, 5, Difficulty.BAJA, date.plusDays(1)));
+        serviceUser.addTask(userId, new TaskDTO("", "Done", "Description", true, 5, 5, Difficulty.BAJA, date));
+        serviceUser.addTask(userId, new TaskDTO("", "High", "Description", false, 5, 5, Difficulty.BAJA, date.plusDays(1)));
+        serviceUser.addTask(userId, new TaskDTO("", "Soon", "Description", false, 2, 5, Difficulty.BAJA, date));
+        assertEquals(List.of("Soon", "High"), serviceUser.getNextTasks(userId, 2).stream().map(Task::getName).toList());
+        assertEquals(List.of("Soon", "High", "Low"), serviceUser.getNextTasks(userId, 10).stream().map(Task::getName).toList());
+        assertPageError(TaskManagerException.INVALID_NEXT_TASKS_COUNT, () -> serviceUser.getNextTasks(userId, 0));
+        assertPageError(TaskManagerException.USER_DOESNT_EXIST, () -> serviceUser.getNextTasks("Missing", 5));
+    }
+
+    @Test
+    void shouldMakeTheChangesOfABatchWithASingleSave() throws TaskManagerException {
+        int[] saves = {0};
+        UserFilePersistenceImpl filePersistence = new UserFilePersistenceImpl("src/test/java/edu/eci/cvds/Task/services/persistence/DataUserTEST.txt") {
+            @Override
+            public User save(User user) throws TaskManagerException {
+                saves[0]++;
+                return super.save(user);
+            }
+        };
+        ServiceUserImpl service = new ServiceUserImpl(jwtService, authenticationManager, passwordEncoder, filePersistence);
+        service.createUser(new RegisterDTO("123123", "User1", "User1234#", "miguel@gmail.com"));
+        String userId = service.getUserId("miguel@gmail.com").getUserId();
+        Task first = service.addTask(userId, new TaskDTO("", "First", "Description", false, 1, 5, Difficulty.BAJA, date));
+        Task second = service.addTask(userId, new TaskDTO("", "Second", "Description", false, 2, 5, Difficulty.BAJA, date));
+        Task third = service.addTask(userId, new TaskDTO("", "Third", "Description", false, 3, 5, Difficulty.BAJA, date));
+        saves[0] = 0;
+        List<TaskOperationResult> results = service.applyTaskOperations(userId, List.of(
+                TaskOperation.builder().type(TaskOperation.Type.ADD).task(new TaskDTO(null, "Added", "Description", false, 4, 5, Difficulty.ALTA, date)).build(),
+                TaskOperation.builder().type(TaskOperation.Type.TOGGLE).id(first.getId()).build(),
+                TaskOperation.builder().type(TaskOperation.Type.UPDATE).id(second.getId()).task(new TaskDTO(null, "Updated", "Description", false, 5, 5, Difficulty.MEDIA, date)).build(),
+                TaskOperation.builder().type(TaskOperation.Type.UPDATE).id(second.getId()).task(new TaskDTO(null, "", "Description", false, 5, 5, Difficulty.MEDIA, date)).build(),
+                TaskOperation.builder().type(TaskOperation.Type.DELETE).id("Missing").build(),
+                TaskOperation.builder().id(third.getId()).build(),
+                TaskOperation.builder().type(TaskOperation.Type.DELETE).id(third.getId()).build()));
+        assertEquals(1, saves[0]);
+        assertEquals(List.of(true, true, true, false, false, false, true), results.stream().map(TaskOperationResult::isSuccess).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), results.stream().map(TaskOperationResult::getIndex).toList());
+        assertEquals(TaskManagerException.TASK_NOT_FOUND, results.get(4).getError());
+        assertEquals(TaskManagerException.INVALID_OPERATION, results.get(5).getError());
+        String added = results.get(0).getTask().getId();
+        assertEquals(added, results.get(0).getId());
+        List<Task> tasks = service.getAllTasks(userId);
+        assertEquals(3, tasks.size());
+        assertEquals("Added", tasks.stream().filter(task -> task.getId().equals(added)).findFirst().orElseThrow().getName());
+        assertTrue(tasks.stream().filter(task -> task.getId().equals(first.getId())).findFirst().orElseThrow().getState());
+        assertEquals("Updated", tasks.stream().filter(task -> task.getId().equals(second.getId())).findFirst().orElseThrow().getName());
+        assertTrue(tasks.stream().noneMatch(task -> task.getId().equals(third.getId())));
+        TaskDTO update = new TaskDTO(null, "Updated again", "Description", false, 5, 5, Difficulty.MEDIA, date);
+        service.applyTaskOperations(userId, List.of(TaskOperation.builder().type(TaskOperation.Type.UPDATE).id(second.getId()).task(update).build()));
+        assertNull(update.getId());
+        saves[0] = 0;
+        service.applyTaskOperations(userId, List.of(TaskOperation.builder().type(TaskOperation.Type.DELETE).id("Missing").build()));
+        assertEquals(0, saves[0]);
+        assertPageError(TaskManagerException.INVALID_BATCH_SIZE, () -> service.applyTaskOperations(userId, List.of()));
+        assertPageError(TaskManagerException.USER_DOESNT_EXIST, () -> service.applyTaskOperations("Missing", List.of(TaskOperation.builder().type(TaskOperation.Type.DELETE).id("Missing").build())));
+    }
+
+    private void assertPageError(String message, org.junit.jupiter.api.function.Executable executable) {
+        assertEquals(message, assertThrows(TaskManagerException.class, executable).getMessage());
+    }
+
     private void addSomeTasks(String userId)throws TaskManagerException{
         serviceUser.addTask(userId, new TaskDTO("", "Study 1", "Description 1", true, 3, 4, Difficulty.ALTA,date));
         serviceUser.addTask(userId, new TaskDTO("", "Study 2", "Description 2", true, 5, 4, Difficulty.MEDIA,date));
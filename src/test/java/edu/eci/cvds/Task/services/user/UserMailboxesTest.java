@@ -0,0 +1,131 @@
+package edu.eci.cvds.Task.services.user;
+
+import edu.eci.cvds.Task.TaskManagerException;
+import edu.eci.cvds.Task.models.Difficulty;
+import edu.eci.cvds.Task.models.Role;
+import edu.eci.cvds.Task.models.Task;
+import edu.eci.cvds.Task.models.TaskDTO;
+import edu.eci.cvds.Task.models.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMailboxesTest {
+    private final InMemoryUserPersistence database = new InMemoryUserPersistence(Duration.ofMillis(2));
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+    private final LocalDateTime deadline = LocalDateTime.now().plusDays(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldSaveTheChangesQueuedTogetherOnce() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        UserMailboxes mailboxes = new UserMailboxes(database, executor, Duration.ofMinutes(1));
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        try {
+            List<CompletableFuture<Task>> tasks = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                String name = "Task " + i;
+                tasks.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return mailboxes.execute("User1", user -> user.addTask(task(name)));
+                    } catch (TaskManagerException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, callers));
+            }
+            for (CompletableFuture<Task> task : tasks) {
+                assertNotNull(task.get(30, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(500, database.findById("User1").get().getTasks().size());
+        assertEquals(500, mailboxes.getCommands());
+        assertTrue(mailboxes.getWrites() < 500);
+        assertEquals(mailboxes.getWrites() + 1, database.getSaves());
+    }
+
+    @Test
+    void shouldKeepApplyingTheChangesAfterOneFails() throws TaskManagerException {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        UserMailboxes mailboxes = new UserMailboxes(database, executor, Duration.ofMinutes(1));
+        Task task = mailboxes.execute("User1", user -> user.addTask(task("Study")));
+        TaskManagerException e = assertThrows(TaskManagerException.class,
+                () -> mailboxes.execute("User1", user -> {
+                    user.deleteTask("Missing");
+                    return null;
+                }));
+        assertEquals(TaskManagerException.TASK_NOT_FOUND, e.getMessage());
+        mailboxes.execute("User1", user -> {
+            user.changeStateTask(task.getId());
+            return null;
+        });
+        assertTrue(database.findById("User1").get().getTasks().get(task.getId()).getState());
+        assertThrows(TaskManagerException.class, () -> mailboxes.execute("Missing", user -> user.addTask(task("Study"))));
+    }
+
+    @Test
+    void shouldNotSaveWhenTheChangeSaysNothingChanged() throws TaskManagerException {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        UserMailboxes mailboxes = new UserMailboxes(database, executor, Duration.ofMinutes(1));
+        assertEquals("User 1", mailboxes.execute("User1", User::getName, name -> false));
+        assertEquals(1, database.getSaves());
+        assertEquals(0, mailboxes.getWrites());
+    }
+
+    @Test
+    void shouldDeleteTheUserOnlyIfTheCheckPasses() throws TaskManagerException {
+        User admin = new User("Admin", "Admin", "Password1", "admin@gmail.com");
+        admin.setRole(Role.ADMIN);
+        database.save(admin);
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        UserMailboxes mailboxes = new UserMailboxes(database, executor, Duration.ofMinutes(1));
+        UserCommand<Void> notAdmin = user -> {
+            if (user.isAdmin()) throw new TaskManagerException(TaskManagerException.ADMIN_SHOULD_NOT_DELETE);
+            return null;
+        };
+        assertThrows(TaskManagerException.class, () -> mailboxes.delete("Admin", notAdmin));
+        assertTrue(database.findById("Admin").isPresent());
+        mailboxes.execute("User1", user -> user.addTask(task("Study")));
+        mailboxes.delete("User1", notAdmin);
+        assertTrue(database.findById("User1").isEmpty());
+        TaskManagerException e = assertThrows(TaskManagerException.class,
+                () -> mailboxes.execute("User1", user -> user.addTask(task("Study"))));
+        assertEquals(TaskManagerException.USER_DOESNT_EXIST, e.getMessage());
+    }
+
+    @Test
+    void shouldDropTheIdleMailboxes() throws Exception {
+        database.save(new User("User1", "User 1", "Password1", "user1@gmail.com"));
+        UserMailboxes mailboxes = new UserMailboxes(database, executor, Duration.ofMillis(20));
+        mailboxes.execute("User1", user -> user.addTask(task("Study")));
+        long limit = System.currentTimeMillis() + 5000;
+        while (mailboxes.getActiveCount() > 0 && System.currentTimeMillis() < limit) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, mailboxes.getActiveCount());
+        assertEquals(1, mailboxes.getEvictions());
+        database.save(new User("User1", "Changed", "Password1", "user1@gmail.com"));
+        assertEquals("Changed", mailboxes.execute("User1", User::getName));
+        mailboxes.close();
+    }
+
+    private TaskDTO task(String name) {
+        return new TaskDTO(null, name, "Description", false, 3, 10, Difficulty.MEDIA, deadline);
+    }
+}